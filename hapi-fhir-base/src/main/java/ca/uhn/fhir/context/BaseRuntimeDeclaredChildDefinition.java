@@ -33,9 +33,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChildDefinition {
-	private final IAccessor myAccessor;
+	private IAccessor myAccessor;
 	private final String myElementName;
 	private final Field myField;
 	private final String myFormalDefinition;
@@ -46,6 +48,8 @@ public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChil
 	private String myBindingValueSet;
 	private boolean myModifier;
 	private boolean mySummary;
+	private Function<Object, Object> myGeneratedGetter;
+	private BiConsumer<Object, Object> myGeneratedSetter;
 
 	BaseRuntimeDeclaredChildDefinition(Field theField, Child theChildAnnotation, Description theDescriptionAnnotation, String theElementName) throws ConfigurationException {
 		super();
@@ -85,6 +89,22 @@ public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChil
 		return myAccessor;
 	}
 
+	/**
+	 * Switches the accessor and mutator for this child to a generated class which reads and writes
+	 * the underlying field directly, if one can be generated for the field.
+	 *
+	 * @see PerformanceOptionsEnum#GENERATED_FIELD_ACCESSORS
+	 */
+	@SuppressWarnings("unchecked")
+	void useGeneratedFieldAccessors() {
+		Object accessor = FieldAccessorGenerator.getOrGenerateAccessor(myField);
+		if (accessor != null) {
+			myAccessor = (IAccessor) accessor;
+			myGeneratedGetter = (Function<Object, Object>) accessor;
+			myGeneratedSetter = (BiConsumer<Object, Object>) accessor;
+		}
+	}
+
 	public String getBindingValueSet() {
 		return myBindingValueSet;
 	}
@@ -142,7 +162,7 @@ public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChil
 		@SuppressWarnings("unchecked")
 		@Override
 		public List<IBase> getValues(IBase theTarget) {
-			List<IBase> retVal = (List<IBase>) getFieldValue(theTarget, myField);
+			List<IBase> retVal = (List<IBase>) getFieldValue(theTarget);
 			if (retVal == null) {
 				retVal = Collections.emptyList();
 			}
@@ -159,10 +179,10 @@ public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChil
 
 		private void addValue(IBase theTarget, IBase theValue, boolean theClear) {
 			@SuppressWarnings("unchecked")
-			List<IBase> existingList = (List<IBase>) getFieldValue(theTarget, myField);
+			List<IBase> existingList = (List<IBase>) getFieldValue(theTarget);
 			if (existingList == null) {
 				existingList = new ArrayList<>(2);
-				setFieldValue(theTarget, existingList, myField);
+				setFieldValue(theTarget, existingList);
 			}
 			if (theClear) {
 				existingList.clear();
@@ -180,7 +200,7 @@ public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChil
 
 		@Override
 		public void remove(IBase theTarget, int theIndex) {
-			List<IBase> existingList = (List<IBase>) getFieldValue(theTarget, myField);
+			List<IBase> existingList = (List<IBase>) getFieldValue(theTarget);
 			if (existingList == null) {
 				throw new IndexOutOfBoundsException(Msg.code(2143) + "Can not remove element at index " + theIndex + " from list - List is null");
 			}
@@ -194,7 +214,7 @@ public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChil
 	private final class FieldPlainAccessor implements IAccessor {
 		@Override
 		public List<IBase> getValues(IBase theTarget) {
-			Object values = getFieldValue(theTarget, myField);
+			Object values = getFieldValue(theTarget);
 			if (values == null) {
 				return Collections.emptyList();
 			}
@@ -203,14 +223,14 @@ public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChil
 
 		@Override
 		public <T extends IBase> Optional<T> getFirstValueOrNull(IBase theTarget) {
-			return Optional.ofNullable(((T)getFieldValue(theTarget, myField)));
+			return Optional.ofNullable(((T)getFieldValue(theTarget)));
 		}
 	}
 
 	protected final class FieldPlainMutator implements IMutator {
 		@Override
 		public void addValue(IBase theTarget, IBase theValue) {
-			setFieldValue(theTarget, theValue, myField);
+			setFieldValue(theTarget, theValue);
 		}
 
 		@Override
@@ -224,17 +244,26 @@ public abstract class BaseRuntimeDeclaredChildDefinition extends BaseRuntimeChil
 		}
 	}
 
-	private static void setFieldValue(IBase theTarget, Object theValue, Field theField) {
+	private void setFieldValue(IBase theTarget, Object theValue) {
+		BiConsumer<Object, Object> generatedSetter = myGeneratedSetter;
+		if (generatedSetter != null) {
+			generatedSetter.accept(theTarget, theValue);
+			return;
+		}
 		try {
-			theField.set(theTarget, theValue);
+			myField.set(theTarget, theValue);
 		} catch (IllegalAccessException e) {
 			throw new ConfigurationException(Msg.code(1736) + "Failed to set value", e);
 		}
 	}
 
-	private static Object getFieldValue(IBase theTarget, Field theField) {
+	private Object getFieldValue(IBase theTarget) {
+		Function<Object, Object> generatedGetter = myGeneratedGetter;
+		if (generatedGetter != null) {
+			return generatedGetter.apply(theTarget);
+		}
 		try {
-			return theField.get(theTarget);
+			return myField.get(theTarget);
 		} catch (IllegalAccessException e) {
 			throw new ConfigurationException(Msg.code(1737) + "Failed to get value", e);
 		}
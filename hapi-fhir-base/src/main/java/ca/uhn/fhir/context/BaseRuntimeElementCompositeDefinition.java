@@ -452,6 +452,10 @@ public abstract class BaseRuntimeElementCompositeDefinition<T extends IBase> ext
 
 			}
 
+			if (myContext.getPerformanceOptions().contains(PerformanceOptionsEnum.GENERATED_FIELD_ACCESSORS)) {
+				def.useGeneratedFieldAccessors();
+			}
+
 			def.setReplacedParentDefinition(replacedParent);
 			orderMap.put(order, def);
 			elementNames.add(elementName);
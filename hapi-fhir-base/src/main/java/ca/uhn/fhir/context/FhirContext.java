@@ -27,6 +27,7 @@ import ca.uhn.fhir.rest.client.api.IRestfulClientFactory;
 import ca.uhn.fhir.system.HapiSystemProperties;
 import ca.uhn.fhir.util.FhirTerser;
 import ca.uhn.fhir.util.ReflectionUtil;
+import ca.uhn.fhir.util.TerserPathCache;
 import ca.uhn.fhir.util.VersionUtil;
 import ca.uhn.fhir.validation.FhirValidator;
 import org.apache.commons.lang3.Validate;
@@ -116,14 +117,15 @@ public class FhirContext {
 	private HapiLocalizer myLocalizer = new HapiLocalizer();
 	private volatile Map<String, BaseRuntimeElementDefinition<?>> myNameToElementDefinition = Collections.emptyMap();
 	private volatile Map<String, RuntimeResourceDefinition> myNameToResourceDefinition = Collections.emptyMap();
-	private volatile Map<String, Class<? extends IBaseResource>> myNameToResourceType;
+	private volatile Map<String, String> myNameToResourceTypeName;
 	private volatile INarrativeGenerator myNarrativeGenerator;
 	private volatile IParserErrorHandler myParserErrorHandler = new LenientErrorHandler();
 	private ParserOptions myParserOptions = new ParserOptions();
 	private volatile IRestfulClientFactory myRestfulClientFactory;
+	private final TerserPathCache myTerserPathCache = new TerserPathCache();
 	private volatile RuntimeChildUndeclaredExtensionDefinition myRuntimeChildUndeclaredExtensionDefinition;
 	private IValidationSupport myValidationSupport;
-	private Map<FhirVersionEnum, Map<String, Class<? extends IBaseResource>>> myVersionToNameToResourceType = Collections.emptyMap();
+	private Map<FhirVersionEnum, Map<String, String>> myVersionToNameToResourceTypeName = Collections.emptyMap();
 	private volatile Set<String> myResourceNames;
 	private volatile Boolean myFormatXmlSupported;
 	private volatile Boolean myFormatJsonSupported;
@@ -495,24 +497,24 @@ public class FhirContext {
 			return getResourceDefinition(theResourceName);
 		}
 
-		Map<String, Class<? extends IBaseResource>> nameToType = myVersionToNameToResourceType.get(theVersion);
-		if (nameToType == null) {
-			nameToType = new HashMap<>();
+		Map<String, String> nameToTypeName = myVersionToNameToResourceTypeName.get(theVersion);
+		if (nameToTypeName == null) {
+			nameToTypeName = new HashMap<>();
 			Map<Class<? extends IBase>, BaseRuntimeElementDefinition<?>> existing = new HashMap<>();
-			ModelScanner.scanVersionPropertyFile(null, nameToType, theVersion, existing);
+			ModelScanner.scanVersionPropertyFile(null, nameToTypeName, theVersion, existing);
 
-			Map<FhirVersionEnum, Map<String, Class<? extends IBaseResource>>> newVersionToNameToResourceType = new HashMap<>();
-			newVersionToNameToResourceType.putAll(myVersionToNameToResourceType);
-			newVersionToNameToResourceType.put(theVersion, nameToType);
-			myVersionToNameToResourceType = newVersionToNameToResourceType;
+			Map<FhirVersionEnum, Map<String, String>> newVersionToNameToResourceTypeName = new HashMap<>();
+			newVersionToNameToResourceTypeName.putAll(myVersionToNameToResourceTypeName);
+			newVersionToNameToResourceTypeName.put(theVersion, nameToTypeName);
+			myVersionToNameToResourceTypeName = newVersionToNameToResourceTypeName;
 		}
 
-		Class<? extends IBaseResource> resourceType = nameToType.get(theResourceName.toLowerCase());
-		if (resourceType == null) {
+		String resourceTypeName = nameToTypeName.get(theResourceName.toLowerCase());
+		if (resourceTypeName == null) {
 			throw new DataFormatException(Msg.code(1683) + createUnknownResourceNameError(theResourceName, theVersion));
 		}
 
-		return getResourceDefinition(resourceType);
+		return getResourceDefinition(ModelScanner.loadResourceType(theResourceName, resourceTypeName));
 	}
 
 	/**
@@ -570,17 +572,18 @@ public class FhirContext {
 		RuntimeResourceDefinition retVal = myNameToResourceDefinition.get(resourceName);
 
 		if (retVal == null) {
-			Class<? extends IBaseResource> clazz = myNameToResourceType.get(resourceName.toLowerCase());
-			if (clazz == null) {
+			String className = myNameToResourceTypeName.get(resourceName);
+			if (className == null) {
 				// ***********************************************************************
 				// Multiple spots in HAPI FHIR and Smile CDR depend on DataFormatException
 				// being thrown by this method, don't change that.
 				// ***********************************************************************
 				throw new DataFormatException(Msg.code(1684) + createUnknownResourceNameError(theResourceName, myVersion.getVersion()));
 			}
-			if (IBaseResource.class.isAssignableFrom(clazz)) {
-				retVal = scanResourceType(clazz);
-			}
+
+			// Resource classes are only loaded once they are needed
+			Class<? extends IBaseResource> clazz = ModelScanner.loadResourceType(theResourceName, className);
+			retVal = scanResourceType(clazz);
 		}
 		return retVal;
 	}
@@ -921,6 +924,16 @@ public class FhirContext {
 		return new FhirTerser(this);
 	}
 
+	/**
+	 * Returns the cache of parsed paths shared by all {@link FhirTerser tersers} created
+	 * for this context. This method is intended for internal use.
+	 *
+	 * @since 6.6.0
+	 */
+	public TerserPathCache getTerserPathCache() {
+		return myTerserPathCache;
+	}
+
 	/**
 	 * Create a new validator instance.
 	 * <p>
@@ -1059,7 +1072,7 @@ public class FhirContext {
 		myIdToResourceDefinition = idToElementDefinition;
 		myNameToResourceDefinition = nameToResourceDefinition;
 
-		myNameToResourceType = scanner.getNameToResourceType();
+		myNameToResourceTypeName = scanner.getNameToResourceTypeName();
 
 		myInitialized = true;
 		return classToElementDefinition;
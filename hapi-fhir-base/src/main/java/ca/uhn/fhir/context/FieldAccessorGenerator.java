@@ -0,0 +1,369 @@
+package ca.uhn.fhir.context;
+
+/*
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.hl7.fhir.instance.model.api.IBase;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Generates a small class for a model field which reads and writes the field with plain
+ * <code>getfield</code>/<code>putfield</code> instructions. The class is defined in the package of
+ * the class declaring the field, so it can access protected and package-private fields.
+ * <p>
+ * The generated class is itself the {@link BaseRuntimeChildDefinition.IAccessor} for the child. Callers
+ * of {@link BaseRuntimeChildDefinition.IAccessor#getValues(IBase)} already see many accessor classes,
+ * so this adds no dispatch cost there, and the field read behind it is a single instruction rather than
+ * a call through {@link Field#get(Object)}. (A single shared accessor calling per-field generated code,
+ * or a {@link java.lang.invoke.MethodHandle} held in an instance field, would add a second call site
+ * which sees every field and so can't be inlined.) It also implements {@link Function} (get) and
+ * {@link BiConsumer} (set), which the mutators use.
+ * </p>
+ *
+ * @see PerformanceOptionsEnum#GENERATED_FIELD_ACCESSORS
+ * @since 6.6.0
+ */
+final class FieldAccessorGenerator {
+
+	private static final org.slf4j.Logger ourLog = org.slf4j.LoggerFactory.getLogger(FieldAccessorGenerator.class);
+	private static final String CLASS_NAME_INFIX = "$$HapiFieldAccessor$";
+
+	/**
+	 * Generated accessors by declaring class and field name, since the same class can't be defined twice.
+	 * A {@link ClassValue} is used so that this cache doesn't prevent model classes from being unloaded.
+	 */
+	private static final ClassValue<Map<String, Object>> ourAccessors = new ClassValue<>() {
+		@Override
+		protected Map<String, Object> computeValue(Class<?> theType) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * Non-instantiable
+	 */
+	private FieldAccessorGenerator() {
+		super();
+	}
+
+	/**
+	 * Returns an object implementing {@link BaseRuntimeChildDefinition.IAccessor}, {@link Function} and
+	 * {@link BiConsumer} which gets and sets the given field, or <code>null</code> if no accessor can be
+	 * generated for it (e.g. because it is private or final), in which case reflection should be used
+	 */
+	@Nullable
+	static Object getOrGenerateAccessor(Field theField) {
+		if (!canGenerateAccessor(theField)) {
+			return null;
+		}
+		Map<String, Object> accessors = ourAccessors.get(theField.getDeclaringClass());
+		Object retVal = accessors.computeIfAbsent(theField.getName(), t -> generateAccessor(theField));
+		return retVal == Boolean.FALSE ? null : retVal;
+	}
+
+	private static boolean canGenerateAccessor(Field theField) {
+		int modifiers = theField.getModifiers();
+		if (Modifier.isPrivate(modifiers) || Modifier.isFinal(modifiers) || Modifier.isStatic(modifiers)) {
+			return false;
+		}
+		if (theField.getType().isPrimitive()) {
+			return false;
+		}
+		Class<?> type = theField.getType();
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive() || Modifier.isPublic(type.getModifiers())) {
+			return true;
+		}
+		Class<?> declaringClass = theField.getDeclaringClass();
+		return !Modifier.isPrivate(type.getModifiers())
+			&& Objects.equals(type.getClassLoader(), declaringClass.getClassLoader())
+			&& type.getPackageName().equals(declaringClass.getPackageName());
+	}
+
+	/**
+	 * @return The accessor, or {@link Boolean#FALSE} if it could not be created (so that the failure is cached too)
+	 */
+	private static Object generateAccessor(Field theField) {
+		Class<?> declaringClass = theField.getDeclaringClass();
+		String className = declaringClass.getName() + CLASS_NAME_INFIX + theField.getName();
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+			byte[] bytes = createClassBytes(className, theField, List.class.equals(theField.getType()));
+			Class<?> accessorClass = lookup.defineClass(bytes);
+			return accessorClass.getConstructor().newInstance();
+		} catch (Exception | LinkageError e) {
+			ourLog.debug("Unable to generate accessor for field {}, using reflection instead: {}", theField, e.toString());
+			return Boolean.FALSE;
+		}
+	}
+
+	/**
+	 * Writes the class file for:
+	 * <pre>
+	 * public final class [DeclaringClass]$$HapiFieldAccessor$[field] implements IAccessor, Function, BiConsumer {
+	 *    // For list fields
+	 *    public List getValues(IBase theTarget) {
+	 *       List retVal = ((DeclaringClass) theTarget).field;
+	 *       return retVal != null ? retVal : Collections.emptyList();
+	 *    }
+	 *    // For single-valued fields
+	 *    public List getValues(IBase theTarget) {
+	 *       Object retVal = ((DeclaringClass) theTarget).field;
+	 *       return retVal != null ? Collections.singletonList(retVal) : Collections.emptyList();
+	 *    }
+	 *    public Optional getFirstValueOrNull(IBase theTarget) {
+	 *       return Optional.ofNullable(((DeclaringClass) theTarget).field);
+	 *    }
+	 *    public Object apply(Object theTarget) {
+	 *       return ((DeclaringClass) theTarget).field;
+	 *    }
+	 *    public void accept(Object theTarget, Object theValue) {
+	 *       ((DeclaringClass) theTarget).field = (FieldType) theValue;
+	 *    }
+	 * }
+	 * </pre>
+	 * A version 49 class file is written, since these don't need stack map frames for branches.
+	 */
+	private static byte[] createClassBytes(String theClassName, Field theField, boolean theList) throws IOException {
+		ConstantPool pool = new ConstantPool();
+		int thisClass = pool.classRef(toInternalName(theClassName));
+		int objectClass = pool.classRef("java/lang/Object");
+		int[] interfaces = {
+			pool.classRef(toInternalName(BaseRuntimeChildDefinition.IAccessor.class.getName())),
+			pool.classRef("java/util/function/Function"),
+			pool.classRef("java/util/function/BiConsumer")
+		};
+		int code = pool.utf8("Code");
+		int objectInit = pool.memberRef(10, objectClass, "<init>", "()V");
+		int declaringClass = pool.classRef(toInternalName(theField.getDeclaringClass().getName()));
+		int field = pool.memberRef(9, declaringClass, theField.getName(), toDescriptor(theField.getType()));
+		Class<?> type = theField.getType();
+		int fieldType = pool.classRef(type.isArray() ? toDescriptor(type) : toInternalName(type.getName()));
+		int emptyList = pool.memberRef(10, pool.classRef("java/util/Collections"), "emptyList", "()Ljava/util/List;");
+
+		List<byte[]> methods = new ArrayList<>();
+		methods.add(method(pool, code, "<init>", "()V", 1, 1,
+			0x2a, // aload_0
+			0xb7, objectInit >> 8, objectInit, // invokespecial Object.<init>
+			0xb1 // return
+		));
+		String getValuesDescriptor = "(Lorg/hl7/fhir/instance/model/api/IBase;)Ljava/util/List;";
+		if (theList) {
+			methods.add(method(pool, code, "getValues", getValuesDescriptor, 2, 2,
+				0x2b, // 0: aload_1
+				0xc0, declaringClass >> 8, declaringClass, // 1: checkcast DeclaringClass
+				0xb4, field >> 8, field, // 4: getfield
+				0x59, // 7: dup
+				0xc7, 0, 8, // 8: ifnonnull 16
+				0x57, // 11: pop
+				0xb8, emptyList >> 8, emptyList, // 12: invokestatic Collections.emptyList
+				0xb0, // 15: areturn
+				0xb0 // 16: areturn
+			));
+		} else {
+			int singletonList = pool.memberRef(10, pool.classRef("java/util/Collections"), "singletonList", "(Ljava/lang/Object;)Ljava/util/List;");
+			int ofNullable = pool.memberRef(10, pool.classRef("java/util/Optional"), "ofNullable", "(Ljava/lang/Object;)Ljava/util/Optional;");
+			methods.add(method(pool, code, "getValues", getValuesDescriptor, 2, 2,
+				0x2b, // 0: aload_1
+				0xc0, declaringClass >> 8, declaringClass, // 1: checkcast DeclaringClass
+				0xb4, field >> 8, field, // 4: getfield
+				0x59, // 7: dup
+				0xc7, 0, 8, // 8: ifnonnull 16
+				0x57, // 11: pop
+				0xb8, emptyList >> 8, emptyList, // 12: invokestatic Collections.emptyList
+				0xb0, // 15: areturn
+				0xb8, singletonList >> 8, singletonList, // 16: invokestatic Collections.singletonList
+				0xb0 // 19: areturn
+			));
+			methods.add(method(pool, code, "getFirstValueOrNull", "(Lorg/hl7/fhir/instance/model/api/IBase;)Ljava/util/Optional;", 1, 2,
+				0x2b, // aload_1
+				0xc0, declaringClass >> 8, declaringClass, // checkcast DeclaringClass
+				0xb4, field >> 8, field, // getfield
+				0xb8, ofNullable >> 8, ofNullable, // invokestatic Optional.ofNullable
+				0xb0 // areturn
+			));
+		}
+		methods.add(method(pool, code, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", 1, 2,
+			0x2b, // aload_1
+			0xc0, declaringClass >> 8, declaringClass, // checkcast DeclaringClass
+			0xb4, field >> 8, field, // getfield
+			0xb0 // areturn
+		));
+		methods.add(method(pool, code, "accept", "(Ljava/lang/Object;Ljava/lang/Object;)V", 2, 3,
+			0x2b, // aload_1
+			0xc0, declaringClass >> 8, declaringClass, // checkcast DeclaringClass
+			0x2c, // aload_2
+			0xc0, fieldType >> 8, fieldType, // checkcast FieldType
+			0xb5, field >> 8, field, // putfield
+			0xb1 // return
+		));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0xCAFEBABE);
+		out.writeShort(0); // minor version
+		out.writeShort(49); // major version
+		pool.write(out);
+		out.writeShort(0x0001 | 0x0010 | 0x0020 | 0x1000); // public final super synthetic
+		out.writeShort(thisClass);
+		out.writeShort(objectClass);
+		out.writeShort(interfaces.length);
+		for (int next : interfaces) {
+			out.writeShort(next);
+		}
+		out.writeShort(0); // fields
+		out.writeShort(methods.size());
+		for (byte[] next : methods) {
+			out.write(next);
+		}
+		out.writeShort(0); // attributes
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static byte[] method(ConstantPool thePool, int theCodeAttributeName, String theName, String theDescriptor, int theMaxStack, int theMaxLocals, int... theCode) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeShort(0x0001); // public
+		out.writeShort(thePool.utf8(theName));
+		out.writeShort(thePool.utf8(theDescriptor));
+		out.writeShort(1); // attributes
+		out.writeShort(theCodeAttributeName);
+		out.writeInt(12 + theCode.length);
+		out.writeShort(theMaxStack);
+		out.writeShort(theMaxLocals);
+		out.writeInt(theCode.length);
+		for (int next : theCode) {
+			out.writeByte(next);
+		}
+		out.writeShort(0); // exception table
+		out.writeShort(0); // attributes
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static String toInternalName(String theClassName) {
+		return theClassName.replace('.', '/');
+	}
+
+	private static String toDescriptor(Class<?> theType) {
+		if (theType.isArray()) {
+			return toInternalName(theType.getName());
+		}
+		if (theType.isPrimitive()) {
+			switch (theType.getName()) {
+				case "boolean":
+					return "Z";
+				case "byte":
+					return "B";
+				case "char":
+					return "C";
+				case "short":
+					return "S";
+				case "int":
+					return "I";
+				case "long":
+					return "J";
+				case "float":
+					return "F";
+				case "double":
+					return "D";
+				default:
+					return "V";
+			}
+		}
+		return "L" + toInternalName(theType.getName()) + ";";
+	}
+
+	/**
+	 * Builds the constant pool of a generated class, reusing identical entries
+	 */
+	private static class ConstantPool {
+
+		private final ByteArrayOutputStream myBytes = new ByteArrayOutputStream();
+		private final DataOutputStream myOut = new DataOutputStream(myBytes);
+		private final Map<String, Integer> myIndexes = new HashMap<>();
+		private int myCount = 1;
+
+		int utf8(String theValue) throws IOException {
+			Integer retVal = myIndexes.get("utf8:" + theValue);
+			if (retVal == null) {
+				myOut.writeByte(1);
+				myOut.writeUTF(theValue);
+				retVal = myCount++;
+				myIndexes.put("utf8:" + theValue, retVal);
+			}
+			return retVal;
+		}
+
+		int classRef(String theInternalName) throws IOException {
+			Integer retVal = myIndexes.get("class:" + theInternalName);
+			if (retVal == null) {
+				int name = utf8(theInternalName);
+				myOut.writeByte(7);
+				myOut.writeShort(name);
+				retVal = myCount++;
+				myIndexes.put("class:" + theInternalName, retVal);
+			}
+			return retVal;
+		}
+
+		/**
+		 * @param theTag 9 for a field, 10 for a class method
+		 */
+		int memberRef(int theTag, int theClassIndex, String theName, String theDescriptor) throws IOException {
+			int name = utf8(theName);
+			int descriptor = utf8(theDescriptor);
+			myOut.writeByte(12);
+			myOut.writeShort(name);
+			myOut.writeShort(descriptor);
+			int nameAndType = myCount++;
+			myOut.writeByte(theTag);
+			myOut.writeShort(theClassIndex);
+			myOut.writeShort(nameAndType);
+			return myCount++;
+		}
+
+		void write(DataOutputStream theOut) throws IOException {
+			myOut.flush();
+			theOut.writeShort(myCount);
+			theOut.write(myBytes.toByteArray());
+		}
+
+	}
+
+}
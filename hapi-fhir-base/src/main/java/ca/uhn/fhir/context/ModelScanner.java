@@ -79,7 +79,7 @@ class ModelScanner {
 	private Map<String, RuntimeResourceDefinition> myIdToResourceDefinition = new HashMap<>();
 	private Map<String, BaseRuntimeElementDefinition<?>> myNameToElementDefinitions = new HashMap<>();
 	private Map<String, RuntimeResourceDefinition> myNameToResourceDefinitions = new HashMap<>();
-	private Map<String, Class<? extends IBaseResource>> myNameToResourceType = new HashMap<>();
+	private Map<String, String> myNameToResourceTypeName = new HashMap<>();
 	private RuntimeChildUndeclaredExtensionDefinition myRuntimeChildUndeclaredExtensionDefinition;
 	private Set<Class<? extends IBase>> myScanAlso = new HashSet<>();
 	private FhirVersionEnum myVersion;
@@ -111,8 +111,11 @@ class ModelScanner {
 		return myNameToResourceDefinitions;
 	}
 
-	Map<String, Class<? extends IBaseResource>> getNameToResourceType() {
-		return myNameToResourceType;
+	/**
+	 * Returns a map of lowercase resource name to the name of the class implementing it
+	 */
+	Map<String, String> getNameToResourceTypeName() {
+		return myNameToResourceTypeName;
 	}
 
 	RuntimeChildUndeclaredExtensionDefinition getRuntimeChildUndeclaredExtensionDefinition() {
@@ -126,10 +129,8 @@ class ModelScanner {
 
 		int startSize = myClassToElementDefinitions.size();
 		long start = System.currentTimeMillis();
-		Map<String, Class<? extends IBaseResource>> resourceTypes = myNameToResourceType;
-
 		Set<Class<? extends IBase>> typesToScan = theTypesToScan;
-		myVersionTypes = scanVersionPropertyFile(typesToScan, resourceTypes, myVersion, myClassToElementDefinitions);
+		myVersionTypes = scanVersionPropertyFile(typesToScan, myNameToResourceTypeName, myVersion, myClassToElementDefinitions);
 
 		do {
 			for (Class<? extends IBase> nextClass : typesToScan) {
@@ -319,10 +320,10 @@ class ModelScanner {
 		}
 
 		String resourceNameLowerCase = resourceName.toLowerCase();
-		Class<? extends IBaseResource> builtInType = myNameToResourceType.get(resourceNameLowerCase);
-		boolean standardType = builtInType != null && builtInType.equals(theClass) == true;
+		String builtInTypeName = myNameToResourceTypeName.get(resourceNameLowerCase);
+		boolean standardType = builtInTypeName != null && builtInTypeName.equals(theClass.getName());
 		if (primaryNameProvider) {
-			if (builtInType != null && builtInType.equals(theClass) == false) {
+			if (builtInTypeName != null && builtInTypeName.equals(theClass.getName()) == false) {
 				primaryNameProvider = false;
 			}
 		}
@@ -507,7 +508,12 @@ class ModelScanner {
 		return type;
 	}
 
-	static Set<Class<? extends IBase>> scanVersionPropertyFile(Set<Class<? extends IBase>> theDatatypes, Map<String, Class<? extends IBaseResource>> theResourceTypes, FhirVersionEnum theVersion, Map<Class<? extends IBase>, BaseRuntimeElementDefinition<?>> theExistingElementDefinitions) {
+	/**
+	 * Reads the version property file for the given version. Datatype classes are loaded immediately
+	 * since they are all scanned, but resource types are only recorded by class name so that
+	 * resource classes are loaded when (and if) they are actually used.
+	 */
+	static Set<Class<? extends IBase>> scanVersionPropertyFile(Set<Class<? extends IBase>> theDatatypes, Map<String, String> theResourceTypeNames, FhirVersionEnum theVersion, Map<Class<? extends IBase>, BaseRuntimeElementDefinition<?>> theExistingElementDefinitions) {
 		Set<Class<? extends IBase>> retVal = new HashSet<>();
 
 		try (InputStream str = theVersion.getVersionImplementation().getFhirVersionPropertiesFile()) {
@@ -549,20 +555,7 @@ class ModelScanner {
 				} else if (nextKey.startsWith("resource.")) {
 					// Resources
 					String resName = nextKey.substring("resource.".length()).toLowerCase();
-					try {
-						@SuppressWarnings("unchecked")
-						Class<? extends IBaseResource> nextClass = (Class<? extends IBaseResource>) Class.forName(nextValue);
-						if (theExistingElementDefinitions.containsKey(nextClass)) {
-							continue;
-						}
-						if (!IBaseResource.class.isAssignableFrom(nextClass)) {
-							throw new ConfigurationException(Msg.code(1726) + "Class is not assignable from " + IBaseResource.class.getSimpleName() + ": " + nextValue);
-						}
-
-						theResourceTypes.put(resName, nextClass);
-					} catch (ClassNotFoundException e) {
-						throw new ConfigurationException(Msg.code(1727) + "Unknown class[" + nextValue + "] for resource definition: " + nextKey.substring("resource.".length()), e);
-					}
+					theResourceTypeNames.put(resName, nextValue.trim());
 				} else {
 					throw new ConfigurationException(Msg.code(1728) + "Unexpected property in version property file: " + nextKey + "=" + nextValue);
 				}
@@ -574,4 +567,25 @@ class ModelScanner {
 		return retVal;
 	}
 
+	/**
+	 * Loads a resource class which was declared in a version property file
+	 *
+	 * @param theResourceName The resource name, used only for error messages
+	 * @param theClassName    The name of the implementing class
+	 */
+	static Class<? extends IBaseResource> loadResourceType(String theResourceName, String theClassName) {
+		Class<?> retVal;
+		try {
+			retVal = Class.forName(theClassName);
+		} catch (ClassNotFoundException e) {
+			throw new ConfigurationException(Msg.code(1727) + "Unknown class[" + theClassName + "] for resource definition: " + theResourceName, e);
+		}
+		if (!IBaseResource.class.isAssignableFrom(retVal)) {
+			throw new ConfigurationException(Msg.code(1726) + "Class is not assignable from " + IBaseResource.class.getSimpleName() + ": " + theClassName);
+		}
+		@SuppressWarnings("unchecked")
+		Class<? extends IBaseResource> resourceType = (Class<? extends IBaseResource>) retVal;
+		return resourceType;
+	}
+
 }
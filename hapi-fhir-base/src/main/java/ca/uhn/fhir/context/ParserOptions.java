@@ -43,6 +43,8 @@ public class ParserOptions {
 	private Set<String> myDontStripVersionsFromReferencesAtPaths = Collections.emptySet();
 	private boolean myOverrideResourceIdWithBundleEntryFullUrl = true;
 	private boolean myAutoContainReferenceTargetsWithNoId = true;
+	private boolean myStreamingJsonParsing = false;
+	private boolean myDeferPrimitiveValueParsing = false;
 
 	/**
 	 * If set to {@literal true} (which is the default), contained resources may be specified by
@@ -206,4 +208,94 @@ public class ParserOptions {
 		return this;
 	}
 
+	/**
+	 * If set to <code>true</code> (default is <code>false</code>), the JSON parser will drive the parse
+	 * directly from the Jackson token stream instead of first reading the complete payload into a
+	 * Jackson tree. This substantially reduces the peak memory required to parse large resources
+	 * such as transaction Bundles, since the payload is no longer held on the heap twice.
+	 * <p>
+	 * The resulting model objects and the calls made to the
+	 * {@link ca.uhn.fhir.parser.IParserErrorHandler parser error handler} are the same in both modes,
+	 * although the order of error handler callbacks may differ.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	public boolean isStreamingJsonParsing() {
+		return myStreamingJsonParsing;
+	}
+
+	/**
+	 * If set to <code>true</code> (default is <code>false</code>), the JSON parser will drive the parse
+	 * directly from the Jackson token stream instead of first reading the complete payload into a
+	 * Jackson tree. This substantially reduces the peak memory required to parse large resources
+	 * such as transaction Bundles, since the payload is no longer held on the heap twice.
+	 * <p>
+	 * The resulting model objects and the calls made to the
+	 * {@link ca.uhn.fhir.parser.IParserErrorHandler parser error handler} are the same in both modes,
+	 * although the order of error handler callbacks may differ.
+	 * </p>
+	 *
+	 * @return Returns a reference to <code>this</code> parser so that method calls can be chained together
+	 * @since 6.6.0
+	 */
+	public ParserOptions setStreamingJsonParsing(boolean theStreamingJsonParsing) {
+		myStreamingJsonParsing = theStreamingJsonParsing;
+		return this;
+	}
+
+	/**
+	 * If set to <code>true</code> (default is <code>false</code>), primitive datatypes whose string
+	 * form is expensive to convert (e.g. dates, decimals and base64 binary content) keep the raw
+	 * string supplied by the parser and only convert it the first time the typed value is accessed.
+	 * This saves work when resources are parsed and then re-encoded without their values being
+	 * examined.
+	 * <p>
+	 * Values are only deferred when the parser uses a {@link ca.uhn.fhir.parser.LenientErrorHandler},
+	 * in which case invalid values are not reported to it. Instead a
+	 * {@link ca.uhn.fhir.parser.DataFormatException} is thrown when the value is first accessed.
+	 * With any other error handler (e.g. {@link ca.uhn.fhir.parser.StrictErrorHandler}) values are
+	 * parsed and validated immediately, so invalid values are still reported while parsing.
+	 * </p>
+	 * <p>
+	 * This setting currently applies to datatypes extending {@link ca.uhn.fhir.model.api.BasePrimitive}
+	 * (i.e. the DSTU2 model). Other structures parse primitive values immediately regardless of
+	 * this setting.
+	 * </p>
+	 *
+	 * @see ca.uhn.fhir.model.api.BasePrimitive#setValueAsStringDeferred(String)
+	 * @since 6.6.0
+	 */
+	public boolean isDeferPrimitiveValueParsing() {
+		return myDeferPrimitiveValueParsing;
+	}
+
+	/**
+	 * If set to <code>true</code> (default is <code>false</code>), primitive datatypes whose string
+	 * form is expensive to convert (e.g. dates, decimals and base64 binary content) keep the raw
+	 * string supplied by the parser and only convert it the first time the typed value is accessed.
+	 * This saves work when resources are parsed and then re-encoded without their values being
+	 * examined.
+	 * <p>
+	 * Values are only deferred when the parser uses a {@link ca.uhn.fhir.parser.LenientErrorHandler},
+	 * in which case invalid values are not reported to it. Instead a
+	 * {@link ca.uhn.fhir.parser.DataFormatException} is thrown when the value is first accessed.
+	 * With any other error handler (e.g. {@link ca.uhn.fhir.parser.StrictErrorHandler}) values are
+	 * parsed and validated immediately, so invalid values are still reported while parsing.
+	 * </p>
+	 * <p>
+	 * This setting currently applies to datatypes extending {@link ca.uhn.fhir.model.api.BasePrimitive}
+	 * (i.e. the DSTU2 model). Other structures parse primitive values immediately regardless of
+	 * this setting.
+	 * </p>
+	 *
+	 * @return Returns a reference to <code>this</code> parser so that method calls can be chained together
+	 * @see ca.uhn.fhir.model.api.BasePrimitive#setValueAsStringDeferred(String)
+	 * @since 6.6.0
+	 */
+	public ParserOptions setDeferPrimitiveValueParsing(boolean theDeferPrimitiveValueParsing) {
+		myDeferPrimitiveValueParsing = theDeferPrimitiveValueParsing;
+		return this;
+	}
+
 }
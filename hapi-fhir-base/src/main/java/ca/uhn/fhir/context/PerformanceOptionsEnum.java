@@ -35,6 +35,21 @@ public enum PerformanceOptionsEnum {
 	 * Android or low powered devices.
 	 * </p> 
 	 */
-	DEFERRED_MODEL_SCANNING
-	
+	DEFERRED_MODEL_SCANNING,
+
+	/**
+	 * When this option is set, model element values are read and written by small classes generated
+	 * for each model field, instead of through {@link java.lang.reflect.Field#get(Object) reflection}.
+	 * The generated code accesses the field directly, so the JIT can inline it into the parser, encoder
+	 * and terser. Fields which can't be accessed this way (e.g. private fields) keep using reflection.
+	 * <p>
+	 * This option has no effect on the resulting model. It requires a JVM which allows classes to be
+	 * defined at runtime in the packages of the model classes, which is the case for model classes
+	 * on the classpath. See <code>FieldAccessorBenchmark</code> in the R4 structures tests for a comparison.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	GENERATED_FIELD_ACCESSORS
+
 }
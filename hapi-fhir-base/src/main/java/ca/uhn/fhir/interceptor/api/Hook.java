@@ -52,4 +52,28 @@ public @interface Hook {
 	 * </p>
 	 */
 	int order() default Interceptor.DEFAULT_ORDER;
+
+	/**
+	 * If set to <code>true</code>, the hook is run on a background thread instead of the
+	 * thread which fired the pointcut. This is intended for hooks which only observe what
+	 * is happening (e.g. audit logging or metrics export) and should not add to request
+	 * latency. Default is <code>false</code>.
+	 * <p>
+	 * Asynchronous hooks must return <code>void</code>, and are only permitted for pointcuts
+	 * which return <code>void</code> and whose hooks are not expected to modify their parameters
+	 * (e.g. {@link Pointcut#STORAGE_PRESHOW_RESOURCES} hooks can not be asynchronous). Registering
+	 * an interceptor with an asynchronous hook for any other pointcut fails. Asynchronous hooks
+	 * are run after the code that fired the pointcut has moved on,
+	 * so they must not rely on any state which is bound to the calling thread (such as an
+	 * open database transaction), and must not modify the objects passed to them. Any
+	 * exception thrown by an asynchronous hook is logged and otherwise ignored.
+	 * </p>
+	 * <p>
+	 * Hooks are run using the interceptor service's
+	 * {@link ca.uhn.fhir.interceptor.executor.AsyncHookDispatcher}.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	boolean async() default false;
 }
@@ -2632,7 +2632,13 @@ public enum Pointcut implements IPointcut {
 	 * This pointcut is used only for unit tests. Do not use in production code as it may be changed or
 	 * removed at any time.
 	 */
-	TEST_RO(BaseServerResponseException.class, String.class.getName(), String.class.getName());
+	TEST_RO(BaseServerResponseException.class, String.class.getName(), String.class.getName()),
+
+	/**
+	 * This pointcut is used only for unit tests. Do not use in production code as it may be changed or
+	 * removed at any time.
+	 */
+	TEST_RV(void.class, String.class.getName(), String.class.getName());
 
 	private final List<String> myParameterTypes;
 	private final Class<?> myReturnType;
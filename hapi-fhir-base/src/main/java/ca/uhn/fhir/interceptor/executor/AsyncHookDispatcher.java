@@ -0,0 +1,254 @@
+package ca.uhn.fhir.interceptor.executor;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs hooks declared with {@link ca.uhn.fhir.interceptor.api.Hook#async() async = true}
+ * on a bounded pool of background threads, so that observer work does not add to the
+ * latency of the thread which fired the pointcut.
+ * <p>
+ * The pool uses a fixed number of daemon threads and a bounded queue. What happens when
+ * the queue is full is determined by the {@link OverflowPolicyEnum overflow policy}.
+ * Counters for the work which has been dispatched, completed, failed and overflowed
+ * are available for monitoring.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+public class AsyncHookDispatcher {
+
+	public static final int DEFAULT_THREAD_COUNT = 2;
+	public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+	private static final long BLOCK_POLL_MILLIS = 100;
+	private static final Logger ourLog = LoggerFactory.getLogger(AsyncHookDispatcher.class);
+	private final ThreadPoolExecutor myExecutor;
+	private final ArrayBlockingQueue<Runnable> myQueue;
+	private final OverflowPolicyEnum myOverflowPolicy;
+	private final LongAdder myDispatchedCount = new LongAdder();
+	private final LongAdder myCompletedCount = new LongAdder();
+	private final LongAdder myFailedCount = new LongAdder();
+	private final LongAdder myOverflowCount = new LongAdder();
+
+	/**
+	 * Constructor which uses the default thread count, queue capacity and
+	 * an overflow policy of {@link OverflowPolicyEnum#RUN_ON_CALLER}
+	 *
+	 * @param theName The name used for the threads in the pool
+	 */
+	public AsyncHookDispatcher(String theName) {
+		this(theName, DEFAULT_THREAD_COUNT, DEFAULT_QUEUE_CAPACITY, OverflowPolicyEnum.RUN_ON_CALLER);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param theName           The name used for the threads in the pool
+	 * @param theThreadCount    The number of threads in the pool
+	 * @param theQueueCapacity  The maximum number of hook invocations which may be waiting for a thread
+	 * @param theOverflowPolicy What to do with a hook invocation when the queue is full
+	 */
+	public AsyncHookDispatcher(String theName, int theThreadCount, int theQueueCapacity, OverflowPolicyEnum theOverflowPolicy) {
+		Validate.notBlank(theName, "Name must not be blank");
+		Validate.isTrue(theThreadCount > 0, "Thread count must be positive");
+		Validate.isTrue(theQueueCapacity > 0, "Queue capacity must be positive");
+		Validate.notNull(theOverflowPolicy, "Overflow policy must not be null");
+
+		myOverflowPolicy = theOverflowPolicy;
+		myQueue = new ArrayBlockingQueue<>(theQueueCapacity);
+		BasicThreadFactory threadFactory = new BasicThreadFactory.Builder()
+			.namingPattern(theName + "-%d")
+			.daemon(true)
+			.priority(Thread.NORM_PRIORITY)
+			.build();
+		myExecutor = new ThreadPoolExecutor(
+			theThreadCount,
+			theThreadCount,
+			0L,
+			TimeUnit.MILLISECONDS,
+			myQueue,
+			threadFactory,
+			new OverflowHandler());
+	}
+
+	/**
+	 * Queues the given hook invocation. Exceptions thrown by the hook are logged and counted,
+	 * and are never propagated to the caller.
+	 */
+	void dispatch(Runnable theHookInvocation) {
+		myDispatchedCount.increment();
+		myExecutor.execute(() -> runAndCount(theHookInvocation));
+	}
+
+	private void runAndCount(Runnable theHookInvocation) {
+		try {
+			theHookInvocation.run();
+			myCompletedCount.increment();
+		} catch (Throwable e) {
+			myFailedCount.increment();
+			ourLog.error("Exception thrown by asynchronous interceptor hook: " + e, e);
+		}
+	}
+
+	/**
+	 * Stops accepting new work and waits up to the given time for queued hook invocations
+	 * to complete
+	 *
+	 * @return Returns <code>true</code> if all queued work completed in time
+	 */
+	public boolean shutdown(long theTimeout, TimeUnit theUnit) throws InterruptedException {
+		myExecutor.shutdown();
+		return myExecutor.awaitTermination(theTimeout, theUnit);
+	}
+
+	/**
+	 * Returns <code>true</code> if {@link #shutdown(long, TimeUnit)} has been called
+	 */
+	public boolean isShutdown() {
+		return myExecutor.isShutdown();
+	}
+
+	public OverflowPolicyEnum getOverflowPolicy() {
+		return myOverflowPolicy;
+	}
+
+	/**
+	 * Returns the number of hook invocations currently waiting for a thread
+	 */
+	public int getQueueSize() {
+		return myQueue.size();
+	}
+
+	/**
+	 * Returns the maximum number of hook invocations which may wait for a thread
+	 */
+	public int getQueueCapacity() {
+		return myQueue.size() + myQueue.remainingCapacity();
+	}
+
+	/**
+	 * Returns the number of hook invocations which have been dispatched, including any which overflowed
+	 */
+	public long getDispatchedCount() {
+		return myDispatchedCount.sum();
+	}
+
+	/**
+	 * Returns the number of hook invocations which completed normally
+	 */
+	public long getCompletedCount() {
+		return myCompletedCount.sum();
+	}
+
+	/**
+	 * Returns the number of hook invocations which threw an exception
+	 */
+	public long getFailedCount() {
+		return myFailedCount.sum();
+	}
+
+	/**
+	 * Returns the number of hook invocations which were dispatched while the queue was full,
+	 * and were therefore handled according to the {@link #getOverflowPolicy() overflow policy}
+	 */
+	public long getOverflowCount() {
+		return myOverflowCount.sum();
+	}
+
+	public enum OverflowPolicyEnum {
+
+		/**
+		 * Run the hook on the thread which fired the pointcut, as though it was not asynchronous.
+		 * Nothing is lost, but request threads absorb the cost of the hooks while the pool is saturated.
+		 */
+		RUN_ON_CALLER,
+
+		/**
+		 * Block the thread which fired the pointcut until there is space in the queue, or until the dispatcher is shut down
+		 */
+		BLOCK,
+
+		/**
+		 * Drop the hook invocation and log a warning. This keeps request latency flat
+		 * at the expense of losing observer work while the pool is saturated.
+		 */
+		DISCARD
+
+	}
+
+	private class OverflowHandler implements RejectedExecutionHandler {
+
+		@Override
+		public void rejectedExecution(Runnable theRunnable, ThreadPoolExecutor theExecutor) {
+			if (theExecutor.isShutdown()) {
+				ourLog.warn("Asynchronous hook dispatcher has been shut down, discarding hook invocation");
+				return;
+			}
+
+			myOverflowCount.increment();
+			switch (myOverflowPolicy) {
+				case RUN_ON_CALLER:
+					theRunnable.run();
+					break;
+				case BLOCK:
+					/*
+					 * Wait in short steps rather than calling put(), so that a caller which is blocked
+					 * here can never wait forever on a queue which no worker thread will drain because
+					 * the dispatcher has been shut down in the meantime
+					 */
+					try {
+						while (!myQueue.offer(theRunnable, BLOCK_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+							if (theExecutor.isShutdown()) {
+								ourLog.warn("Asynchronous hook dispatcher has been shut down, discarding hook invocation");
+								return;
+							}
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RejectedExecutionException(Msg.code(2302) + "Interrupted while waiting to queue asynchronous hook", e);
+					}
+					if (theExecutor.isTerminated() && myQueue.remove(theRunnable)) {
+						ourLog.warn("Asynchronous hook dispatcher has been shut down, discarding hook invocation");
+					}
+					break;
+				case DISCARD:
+				default:
+					// Avoid flooding the log while the pool is saturated
+					if (myOverflowCount.sum() % 1000 == 1) {
+						ourLog.warn("Asynchronous hook queue is full ({} entries), discarding hook invocation. {} invocations have overflowed so far.", myQueue.size(), myOverflowCount.sum());
+					}
+					break;
+			}
+		}
+	}
+}
@@ -42,14 +42,18 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
@@ -57,18 +61,60 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & IPointcut> implements IBaseInterceptorService<POINTCUT>, IBaseInterceptorBroadcaster<POINTCUT> {
+	/**
+	 * Default value for {@link #setSlowHookThresholdMillis(long)}
+	 *
+	 * @since 6.6.0
+	 */
+	public static final long DEFAULT_SLOW_HOOK_THRESHOLD_MILLIS = 1000;
 	private static final Logger ourLog = LoggerFactory.getLogger(BaseInterceptorService.class);
+	private static final long ASYNC_HOOK_SHUTDOWN_TIMEOUT_SECONDS = 10;
+	/**
+	 * Pointcuts whose hooks are expected to modify the objects they are passed (or which need to
+	 * run before the caller continues), so they can not be run asynchronously
+	 */
+	private static final Set<Pointcut> ourPointcutsWhichCanNotBeAsync = Collections.unmodifiableSet(EnumSet.of(
+		Pointcut.INTERCEPTOR_REGISTERED,
+		Pointcut.CLIENT_REQUEST,
+		Pointcut.SERVER_OUTGOING_FAILURE_OPERATIONOUTCOME,
+		Pointcut.STORAGE_CASCADE_DELETE,
+		Pointcut.STORAGE_INITIATE_BULK_EXPORT,
+		Pointcut.STORAGE_PRE_DELETE_EXPUNGE,
+		Pointcut.STORAGE_PRE_DELETE_EXPUNGE_PID_LIST,
+		Pointcut.STORAGE_PREACCESS_RESOURCES,
+		Pointcut.STORAGE_PRESEARCH_REGISTERED,
+		Pointcut.STORAGE_PRESHOW_RESOURCES,
+		Pointcut.STORAGE_PRESTORAGE_RESOURCE_CREATED,
+		Pointcut.STORAGE_PRESTORAGE_CLIENT_ASSIGNED_ID,
+		Pointcut.STORAGE_PRESTORAGE_RESOURCE_UPDATED,
+		Pointcut.STORAGE_PRESTORAGE_RESOURCE_DELETED,
+		Pointcut.STORAGE_TRANSACTION_PROCESSING,
+		Pointcut.MDM_BEFORE_PERSISTED_RESOURCE_CHECKED));
 	private final List<Object> myInterceptors = new ArrayList<>();
 	private final ListMultimap<POINTCUT, BaseInvoker> myGlobalInvokers = ArrayListMultimap.create();
 	private final ListMultimap<POINTCUT, BaseInvoker> myAnonymousInvokers = ArrayListMultimap.create();
 	private final Object myRegistryMutex = new Object();
 	private final Class<POINTCUT> myPointcutType;
 	private volatile EnumSet<POINTCUT> myRegisteredPointcuts;
+	/**
+	 * An immutable snapshot of the ordered invokers for each pointcut. This is
+	 * replaced (never modified) whenever the registry changes, so that hooks
+	 * can be called without taking {@link #myRegistryMutex}.
+	 */
+	private volatile Map<POINTCUT, List<BaseInvoker>> myInvokersByPointcut;
+	private final Map<String, HookStatisticsCollector> myHookStatistics = new ConcurrentHashMap<>();
+	private volatile boolean myInstrumentationEnabled;
+	private volatile long mySlowHookThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_HOOK_THRESHOLD_MILLIS);
+	private volatile AsyncHookDispatcher myAsyncHookDispatcher;
+	private boolean myAsyncHookDispatcherCreatedByThisService;
 	private String myName;
 	private boolean myWarnOnInterceptorWithNoHooks = true;
 
@@ -88,7 +134,7 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 		super();
 		myName = theName;
 		myPointcutType = thePointcutType;
-		rebuildRegisteredPointcutSet();
+		rebuildInvokerSnapshot();
 	}
 
 	/**
@@ -98,6 +144,143 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 		myWarnOnInterceptorWithNoHooks = theWarnOnInterceptorWithNoHooks;
 	}
 
+	/**
+	 * Should invocation counts, error counts and latencies be recorded for each hook
+	 * (default is <code>false</code>)? When enabled, the collected statistics can be
+	 * retrieved using {@link #getHookStatistics()}, and any hook invocation which takes
+	 * longer than the {@link #setSlowHookThresholdMillis(long) slow hook threshold} is
+	 * logged as a warning. Enabling this adds a small amount of overhead to every
+	 * hook invocation. For {@link ca.uhn.fhir.interceptor.api.Hook#async() asynchronous}
+	 * hooks, the time recorded is the time taken to hand the hook to the dispatcher.
+	 *
+	 * @since 6.6.0
+	 */
+	public void setInstrumentationEnabled(boolean theInstrumentationEnabled) {
+		myInstrumentationEnabled = theInstrumentationEnabled;
+	}
+
+	/**
+	 * Are invocation statistics being recorded for each hook?
+	 *
+	 * @see #setInstrumentationEnabled(boolean)
+	 * @since 6.6.0
+	 */
+	public boolean isInstrumentationEnabled() {
+		return myInstrumentationEnabled;
+	}
+
+	/**
+	 * When {@link #setInstrumentationEnabled(boolean) instrumentation} is enabled, any hook
+	 * invocation which takes longer than this threshold is logged as a warning. Defaults to
+	 * {@link #DEFAULT_SLOW_HOOK_THRESHOLD_MILLIS}.
+	 *
+	 * @since 6.6.0
+	 */
+	public void setSlowHookThresholdMillis(long theSlowHookThresholdMillis) {
+		Validate.isTrue(theSlowHookThresholdMillis >= 0, "Threshold must not be negative");
+		mySlowHookThresholdNanos = TimeUnit.MILLISECONDS.toNanos(theSlowHookThresholdMillis);
+	}
+
+	/**
+	 * @see #setSlowHookThresholdMillis(long)
+	 * @since 6.6.0
+	 */
+	public long getSlowHookThresholdMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(mySlowHookThresholdNanos);
+	}
+
+	/**
+	 * Returns a snapshot of the statistics recorded for each hook which has been invoked
+	 * while {@link #setInstrumentationEnabled(boolean) instrumentation} was enabled, sorted
+	 * by the total time spent in the hook (longest first).
+	 *
+	 * @since 6.6.0
+	 */
+	public List<HookStatistics> getHookStatistics() {
+		return myHookStatistics
+			.values()
+			.stream()
+			.filter(t -> t.getInvocationCount() > 0)
+			.map(HookStatisticsCollector::toStatistics)
+			.sorted(Comparator.comparing(HookStatistics::getTotalNanos).reversed())
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Discards any hook statistics recorded so far
+	 *
+	 * @since 6.6.0
+	 */
+	public void clearHookStatistics() {
+		myHookStatistics.values().forEach(HookStatisticsCollector::reset);
+	}
+
+	/**
+	 * Sets the dispatcher used to run hooks which are declared with
+	 * {@link ca.uhn.fhir.interceptor.api.Hook#async() async = true}. If this is not set, a
+	 * dispatcher using the default pool size, queue capacity and overflow policy is created the
+	 * first time an asynchronous hook is invoked.
+	 *
+	 * @since 6.6.0
+	 */
+	public void setAsyncHookDispatcher(AsyncHookDispatcher theAsyncHookDispatcher) {
+		Validate.notNull(theAsyncHookDispatcher, "Dispatcher must not be null");
+		synchronized (myRegistryMutex) {
+			myAsyncHookDispatcher = theAsyncHookDispatcher;
+			myAsyncHookDispatcherCreatedByThisService = false;
+		}
+	}
+
+	/**
+	 * Returns the dispatcher used to run asynchronous hooks, creating a default one if none
+	 * has been set
+	 *
+	 * @see #setAsyncHookDispatcher(AsyncHookDispatcher)
+	 * @since 6.6.0
+	 */
+	public AsyncHookDispatcher getAsyncHookDispatcher() {
+		AsyncHookDispatcher retVal = myAsyncHookDispatcher;
+		if (retVal == null) {
+			synchronized (myRegistryMutex) {
+				retVal = myAsyncHookDispatcher;
+				if (retVal == null) {
+					retVal = new AsyncHookDispatcher("interceptor-async-" + myName);
+					myAsyncHookDispatcher = retVal;
+					myAsyncHookDispatcherCreatedByThisService = true;
+				}
+			}
+		}
+		return retVal;
+	}
+
+	/**
+	 * Shuts down the dispatcher which was created by this service to run asynchronous hooks,
+	 * if one was created, waiting briefly for any queued hook invocations to complete. A dispatcher
+	 * supplied using {@link #setAsyncHookDispatcher(AsyncHookDispatcher)} is left for its owner
+	 * to shut down.
+	 * <p>
+	 * When this service is declared as a Spring bean, Spring calls this method automatically when
+	 * the application context is closed.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	public void shutdown() {
+		AsyncHookDispatcher dispatcher;
+		synchronized (myRegistryMutex) {
+			dispatcher = myAsyncHookDispatcherCreatedByThisService ? myAsyncHookDispatcher : null;
+		}
+		if (dispatcher != null) {
+			try {
+				if (!dispatcher.shutdown(ASYNC_HOOK_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+					ourLog.warn("Asynchronous hooks for interceptor service {} did not complete within {} seconds", myName, ASYNC_HOOK_SHUTDOWN_TIMEOUT_SECONDS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 	@VisibleForTesting
 	List<Object> getGlobalInterceptorsForUnitTest() {
 		return myInterceptors;
@@ -117,7 +300,7 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 				myInterceptors.add(theInterceptor);
 			}
 
-			rebuildRegisteredPointcutSet();
+			rebuildInvokerSnapshot();
 		}
 	}
 
@@ -177,7 +360,7 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 				}
 			}
 
-			rebuildRegisteredPointcutSet();
+			rebuildInvokerSnapshot();
 		}
 	}
 
@@ -201,16 +384,28 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 			myInterceptors.add(theInterceptor);
 			sortByOrderAnnotation(myInterceptors);
 
-			rebuildRegisteredPointcutSet();
+			rebuildInvokerSnapshot();
 
 			return true;
 		}
 	}
 
-	private void rebuildRegisteredPointcutSet() {
+	/**
+	 * Must be called while holding {@link #myRegistryMutex} after any change to the
+	 * registered invokers
+	 */
+	private void rebuildInvokerSnapshot() {
 		EnumSet<POINTCUT> registeredPointcuts = EnumSet.noneOf(myPointcutType);
 		registeredPointcuts.addAll(myAnonymousInvokers.keySet());
 		registeredPointcuts.addAll(myGlobalInvokers.keySet());
+
+		Map<POINTCUT, List<BaseInvoker>> invokersByPointcut = new EnumMap<>(myPointcutType);
+		for (POINTCUT nextPointcut : registeredPointcuts) {
+			List<BaseInvoker> invokers = union(myGlobalInvokers.get(nextPointcut), myAnonymousInvokers.get(nextPointcut));
+			invokersByPointcut.put(nextPointcut, Collections.unmodifiableList(new ArrayList<>(invokers)));
+		}
+
+		myInvokersByPointcut = invokersByPointcut;
 		myRegisteredPointcuts = registeredPointcuts;
 	}
 
@@ -229,7 +424,7 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 			boolean removed = myInterceptors.removeIf(t -> t == theInterceptor);
 			removed |= myGlobalInvokers.entries().removeIf(t -> t.getValue().getInterceptor() == theInterceptor);
 			removed |= myAnonymousInvokers.entries().removeIf(t -> t.getValue().getInterceptor() == theInterceptor);
-			rebuildRegisteredPointcutSet();
+			rebuildInvokerSnapshot();
 			return removed;
 		}
 	}
@@ -272,15 +467,22 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 	}
 
 	private Object doCallHooks(POINTCUT thePointcut, HookParams theParams, Object theRetVal) {
-		// use new list for loop to avoid ConcurrentModificationException in case invoker gets added while looping
-		List<BaseInvoker> invokers = new ArrayList<>(getInvokersForPointcut(thePointcut));
+		// The snapshot is immutable, so invokers being registered or unregistered while we loop are not a problem
+		List<BaseInvoker> invokers = getInvokersForPointcut(thePointcut);
+		Class<?> pointcutReturnType = thePointcut.getReturnType();
+		boolean instrumentationEnabled = myInstrumentationEnabled;
 
 		/*
 		 * Call each hook in order
 		 */
-		for (BaseInvoker nextInvoker : invokers) {
-			Object nextOutcome = nextInvoker.invoke(theParams);
-			Class<?> pointcutReturnType = thePointcut.getReturnType();
+		for (int i = 0; i < invokers.size(); i++) {
+			BaseInvoker nextInvoker = invokers.get(i);
+			Object nextOutcome;
+			if (instrumentationEnabled) {
+				nextOutcome = invokeAndRecordStatistics(thePointcut, nextInvoker, theParams);
+			} else {
+				nextOutcome = nextInvoker.invoke(theParams);
+			}
 			if (pointcutReturnType.equals(boolean.class)) {
 				Boolean nextOutcomeAsBoolean = (Boolean) nextOutcome;
 				if (Boolean.FALSE.equals(nextOutcomeAsBoolean)) {
@@ -299,6 +501,36 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 		return theRetVal;
 	}
 
+	private Object invokeAndRecordStatistics(POINTCUT thePointcut, BaseInvoker theInvoker, HookParams theParams) {
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			Object retVal = theInvoker.invoke(theParams);
+			failed = false;
+			return retVal;
+		} finally {
+			long elapsedNanos = System.nanoTime() - start;
+			HookStatisticsCollector collector = getStatisticsCollector(thePointcut, theInvoker);
+			collector.record(elapsedNanos, failed);
+			if (elapsedNanos > mySlowHookThresholdNanos) {
+				ourLog.warn("Slow interceptor hook in service \"{}\": {}#{} took {}ms for pointcut {}", myName, theInvoker.getInterceptor().getClass().getName(), theInvoker.getHookMethodName(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), thePointcut.name());
+			}
+		}
+	}
+
+	private HookStatisticsCollector getStatisticsCollector(POINTCUT thePointcut, BaseInvoker theInvoker) {
+		// Each invoker belongs to a single pointcut, so the collector can be cached on it
+		HookStatisticsCollector retVal = theInvoker.myStatisticsCollector;
+		if (retVal == null) {
+			String interceptorClassName = theInvoker.getInterceptor().getClass().getName();
+			String methodName = theInvoker.getHookMethodName();
+			String key = thePointcut.name() + " " + interceptorClassName + "#" + methodName;
+			retVal = myHookStatistics.computeIfAbsent(key, t -> new HookStatisticsCollector(thePointcut.name(), interceptorClassName, methodName));
+			theInvoker.myStatisticsCollector = retVal;
+		}
+		return retVal;
+	}
+
 	@VisibleForTesting
 	List<Object> getInterceptorsWithInvokersForPointcut(POINTCUT thePointcut) {
 		return getInvokersForPointcut(thePointcut)
@@ -308,20 +540,16 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 	}
 
 	/**
-	 * Returns an ordered list of invokers for the given pointcut. Note that
-	 * a new and stable list is returned to.. do whatever you want with it.
+	 * Returns an ordered list of invokers for the given pointcut. The returned list
+	 * is an unmodifiable snapshot, and will not change if interceptors are registered
+	 * or unregistered while it is being used.
 	 */
 	private List<BaseInvoker> getInvokersForPointcut(POINTCUT thePointcut) {
-		List<BaseInvoker> invokers;
-
-		synchronized (myRegistryMutex) {
-			List<BaseInvoker> globalInvokers = myGlobalInvokers.get(thePointcut);
-			List<BaseInvoker> anonymousInvokers = myAnonymousInvokers.get(thePointcut);
-			List<BaseInvoker> threadLocalInvokers = null;
-			invokers = union(globalInvokers, anonymousInvokers, threadLocalInvokers);
+		List<BaseInvoker> retVal = myInvokersByPointcut.get(thePointcut);
+		if (retVal == null) {
+			return Collections.emptyList();
 		}
-
-		return invokers;
+		return retVal;
 	}
 
 	/**
@@ -451,10 +679,16 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 
 	private class HookInvoker extends BaseInvoker {
 
+		/**
+		 * Marks a parameter slot which receives the pointcut itself instead of a value from the {@link HookParams}
+		 */
+		private static final int POINTCUT_PARAMETER_INDEX = -1;
 		private final Method myMethod;
+		private final MethodHandle myMethodHandle;
 		private final Class<?>[] myParameterTypes;
 		private final int[] myParameterIndexes;
 		private final POINTCUT myPointcut;
+		private final boolean myAsync;
 
 		/**
 		 * Constructor
@@ -464,8 +698,14 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 			myPointcut = theHook.getPointcut();
 			myParameterTypes = theHookMethod.getParameterTypes();
 			myMethod = theHookMethod;
+			myAsync = theHook.isAsync();
 
 			Class<?> returnType = theHookMethod.getReturnType();
+			if (myAsync) {
+				Validate.isTrue(void.class.equals(returnType), "Asynchronous hook method does not return void: %s", theHookMethod);
+				Validate.isTrue(void.class.equals(myPointcut.getReturnType()), "Hooks for pointcut %s can not be asynchronous because the pointcut returns %s: %s", myPointcut, myPointcut.getReturnType().getSimpleName(), theHookMethod);
+				Validate.isTrue(!ourPointcutsWhichCanNotBeAsync.contains(myPointcut), "Hooks for pointcut %s can not be asynchronous because they are expected to modify their parameters: %s", myPointcut, theHookMethod);
+			}
 			if (myPointcut.getReturnType().equals(boolean.class)) {
 				Validate.isTrue(boolean.class.equals(returnType) || void.class.equals(returnType), "Method does not return boolean or void: %s", theHookMethod);
 			} else if (myPointcut.getReturnType().equals(void.class)) {
@@ -477,11 +717,33 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 			myParameterIndexes = new int[myParameterTypes.length];
 			Map<Class<?>, AtomicInteger> typeToCount = new HashMap<>();
 			for (int i = 0; i < myParameterTypes.length; i++) {
+				if (myParameterTypes[i].equals(Pointcut.class)) {
+					myParameterIndexes[i] = POINTCUT_PARAMETER_INDEX;
+					continue;
+				}
 				AtomicInteger counter = typeToCount.computeIfAbsent(myParameterTypes[i], t -> new AtomicInteger(0));
 				myParameterIndexes[i] = counter.getAndIncrement();
 			}
 
 			myMethod.setAccessible(true);
+
+			/*
+			 * The handle is bound to the interceptor instance and adapted to take the
+			 * arguments as an array and return an Object, so that every hook can be
+			 * called with the same invokeExact signature regardless of its declared
+			 * parameter and return types
+			 */
+			try {
+				MethodHandle methodHandle = MethodHandles.lookup().unreflect(theHookMethod);
+				if (!Modifier.isStatic(theHookMethod.getModifiers())) {
+					methodHandle = methodHandle.bindTo(theInterceptor);
+				}
+				myMethodHandle = methodHandle
+					.asSpreader(Object[].class, myParameterTypes.length)
+					.asType(MethodType.methodType(Object.class, Object[].class));
+			} catch (IllegalAccessException e) {
+				throw new InternalErrorException(Msg.code(2301) + "Unable to access hook method: " + theHookMethod, e);
+			}
 		}
 
 		@Override
@@ -495,6 +757,11 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 			return myPointcut;
 		}
 
+		@Override
+		String getHookMethodName() {
+			return myMethod.getName();
+		}
+
 		/**
 		 * @return Returns true/false if the hook method returns a boolean, returns true otherwise
 		 */
@@ -503,47 +770,69 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 
 			Object[] args = new Object[myParameterTypes.length];
 			for (int i = 0; i < myParameterTypes.length; i++) {
-				Class<?> nextParamType = myParameterTypes[i];
-				if (nextParamType.equals(Pointcut.class)) {
+				int nextParamIndex = myParameterIndexes[i];
+				if (nextParamIndex == POINTCUT_PARAMETER_INDEX) {
 					args[i] = myPointcut;
 				} else {
-					int nextParamIndex = myParameterIndexes[i];
-					Object nextParamValue = theParams.get(nextParamType, nextParamIndex);
-					args[i] = nextParamValue;
+					args[i] = theParams.get(myParameterTypes[i], nextParamIndex);
 				}
 			}
 
+			if (myAsync) {
+				// The arguments are resolved above so that any suppliers are called on the calling thread
+				getAsyncHookDispatcher().dispatch(() -> invokeAsync(args));
+				return null;
+			}
+
 			// Invoke the method
 			try {
-				return myMethod.invoke(getInterceptor(), args);
-			} catch (InvocationTargetException e) {
-				Throwable targetException = e.getTargetException();
-				if (myPointcut.isShouldLogAndSwallowException(targetException)) {
-					ourLog.error("Exception thrown by interceptor: " + targetException.toString(), targetException);
+				return (Object) myMethodHandle.invokeExact(args);
+			} catch (Throwable e) {
+				if (myPointcut.isShouldLogAndSwallowException(e)) {
+					ourLog.error("Exception thrown by interceptor: " + e.toString(), e);
 					return null;
 				}
 
-				if (targetException instanceof RuntimeException) {
-					throw ((RuntimeException) targetException);
+				if (e instanceof RuntimeException) {
+					throw ((RuntimeException) e);
 				} else {
-					throw new InternalErrorException(Msg.code(1910) + "Failure invoking interceptor for pointcut(s) " + getPointcut(), targetException);
+					throw new InternalErrorException(Msg.code(1910) + "Failure invoking interceptor for pointcut(s) " + getPointcut(), e);
 				}
-			} catch (Exception e) {
-				throw new InternalErrorException(Msg.code(1911) + e);
 			}
 
 		}
 
+		private void invokeAsync(Object[] theArgs) {
+			try {
+				Object ignored = (Object) myMethodHandle.invokeExact(theArgs);
+			} catch (Throwable e) {
+				if (e instanceof RuntimeException) {
+					throw ((RuntimeException) e);
+				} else {
+					throw new InternalErrorException(Msg.code(2311) + "Failure invoking interceptor for pointcut(s) " + getPointcut(), e);
+				}
+			}
+		}
+
 	}
 
 	protected class HookDescriptor {
 
 		private final POINTCUT myPointcut;
 		private final int myOrder;
+		private final boolean myAsync;
 
 		public HookDescriptor(POINTCUT thePointcut, int theOrder) {
+			this(thePointcut, theOrder, false);
+		}
+
+		/**
+		 * @since 6.6.0
+		 */
+		public HookDescriptor(POINTCUT thePointcut, int theOrder, boolean theAsync) {
 			myPointcut = thePointcut;
 			myOrder = theOrder;
+			myAsync = theAsync;
 		}
 
 		POINTCUT getPointcut() {
@@ -554,12 +843,17 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 			return myOrder;
 		}
 
+		boolean isAsync() {
+			return myAsync;
+		}
+
 	}
 
 	protected abstract static class BaseInvoker implements Comparable<BaseInvoker> {
 
 		private final int myOrder;
 		private final Object myInterceptor;
+		private HookStatisticsCollector myStatisticsCollector;
 
 		BaseInvoker(Object theInterceptor, int theOrder) {
 			myInterceptor = theInterceptor;
@@ -570,6 +864,13 @@ public abstract class BaseInterceptorService<POINTCUT extends Enum<POINTCUT> & I
 			return myInterceptor;
 		}
 
+		/**
+		 * Returns the name of the method which is invoked, used when recording hook statistics
+		 */
+		String getHookMethodName() {
+			return "invoke";
+		}
+
 		abstract Object invoke(HookParams theParams);
 
 		@Override
@@ -0,0 +1,152 @@
+package ca.uhn.fhir.interceptor.executor;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A point-in-time snapshot of the invocation statistics collected for a single
+ * hook method when instrumentation is enabled on an interceptor service. See
+ * {@link BaseInterceptorService#setInstrumentationEnabled(boolean)}.
+ * <p>
+ * Statistics are aggregated by pointcut, interceptor class and hook method, so
+ * several registered instances of the same interceptor class share a single
+ * set of statistics.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+public final class HookStatistics {
+
+	/**
+	 * The upper bound (exclusive) of each latency histogram bucket, in microseconds. The
+	 * final bucket has no upper bound and holds all invocations which took longer than the
+	 * last value in this list.
+	 */
+	public static final List<Long> LATENCY_BUCKET_UPPER_BOUNDS_MICROS = Collections.unmodifiableList(Arrays.asList(100L, 1_000L, 10_000L, 100_000L, 1_000_000L));
+
+	private final String myPointcutName;
+	private final String myInterceptorClassName;
+	private final String myMethodName;
+	private final long myInvocationCount;
+	private final long myErrorCount;
+	private final long myTotalNanos;
+	private final long myMaxNanos;
+	private final List<Long> myLatencyHistogram;
+
+	HookStatistics(String thePointcutName, String theInterceptorClassName, String theMethodName, long theInvocationCount, long theErrorCount, long theTotalNanos, long theMaxNanos, List<Long> theLatencyHistogram) {
+		myPointcutName = thePointcutName;
+		myInterceptorClassName = theInterceptorClassName;
+		myMethodName = theMethodName;
+		myInvocationCount = theInvocationCount;
+		myErrorCount = theErrorCount;
+		myTotalNanos = theTotalNanos;
+		myMaxNanos = theMaxNanos;
+		myLatencyHistogram = Collections.unmodifiableList(theLatencyHistogram);
+	}
+
+	/**
+	 * The name of the pointcut, e.g. <code>SERVER_INCOMING_REQUEST_PRE_HANDLED</code>
+	 */
+	public String getPointcutName() {
+		return myPointcutName;
+	}
+
+	/**
+	 * The fully qualified class name of the interceptor
+	 */
+	public String getInterceptorClassName() {
+		return myInterceptorClassName;
+	}
+
+	/**
+	 * The name of the hook method
+	 */
+	public String getMethodName() {
+		return myMethodName;
+	}
+
+	/**
+	 * The number of times the hook was invoked, including invocations which threw an exception
+	 */
+	public long getInvocationCount() {
+		return myInvocationCount;
+	}
+
+	/**
+	 * The number of invocations which threw an exception
+	 */
+	public long getErrorCount() {
+		return myErrorCount;
+	}
+
+	/**
+	 * The total time spent in the hook, in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return myTotalNanos;
+	}
+
+	/**
+	 * The longest time taken by a single invocation, in nanoseconds
+	 */
+	public long getMaxNanos() {
+		return myMaxNanos;
+	}
+
+	/**
+	 * The mean time taken by an invocation, in milliseconds
+	 */
+	public double getMeanMillis() {
+		if (myInvocationCount == 0) {
+			return 0;
+		}
+		return (double) myTotalNanos / myInvocationCount / 1_000_000d;
+	}
+
+	/**
+	 * The number of invocations falling into each latency bucket. The returned list has one
+	 * more entry than {@link #LATENCY_BUCKET_UPPER_BOUNDS_MICROS}, with the last entry counting
+	 * invocations which took longer than the largest bound.
+	 */
+	public List<Long> getLatencyHistogram() {
+		return myLatencyHistogram;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+			.append("pointcut", myPointcutName)
+			.append("interceptor", myInterceptorClassName)
+			.append("method", myMethodName)
+			.append("invocations", myInvocationCount)
+			.append("errors", myErrorCount)
+			.append("meanMillis", getMeanMillis())
+			.append("maxMillis", myMaxNanos / 1_000_000d)
+			.append("histogram", myLatencyHistogram)
+			.toString();
+	}
+}
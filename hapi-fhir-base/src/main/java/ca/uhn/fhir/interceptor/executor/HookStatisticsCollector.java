@@ -0,0 +1,98 @@
+package ca.uhn.fhir.interceptor.executor;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the statistics for a single pointcut, interceptor class and hook
+ * method. All methods are thread safe.
+ */
+final class HookStatisticsCollector {
+
+	private static final long[] ourBucketUpperBoundsNanos = HookStatistics.LATENCY_BUCKET_UPPER_BOUNDS_MICROS
+		.stream()
+		.mapToLong(t -> t * 1000L)
+		.toArray();
+
+	private final String myPointcutName;
+	private final String myInterceptorClassName;
+	private final String myMethodName;
+	private final LongAdder myInvocationCount = new LongAdder();
+	private final LongAdder myErrorCount = new LongAdder();
+	private final LongAdder myTotalNanos = new LongAdder();
+	private final LongAccumulator myMaxNanos = new LongAccumulator(Math::max, 0);
+	private final LongAdder[] myBuckets;
+
+	HookStatisticsCollector(String thePointcutName, String theInterceptorClassName, String theMethodName) {
+		myPointcutName = thePointcutName;
+		myInterceptorClassName = theInterceptorClassName;
+		myMethodName = theMethodName;
+		myBuckets = new LongAdder[ourBucketUpperBoundsNanos.length + 1];
+		for (int i = 0; i < myBuckets.length; i++) {
+			myBuckets[i] = new LongAdder();
+		}
+	}
+
+	void record(long theElapsedNanos, boolean theFailed) {
+		myInvocationCount.increment();
+		if (theFailed) {
+			myErrorCount.increment();
+		}
+		myTotalNanos.add(theElapsedNanos);
+		myMaxNanos.accumulate(theElapsedNanos);
+
+		int bucket = 0;
+		while (bucket < ourBucketUpperBoundsNanos.length && theElapsedNanos >= ourBucketUpperBoundsNanos[bucket]) {
+			bucket++;
+		}
+		myBuckets[bucket].increment();
+	}
+
+	/**
+	 * Resets the counters. Invocations which are recorded concurrently with a reset may be
+	 * partially counted.
+	 */
+	void reset() {
+		myInvocationCount.reset();
+		myErrorCount.reset();
+		myTotalNanos.reset();
+		myMaxNanos.reset();
+		for (LongAdder next : myBuckets) {
+			next.reset();
+		}
+	}
+
+	long getInvocationCount() {
+		return myInvocationCount.sum();
+	}
+
+	HookStatistics toStatistics() {
+		List<Long> histogram = new ArrayList<>(myBuckets.length);
+		for (LongAdder next : myBuckets) {
+			histogram.add(next.sum());
+		}
+		return new HookStatistics(myPointcutName, myInterceptorClassName, myMethodName, myInvocationCount.sum(), myErrorCount.sum(), myTotalNanos.sum(), myMaxNanos.get(), histogram);
+	}
+}
@@ -35,6 +35,7 @@ public abstract class BasePrimitive<T> extends BaseIdentifiableElement implement
 
 	private T myCoercedValue;
 	private String myStringValue;
+	private boolean myParsePending;
 
 	/**
 	 * Subclasses must override to convert a "coerced" value into an encoded one.
@@ -63,6 +64,7 @@ public abstract class BasePrimitive<T> extends BaseIdentifiableElement implement
 
 	@Override
 	public T getValue() {
+		parseDeferredValue();
 		return myCoercedValue;
 	}
 
@@ -78,9 +80,50 @@ public abstract class BasePrimitive<T> extends BaseIdentifiableElement implement
 
 	@Override
 	public boolean isEmpty() {
+		if (myParsePending) {
+			return super.isBaseEmpty() && StringUtils.isBlank(myStringValue);
+		}
 		return super.isBaseEmpty() && getValue() == null;
 	}
 
+	/**
+	 * Subclasses may override to return <code>true</code> if {@link #setValueAsStringDeferred(String)}
+	 * is allowed to postpone parsing the given value. The default is <code>false</code>, which is
+	 * appropriate for types whose {@link #parse(String)} is trivial or whose state can not
+	 * be derived from the string value alone.
+	 *
+	 * @param theValue The value being set. Will not be null.
+	 * @since 6.6.0
+	 */
+	protected boolean isDeferredParsingSupported(String theValue) {
+		return false;
+	}
+
+	/**
+	 * Returns <code>true</code> if a value was supplied using {@link #setValueAsStringDeferred(String)}
+	 * and has not yet been parsed
+	 *
+	 * @since 6.6.0
+	 */
+	public boolean isParsePending() {
+		return myParsePending;
+	}
+
+	/**
+	 * Parses a value that was supplied using {@link #setValueAsStringDeferred(String)}, if this
+	 * has not already happened. Subclasses which hold state derived from the parsed value must call
+	 * this method before reading or modifying that state.
+	 *
+	 * @throws DataFormatException If the deferred value is not valid for this type
+	 * @since 6.6.0
+	 */
+	protected final void parseDeferredValue() throws DataFormatException {
+		if (myParsePending) {
+			myParsePending = false;
+			setValueAsString(myStringValue);
+		}
+	}
+
 	/**
 	 * Subclasses must override to convert an encoded representation of this datatype into a "coerced" one
 	 * 
@@ -98,6 +141,7 @@ public abstract class BasePrimitive<T> extends BaseIdentifiableElement implement
 
 	@Override
 	public BasePrimitive<T> setValue(T theValue) throws DataFormatException {
+		myParsePending = false;
 		myCoercedValue = theValue;
 		updateStringValue();
 		return this;
@@ -105,6 +149,7 @@ public abstract class BasePrimitive<T> extends BaseIdentifiableElement implement
 
 	@Override
 	public void setValueAsString(String theValue) throws DataFormatException {
+		myParsePending = false;
 		if (theValue == null) {
 			myCoercedValue = null;
 		} else {
@@ -114,6 +159,30 @@ public abstract class BasePrimitive<T> extends BaseIdentifiableElement implement
 		myStringValue = theValue;
 	}
 
+	/**
+	 * Sets the string value without parsing it. The value is parsed the first time that
+	 * {@link #getValue()} (or any other method which depends on the parsed value) is called,
+	 * so any {@link DataFormatException} caused by an invalid value is also thrown at that time
+	 * instead of from this method. {@link #getValueAsString()} returns the supplied string
+	 * without triggering a parse.
+	 * <p>
+	 * Types which do not support deferred parsing parse the value immediately, exactly as
+	 * {@link #setValueAsString(String)} does.
+	 * </p>
+	 *
+	 * @see ca.uhn.fhir.context.ParserOptions#setDeferPrimitiveValueParsing(boolean)
+	 * @since 6.6.0
+	 */
+	public void setValueAsStringDeferred(String theValue) throws DataFormatException {
+		if (theValue == null || !isDeferredParsingSupported(theValue)) {
+			setValueAsString(theValue);
+			return;
+		}
+		myCoercedValue = null;
+		myStringValue = theValue;
+		myParsePending = true;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName() + "[" + getValueAsString() + "]";
@@ -45,6 +45,11 @@ public class Base64BinaryDt extends BasePrimitive<byte[]> {
 		setValue(theBytes);
 	}
 
+	@Override
+	protected boolean isDeferredParsingSupported(String theValue) {
+		return true;
+	}
+
 	@Override
 	protected byte[] parse(String theValue) {
 		return Base64.decodeBase64(theValue.getBytes(Constants.CHARSET_UTF8));
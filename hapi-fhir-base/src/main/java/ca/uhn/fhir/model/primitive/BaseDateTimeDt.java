@@ -222,6 +222,7 @@ public abstract class BaseDateTimeDt extends BasePrimitive<Date> {
 	 * </p>
 	 */
 	public Long getNanos() {
+		parseDeferredValue();
 		if (isBlank(myFractionalSeconds)) {
 			return null;
 		}
@@ -250,6 +251,7 @@ public abstract class BaseDateTimeDt extends BasePrimitive<Date> {
 	 * @see #setPrecision(TemporalPrecisionEnum)
 	 */
 	public TemporalPrecisionEnum getPrecision() {
+		parseDeferredValue();
 		if (myPrecision == null) {
 			return getDefaultPrecisionForDatatype();
 		}
@@ -268,6 +270,7 @@ public abstract class BaseDateTimeDt extends BasePrimitive<Date> {
 	 * supplied.
 	 */
 	public TimeZone getTimeZone() {
+		parseDeferredValue();
 		if (myTimeZoneZulu) {
 			return getTimeZone("GMT");
 		}
@@ -303,10 +306,20 @@ public abstract class BaseDateTimeDt extends BasePrimitive<Date> {
 	 */
 	protected abstract boolean isPrecisionAllowed(TemporalPrecisionEnum thePrecision);
 
+	/**
+	 * The {@link #NOW_DATE_CONSTANT} and {@link #TODAY_DATE_CONSTANT} placeholders are
+	 * replaced with the current time when they are set, so they are never deferred.
+	 */
+	@Override
+	protected boolean isDeferredParsingSupported(String theValue) {
+		return theValue.isEmpty() || theValue.charAt(0) != '%';
+	}
+
 	/**
 	 * Returns true if the timezone is set to GMT-0:00 (Z)
 	 */
 	public boolean isTimeZoneZulu() {
+		parseDeferredValue();
 		return myTimeZoneZulu;
 	}
 
@@ -552,6 +565,7 @@ public abstract class BaseDateTimeDt extends BasePrimitive<Date> {
 		if (thePrecision == null) {
 			throw new NullPointerException(Msg.code(1881) + "Precision may not be null");
 		}
+		parseDeferredValue();
 		myPrecision = thePrecision;
 		updateStringValue();
 		return this;
@@ -591,12 +605,14 @@ public abstract class BaseDateTimeDt extends BasePrimitive<Date> {
 	}
 
 	public BaseDateTimeDt setTimeZone(TimeZone theTimeZone) {
+		parseDeferredValue();
 		myTimeZone = theTimeZone;
 		updateStringValue();
 		return this;
 	}
 
 	public BaseDateTimeDt setTimeZoneZulu(boolean theTimeZoneZulu) {
+		parseDeferredValue();
 		myTimeZoneZulu = theTimeZoneZulu;
 		updateStringValue();
 		return this;
@@ -103,6 +103,11 @@ public class DecimalDt extends BasePrimitive<BigDecimal> implements Comparable<D
 		return getValue();
 	}
 
+	@Override
+	protected boolean isDeferredParsingSupported(String theValue) {
+		return true;
+	}
+
 	@Override
 	protected BigDecimal parse(String theValue) {
 		return new BigDecimal(theValue);
@@ -0,0 +1,202 @@
+package ca.uhn.fhir.parser;
+
+/*
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.context.BaseRuntimeChildDefinition;
+import ca.uhn.fhir.context.BaseRuntimeElementCompositeDefinition;
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.context.RuntimeResourceDefinition;
+import ca.uhn.fhir.i18n.Msg;
+import org.hl7.fhir.instance.model.api.IBase;
+import org.hl7.fhir.instance.model.api.IBaseBundle;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IPrimitiveType;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Common superclass for the format specific {@link IBundleEntryIterator} implementations. Subclasses
+ * feed the source document into a {@link ParserState} for the whole Bundle, and this class detaches
+ * each entry from the Bundle as soon as it has been completely parsed.
+ */
+abstract class BaseBundleEntryIterator implements IBundleEntryIterator {
+
+	private final BaseParser myParser;
+	private final FhirContext myContext;
+	private final ParserState<IBaseResource> myState;
+	private IBaseBundle myBundle;
+	private BaseRuntimeChildDefinition myEntryChild;
+	private BaseRuntimeChildDefinition myEntryFullUrlChild;
+	private BaseRuntimeChildDefinition myEntryResourceChild;
+	private BaseRuntimeChildDefinition myEntryRequestChild;
+	private BaseRuntimeChildDefinition myEntryRequestUrlChild;
+	private IBase myNext;
+	private boolean myFinished;
+
+	BaseBundleEntryIterator(BaseParser theParser, IParserErrorHandler theErrorHandler, boolean theJsonMode) {
+		myParser = theParser;
+		myContext = theParser.getContext();
+		myState = ParserState.getPreResourceInstance(theParser, null, myContext, theJsonMode, theErrorHandler);
+	}
+
+	ParserState<IBaseResource> getState() {
+		return myState;
+	}
+
+	/**
+	 * Subclasses must call this method once the root element has been entered
+	 */
+	void startBundle() {
+		IBase rootElement = myState.getCurrentElement();
+		if (!(rootElement instanceof IBaseBundle)) {
+			String resourceType = rootElement instanceof IBaseResource ? myContext.getResourceType((IBaseResource) rootElement) : null;
+			throw new DataFormatException(Msg.code(2278) + "Incremental parsing requires a Bundle, found resource of type: " + resourceType);
+		}
+		myBundle = (IBaseBundle) rootElement;
+
+		RuntimeResourceDefinition bundleDef = myContext.getResourceDefinition(myBundle);
+		myEntryChild = bundleDef.getChildByName("entry");
+		BaseRuntimeElementCompositeDefinition<?> entryDef = (BaseRuntimeElementCompositeDefinition<?>) myEntryChild.getChildByName("entry");
+		myEntryFullUrlChild = entryDef.getChildByName("fullUrl");
+		myEntryResourceChild = entryDef.getChildByName("resource");
+		myEntryRequestChild = entryDef.getChildByName("request");
+		if (myEntryRequestChild != null) {
+			BaseRuntimeElementCompositeDefinition<?> requestDef = (BaseRuntimeElementCompositeDefinition<?>) myEntryRequestChild.getChildByName("request");
+			myEntryRequestUrlChild = requestDef.getChildByName("url");
+		}
+	}
+
+	/**
+	 * Subclasses must call this method once the root element has been completely parsed
+	 */
+	void finishBundle() {
+		myBundle = (IBaseBundle) myState.getObject();
+	}
+
+	/**
+	 * Subclasses must call this method when the end of an entry has been parsed. The entry
+	 * is removed from the Bundle and returned.
+	 */
+	IBase takeEntry() {
+		List<IBase> entries = myEntryChild.getAccessor().getValues(myBundle);
+		if (entries.isEmpty()) {
+			return null;
+		}
+		IBase retVal = entries.get(entries.size() - 1);
+		myEntryChild.getMutator().setValue(myBundle, null);
+		myState.clearGlobalResourcesAndReferences();
+
+		IBaseResource resource = getSingleValue(myEntryResourceChild, retVal);
+		if (resource != null) {
+			IPrimitiveType<?> fullUrl = getSingleValue(myEntryFullUrlChild, retVal);
+			String fullUrlValue = fullUrl != null ? fullUrl.getValueAsString() : null;
+
+			/*
+			 * This mirrors what ParserState does for the entries of a Bundle that is
+			 * parsed in its entirety
+			 */
+			if (resource.getIdElement().isEmpty()) {
+				IBase request = getSingleValue(myEntryRequestChild, retVal);
+				IPrimitiveType<?> requestUrl = request != null ? getSingleValue(myEntryRequestUrlChild, request) : null;
+				if (requestUrl != null && isNotBlank(requestUrl.getValueAsString()) && requestUrl.getValueAsString().startsWith("urn:")) {
+					resource.setId(requestUrl.getValueAsString());
+				}
+			}
+
+			if (myParser.isOverrideResourceIdWithBundleEntryFullUrl()) {
+				myParser.overrideResourceIdWithBundleEntryFullUrl(fullUrlValue, resource);
+			}
+		}
+
+		return retVal;
+	}
+
+	/**
+	 * Advances the parse until the next entry has been parsed, and returns it (using
+	 * {@link #takeEntry()}), or returns <code>null</code> if the end of the document has
+	 * been reached
+	 */
+	protected abstract IBase readNextEntry();
+
+	/**
+	 * Advances the parse until the start of the root element if this hasn't already happened
+	 */
+	protected abstract void readBundleStart();
+
+	/**
+	 * Releases any resources associated with the source document
+	 */
+	protected abstract void closeSource();
+
+	@Override
+	public IBaseBundle getBundle() {
+		if (myBundle == null && !myFinished) {
+			readBundleStart();
+		}
+		return myBundle;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (myNext == null && !myFinished) {
+			try {
+				myNext = readNextEntry();
+			} catch (RuntimeException e) {
+				close();
+				throw e;
+			}
+			if (myNext == null) {
+				close();
+			}
+		}
+		return myNext != null;
+	}
+
+	@Override
+	public IBase next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException(Msg.code(2279) + "No more Bundle entries");
+		}
+		IBase retVal = myNext;
+		myNext = null;
+		return retVal;
+	}
+
+	@Override
+	public void close() {
+		if (!myFinished) {
+			myFinished = true;
+			closeSource();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends IBase> T getSingleValue(BaseRuntimeChildDefinition theChild, IBase theTarget) {
+		if (theChild == null) {
+			return null;
+		}
+		return (T) theChild.getAccessor().getFirstValueOrNull(theTarget).orElse(null);
+	}
+
+}
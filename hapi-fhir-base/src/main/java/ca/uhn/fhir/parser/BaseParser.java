@@ -65,6 +65,8 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
@@ -75,6 +77,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -108,6 +111,8 @@ public abstract class BaseParser implements IParser {
 	private IIdType myEncodeForceResourceId;
 	private IParserErrorHandler myErrorHandler;
 	private boolean myOmitResourceId;
+	private Set<String> myParseElements;
+	private ParseElementsFilter myParseElementsFilter;
 	private List<Class<? extends IBaseResource>> myPreferTypes;
 	private String myServerBaseUrl;
 	private Boolean myStripVersionsFromReferences;
@@ -283,9 +288,70 @@ public abstract class BaseParser implements IParser {
 		encodeResourceToWriter(theResource, theWriter, encodeContext);
 	}
 
+	@Override
+	public void encodeBundleToWriter(IBaseBundle theBundle, Iterator<? extends IBase> theEntries, Writer theWriter) throws IOException, DataFormatException {
+		Validate.notNull(theBundle, "theBundle can not be null");
+		Validate.notNull(theEntries, "theEntries can not be null");
+
+		EncodeContext encodeContext = new EncodeContext();
+		if (isSupportsDeferredBundleEntries()) {
+			encodeContext.setDeferredBundleEntries(theBundle, theEntries);
+		} else {
+			BaseRuntimeChildDefinition entryChild = myContext.getResourceDefinition(theBundle).getChildByName("entry");
+			while (theEntries.hasNext()) {
+				entryChild.getMutator().addValue(theBundle, theEntries.next());
+			}
+		}
+
+		encodeResourceToWriter(theBundle, theWriter, encodeContext);
+	}
+
+	/**
+	 * Subclasses which consult {@link EncodeContext#takeDeferredBundleEntries(IBase, BaseRuntimeChildDefinition)}
+	 * when encoding the children of an element should override this method to return <code>true</code>
+	 */
+	protected boolean isSupportsDeferredBundleEntries() {
+		return false;
+	}
+
 	protected void encodeResourceToWriter(IBaseResource theResource, Writer theWriter, EncodeContext theEncodeContext) throws IOException {
-		Validate.notNull(theResource, "theResource can not be null");
 		Validate.notNull(theWriter, "theWriter can not be null");
+		validateResourceForEncoding(theResource, theEncodeContext);
+
+		String resourceName = myContext.getResourceType(theResource);
+		theEncodeContext.pushPath(resourceName, true);
+
+		doEncodeResourceToWriter(theResource, theWriter, theEncodeContext);
+
+		theEncodeContext.popPath();
+	}
+
+	@Override
+	public void encodeResourceToOutputStream(IBaseResource theResource, OutputStream theOutputStream) throws IOException, DataFormatException {
+		Validate.notNull(theOutputStream, "theOutputStream can not be null");
+		EncodeContext encodeContext = new EncodeContext();
+		validateResourceForEncoding(theResource, encodeContext);
+
+		String resourceName = myContext.getResourceType(theResource);
+		encodeContext.pushPath(resourceName, true);
+
+		doEncodeResourceToOutputStream(theResource, theOutputStream, encodeContext);
+
+		encodeContext.popPath();
+	}
+
+	/**
+	 * Subclasses which are able to write UTF-8 bytes directly should override this method. The
+	 * default implementation encodes to a UTF-8 {@link Writer} wrapping the stream.
+	 */
+	protected void doEncodeResourceToOutputStream(IBaseResource theResource, OutputStream theOutputStream, EncodeContext theEncodeContext) throws IOException, DataFormatException {
+		Writer writer = new OutputStreamWriter(theOutputStream, Constants.CHARSET_UTF8);
+		doEncodeResourceToWriter(theResource, writer, theEncodeContext);
+		writer.flush();
+	}
+
+	private void validateResourceForEncoding(IBaseResource theResource, EncodeContext theEncodeContext) {
+		Validate.notNull(theResource, "theResource can not be null");
 		Validate.notNull(theEncodeContext, "theEncodeContext can not be null");
 
 		if (myContext.getVersion().getVersion() == FhirVersionEnum.R4B && theResource.getStructureFhirVersionEnum() == FhirVersionEnum.R5) {
@@ -294,13 +360,6 @@ public abstract class BaseParser implements IParser {
 		if (theResource.getStructureFhirVersionEnum() != myContext.getVersion().getVersion()) {
 			throw new IllegalArgumentException(Msg.code(1829) + "This parser is for FHIR version " + myContext.getVersion().getVersion() + " - Can not encode a structure for version " + theResource.getStructureFhirVersionEnum());
 		}
-
-		String resourceName = myContext.getResourceType(theResource);
-		theEncodeContext.pushPath(resourceName, true);
-
-		doEncodeResourceToWriter(theResource, theWriter, theEncodeContext);
-
-		theEncodeContext.popPath();
 	}
 
 	private void filterCodingsWithNoCodeOrSystem(List<? extends IBaseCoding> tagList) {
@@ -524,6 +583,27 @@ public abstract class BaseParser implements IParser {
 		return myEncodeElementsAppliesToChildResourcesOnly;
 	}
 
+	@Override
+	public IParser setParseElements(Set<String> theParseElements) {
+		if (theParseElements == null || theParseElements.isEmpty()) {
+			myParseElements = null;
+			myParseElementsFilter = null;
+		} else {
+			myParseElements = Collections.unmodifiableSet(new HashSet<>(theParseElements));
+			myParseElementsFilter = new ParseElementsFilter(myParseElements);
+		}
+		return this;
+	}
+
+	@Override
+	public Set<String> getParseElements() {
+		return myParseElements;
+	}
+
+	ParseElementsFilter getParseElementsFilter() {
+		return myParseElementsFilter;
+	}
+
 	@Override
 	public void setEncodeElementsAppliesToChildResourcesOnly(boolean theEncodeElementsAppliesToChildResourcesOnly) {
 		myEncodeElementsAppliesToChildResourcesOnly = theEncodeElementsAppliesToChildResourcesOnly;
@@ -534,7 +614,7 @@ public abstract class BaseParser implements IParser {
 		return myOmitResourceId;
 	}
 
-	private boolean isOverrideResourceIdWithBundleEntryFullUrl() {
+	boolean isOverrideResourceIdWithBundleEntryFullUrl() {
 		Boolean overrideResourceIdWithBundleEntryFullUrl = myOverrideResourceIdWithBundleEntryFullUrl;
 		if (overrideResourceIdWithBundleEntryFullUrl != null) {
 			return overrideResourceIdWithBundleEntryFullUrl;
@@ -607,37 +687,7 @@ public abstract class BaseParser implements IParser {
 		if ("Bundle".equals(def.getName())) {
 
 			if (isOverrideResourceIdWithBundleEntryFullUrl()) {
-				BundleUtil.processEntries(myContext, (IBaseBundle) retVal, t -> {
-					String fullUrl = t.getFullUrl();
-					if (fullUrl != null) {
-						IBaseResource resource = t.getResource();
-						if (resource != null) {
-							IIdType resourceId = resource.getIdElement();
-							if (isBlank(resourceId.getValue())) {
-								resourceId.setValue(fullUrl);
-							} else {
-								if (fullUrl.startsWith("urn:") && fullUrl.length() > resourceId.getIdPart().length() && fullUrl.charAt(fullUrl.length() - resourceId.getIdPart().length() - 1) == ':' && fullUrl.endsWith(resourceId.getIdPart())) {
-									resourceId.setValue(fullUrl);
-								} else {
-									IIdType fullUrlId = myContext.getVersion().newIdType();
-									fullUrlId.setValue(fullUrl);
-									if (myContext.getVersion().getVersion().isOlderThan(FhirVersionEnum.DSTU3)) {
-										IIdType newId = fullUrlId;
-										if (!newId.hasVersionIdPart() && resourceId.hasVersionIdPart()) {
-											newId = newId.withVersion(resourceId.getVersionIdPart());
-										}
-										resourceId.setValue(newId.getValue());
-									} else if (StringUtils.equals(fullUrlId.getIdPart(), resourceId.getIdPart())) {
-										if (fullUrlId.hasBaseUrl()) {
-											IIdType newResourceId = resourceId.withServerBase(fullUrlId.getBaseUrl(), resourceId.getResourceType());
-											resourceId.setValue(newResourceId.getValue());
-										}
-									}
-								}
-							}
-						}
-					}
-				});
+				BundleUtil.processEntries(myContext, (IBaseBundle) retVal, t -> overrideResourceIdWithBundleEntryFullUrl(t.getFullUrl(), t.getResource()));
 			}
 
 		}
@@ -662,6 +712,56 @@ public abstract class BaseParser implements IParser {
 		return parseResource(null, theMessageString);
 	}
 
+	@Override
+	public IBundleEntryIterator parseBundleEntries(InputStream theInputStream) throws DataFormatException {
+		return parseBundleEntries(new InputStreamReader(theInputStream, Constants.CHARSET_UTF8));
+	}
+
+	@Override
+	public IBundleEntryIterator parseBundleEntries(Reader theReader) throws DataFormatException {
+		return doParseBundleEntries(theReader);
+	}
+
+	/**
+	 * Subclasses which support incremental Bundle parsing should override this method
+	 */
+	protected IBundleEntryIterator doParseBundleEntries(Reader theReader) throws DataFormatException {
+		throw new UnsupportedOperationException(Msg.code(2277) + "Incremental Bundle parsing is not supported for encoding: " + getEncoding());
+	}
+
+	/**
+	 * Applies the value of <code>Bundle.entry.fullUrl</code> to the ID of the entry resource
+	 */
+	void overrideResourceIdWithBundleEntryFullUrl(String theFullUrl, IBaseResource theResource) {
+		if (theFullUrl != null) {
+			if (theResource != null) {
+				IIdType resourceId = theResource.getIdElement();
+				if (isBlank(resourceId.getValue())) {
+					resourceId.setValue(theFullUrl);
+				} else {
+					if (theFullUrl.startsWith("urn:") && theFullUrl.length() > resourceId.getIdPart().length() && theFullUrl.charAt(theFullUrl.length() - resourceId.getIdPart().length() - 1) == ':' && theFullUrl.endsWith(resourceId.getIdPart())) {
+						resourceId.setValue(theFullUrl);
+					} else {
+						IIdType fullUrlId = myContext.getVersion().newIdType();
+						fullUrlId.setValue(theFullUrl);
+						if (myContext.getVersion().getVersion().isOlderThan(FhirVersionEnum.DSTU3)) {
+							IIdType newId = fullUrlId;
+							if (!newId.hasVersionIdPart() && resourceId.hasVersionIdPart()) {
+								newId = newId.withVersion(resourceId.getVersionIdPart());
+							}
+							resourceId.setValue(newId.getValue());
+						} else if (StringUtils.equals(fullUrlId.getIdPart(), resourceId.getIdPart())) {
+							if (fullUrlId.hasBaseUrl()) {
+								IIdType newResourceId = resourceId.withServerBase(fullUrlId.getBaseUrl(), resourceId.getResourceType());
+								resourceId.setValue(newResourceId.getValue());
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
 	protected List<? extends IBase> preProcessValues(BaseRuntimeChildDefinition theMetaChildUncast, IBaseResource theResource, List<? extends IBase> theValues,
 																	 CompositeChildElement theCompositeChildElement, EncodeContext theEncodeContext) {
 		if (myContext.getVersion().getVersion().isRi()) {
@@ -944,11 +1044,35 @@ public abstract class BaseParser implements IParser {
 	 */
 	public class EncodeContext extends EncodeContextPath {
 		private final Map<Key, List<BaseParser.CompositeChildElement>> myCompositeChildrenCache = new HashMap<>();
+		private IBaseBundle myDeferredBundle;
+		private Iterator<? extends IBase> myDeferredBundleEntries;
 
 		public Map<Key, List<BaseParser.CompositeChildElement>> getCompositeChildrenCache() {
 			return myCompositeChildrenCache;
 		}
 
+		void setDeferredBundleEntries(IBaseBundle theBundle, Iterator<? extends IBase> theEntries) {
+			myDeferredBundle = theBundle;
+			myDeferredBundleEntries = theEntries;
+		}
+
+		/**
+		 * If entries were supplied to {@link #encodeBundleToWriter(IBaseBundle, Iterator, Writer)} and
+		 * the given child is <code>Bundle.entry</code> of the Bundle being encoded, returns those entries.
+		 * Otherwise returns <code>null</code>, meaning that the values of the child should be taken from
+		 * the element itself. The entries are only returned once.
+		 */
+		@Nullable
+		Iterator<? extends IBase> takeDeferredBundleEntries(IBase theElement, BaseRuntimeChildDefinition theChild) {
+			if (myDeferredBundleEntries == null || theElement != myDeferredBundle || !"entry".equals(theChild.getElementName())) {
+				return null;
+			}
+			Iterator<? extends IBase> retVal = myDeferredBundleEntries;
+			myDeferredBundleEntries = null;
+			myDeferredBundle = null;
+			return retVal;
+		}
+
 	}
 
 
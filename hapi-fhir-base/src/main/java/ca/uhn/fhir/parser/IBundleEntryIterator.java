@@ -0,0 +1,84 @@
+package ca.uhn.fhir.parser;
+
+/*
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.hl7.fhir.instance.model.api.IBase;
+import org.hl7.fhir.instance.model.api.IBaseBundle;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the <code>Bundle.entry</code> elements of a Bundle which is being parsed from a stream,
+ * parsing each entry only when it is requested. Entries are not retained by the parser once they have
+ * been returned, so memory use does not grow with the number of entries in the Bundle.
+ * <p>
+ * Because each entry is handled in isolation, references between entries are not resolved into
+ * {@link org.hl7.fhir.instance.model.api.IBaseReference#getResource()} the way they are when
+ * parsing the complete Bundle using {@link IParser#parseResource(Class, java.io.Reader)}.
+ * Entry resource IDs are still populated from <code>Bundle.entry.fullUrl</code> if the parser is
+ * configured to do so.
+ * </p>
+ * <p>
+ * Instances of this class are not thread safe. Closing the iterator does not close the underlying
+ * reader or stream.
+ * </p>
+ *
+ * @see IParser#parseBundleEntries(java.io.Reader)
+ * @since 6.6.0
+ */
+public interface IBundleEntryIterator extends Iterator<IBase>, Closeable {
+
+	/**
+	 * Returns the Bundle being parsed. The returned Bundle contains all of the Bundle level
+	 * elements that have been parsed so far (e.g. <code>Bundle.type</code>, <code>Bundle.total</code>
+	 * and <code>Bundle.link</code>) but never contains any entries. Elements which appear after
+	 * the entries in the source document (e.g. <code>Bundle.signature</code>) are only present
+	 * once {@link #hasNext()} has returned <code>false</code>.
+	 * <p>
+	 * This method parses the content up to the first entry if that has not already happened.
+	 * </p>
+	 */
+	IBaseBundle getBundle();
+
+	/**
+	 * Returns a sequential {@link Stream} over the remaining entries. Closing the stream
+	 * closes this iterator.
+	 */
+	default Stream<IBase> stream() {
+		Spliterator<IBase> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport
+			.stream(spliterator, false)
+			.onClose(this::close);
+	}
+
+	/**
+	 * Stops parsing and releases any resources held by the parser. This method does not
+	 * close the underlying reader or stream.
+	 */
+	@Override
+	void close();
+
+}
@@ -26,14 +26,18 @@ import ca.uhn.fhir.context.ParserOptions;
 import ca.uhn.fhir.model.api.IResource;
 import ca.uhn.fhir.rest.api.EncodingEnum;
 import org.hl7.fhir.instance.model.api.IAnyResource;
+import org.hl7.fhir.instance.model.api.IBase;
+import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IIdType;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -51,6 +55,34 @@ public interface IParser {
 
 	void encodeResourceToWriter(IBaseResource theResource, Writer theWriter) throws IOException, DataFormatException;
 
+	/**
+	 * Encodes a resource to an OutputStream using a charset of UTF-8. Parsers which are able to
+	 * produce UTF-8 bytes directly (currently the JSON parser) avoid the overhead of going through
+	 * a character {@link Writer}. The stream is flushed but not closed.
+	 *
+	 * @param theResource     The resource to encode
+	 * @param theOutputStream The stream to write to
+	 * @since 6.6.0
+	 */
+	void encodeResourceToOutputStream(IBaseResource theResource, OutputStream theOutputStream) throws IOException, DataFormatException;
+
+	/**
+	 * Encodes a Bundle, taking the values for <code>Bundle.entry</code> from the given iterator instead
+	 * of from the Bundle itself. Each entry is requested from the iterator only when it is about to be
+	 * written, so large Bundles can be encoded without every entry being held in memory at the same time.
+	 * Any entries already present in <code>theBundle</code> are not encoded.
+	 * <p>
+	 * Parsers which are not able to encode entries incrementally will add the entries to
+	 * <code>theBundle</code> before encoding it.
+	 * </p>
+	 *
+	 * @param theBundle  The Bundle to encode, containing all Bundle level elements (e.g. links and total)
+	 * @param theEntries The <code>Bundle.entry</code> values to encode
+	 * @param theWriter  The writer to write to
+	 * @since 6.6.0
+	 */
+	void encodeBundleToWriter(IBaseBundle theBundle, Iterator<? extends IBase> theEntries, Writer theWriter) throws IOException, DataFormatException;
+
 	/**
 	 * If not set to null (as is the default) this ID will be used as the ID in any
 	 * resources encoded by this parser
@@ -165,6 +197,40 @@ public interface IParser {
 	 */
 	IParser setSummaryMode(boolean theSummaryMode);
 
+	/**
+	 * Parses a Bundle incrementally, returning an iterator over its entries. Each
+	 * <code>Bundle.entry</code> is only parsed when it is requested from the iterator, so this
+	 * method can be used to process Bundles which are too large to hold in memory, and processing
+	 * can begin before the complete Bundle has been received.
+	 * <p>
+	 * This method is not supported by all parser types.
+	 * </p>
+	 *
+	 * @param theReader The reader to parse input from. Note that the Reader will not be closed by the parser upon completion.
+	 * @return An iterator over the Bundle entries, which also provides access to the Bundle level elements
+	 * @throws DataFormatException If the content can not be parsed, or is not a Bundle. Note that invalid content
+	 *                             is only detected when the iterator reaches it.
+	 * @since 6.6.0
+	 */
+	IBundleEntryIterator parseBundleEntries(Reader theReader) throws DataFormatException;
+
+	/**
+	 * Parses a Bundle incrementally, returning an iterator over its entries. Each
+	 * <code>Bundle.entry</code> is only parsed when it is requested from the iterator, so this
+	 * method can be used to process Bundles which are too large to hold in memory, and processing
+	 * can begin before the complete Bundle has been received.
+	 * <p>
+	 * This method is not supported by all parser types.
+	 * </p>
+	 *
+	 * @param theInputStream The InputStream to parse input from, <b>with an implied charset of UTF-8</b>. Note that the InputStream will not be closed by the parser upon completion.
+	 * @return An iterator over the Bundle entries, which also provides access to the Bundle level elements
+	 * @throws DataFormatException If the content can not be parsed, or is not a Bundle. Note that invalid content
+	 *                             is only detected when the iterator reaches it.
+	 * @since 6.6.0
+	 */
+	IBundleEntryIterator parseBundleEntries(InputStream theInputStream) throws DataFormatException;
+
 	/**
 	 * Parses a resource
 	 *
@@ -284,6 +350,40 @@ public interface IParser {
 	 */
 	void setEncodeElementsAppliesToChildResourcesOnly(boolean theEncodeElementsAppliesToChildResourcesOnly);
 
+	/**
+	 * If provided, specifies the elements which should be parsed, to the exclusion of all others. Any
+	 * other elements in the source document are skipped as they are read, without being converted into
+	 * model objects. Valid values for this field would include:
+	 * <ul>
+	 * <li><b>Patient.name</b> - Parse only the patient's name</li>
+	 * <li><b>Patient.name.family</b> - Parse only the patient's family name</li>
+	 * <li><b>Observation.value</b> - Parse the observation value, whatever its type</li>
+	 * <li><b>*.meta</b> or <b>meta</b> - Parse the meta element on any resource</li>
+	 * </ul>
+	 * <p>
+	 * The paths apply to the root resource being parsed, and the resource ID is always parsed. Resources
+	 * of a type that is not named by any of the paths are parsed in full. Resources found inside a selected
+	 * element (e.g. <code>Patient.contained</code>) are parsed in full, unless a path continues into them,
+	 * as in <code>Bundle.entry.resource.name</code>.
+	 * </p>
+	 * <p>
+	 * This setting is supported by the JSON and XML parsers.
+	 * </p>
+	 *
+	 * @param theParseElements The elements to parse, or <code>null</code> to parse everything (which is the default)
+	 * @return Returns a reference to <code>this</code> parser so that method calls can be chained together
+	 * @since 6.6.0
+	 */
+	IParser setParseElements(Set<String> theParseElements);
+
+	/**
+	 * Returns the value supplied to {@link #setParseElements(Set)}, or <code>null</code> if
+	 * all elements are parsed
+	 *
+	 * @since 6.6.0
+	 */
+	Set<String> getParseElements();
+
 	/**
 	 * Registers an error handler which will be invoked when any parse errors are found
 	 *
@@ -33,6 +33,7 @@ import ca.uhn.fhir.context.RuntimeChildNarrativeDefinition;
 import ca.uhn.fhir.context.RuntimeChildUndeclaredExtensionDefinition;
 import ca.uhn.fhir.context.RuntimeResourceDefinition;
 import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.model.api.BasePrimitive;
 import ca.uhn.fhir.model.api.ExtensionDt;
 import ca.uhn.fhir.model.api.IPrimitiveDatatype;
 import ca.uhn.fhir.model.api.IResource;
@@ -56,6 +57,11 @@ import ca.uhn.fhir.parser.json.JsonLikeStructure;
 import ca.uhn.fhir.parser.json.jackson.JacksonStructure;
 import ca.uhn.fhir.rest.api.EncodingEnum;
 import ca.uhn.fhir.util.ElementUtil;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.text.WordUtils;
@@ -73,14 +79,17 @@ import org.hl7.fhir.instance.model.api.INarrative;
 import org.hl7.fhir.instance.model.api.IPrimitiveType;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static ca.uhn.fhir.context.BaseRuntimeElementDefinition.ChildTypeEnum.ID_DATATYPE;
 import static ca.uhn.fhir.context.BaseRuntimeElementDefinition.ChildTypeEnum.PRIMITIVE_DATATYPE;
@@ -99,6 +108,12 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 	private boolean myPrettyPrint;
 
 	private Boolean myIsSupportsFhirComment;
+	/**
+	 * While parsing with {@link #setParseElements(Set)} in effect, this is the filter node which
+	 * applies to the children of the object currently being read (<code>null</code> means
+	 * that the object is parsed in full)
+	 */
+	private ParseElementsFilter.Node myParseElementsNode;
 
 	/**
 	 * Do not use this constructor, the recommended way to obtain a new instance of the JSON parser is to invoke
@@ -211,8 +226,23 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 		eventWriter.close();
 	}
 
+	/**
+	 * Writes UTF-8 bytes straight to the stream, skipping the character {@link Writer} layer
+	 */
+	@Override
+	protected void doEncodeResourceToOutputStream(IBaseResource theResource, OutputStream theOutputStream, EncodeContext theEncodeContext) throws IOException {
+		BaseJsonLikeWriter eventWriter = new JacksonStructure().getJsonLikeWriter(theOutputStream);
+		doEncodeResourceToJsonLikeWriter(theResource, eventWriter, theEncodeContext);
+		eventWriter.close();
+		theOutputStream.flush();
+	}
+
 	@Override
 	public <T extends IBaseResource> T doParseResource(Class<T> theResourceType, Reader theReader) {
+		if (getContext().getParserOptions().isStreamingJsonParsing()) {
+			return doParseResourceStreaming(theResourceType, theReader);
+		}
+
 		JsonLikeStructure jsonStructure = new JacksonStructure();
 		jsonStructure.load(theReader);
 
@@ -221,6 +251,11 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 		return retVal;
 	}
 
+	@Override
+	protected IBundleEntryIterator doParseBundleEntries(Reader theReader) {
+		return new JsonBundleEntryIterator(theReader);
+	}
+
 	public <T extends IBaseResource> T doParseResource(Class<T> theResourceType, JsonLikeStructure theJsonStructure) {
 		BaseJsonLikeObject object = theJsonStructure.getRootObject();
 
@@ -234,7 +269,12 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 		ParserState<? extends IBaseResource> state = ParserState.getPreResourceInstance(this, theResourceType, getContext(), true, getErrorHandler());
 		state.enteringNewElement(null, resourceType);
 
-		parseChildren(object, state);
+		myParseElementsNode = getRootParseElementsNode(resourceType);
+		try {
+			parseChildren(object, state);
+		} finally {
+			myParseElementsNode = null;
+		}
 
 		state.endingElement();
 		state.endingElement();
@@ -245,6 +285,254 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 		return retVal;
 	}
 
+	/**
+	 * Parses a resource directly from the Jackson token stream, without first building a tree
+	 * containing the whole document. Composite elements are streamed into the {@link ParserState}
+	 * as they are read. Primitive values, extensions and their "_" prefixed siblings are small,
+	 * so they are buffered per object and then handed to the tree based code path once the end
+	 * of the enclosing object is reached. This means that the two modes share the same handling
+	 * for all of the awkward cases in the JSON format.
+	 */
+	private <T extends IBaseResource> T doParseResourceStreaming(Class<T> theResourceType, Reader theReader) {
+		com.fasterxml.jackson.core.JsonParser parser = JacksonStructure.createStreamingParser(theReader);
+		try {
+			parser.nextToken();
+
+			ParserState<? extends IBaseResource> state;
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.FIELD_NAME && "resourceType".equals(parser.getCurrentName())) {
+				token = parser.nextToken();
+				if (token != JsonToken.VALUE_STRING || isBlank(parser.getText())) {
+					throw new DataFormatException(Msg.code(2273) + "Invalid JSON content detected, missing required element: 'resourceType'");
+				}
+				state = ParserState.getPreResourceInstance(this, theResourceType, getContext(), true, getErrorHandler());
+				state.enteringNewElement(null, parser.getText());
+				myParseElementsNode = getRootParseElementsNode(parser.getText());
+				try {
+					parseChildrenStreaming(parser, state);
+				} finally {
+					myParseElementsNode = null;
+				}
+				state.endingElement();
+				state.endingElement();
+			} else {
+				// resourceType is not the first property, so this object has to be buffered
+				ObjectNode object = readRemainingFields(parser, token);
+				JacksonStructure jsonStructure = new JacksonStructure();
+				jsonStructure.setNativeObject(object);
+				return doParseResource(theResourceType, jsonStructure);
+			}
+
+			if (parser.nextToken() != null) {
+				throw new DataFormatException(Msg.code(2274) + "Failed to parse JSON encoded FHIR content: Trailing token (of type " + parser.currentToken() + ") found after root object");
+			}
+
+			@SuppressWarnings("unchecked")
+			T retVal = (T) state.getObject();
+			return retVal;
+
+		} catch (IOException e) {
+			throw JacksonStructure.toDataFormatException(e);
+		} finally {
+			try {
+				parser.close();
+			} catch (IOException e) {
+				ourLog.debug("Failed to close JSON parser", e);
+			}
+		}
+	}
+
+	/**
+	 * Reads the fields of the current object from the stream and applies them to the
+	 * state. On entry the parser is positioned either on the opening token of the object
+	 * or on the last token that was already consumed from it, and on exit the parser is
+	 * positioned on the closing token of the object.
+	 */
+	private void parseChildrenStreaming(com.fasterxml.jackson.core.JsonParser theParser, ParserState<?> theState) throws IOException {
+		ParseElementsFilter.Node filterNode = myParseElementsNode;
+		BufferedFields bufferedFields = new BufferedFields();
+		for (JsonToken token = theParser.nextToken(); token == JsonToken.FIELD_NAME; token = theParser.nextToken()) {
+			String nextName = theParser.getCurrentName();
+			JsonToken valueToken = theParser.nextToken();
+			if (filterNode != null) {
+				if (!filterNode.isIncluded(nextName)) {
+					theParser.skipChildren();
+					continue;
+				}
+				myParseElementsNode = filterNode.getChild(nextName);
+			}
+			parseFieldStreaming(theParser, theState, nextName, valueToken, bufferedFields);
+		}
+		myParseElementsNode = filterNode;
+		flushBufferedFields(bufferedFields, theState);
+	}
+
+	/**
+	 * Handles a single field of an object. On entry the parser is positioned on the first
+	 * token of the field value, and on exit on the last token of the value.
+	 */
+	private void parseFieldStreaming(com.fasterxml.jackson.core.JsonParser theParser, ParserState<?> theState, String theName, JsonToken theValueToken, BufferedFields theBufferedFields) throws IOException {
+		if ("resourceType".equals(theName)) {
+			theParser.skipChildren();
+			return;
+		}
+
+		boolean buffer = theName.charAt(0) == '_' || "extension".equals(theName) || "modifierExtension".equals(theName) || "fhir_comments".equals(theName);
+		if (buffer || (theValueToken != JsonToken.START_OBJECT && theValueToken != JsonToken.START_ARRAY)) {
+			theBufferedFields.add(theName, theParser.readValueAsTree());
+			return;
+		}
+
+		if (theValueToken == JsonToken.START_OBJECT) {
+			theBufferedFields.addStreamedName(theName);
+			parseCompositeStreaming(theParser, theState, theName, false);
+			return;
+		}
+
+		// Arrays of objects are streamed, arrays of anything else are buffered
+		JsonToken elementToken = theParser.nextToken();
+		if (elementToken != JsonToken.START_OBJECT) {
+			ArrayNode array = JsonNodeFactory.withExactBigDecimals(true).arrayNode();
+			for (; elementToken != JsonToken.END_ARRAY; elementToken = theParser.nextToken()) {
+				array.add((JsonNode) theParser.readValueAsTree());
+			}
+			theBufferedFields.add(theName, array);
+			return;
+		}
+
+		theBufferedFields.addStreamedName(theName);
+		ArrayNode nonObjectElements = null;
+		for (; elementToken != JsonToken.END_ARRAY; elementToken = theParser.nextToken()) {
+			if (elementToken == JsonToken.START_OBJECT) {
+				parseCompositeStreaming(theParser, theState, theName, true);
+			} else {
+				if (nonObjectElements == null) {
+					nonObjectElements = JsonNodeFactory.withExactBigDecimals(true).arrayNode();
+				}
+				nonObjectElements.add((JsonNode) theParser.readValueAsTree());
+			}
+		}
+		if (nonObjectElements != null) {
+			theBufferedFields.add(theName, nonObjectElements);
+		}
+	}
+
+	/**
+	 * Applies any fields that were buffered by {@link #parseFieldStreaming} to the state
+	 */
+	private void flushBufferedFields(BufferedFields theBufferedFields, ParserState<?> theState) {
+		ObjectNode fields = theBufferedFields.drain();
+		if (fields != null) {
+			JacksonStructure jsonStructure = new JacksonStructure();
+			jsonStructure.setNativeObject(fields);
+			parseChildren(jsonStructure.getRootObject(), theState);
+		}
+	}
+
+	/**
+	 * Streams a JSON object value into a new child element. On entry the parser is positioned
+	 * on the opening token of the object, and on exit on its closing token.
+	 */
+	private void parseCompositeStreaming(com.fasterxml.jackson.core.JsonParser theParser, ParserState<?> theState, String theName, boolean theInArray) throws IOException {
+		if (theName.equals("id")) {
+			getErrorHandler().incorrectJsonType(null, "id", ValueType.SCALAR, ScalarType.STRING, ValueType.OBJECT, null);
+		}
+		if (!theInArray && theState.elementIsRepeating(theName)) {
+			getErrorHandler().incorrectJsonType(null, theName, ValueType.ARRAY, null, ValueType.OBJECT, null);
+		}
+
+		theState.enteringNewElement(null, theName);
+		if (theState.isPreResource()) {
+			JsonToken token = theParser.nextToken();
+			if (token == JsonToken.FIELD_NAME && "resourceType".equals(theParser.getCurrentName())) {
+				if (theParser.nextToken() != JsonToken.VALUE_STRING) {
+					throw new DataFormatException(Msg.code(2275) + "Missing required element 'resourceType' from JSON resource object, unable to parse");
+				}
+				theState.enteringNewElement(null, theParser.getText());
+				parseChildrenStreaming(theParser, theState);
+			} else {
+				// resourceType is not the first property, so this resource has to be buffered
+				ObjectNode object = readRemainingFields(theParser, token);
+				JsonNode resType = object.get("resourceType");
+				if (resType == null || !resType.isTextual()) {
+					throw new DataFormatException(Msg.code(2276) + "Missing required element 'resourceType' from JSON resource object, unable to parse");
+				}
+				theState.enteringNewElement(null, resType.asText());
+				JacksonStructure jsonStructure = new JacksonStructure();
+				jsonStructure.setNativeObject(object);
+				parseChildren(jsonStructure.getRootObject(), theState);
+			}
+			theState.endingElement();
+		} else {
+			parseChildrenStreaming(theParser, theState);
+		}
+		theState.endingElement();
+	}
+
+	/**
+	 * Returns <code>true</code> if the given string is a valid JSON number, and can therefore be
+	 * written as one without being parsed first
+	 */
+	static boolean isJsonNumber(String theValue) {
+		int length = theValue.length();
+		int i = 0;
+		if (i < length && theValue.charAt(i) == '-') {
+			i++;
+		}
+		if (i < length && theValue.charAt(i) == '0') {
+			i++;
+		} else {
+			int start = i;
+			while (i < length && isDigit(theValue.charAt(i))) {
+				i++;
+			}
+			if (i == start) {
+				return false;
+			}
+		}
+		if (i < length && theValue.charAt(i) == '.') {
+			int start = ++i;
+			while (i < length && isDigit(theValue.charAt(i))) {
+				i++;
+			}
+			if (i == start) {
+				return false;
+			}
+		}
+		if (i < length && (theValue.charAt(i) == 'e' || theValue.charAt(i) == 'E')) {
+			i++;
+			if (i < length && (theValue.charAt(i) == '+' || theValue.charAt(i) == '-')) {
+				i++;
+			}
+			int start = i;
+			while (i < length && isDigit(theValue.charAt(i))) {
+				i++;
+			}
+			if (i == start) {
+				return false;
+			}
+		}
+		return i == length;
+	}
+
+	private static boolean isDigit(char theChar) {
+		return theChar >= '0' && theChar <= '9';
+	}
+
+	/**
+	 * Reads the remainder of the current object into a tree, starting with the given
+	 * token (which must be either a field name or the end of the object)
+	 */
+	private static ObjectNode readRemainingFields(com.fasterxml.jackson.core.JsonParser theParser, JsonToken theToken) throws IOException {
+		ObjectNode retVal = JsonNodeFactory.withExactBigDecimals(true).objectNode();
+		for (JsonToken token = theToken; token == JsonToken.FIELD_NAME; token = theParser.nextToken()) {
+			String name = theParser.getCurrentName();
+			theParser.nextToken();
+			retVal.set(name, theParser.readValueAsTree());
+		}
+		return retVal;
+	}
+
 	private void encodeChildElementToStreamWriter(RuntimeResourceDefinition theResDef, IBaseResource theResource, BaseJsonLikeWriter theEventWriter, IBase theNextValue,
 																 BaseRuntimeElementDefinition<?> theChildDef, String theChildName, boolean theContainedResource, CompositeChildElement theChildElem,
 																 boolean theForceEmpty, EncodeContext theEncodeContext) throws IOException {
@@ -273,8 +561,14 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 					break;
 				}
 
-				// check for the common case first - String value types
-				Object valueObj = value.getValue();
+				// check for the common case first - String value types. Values whose parsing
+				// has been deferred are not parsed here, since the string form is all we need
+				// unless the type is encoded as a JSON number or boolean below.
+				boolean parsePending = value instanceof BasePrimitive && ((BasePrimitive<?>) value).isParsePending();
+				Object valueObj = null;
+				if (!parsePending) {
+					valueObj = value.getValue();
+				}
 				if (valueObj instanceof String) {
 					if (theChildName != null) {
 						theEventWriter.write(theChildName, valueStr);
@@ -297,6 +591,13 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 					} else {
 						theEventWriter.write(((IBaseIntegerDatatype) value).getValue());
 					}
+				} else if (value instanceof IBaseDecimalDatatype && parsePending && isJsonNumber(valueStr)) {
+					// Write a deferred decimal straight from its string form without parsing it
+					if (theChildName != null) {
+						theEventWriter.writeNumber(theChildName, valueStr);
+					} else {
+						theEventWriter.writeNumber(valueStr);
+					}
 				} else if (value instanceof IBaseDecimalDatatype) {
 					BigDecimal decimalValue = ((IBaseDecimalDatatype) value).getValue();
 					decimalValue = new BigDecimal(decimalValue.toString()) {
@@ -445,10 +746,16 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 				continue;
 			}
 
-			List<? extends IBase> values = nextChild.getAccessor().getValues(theElement);
-			values = preProcessValues(nextChild, theResource, values, nextChildElem, theEncodeContext);
+			Iterator<? extends IBase> valuesIter = theEncodeContext.takeDeferredBundleEntries(theElement, nextChild);
+			if (valuesIter == null) {
+				List<? extends IBase> values = nextChild.getAccessor().getValues(theElement);
+				values = preProcessValues(nextChild, theResource, values, nextChildElem, theEncodeContext);
 
-			if (values == null || values.isEmpty()) {
+				if (values == null || values.isEmpty()) {
+					continue;
+				}
+				valuesIter = values.iterator();
+			} else if (!valuesIter.hasNext()) {
 				continue;
 			}
 
@@ -461,7 +768,8 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 			ArrayList<String> ids = new ArrayList<>(0);
 
 			int valueIdx = 0;
-			for (IBase nextValue : values) {
+			while (valuesIter.hasNext()) {
+				IBase nextValue = valuesIter.next();
 
 				if (nextValue == null || nextValue.isEmpty()) {
 					if (nextValue instanceof BaseContainedDt) {
@@ -933,6 +1241,11 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 		return EncodingEnum.JSON;
 	}
 
+	@Override
+	protected boolean isSupportsDeferredBundleEntries() {
+		return true;
+	}
+
 	private BaseJsonLikeArray grabJsonArray(BaseJsonLikeObject theObject, String nextName, String thePosition) {
 		BaseJsonLikeValue object = theObject.get(nextName);
 		if (object == null || object.isNull()) {
@@ -993,11 +1306,18 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 	}
 
 	private void parseChildren(BaseJsonLikeObject theObject, ParserState<?> theState) {
+		ParseElementsFilter.Node filterNode = myParseElementsNode;
 		int allUnderscoreNames = 0;
 		int handledUnderscoreNames = 0;
 
 		for (Iterator<String> keyIter = theObject.keyIterator(); keyIter.hasNext(); ) {
 			String nextName = keyIter.next();
+			if (filterNode != null) {
+				if (!filterNode.isIncluded(nextName)) {
+					continue;
+				}
+				myParseElementsNode = filterNode.getChild(nextName);
+			}
 			if ("resourceType".equals(nextName)) {
 				continue;
 			} else if ("extension".equals(nextName)) {
@@ -1026,6 +1346,7 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 			parseChildren(theState, nextName, nextVal, alternateVal, alternateName, false);
 
 		}
+		myParseElementsNode = filterNode;
 
 		// if (elementId != null) {
 		// IBase object = (IBase) theState.getObject();
@@ -1045,15 +1366,20 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 		if (allUnderscoreNames > handledUnderscoreNames) {
 			for (Iterator<String> keyIter = theObject.keyIterator(); keyIter.hasNext(); ) {
 				String alternateName = keyIter.next();
+				if (filterNode != null && !filterNode.isIncluded(alternateName)) {
+					continue;
+				}
 				if (alternateName.startsWith("_") && alternateName.length() > 1) {
 					BaseJsonLikeValue nextValue = theObject.get(alternateName);
 					if (nextValue != null) {
 						if (nextValue.isObject()) {
 							String nextName = alternateName.substring(1);
 							if (theObject.get(nextName) == null) {
+								myParseElementsNode = filterNode != null ? filterNode.getChild(nextName) : null;
 								theState.enteringNewElement(null, nextName);
 								parseAlternates(nextValue, theState, alternateName, alternateName);
 								theState.endingElement();
+								myParseElementsNode = filterNode;
 							}
 						} else {
 							getErrorHandler().incorrectJsonType(null, alternateName, ValueType.OBJECT, null, nextValue.getJsonType(), null);
@@ -1065,6 +1391,11 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 
 	}
 
+	private ParseElementsFilter.Node getRootParseElementsNode(String theResourceType) {
+		ParseElementsFilter filter = getParseElementsFilter();
+		return filter != null ? filter.getRootNode(theResourceType) : null;
+	}
+
 	private void parseChildren(ParserState<?> theState, String theName, BaseJsonLikeValue theJsonVal, BaseJsonLikeValue theAlternateVal, String theAlternateName, boolean theInArray) {
 		if (theName.equals("id")) {
 			if (!theJsonVal.isString()) {
@@ -1399,6 +1730,171 @@ public class JsonParser extends BaseParser implements IJsonLikeParser {
 		theWriter.write(theName, theValue);
 	}
 
+	/**
+	 * The fields of a JSON object which are buffered while streaming, because they
+	 * are small and may need to be combined with a sibling field
+	 */
+	private static class BufferedFields {
+
+		private ObjectNode myFields;
+		private Set<String> myStreamedNames;
+
+		void add(String theName, JsonNode theValue) {
+			if (myFields == null) {
+				myFields = JsonNodeFactory.withExactBigDecimals(true).objectNode();
+			}
+			myFields.set(theName, theValue);
+		}
+
+		void addStreamedName(String theName) {
+			if (myStreamedNames == null) {
+				myStreamedNames = new HashSet<>();
+			}
+			myStreamedNames.add(theName);
+		}
+
+		/**
+		 * Returns the buffered fields (or <code>null</code> if there are none) and clears the buffer
+		 */
+		ObjectNode drain() {
+			ObjectNode retVal = myFields;
+			myFields = null;
+			if (retVal != null && myStreamedNames != null) {
+				// Alternate values only apply to primitives, and any that belong to a composite we
+				// have already streamed can't be reattached to it
+				for (String nextStreamedName : myStreamedNames) {
+					retVal.remove('_' + nextStreamedName);
+				}
+			}
+			return retVal;
+		}
+
+	}
+
+	/**
+	 * Incrementally parses a JSON Bundle, streaming one entry at a time
+	 */
+	private class JsonBundleEntryIterator extends BaseBundleEntryIterator {
+
+		private final com.fasterxml.jackson.core.JsonParser myParser;
+		private final BufferedFields myBufferedFields = new BufferedFields();
+		private boolean myStarted;
+		private boolean myInEntryArray;
+		private boolean myBundleComplete;
+
+		JsonBundleEntryIterator(Reader theReader) {
+			super(JsonParser.this, getErrorHandler(), true);
+			myParser = JacksonStructure.createStreamingParser(theReader);
+		}
+
+		@Override
+		protected void readBundleStart() {
+			try {
+				startIfNeeded();
+				while (!myInEntryArray) {
+					if (!readNextRootField()) {
+						break;
+					}
+				}
+			} catch (IOException e) {
+				throw JacksonStructure.toDataFormatException(e);
+			}
+		}
+
+		@Override
+		protected IBase readNextEntry() {
+			try {
+				startIfNeeded();
+				while (true) {
+					if (myInEntryArray) {
+						JsonToken token = myParser.nextToken();
+						if (token == JsonToken.END_ARRAY) {
+							myInEntryArray = false;
+						} else if (token == JsonToken.START_OBJECT) {
+							parseCompositeStreaming(myParser, getState(), "entry", true);
+							IBase entry = takeEntry();
+							if (entry != null) {
+								return entry;
+							}
+						} else {
+							getErrorHandler().incorrectJsonType(null, "entry", ValueType.OBJECT, null, ValueType.SCALAR, null);
+							myParser.skipChildren();
+						}
+					} else if (!readNextRootField()) {
+						return null;
+					}
+				}
+			} catch (IOException e) {
+				throw JacksonStructure.toDataFormatException(e);
+			}
+		}
+
+		private void startIfNeeded() throws IOException {
+			if (myStarted) {
+				return;
+			}
+			myStarted = true;
+
+			myParser.nextToken();
+			JsonToken token = myParser.nextToken();
+			if (token != JsonToken.FIELD_NAME || !"resourceType".equals(myParser.getCurrentName())) {
+				throw new DataFormatException(Msg.code(2280) + "Incremental parsing requires 'resourceType' to be the first property of the Bundle");
+			}
+			token = myParser.nextToken();
+			if (token != JsonToken.VALUE_STRING || isBlank(myParser.getText())) {
+				throw new DataFormatException(Msg.code(2281) + "Invalid JSON content detected, missing required element: 'resourceType'");
+			}
+			getState().enteringNewElement(null, myParser.getText());
+			startBundle();
+		}
+
+		/**
+		 * Reads the next field of the Bundle. The entry array is not consumed, but is
+		 * noted so that the entries can be read one at a time.
+		 *
+		 * @return Returns <code>false</code> if the end of the Bundle has been reached
+		 */
+		private boolean readNextRootField() throws IOException {
+			if (myBundleComplete) {
+				return false;
+			}
+
+			JsonToken token = myParser.nextToken();
+			if (token != JsonToken.FIELD_NAME) {
+				myBundleComplete = true;
+				flushBufferedFields(myBufferedFields, getState());
+				getState().endingElement();
+				getState().endingElement();
+				if (myParser.nextToken() != null) {
+					throw new DataFormatException(Msg.code(2282) + "Failed to parse JSON encoded FHIR content: Trailing token (of type " + myParser.currentToken() + ") found after root object");
+				}
+				finishBundle();
+				return false;
+			}
+
+			String name = myParser.getCurrentName();
+			JsonToken valueToken = myParser.nextToken();
+			if ("entry".equals(name) && valueToken == JsonToken.START_ARRAY) {
+				// Make sure that any Bundle level values are populated before the entries are returned
+				flushBufferedFields(myBufferedFields, getState());
+				myInEntryArray = true;
+			} else {
+				parseFieldStreaming(myParser, getState(), name, valueToken, myBufferedFields);
+			}
+			return true;
+		}
+
+		@Override
+		protected void closeSource() {
+			try {
+				myParser.close();
+			} catch (IOException e) {
+				ourLog.debug("Failed to close JSON parser", e);
+			}
+		}
+
+	}
+
 	private class HeldExtension implements Comparable<HeldExtension> {
 
 		private CompositeChildElement myChildElem;
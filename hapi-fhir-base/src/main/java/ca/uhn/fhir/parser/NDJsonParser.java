@@ -28,7 +28,6 @@ import ca.uhn.fhir.util.BundleUtil;
 import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
@@ -82,14 +81,9 @@ public class NDJsonParser extends BaseParser {
 
                 // Now we write each one in turn.
                 // Use newline only as a line separator, not at the end of the file.
-                boolean isFirstResource = true;
+                NDJsonResourceWriter writer = new NDJsonResourceWriter(myJsonParser, theWriter);
                 for (IBaseResource theBundleEntryResource : theBundleResources) {
-                        if (!(isFirstResource)) {
-                                theWriter.write("\n");
-                        }
-                        isFirstResource = false;
-
-                        myJsonParser.encodeResourceToWriter(theBundleEntryResource, theWriter);
+                        writer.write(theBundleEntryResource);
                 }
 	}
 
@@ -100,23 +94,15 @@ public class NDJsonParser extends BaseParser {
                         throw new DataFormatException(Msg.code(1834) + "NDJsonParser can only parse to Bundle types.  Received " + theResourceType.getName());
                 }
 
-                try {
-                        // Now we go through line-by-line parsing the JSON and then stuffing it into a bundle.
-                        BundleBuilder myBuilder = new BundleBuilder(myFhirContext);
-                        myBuilder.setType("collection");
-                        BufferedReader myBufferedReader = new BufferedReader(theReader);
-                        String jsonString = myBufferedReader.readLine();
-                        while (jsonString != null) {
-                                // And add it to a collection in a Bundle.
-                                // The string must be trimmed, as per the NDJson spec 3.2
-                                myBuilder.addCollectionEntry(myJsonParser.parseResource(jsonString.trim()));
-                                // Try to read another line.
-                                jsonString = myBufferedReader.readLine();
-                        }
-
-                        return (T) myBuilder.getBundle();
-                } catch (IOException err) {
-                        throw new DataFormatException(Msg.code(1835) + err.getMessage());
+                // Now we go through line-by-line parsing the JSON and then stuffing it into a bundle.
+                BundleBuilder myBuilder = new BundleBuilder(myFhirContext);
+                myBuilder.setType("collection");
+                NDJsonResourceReader reader = new NDJsonResourceReader(myJsonParser, theReader);
+                while (reader.hasNext()) {
+                        // And add it to a collection in a Bundle.
+                        myBuilder.addCollectionEntry(reader.next());
                 }
+
+                return (T) myBuilder.getBundle();
 	}
 }
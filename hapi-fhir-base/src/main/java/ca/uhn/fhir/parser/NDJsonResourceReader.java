@@ -0,0 +1,162 @@
+package ca.uhn.fhir.parser;
+
+/*
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.rest.api.Constants;
+import org.apache.commons.lang3.Validate;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Reads resources from NDJSON (newline delimited JSON) content one line at a time. Only the
+ * current line and the resource parsed from it are held in memory, so this class can be used
+ * to process NDJSON files of any size. Blank lines are skipped.
+ * <p>
+ * Closing this reader also closes the underlying reader or stream. Instances of this class
+ * are not thread safe.
+ * </p>
+ *
+ * @see NDJsonResourceWriter
+ * @since 6.6.0
+ */
+public class NDJsonResourceReader implements Iterator<IBaseResource>, Closeable {
+
+	private final IParser myJsonParser;
+	private final BufferedReader myReader;
+	private String myNextLine;
+	private int myLineNumber;
+	private boolean myFinished;
+
+	/**
+	 * Constructor
+	 *
+	 * @param theJsonParser The JSON parser used to parse each line, e.g. from {@link ca.uhn.fhir.context.FhirContext#newJsonParser()}
+	 * @param theReader     The reader to read NDJSON content from
+	 */
+	public NDJsonResourceReader(IParser theJsonParser, Reader theReader) {
+		Validate.notNull(theJsonParser, "theJsonParser must not be null");
+		Validate.notNull(theReader, "theReader must not be null");
+		myJsonParser = theJsonParser;
+		if (theReader instanceof BufferedReader) {
+			myReader = (BufferedReader) theReader;
+		} else {
+			myReader = new BufferedReader(theReader);
+		}
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param theJsonParser  The JSON parser used to parse each line, e.g. from {@link ca.uhn.fhir.context.FhirContext#newJsonParser()}
+	 * @param theInputStream The stream to read NDJSON content from, with an implied charset of UTF-8
+	 */
+	public NDJsonResourceReader(IParser theJsonParser, InputStream theInputStream) {
+		this(theJsonParser, new InputStreamReader(theInputStream, Constants.CHARSET_UTF8));
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (myNextLine == null && !myFinished) {
+			String nextLine;
+			try {
+				nextLine = myReader.readLine();
+			} catch (IOException e) {
+				throw new DataFormatException(Msg.code(2285) + "Failed to read NDJSON content: " + e.getMessage(), e);
+			}
+			if (nextLine == null) {
+				myFinished = true;
+			} else {
+				myLineNumber++;
+				// The string must be trimmed, as per the NDJson spec 3.2
+				nextLine = nextLine.trim();
+				if (isNotBlank(nextLine)) {
+					myNextLine = nextLine;
+				}
+			}
+		}
+		return myNextLine != null;
+	}
+
+	/**
+	 * Parses and returns the resource on the next non-blank line
+	 *
+	 * @throws DataFormatException If the line can not be parsed. The message includes the line number.
+	 */
+	@Override
+	public IBaseResource next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException(Msg.code(2286) + "No more NDJSON content");
+		}
+		String line = myNextLine;
+		myNextLine = null;
+		try {
+			return myJsonParser.parseResource(line);
+		} catch (DataFormatException e) {
+			throw new DataFormatException(Msg.code(2287) + "Failed to parse NDJSON line " + myLineNumber + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Returns the number of the line that the most recently returned resource was parsed
+	 * from (1-based, including blank lines)
+	 */
+	public int getLineNumber() {
+		return myLineNumber;
+	}
+
+	/**
+	 * Returns a sequential {@link Stream} over the remaining resources. Closing the
+	 * stream closes this reader.
+	 */
+	public Stream<IBaseResource> stream() {
+		Spliterator<IBaseResource> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport
+			.stream(spliterator, false)
+			.onClose(this::close);
+	}
+
+	@Override
+	public void close() {
+		myFinished = true;
+		myNextLine = null;
+		try {
+			myReader.close();
+		} catch (IOException e) {
+			throw new DataFormatException(Msg.code(2288) + "Failed to close NDJSON content: " + e.getMessage(), e);
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+package ca.uhn.fhir.parser;
+
+/*
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.rest.api.Constants;
+import org.apache.commons.lang3.Validate;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Writes resources as NDJSON (newline delimited JSON) one at a time, without collecting
+ * them into a Bundle first. Resources are separated by a single newline character, and
+ * no newline is written after the last resource.
+ * <p>
+ * Closing this writer also closes the underlying writer or stream. Instances of this class
+ * are not thread safe.
+ * </p>
+ *
+ * @see NDJsonResourceReader
+ * @since 6.6.0
+ */
+public class NDJsonResourceWriter implements Closeable, Flushable {
+
+	private final IParser myJsonParser;
+	private final Writer myWriter;
+	private int myCount;
+
+	/**
+	 * Constructor
+	 *
+	 * @param theJsonParser The JSON parser used to encode each resource, e.g. from {@link ca.uhn.fhir.context.FhirContext#newJsonParser()}.
+	 *                      This parser must not be configured to pretty print.
+	 * @param theWriter     The writer to write NDJSON content to
+	 */
+	public NDJsonResourceWriter(IParser theJsonParser, Writer theWriter) {
+		Validate.notNull(theJsonParser, "theJsonParser must not be null");
+		Validate.notNull(theWriter, "theWriter must not be null");
+		myJsonParser = theJsonParser;
+		myWriter = theWriter;
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param theJsonParser   The JSON parser used to encode each resource, e.g. from {@link ca.uhn.fhir.context.FhirContext#newJsonParser()}.
+	 *                        This parser must not be configured to pretty print.
+	 * @param theOutputStream The stream to write NDJSON content to, using a charset of UTF-8
+	 */
+	public NDJsonResourceWriter(IParser theJsonParser, OutputStream theOutputStream) {
+		this(theJsonParser, new BufferedWriter(new OutputStreamWriter(theOutputStream, Constants.CHARSET_UTF8)));
+	}
+
+	/**
+	 * Encodes the given resource and writes it as a single line
+	 */
+	public void write(IBaseResource theResource) throws IOException {
+		if (myCount > 0) {
+			myWriter.write("\n");
+		}
+		myJsonParser.encodeResourceToWriter(theResource, myWriter);
+		myCount++;
+	}
+
+	/**
+	 * Returns the number of resources written so far
+	 */
+	public int getCount() {
+		return myCount;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		myWriter.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		myWriter.close();
+	}
+
+}
@@ -0,0 +1,172 @@
+package ca.uhn.fhir.parser;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The compiled form of the paths supplied to {@link IParser#setParseElements(java.util.Set)}.
+ * <p>
+ * The paths are held as a tree of {@link Node nodes}, one per element name. A <code>null</code>
+ * node means that everything below that point is parsed, so the parsers only need to consult
+ * the filter while they are inside a part of the document which is being trimmed.
+ * </p>
+ */
+final class ParseElementsFilter {
+
+	private final Map<String, Node> myResourceTypeToNode = new HashMap<>();
+	private final Map<String, Node> myResourceTypeToMergedNode = new HashMap<>();
+	private Node myAnyResourceTypeNode;
+
+	ParseElementsFilter(Collection<String> thePaths) {
+		for (String next : thePaths) {
+			if (StringUtils.isBlank(next)) {
+				continue;
+			}
+			String[] parts = StringUtils.split(next.trim(), '.');
+			String first = parts[0];
+
+			Node root;
+			int firstChildIndex;
+			if ("*".equals(first)) {
+				root = getOrCreateAnyResourceTypeNode();
+				firstChildIndex = 1;
+			} else if (Character.isUpperCase(first.charAt(0))) {
+				root = myResourceTypeToNode.computeIfAbsent(first, t -> new Node());
+				firstChildIndex = 1;
+			} else {
+				root = getOrCreateAnyResourceTypeNode();
+				firstChildIndex = 0;
+			}
+			root.add(parts, firstChildIndex);
+		}
+	}
+
+	private Node getOrCreateAnyResourceTypeNode() {
+		if (myAnyResourceTypeNode == null) {
+			myAnyResourceTypeNode = new Node();
+		}
+		return myAnyResourceTypeNode;
+	}
+
+	/**
+	 * Returns the node to apply to the children of a root resource of the given type, or
+	 * <code>null</code> if the resource should be parsed in full (either because a path selects
+	 * the whole resource, or because no path applies to this resource type).
+	 */
+	Node getRootNode(String theResourceType) {
+		return myResourceTypeToMergedNode.computeIfAbsent(theResourceType, t -> {
+			Node typeNode = myResourceTypeToNode.get(t);
+			Node retVal;
+			if (typeNode == null) {
+				retVal = myAnyResourceTypeNode;
+			} else if (myAnyResourceTypeNode == null) {
+				retVal = typeNode;
+			} else {
+				retVal = Node.merge(typeNode, myAnyResourceTypeNode);
+			}
+			if (retVal != null && retVal.myIncludeAll) {
+				retVal = null;
+			}
+			return retVal;
+		});
+	}
+
+	static final class Node {
+
+		private final Map<String, Node> myChildren = new HashMap<>();
+		private boolean myIncludeAll;
+
+		private void add(String[] theParts, int theIndex) {
+			if (theIndex == theParts.length) {
+				myIncludeAll = true;
+				return;
+			}
+			String name = theParts[theIndex];
+			if (name.endsWith("[x]")) {
+				name = name.substring(0, name.length() - 3);
+			}
+			myChildren.computeIfAbsent(name, t -> new Node()).add(theParts, theIndex + 1);
+		}
+
+		/**
+		 * Returns <code>true</code> if the child with the given name (as it appears in the
+		 * document, e.g. <code>_birthDate</code> or <code>valueQuantity</code>) should be parsed
+		 */
+		boolean isIncluded(String theName) {
+			String name = stripUnderscore(theName);
+			if ("id".equals(name) || "resourceType".equals(name)) {
+				return true;
+			}
+			return findChild(name) != null;
+		}
+
+		/**
+		 * Returns the node to apply to the children of the given child, or <code>null</code>
+		 * if the child should be parsed in full
+		 */
+		Node getChild(String theName) {
+			Node retVal = findChild(stripUnderscore(theName));
+			if (retVal == null || retVal.myIncludeAll) {
+				return null;
+			}
+			return retVal;
+		}
+
+		private Node findChild(String theName) {
+			Node retVal = myChildren.get(theName);
+			if (retVal == null) {
+				// Choice elements may be requested using the name without the type suffix,
+				// e.g. "Observation.value" for "valueQuantity"
+				for (Map.Entry<String, Node> next : myChildren.entrySet()) {
+					String key = next.getKey();
+					if (theName.length() > key.length() && theName.startsWith(key) && Character.isUpperCase(theName.charAt(key.length()))) {
+						return next.getValue();
+					}
+				}
+			}
+			return retVal;
+		}
+
+		private static String stripUnderscore(String theName) {
+			if (theName.length() > 1 && theName.charAt(0) == '_') {
+				return theName.substring(1);
+			}
+			return theName;
+		}
+
+		private static Node merge(Node theFirst, Node theSecond) {
+			Node retVal = new Node();
+			retVal.myIncludeAll = theFirst.myIncludeAll || theSecond.myIncludeAll;
+			retVal.myChildren.putAll(theFirst.myChildren);
+			for (Map.Entry<String, Node> next : theSecond.myChildren.entrySet()) {
+				retVal.myChildren.merge(next.getKey(), next.getValue(), Node::merge);
+			}
+			return retVal;
+		}
+
+	}
+
+}
@@ -33,6 +33,7 @@ import ca.uhn.fhir.context.RuntimePrimitiveDatatypeXhtmlHl7OrgDefinition;
 import ca.uhn.fhir.context.RuntimeResourceBlockDefinition;
 import ca.uhn.fhir.context.RuntimeResourceDefinition;
 import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.model.api.BasePrimitive;
 import ca.uhn.fhir.model.api.ExtensionDt;
 import ca.uhn.fhir.model.api.IElement;
 import ca.uhn.fhir.model.api.IIdentifiableElement;
@@ -92,6 +93,7 @@ class ParserState<T> {
 	private final FhirContext myContext;
 	private final IParserErrorHandler myErrorHandler;
 	private final boolean myJsonMode;
+	private final boolean myDeferPrimitiveValueParsing;
 	private final IParser myParser;
 	private List<String> myComments = new ArrayList<String>(2);
 	private T myObject;
@@ -105,6 +107,9 @@ class ParserState<T> {
 		myContext = theContext;
 		myJsonMode = theJsonMode;
 		myErrorHandler = theErrorHandler;
+		// Handlers other than the lenient one (e.g. StrictErrorHandler) expect invalid values to be
+		// reported while parsing, so values are only deferred when the lenient handler is in use
+		myDeferPrimitiveValueParsing = theContext.getParserOptions().isDeferPrimitiveValueParsing() && theErrorHandler instanceof LenientErrorHandler;
 	}
 
 	public void attributeValue(String theName, String theValue) throws DataFormatException {
@@ -144,6 +149,26 @@ class ParserState<T> {
 		return myObject;
 	}
 
+	/**
+	 * Returns the element currently being populated, or <code>null</code> if parsing has completed
+	 */
+	IBase getCurrentElement() {
+		if (myState == null) {
+			return null;
+		}
+		return myState.getCurrentElement();
+	}
+
+	/**
+	 * Forgets all resources and references created so far, so that they are no longer
+	 * considered when stitching together references within a Bundle. This is used when
+	 * Bundle entries are handed off one at a time and should not be retained.
+	 */
+	void clearGlobalResourcesAndReferences() {
+		myGlobalResources.clear();
+		myGlobalReferences.clear();
+	}
+
 	boolean isPreResource() {
 		return myState.isPreResource();
 	}
@@ -1340,7 +1365,11 @@ class ParserState<T> {
 					}
 
 					try {
-						myInstance.setValueAsString(value);
+						if (myDeferPrimitiveValueParsing && myInstance instanceof BasePrimitive) {
+							((BasePrimitive<?>) myInstance).setValueAsStringDeferred(value);
+						} else {
+							myInstance.setValueAsString(value);
+						}
 					} catch (DataFormatException | IllegalArgumentException e) {
 						ParseLocation location = ParseLocation.fromElementName(myChildName);
 						myErrorHandler.invalidValue(location, value, e.getMessage());
@@ -147,93 +147,146 @@ public class XmlParser extends BaseParser {
 		return parseResource(theResourceType, streamReader);
 	}
 
+	@Override
+	protected IBundleEntryIterator doParseBundleEntries(Reader theReader) {
+		return new XmlBundleEntryIterator(createStreamReader(theReader));
+	}
+
 	private <T> T doXmlLoop(XMLEventReader streamReader, ParserState<T> parserState) {
 		ourLog.trace("Entering XML parsing loop with state: {}", parserState);
 
 		try {
 			List<String> heldComments = new ArrayList<>(1);
 
+			ParseElementsFilter filter = getParseElementsFilter();
+			List<ParseElementsFilter.Node> filterNodes = filter != null ? new ArrayList<>() : null;
+
 			while (streamReader.hasNext()) {
 				XMLEvent nextEvent = streamReader.nextEvent();
-				try {
-
-					switch (nextEvent.getEventType()) {
-						case XMLStreamConstants.START_ELEMENT: {
-							StartElement elem = nextEvent.asStartElement();
-
-							String namespaceURI = elem.getName().getNamespaceURI();
-
-							if ("extension".equals(elem.getName().getLocalPart())) {
-								Attribute urlAttr = elem.getAttributeByName(new QName("url"));
-								String url;
-								if (urlAttr == null || isBlank(urlAttr.getValue())) {
-									getErrorHandler().missingRequiredElement(new ParseLocation().setParentElementName("extension"), "url");
-									url = null;
-								} else {
-									url = urlAttr.getValue();
-								}
-								parserState.enteringNewElementExtension(elem, url, false, getServerBaseUrl());
-							} else if ("modifierExtension".equals(elem.getName().getLocalPart())) {
-								Attribute urlAttr = elem.getAttributeByName(new QName("url"));
-								String url;
-								if (urlAttr == null || isBlank(urlAttr.getValue())) {
-									getErrorHandler().missingRequiredElement(new ParseLocation().setParentElementName("modifierExtension"), "url");
-									url = null;
-								} else {
-									url = urlAttr.getValue();
-								}
-								parserState.enteringNewElementExtension(elem, url, true, getServerBaseUrl());
+				if (filterNodes != null) {
+					if (nextEvent.isStartElement()) {
+						String elementName = nextEvent.asStartElement().getName().getLocalPart();
+						ParseElementsFilter.Node filterNode;
+						if (filterNodes.isEmpty()) {
+							filterNode = filter.getRootNode(elementName);
+						} else {
+							ParseElementsFilter.Node parentNode = filterNodes.get(filterNodes.size() - 1);
+							if (parentNode == null || parserState.isPreResource()) {
+								// A resource inside a wrapper element (e.g. contained) shares the wrapper's node
+								filterNode = parentNode;
+							} else if (!parentNode.isIncluded(elementName)) {
+								skipElement(streamReader);
+								continue;
 							} else {
-								String elementName = elem.getName().getLocalPart();
-								parserState.enteringNewElement(namespaceURI, elementName);
+								filterNode = parentNode.getChild(elementName);
 							}
+						}
+						filterNodes.add(filterNode);
+					} else if (nextEvent.isEndElement()) {
+						filterNodes.remove(filterNodes.size() - 1);
+					}
+				}
+				handleXmlEvent(nextEvent, parserState, heldComments);
+			}
+			return parserState.getObject();
+		} catch (XMLStreamException e) {
+			throw new DataFormatException(Msg.code(1852) + e);
+		}
+	}
 
-							if (!heldComments.isEmpty()) {
-								for (String next : heldComments) {
-									parserState.commentPre(next);
-								}
-								heldComments.clear();
-							}
+	/**
+	 * Consumes the remaining events of an element whose start event has just been read
+	 */
+	private static void skipElement(XMLEventReader theStreamReader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0 && theStreamReader.hasNext()) {
+			XMLEvent nextEvent = theStreamReader.nextEvent();
+			if (nextEvent.isStartElement()) {
+				depth++;
+			} else if (nextEvent.isEndElement()) {
+				depth--;
+			}
+		}
+	}
 
-							for (Iterator<Attribute> attributes = elem.getAttributes(); attributes.hasNext(); ) {
-								Attribute next = attributes.next();
-								parserState.attributeValue(next.getName().getLocalPart(), next.getValue());
-							}
+	/**
+	 * Applies a single XML event to the parser state
+	 */
+	private void handleXmlEvent(XMLEvent theEvent, ParserState<?> theParserState, List<String> theHeldComments) {
+		try {
 
-							break;
-						}
-						case XMLStreamConstants.END_DOCUMENT:
-						case XMLStreamConstants.END_ELEMENT: {
-							if (!heldComments.isEmpty()) {
-								for (String next : heldComments) {
-									parserState.commentPost(next);
-								}
-								heldComments.clear();
-							}
-							parserState.endingElement();
-							break;
+			switch (theEvent.getEventType()) {
+				case XMLStreamConstants.START_ELEMENT: {
+					StartElement elem = theEvent.asStartElement();
+
+					String namespaceURI = elem.getName().getNamespaceURI();
+
+					if ("extension".equals(elem.getName().getLocalPart())) {
+						Attribute urlAttr = elem.getAttributeByName(new QName("url"));
+						String url;
+						if (urlAttr == null || isBlank(urlAttr.getValue())) {
+							getErrorHandler().missingRequiredElement(new ParseLocation().setParentElementName("extension"), "url");
+							url = null;
+						} else {
+							url = urlAttr.getValue();
 						}
-						case XMLStreamConstants.CHARACTERS: {
-							parserState.string(nextEvent.asCharacters().getData());
-							break;
+						theParserState.enteringNewElementExtension(elem, url, false, getServerBaseUrl());
+					} else if ("modifierExtension".equals(elem.getName().getLocalPart())) {
+						Attribute urlAttr = elem.getAttributeByName(new QName("url"));
+						String url;
+						if (urlAttr == null || isBlank(urlAttr.getValue())) {
+							getErrorHandler().missingRequiredElement(new ParseLocation().setParentElementName("modifierExtension"), "url");
+							url = null;
+						} else {
+							url = urlAttr.getValue();
 						}
-						case XMLStreamConstants.COMMENT: {
-							Comment comment = (Comment) nextEvent;
-							String commentText = comment.getText();
-							heldComments.add(commentText);
-							break;
+						theParserState.enteringNewElementExtension(elem, url, true, getServerBaseUrl());
+					} else {
+						String elementName = elem.getName().getLocalPart();
+						theParserState.enteringNewElement(namespaceURI, elementName);
+					}
+
+					if (!theHeldComments.isEmpty()) {
+						for (String next : theHeldComments) {
+							theParserState.commentPre(next);
 						}
+						theHeldComments.clear();
 					}
 
-					parserState.xmlEvent(nextEvent);
+					for (Iterator<Attribute> attributes = elem.getAttributes(); attributes.hasNext(); ) {
+						Attribute next = attributes.next();
+						theParserState.attributeValue(next.getName().getLocalPart(), next.getValue());
+					}
 
-				} catch (DataFormatException e) {
-					throw new DataFormatException(Msg.code(1851) + "DataFormatException at [" + nextEvent.getLocation().toString() + "]: " + e.getMessage(), e);
+					break;
+				}
+				case XMLStreamConstants.END_DOCUMENT:
+				case XMLStreamConstants.END_ELEMENT: {
+					if (!theHeldComments.isEmpty()) {
+						for (String next : theHeldComments) {
+							theParserState.commentPost(next);
+						}
+						theHeldComments.clear();
+					}
+					theParserState.endingElement();
+					break;
+				}
+				case XMLStreamConstants.CHARACTERS: {
+					theParserState.string(theEvent.asCharacters().getData());
+					break;
+				}
+				case XMLStreamConstants.COMMENT: {
+					Comment comment = (Comment) theEvent;
+					String commentText = comment.getText();
+					theHeldComments.add(commentText);
+					break;
 				}
 			}
-			return parserState.getObject();
-		} catch (XMLStreamException e) {
-			throw new DataFormatException(Msg.code(1852) + e);
+
+			theParserState.xmlEvent(theEvent);
+
+		} catch (DataFormatException e) {
+			throw new DataFormatException(Msg.code(1851) + "DataFormatException at [" + theEvent.getLocation().toString() + "]: " + e.getMessage(), e);
 		}
 	}
 
@@ -403,13 +456,18 @@ public class XmlParser extends BaseParser {
 				encodeChildElementToStreamWriter(theResource, theEventWriter, nextChild, null, nextChild.getChildNameByDatatype(null), nextChild.getChildElementDefinitionByDatatype(null), null, theContainedResource, nextChildElem, theEncodeContext);
 			} else {
 
-				List<? extends IBase> values = nextChild.getAccessor().getValues(theElement);
-				values = preProcessValues(nextChild, theResource, values, nextChildElem, theEncodeContext);
+				Iterator<? extends IBase> valuesIter = theEncodeContext.takeDeferredBundleEntries(theElement, nextChild);
+				if (valuesIter == null) {
+					List<? extends IBase> values = nextChild.getAccessor().getValues(theElement);
+					values = preProcessValues(nextChild, theResource, values, nextChildElem, theEncodeContext);
 
-				if (values == null || values.isEmpty()) {
-					continue;
+					if (values == null || values.isEmpty()) {
+						continue;
+					}
+					valuesIter = values.iterator();
 				}
-				for (IBase nextValue : values) {
+				while (valuesIter.hasNext()) {
+					IBase nextValue = valuesIter.next();
 					if ((nextValue == null || nextValue.isEmpty())) {
 						continue;
 					}
@@ -776,6 +834,11 @@ public class XmlParser extends BaseParser {
 		return EncodingEnum.XML;
 	}
 
+	@Override
+	protected boolean isSupportsDeferredBundleEntries() {
+		return true;
+	}
+
 	private <T extends IBaseResource> T parseResource(Class<T> theResourceType, XMLEventReader theStreamReader) {
 		ParserState<T> parserState = ParserState.getPreResourceInstance(this, theResourceType, getContext(), false, getErrorHandler());
 		return doXmlLoop(theStreamReader, parserState);
@@ -826,4 +889,90 @@ public class XmlParser extends BaseParser {
 		}
 	}
 
+	/**
+	 * Incrementally parses an XML Bundle, streaming one entry at a time
+	 */
+	private class XmlBundleEntryIterator extends BaseBundleEntryIterator {
+
+		private final XMLEventReader myStreamReader;
+		private final List<String> myHeldComments = new ArrayList<>(1);
+		private int myDepth;
+
+		XmlBundleEntryIterator(XMLEventReader theStreamReader) {
+			super(XmlParser.this, getErrorHandler(), false);
+			myStreamReader = theStreamReader;
+		}
+
+		@Override
+		protected void readBundleStart() {
+			try {
+				while (myStreamReader.hasNext()) {
+					XMLEvent nextEvent = myStreamReader.peek();
+					if (myDepth == 1 && nextEvent.isStartElement() && "entry".equals(nextEvent.asStartElement().getName().getLocalPart())) {
+						break;
+					}
+					if (readNextEvent() != null) {
+						break;
+					}
+				}
+			} catch (XMLStreamException e) {
+				throw new DataFormatException(Msg.code(2283) + e);
+			}
+		}
+
+		@Override
+		protected IBase readNextEntry() {
+			try {
+				while (myStreamReader.hasNext()) {
+					IBase entry = readNextEvent();
+					if (entry != null) {
+						return entry;
+					}
+				}
+				return null;
+			} catch (XMLStreamException e) {
+				throw new DataFormatException(Msg.code(2284) + e);
+			}
+		}
+
+		/**
+		 * Processes a single event
+		 *
+		 * @return Returns the entry if the event completed one, or <code>null</code> otherwise
+		 */
+		private IBase readNextEvent() throws XMLStreamException {
+			XMLEvent nextEvent = myStreamReader.nextEvent();
+			handleXmlEvent(nextEvent, getState(), myHeldComments);
+
+			switch (nextEvent.getEventType()) {
+				case XMLStreamConstants.START_ELEMENT:
+					myDepth++;
+					if (myDepth == 1) {
+						startBundle();
+					}
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					myDepth--;
+					if (myDepth == 1 && "entry".equals(nextEvent.asEndElement().getName().getLocalPart())) {
+						return takeEntry();
+					}
+					break;
+				case XMLStreamConstants.END_DOCUMENT:
+					finishBundle();
+					break;
+			}
+			return null;
+		}
+
+		@Override
+		protected void closeSource() {
+			try {
+				myStreamReader.close();
+			} catch (XMLStreamException e) {
+				ourLog.debug("Failed to close XML reader", e);
+			}
+		}
+
+	}
+
 }
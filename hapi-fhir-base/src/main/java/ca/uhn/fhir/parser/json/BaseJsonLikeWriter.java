@@ -92,6 +92,28 @@ public abstract class BaseJsonLikeWriter {
 
 	public abstract BaseJsonLikeWriter write(String name, boolean value) throws IOException;
 
+	/**
+	 * Writes a number which is supplied in its string form, which must be valid JSON number syntax.
+	 * The default implementation converts the value to a {@link BigDecimal}, subclasses may
+	 * override this to write the string as-is.
+	 *
+	 * @since 6.6.0
+	 */
+	public BaseJsonLikeWriter writeNumber(String theValue) throws IOException {
+		return write(new BigDecimal(theValue));
+	}
+
+	/**
+	 * Writes a named number which is supplied in its string form, which must be valid JSON number syntax.
+	 * The default implementation converts the value to a {@link BigDecimal}, subclasses may
+	 * override this to write the string as-is.
+	 *
+	 * @since 6.6.0
+	 */
+	public BaseJsonLikeWriter writeNumber(String theName, String theValue) throws IOException {
+		return write(theName, new BigDecimal(theValue));
+	}
+
 	public abstract BaseJsonLikeWriter endObject() throws IOException;
 
 	public abstract BaseJsonLikeWriter endArray() throws IOException;
@@ -39,6 +39,7 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.Writer;
@@ -52,6 +53,10 @@ import java.util.Map;
 public class JacksonStructure implements JsonLikeStructure {
 
 	private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+	/**
+	 * Values are read one at a time from a streaming parser, so trailing tokens are expected
+	 */
+	private static final ObjectMapper STREAMING_OBJECT_MAPPER = createObjectMapper().disable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
 	private JacksonWriter jacksonWriter;
 	private ROOT_TYPE rootType = null;
 	private JsonNode nativeRoot = null;
@@ -79,42 +84,99 @@ public class JacksonStructure implements JsonLikeStructure {
 
 	@Override
 	public void load(Reader theReader, boolean allowArray) throws DataFormatException {
-		PushbackReader pbr = new PushbackReader(theReader);
-		int nextInt;
 		try {
-			while (true) {
-				nextInt = pbr.read();
-				if (nextInt == -1) {
-					throw new DataFormatException(Msg.code(1857) + "Did not find any content to parse");
-				}
-				if (nextInt == '{') {
-					pbr.unread(nextInt);
-					break;
-				}
-				if (Character.isWhitespace(nextInt)) {
-					continue;
-				}
-				if (allowArray) {
-					if (nextInt == '[') {
-						pbr.unread(nextInt);
-						break;
-					}
-					throw new DataFormatException(Msg.code(1858) + "Content does not appear to be FHIR JSON, first non-whitespace character was: '" + (char) nextInt + "' (must be '{' or '[')");
-				}
-				throw new DataFormatException(Msg.code(1859) + "Content does not appear to be FHIR JSON, first non-whitespace character was: '" + (char) nextInt + "' (must be '{')");
-			}
-
+			PushbackReader pbr = new PushbackReader(theReader);
+			int nextInt = readFirstCharacter(pbr, allowArray);
 			if (nextInt == '{') {
 				setNativeObject((ObjectNode) OBJECT_MAPPER.readTree(pbr));
 			} else {
 				setNativeArray((ArrayNode) OBJECT_MAPPER.readTree(pbr));
 			}
 		} catch (Exception e) {
-			if (e.getMessage().startsWith("Unexpected char 39")) {
-				throw new DataFormatException(Msg.code(1860) + "Failed to parse JSON encoded FHIR content: " + e.getMessage() + " - " +
-					"This may indicate that single quotes are being used as JSON escapes where double quotes are required", e);
+			throw toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Loads the structure from a Jackson parser which has been created by the caller. This allows
+	 * content in a binary JSON format supported by Jackson (e.g. Smile) to be read directly,
+	 * without first converting it to JSON text. The parser must be positioned before the root object,
+	 * and is not closed by this method.
+	 *
+	 * @since 6.6.0
+	 */
+	public void load(JsonParser theParser) throws DataFormatException {
+		try {
+			JsonNode root = OBJECT_MAPPER.readTree(theParser);
+			if (root == null || !root.isObject()) {
+				throw new DataFormatException(Msg.code(2314) + "Content does not appear to be FHIR JSON, the root value is not an object");
+			}
+			setNativeObject((ObjectNode) root);
+		} catch (DataFormatException e) {
+			throw e;
+		} catch (Exception e) {
+			throw toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Creates a Jackson token stream over the given reader, configured identically to the mapper
+	 * used by {@link #load(Reader)}. This can be used to parse a resource without first building
+	 * a complete tree in memory. The returned parser is positioned before the opening '{' of the
+	 * root object, and values read from it using {@link JsonParser#readValueAsTree()} have the
+	 * same node types as the ones produced by {@link #load(Reader)}.
+	 *
+	 * @since 6.6.0
+	 */
+	public static JsonParser createStreamingParser(Reader theReader) throws DataFormatException {
+		try {
+			PushbackReader pbr = new PushbackReader(theReader);
+			readFirstCharacter(pbr, false);
+			return STREAMING_OBJECT_MAPPER.getFactory().createParser(pbr);
+		} catch (Exception e) {
+			throw toDataFormatException(e);
+		}
+	}
+
+	/**
+	 * Converts a failure raised by Jackson while reading content into the exception
+	 * that is thrown by {@link #load(Reader)}
+	 *
+	 * @since 6.6.0
+	 */
+	public static DataFormatException toDataFormatException(Exception theException) {
+		if (theException.getMessage().startsWith("Unexpected char 39")) {
+			return new DataFormatException(Msg.code(1860) + "Failed to parse JSON encoded FHIR content: " + theException.getMessage() + " - " +
+				"This may indicate that single quotes are being used as JSON escapes where double quotes are required", theException);
+		}
+		return new DataFormatException(Msg.code(1861) + "Failed to parse JSON encoded FHIR content: " + theException.getMessage(), theException);
+	}
+
+	/**
+	 * Skips leading whitespace and verifies that the content starts with an object (or an array
+	 * if permitted). The first non-whitespace character is pushed back and returned.
+	 */
+	private static int readFirstCharacter(PushbackReader thePushbackReader, boolean theAllowArray) throws IOException {
+		while (true) {
+			int nextInt = thePushbackReader.read();
+			if (nextInt == -1) {
+				throw new DataFormatException(Msg.code(1857) + "Did not find any content to parse");
+			}
+			if (nextInt == '{') {
+				thePushbackReader.unread(nextInt);
+				return nextInt;
 			}
-			throw new DataFormatException(Msg.code(1861) + "Failed to parse JSON encoded FHIR content: " + e.getMessage(), e);
+			if (Character.isWhitespace(nextInt)) {
+				continue;
+			}
+			if (theAllowArray) {
+				if (nextInt == '[') {
+					thePushbackReader.unread(nextInt);
+					return nextInt;
+				}
+				throw new DataFormatException(Msg.code(1858) + "Content does not appear to be FHIR JSON, first non-whitespace character was: '" + (char) nextInt + "' (must be '{' or '[')");
+			}
+			throw new DataFormatException(Msg.code(1859) + "Content does not appear to be FHIR JSON, first non-whitespace character was: '" + (char) nextInt + "' (must be '{')");
 		}
 	}
 
@@ -127,6 +189,18 @@ public class JacksonStructure implements JsonLikeStructure {
 		return jacksonWriter;
 	}
 
+	/**
+	 * Returns a writer which writes UTF-8 bytes directly to the given stream
+	 *
+	 * @since 6.6.0
+	 */
+	public BaseJsonLikeWriter getJsonLikeWriter(OutputStream theOutputStream) throws IOException {
+		if (null == jacksonWriter) {
+			jacksonWriter = new JacksonWriter(OBJECT_MAPPER.getFactory(), theOutputStream);
+		}
+		return jacksonWriter;
+	}
+
 	@Override
 	public BaseJsonLikeWriter getJsonLikeWriter() {
 		if (null == jacksonWriter) {
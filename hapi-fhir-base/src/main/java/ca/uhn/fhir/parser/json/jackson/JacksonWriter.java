@@ -21,26 +21,52 @@ package ca.uhn.fhir.parser.json.jackson;
  */
 
 import ca.uhn.fhir.parser.json.BaseJsonLikeWriter;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.core.util.Separators;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JacksonWriter extends BaseJsonLikeWriter {
 
+	/**
+	 * Property names are drawn from the FHIR model so there is a limited number of
+	 * them. This cap is just a safeguard against unbounded growth.
+	 */
+	private static final int MAX_CACHED_PROPERTY_NAMES = 10000;
+	private static final ConcurrentHashMap<String, SerializedString> ourPropertyNames = new ConcurrentHashMap<>();
+
 	private JsonGenerator myJsonGenerator;
+	private boolean myUtf8Output;
 
 	public JacksonWriter(JsonFactory theJsonFactory, Writer theWriter) throws IOException {
 		myJsonGenerator = theJsonFactory.createGenerator(theWriter);
 		setWriter(theWriter);
 	}
 
+	/**
+	 * Creates a writer which writes UTF-8 bytes directly to the given stream, without going
+	 * through a character {@link Writer}. The stream is not closed when this writer is closed.
+	 *
+	 * @since 6.6.0
+	 */
+	public JacksonWriter(JsonFactory theJsonFactory, OutputStream theOutputStream) throws IOException {
+		myJsonGenerator = theJsonFactory.createGenerator(theOutputStream, JsonEncoding.UTF8);
+		myJsonGenerator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		myUtf8Output = true;
+	}
+
 	public JacksonWriter() {
 	}
 
@@ -96,19 +122,21 @@ public class JacksonWriter extends BaseJsonLikeWriter {
 
 	@Override
 	public BaseJsonLikeWriter beginObject(String name) throws IOException {
-		myJsonGenerator.writeObjectFieldStart(name);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		myJsonGenerator.writeStartObject();
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter beginArray(String name) throws IOException {
-		myJsonGenerator.writeArrayFieldStart(name);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		myJsonGenerator.writeStartArray();
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String value) throws IOException {
-		myJsonGenerator.writeObject(value);
+		writeStringValue(value);
 		return this;
 	}
 
@@ -156,43 +184,63 @@ public class JacksonWriter extends BaseJsonLikeWriter {
 
 	@Override
 	public BaseJsonLikeWriter write(String name, String value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		writeStringValue(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, BigInteger value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		myJsonGenerator.writeObject(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, BigDecimal value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		myJsonGenerator.writeObject(value);
+		return this;
+	}
+
+	@Override
+	public BaseJsonLikeWriter writeNumber(String theValue) throws IOException {
+		myJsonGenerator.writeNumber(theValue);
+		return this;
+	}
+
+	@Override
+	public BaseJsonLikeWriter writeNumber(String theName, String theValue) throws IOException {
+		myJsonGenerator.writeFieldName(toPropertyName(theName));
+		myJsonGenerator.writeNumber(theValue);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, long value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		myJsonGenerator.writeObject(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, double value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		myJsonGenerator.writeObject(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, Boolean value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		myJsonGenerator.writeObject(value);
 		return this;
 	}
 
 	@Override
 	public BaseJsonLikeWriter write(String name, boolean value) throws IOException {
-		myJsonGenerator.writeObjectField(name, value);
+		myJsonGenerator.writeFieldName(toPropertyName(name));
+		myJsonGenerator.writeObject(value);
 		return this;
 	}
 
@@ -213,4 +261,43 @@ public class JacksonWriter extends BaseJsonLikeWriter {
 		myJsonGenerator.writeEndObject();
 		return this;
 	}
+
+	/**
+	 * When writing bytes, Jackson escapes characters outside of the Basic Multilingual Plane
+	 * as a pair of escaped UTF-16 surrogates, whereas the character-based generator
+	 * writes them as-is. Strings containing such characters are encoded here instead so that
+	 * both paths produce the same document.
+	 */
+	private void writeStringValue(String theValue) throws IOException {
+		if (myUtf8Output && theValue != null && containsSurrogate(theValue)) {
+			byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8(theValue);
+			myJsonGenerator.writeRawUTF8String(quoted, 0, quoted.length);
+		} else {
+			myJsonGenerator.writeObject(theValue);
+		}
+	}
+
+	private static boolean containsSurrogate(String theValue) {
+		for (int i = 0; i < theValue.length(); i++) {
+			if (Character.isSurrogate(theValue.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the property name in a form which holds its quoted and encoded representation,
+	 * so that each name only needs to be escaped and converted to UTF-8 once
+	 */
+	private static SerializableString toPropertyName(String theName) {
+		SerializedString retVal = ourPropertyNames.get(theName);
+		if (retVal == null) {
+			retVal = new SerializedString(theName);
+			if (ourPropertyNames.size() < MAX_CACHED_PROPERTY_NAMES) {
+				ourPropertyNames.putIfAbsent(theName, retVal);
+			}
+		}
+		return retVal;
+	}
 }
@@ -23,6 +23,7 @@ package ca.uhn.fhir.rest.client.api;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Http Request. Allows addition of headers and execution of the request.
@@ -44,6 +45,26 @@ public interface IHttpRequest {
 	 */
 	IHttpResponse execute() throws IOException;
 
+	/**
+	 * Execute the request without blocking the calling thread while waiting for the
+	 * response. The returned future completes with the response once it has been
+	 * received, or completes exceptionally if the request fails.
+	 * <p>
+	 * The default implementation simply calls {@link #execute()} on the calling thread
+	 * and returns an already completed future. Implementations backed by an HTTP library
+	 * which supports non-blocking requests should override this method.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	default CompletableFuture<IHttpResponse> executeAsync() {
+		try {
+			return CompletableFuture.completedFuture(execute());
+		} catch (IOException | RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
 	/**
 	 * @return all request headers in lower case. Note that this method
 	 * returns an <b>immutable</b> Map
@@ -7,6 +7,7 @@ import ca.uhn.fhir.rest.api.SummaryEnum;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /*
  * #%L
@@ -108,6 +109,35 @@ public interface IClientExecutable<T extends IClientExecutable<?, Y>, Y> {
 	 */
 	Y execute();
 
+	/**
+	 * Execute the client operation without blocking the calling thread while waiting for the
+	 * server to respond. The returned future completes with the same value that {@link #execute()}
+	 * would have returned, or completes exceptionally with the exception that it would have thrown.
+	 * <p>
+	 * The request is built and any client interceptors registered for
+	 * {@link ca.uhn.fhir.interceptor.api.Pointcut#CLIENT_REQUEST} are invoked on the calling
+	 * thread. The response is parsed and any interceptors registered for
+	 * {@link ca.uhn.fhir.interceptor.api.Pointcut#CLIENT_RESPONSE} are invoked on the thread which
+	 * completes the HTTP request, so dependent stages should not perform long-running work
+	 * unless they are attached using one of the <code>...Async</code> methods of
+	 * {@link CompletableFuture} with an executor of your choice.
+	 * </p>
+	 * <p>
+	 * Requests are only truly non-blocking if the underlying HTTP client supports it (e.g. the
+	 * OkHttp client found in <code>hapi-fhir-client-okhttp</code>). Otherwise this method executes
+	 * the request on the calling thread and returns an already completed future.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	default CompletableFuture<Y> executeAsync() {
+		try {
+			return CompletableFuture.completedFuture(execute());
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
 	/**
 	 * Explicitly specify a custom structure type to attempt to use when parsing the response. This
 	 * is useful for invocations where the response is a Bundle/Parameters containing nested resources,
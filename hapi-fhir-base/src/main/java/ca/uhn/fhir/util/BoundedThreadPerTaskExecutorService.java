@@ -0,0 +1,192 @@
+package ca.uhn.fhir.util;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.util.IExecutorProvider.FullQueuePolicyEnum;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor which starts a new thread for every task, and uses semaphores to limit the number of
+ * tasks which run at the same time and the number which may be waiting to run. This is intended
+ * for use with virtual threads, which are cheap enough that a task waiting for a free slot can
+ * simply be a parked thread instead of an entry in a work queue.
+ *
+ * @since 6.6.0
+ */
+public class BoundedThreadPerTaskExecutorService extends AbstractExecutorService {
+
+	private final ThreadFactory myThreadFactory;
+	private final int myMaxConcurrency;
+	private final Semaphore mySubmitPermits;
+	private final Semaphore myRunPermits;
+	private final FullQueuePolicyEnum myFullQueuePolicy;
+	private final Set<Thread> myThreads = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger myWaitingCount = new AtomicInteger();
+	private final Object myLifecycleLock = new Object();
+	private volatile boolean myShutdown;
+
+	/**
+	 * Constructor
+	 *
+	 * @param theThreadFactory   The factory used to create a thread for each task
+	 * @param theMaxConcurrency  The maximum number of tasks which will run at the same time
+	 * @param theQueueCapacity   The maximum number of tasks which can wait for a free slot before the executor is full
+	 * @param theFullQueuePolicy What happens to a task which is submitted while the executor is full
+	 */
+	public BoundedThreadPerTaskExecutorService(ThreadFactory theThreadFactory, int theMaxConcurrency, int theQueueCapacity, FullQueuePolicyEnum theFullQueuePolicy) {
+		Validate.notNull(theThreadFactory, "theThreadFactory must not be null");
+		Validate.isTrue(theMaxConcurrency > 0, "theMaxConcurrency must be greater than 0");
+		Validate.isTrue(theQueueCapacity >= 0, "theQueueCapacity must not be negative");
+		Validate.notNull(theFullQueuePolicy, "theFullQueuePolicy must not be null");
+		myThreadFactory = theThreadFactory;
+		myMaxConcurrency = theMaxConcurrency;
+		mySubmitPermits = new Semaphore(theMaxConcurrency + theQueueCapacity);
+		myRunPermits = new Semaphore(theMaxConcurrency);
+		myFullQueuePolicy = theFullQueuePolicy;
+	}
+
+	@Override
+	public void execute(Runnable theTask) {
+		Validate.notNull(theTask, "theTask must not be null");
+		if (myShutdown) {
+			throw new RejectedExecutionException(Msg.code(2305) + "Executor has been shut down");
+		}
+
+		if (myFullQueuePolicy == FullQueuePolicyEnum.DISCARD) {
+			if (!mySubmitPermits.tryAcquire()) {
+				return;
+			}
+		} else {
+			try {
+				mySubmitPermits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException(Msg.code(2306) + "Interrupted while waiting to submit task", e);
+			}
+		}
+
+		synchronized (myLifecycleLock) {
+			Thread thread = myShutdown ? null : myThreadFactory.newThread(() -> runTask(theTask));
+			if (thread == null) {
+				mySubmitPermits.release();
+				throw new RejectedExecutionException(Msg.code(2310) + "Executor has been shut down or could not create a thread");
+			}
+			myWaitingCount.incrementAndGet();
+			myThreads.add(thread);
+			thread.start();
+		}
+	}
+
+	private void runTask(Runnable theTask) {
+		try {
+			try {
+				myRunPermits.acquire();
+			} catch (InterruptedException e) {
+				// Executor was shut down with shutdownNow() before the task started
+				myWaitingCount.decrementAndGet();
+				return;
+			}
+			myWaitingCount.decrementAndGet();
+			try {
+				theTask.run();
+			} finally {
+				myRunPermits.release();
+			}
+		} finally {
+			mySubmitPermits.release();
+			synchronized (myLifecycleLock) {
+				myThreads.remove(Thread.currentThread());
+				myLifecycleLock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of tasks which have been submitted but are waiting for a free slot
+	 */
+	public int getQueueSize() {
+		return myWaitingCount.get();
+	}
+
+	/**
+	 * Returns the number of tasks which are currently running
+	 */
+	public int getActiveCount() {
+		return myMaxConcurrency - myRunPermits.availablePermits();
+	}
+
+	@Override
+	public void shutdown() {
+		synchronized (myLifecycleLock) {
+			myShutdown = true;
+			myLifecycleLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Interrupts all running and waiting tasks. Since tasks are never held in a queue, the
+	 * returned list is always empty.
+	 */
+	@Override
+	public List<Runnable> shutdownNow() {
+		shutdown();
+		myThreads.forEach(Thread::interrupt);
+		return new ArrayList<>();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return myShutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return myShutdown && myThreads.isEmpty();
+	}
+
+	@Override
+	public boolean awaitTermination(long theTimeout, TimeUnit theUnit) throws InterruptedException {
+		long deadline = System.nanoTime() + theUnit.toNanos(theTimeout);
+		synchronized (myLifecycleLock) {
+			while (!isTerminated()) {
+				long remainingNanos = deadline - System.nanoTime();
+				if (remainingNanos <= 0) {
+					return false;
+				}
+				TimeUnit.NANOSECONDS.timedWait(myLifecycleLock, remainingNanos);
+			}
+			return true;
+		}
+	}
+
+}
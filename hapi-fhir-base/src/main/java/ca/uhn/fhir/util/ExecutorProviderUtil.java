@@ -0,0 +1,113 @@
+package ca.uhn.fhir.util;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.util.IExecutorProvider.FullQueuePolicyEnum;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Holds the {@link IExecutorProvider} used to create HAPI FHIR's internal worker pools.
+ * <p>
+ * By default conventional platform thread pools are used. Setting the system property
+ * <code>hapi.fhir.virtual_threads</code> to <code>true</code> switches to virtual threads if the
+ * running JDK supports them, and a custom provider can be installed using
+ * {@link #setExecutorProvider(IExecutorProvider)}. Executors which have already been created are
+ * not affected by a change of provider, so it should be set before the server is started.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+public final class ExecutorProviderUtil {
+
+	/**
+	 * System property which, if set to <code>true</code>, makes virtual threads the default on JDKs which support them
+	 */
+	public static final String VIRTUAL_THREADS_SYSTEM_PROPERTY = "hapi.fhir.virtual_threads";
+	private static final Logger ourLog = LoggerFactory.getLogger(ExecutorProviderUtil.class);
+	private static volatile IExecutorProvider ourExecutorProvider;
+
+	/**
+	 * Non instantiable
+	 */
+	private ExecutorProviderUtil() {
+	}
+
+	/**
+	 * Returns the executor provider in use
+	 */
+	public static IExecutorProvider getExecutorProvider() {
+		IExecutorProvider retVal = ourExecutorProvider;
+		if (retVal == null) {
+			retVal = createDefaultExecutorProvider();
+			ourExecutorProvider = retVal;
+		}
+		return retVal;
+	}
+
+	/**
+	 * Sets the executor provider to use for executors created from now on, or <code>null</code> to restore the default
+	 */
+	public static void setExecutorProvider(IExecutorProvider theExecutorProvider) {
+		ourExecutorProvider = theExecutorProvider;
+	}
+
+	/**
+	 * Creates a new executor using the current {@link #getExecutorProvider() executor provider}
+	 *
+	 * @see IExecutorProvider#newExecutor(String, int, int, FullQueuePolicyEnum)
+	 */
+	public static ExecutorService newExecutor(String theThreadNamePrefix, int theMaxConcurrency, int theQueueCapacity, FullQueuePolicyEnum theFullQueuePolicy) {
+		Validate.notNull(theFullQueuePolicy, "theFullQueuePolicy must not be null");
+		return getExecutorProvider().newExecutor(theThreadNamePrefix, theMaxConcurrency, theQueueCapacity, theFullQueuePolicy);
+	}
+
+	/**
+	 * Returns the number of tasks waiting to run on an executor created by one of the built-in
+	 * providers, or <code>0</code> if this can't be determined for the given executor
+	 */
+	public static int getQueueSize(Executor theExecutor) {
+		if (theExecutor instanceof ThreadPoolExecutor) {
+			return ((ThreadPoolExecutor) theExecutor).getQueue().size();
+		}
+		if (theExecutor instanceof BoundedThreadPerTaskExecutorService) {
+			return ((BoundedThreadPerTaskExecutorService) theExecutor).getQueueSize();
+		}
+		return 0;
+	}
+
+	private static IExecutorProvider createDefaultExecutorProvider() {
+		if (Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_SYSTEM_PROPERTY))) {
+			if (VirtualThreadExecutorProvider.isSupported()) {
+				ourLog.info("Using virtual threads for HAPI FHIR worker pools");
+				return new VirtualThreadExecutorProvider();
+			}
+			ourLog.warn("System property {} is set but virtual threads are not supported by this JVM, using platform threads", VIRTUAL_THREADS_SYSTEM_PROPERTY);
+		}
+		return new PlatformThreadExecutorProvider();
+	}
+
+}
@@ -51,6 +51,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -327,9 +328,9 @@ public class FhirTerser {
 
 		BaseRuntimeElementCompositeDefinition<?> currentDef = (BaseRuntimeElementCompositeDefinition<?>) def;
 
-		List<String> parts = parsePath(currentDef, thePath);
+		TerserPath path = parsePath(currentDef, thePath);
 
-		List<T> retVal = getValues(currentDef, theTarget, parts, theWantedType);
+		List<T> retVal = getValues(currentDef, theTarget, path, theWantedType);
 		if (retVal.isEmpty()) {
 			return null;
 		}
@@ -348,17 +349,18 @@ public class FhirTerser {
 		return Optional.ofNullable(getSingleValueOrNull(theTarget, thePath, theWantedType));
 	}
 
-	private <T extends IBase> List<T> getValues(BaseRuntimeElementCompositeDefinition<?> theCurrentDef, IBase theCurrentObj, List<String> theSubList, Class<T> theWantedClass) {
-		return getValues(theCurrentDef, theCurrentObj, theSubList, theWantedClass, false, false);
+	private <T extends IBase> List<T> getValues(BaseRuntimeElementCompositeDefinition<?> theCurrentDef, IBase theCurrentObj, TerserPath thePath, Class<T> theWantedClass) {
+		return getValues(theCurrentDef, theCurrentObj, thePath, 0, theWantedClass, false, false);
 	}
 
 	@SuppressWarnings("unchecked")
-	private <T extends IBase> List<T> getValues(BaseRuntimeElementCompositeDefinition<?> theCurrentDef, IBase theCurrentObj, List<String> theSubList, Class<T> theWantedClass, boolean theCreate, boolean theAddExtension) {
-		if (theSubList.isEmpty()) {
+	private <T extends IBase> List<T> getValues(BaseRuntimeElementCompositeDefinition<?> theCurrentDef, IBase theCurrentObj, TerserPath thePath, int theIndex, Class<T> theWantedClass, boolean theCreate, boolean theAddExtension) {
+		if (theIndex >= thePath.size()) {
 			return Collections.emptyList();
 		}
 
-		String name = theSubList.get(0);
+		String name = thePath.getPart(theIndex);
+		boolean lastPart = theIndex == thePath.size() - 1;
 		List<T> retVal = new ArrayList<>();
 
 		if (name.startsWith("extension('")) {
@@ -379,7 +381,7 @@ public class FhirTerser {
 						.collect(Collectors.toList());
 
 					if (theAddExtension
-						&& (!(theCurrentObj instanceof IBaseExtension) || (extensionDts.isEmpty() && theSubList.size() == 1))) {
+						&& (!(theCurrentObj instanceof IBaseExtension) || (extensionDts.isEmpty() && lastPart))) {
 						extensionDts.add(createEmptyExtensionDt((ISupportsUndeclaredExtensions) theCurrentObj, extensionUrl));
 					}
 
@@ -391,7 +393,7 @@ public class FhirTerser {
 					extensionDts = ((IBaseExtension) theCurrentObj).getExtension();
 
 					if (theAddExtension
-						&& (extensionDts.isEmpty() && theSubList.size() == 1)) {
+						&& (extensionDts.isEmpty() && lastPart)) {
 						extensionDts.add(createEmptyExtensionDt((IBaseExtension) theCurrentObj, extensionUrl));
 					}
 
@@ -416,7 +418,7 @@ public class FhirTerser {
 						.collect(Collectors.toList());
 
 					if (theAddExtension
-						&& (!(theCurrentObj instanceof IBaseExtension) || (extensions.isEmpty() && theSubList.size() == 1))) {
+						&& (!(theCurrentObj instanceof IBaseExtension) || (extensions.isEmpty() && lastPart))) {
 						extensions.add(createEmptyExtension((IBaseHasExtensions) theCurrentObj, extensionUrl));
 					}
 
@@ -432,12 +434,12 @@ public class FhirTerser {
 				}
 			}
 
-			if (theSubList.size() > 1) {
+			if (!lastPart) {
 				List<T> values = retVal;
 				retVal = new ArrayList<>();
 				for (T nextElement : values) {
-					BaseRuntimeElementCompositeDefinition<?> nextChildDef = (BaseRuntimeElementCompositeDefinition<?>) myContext.getElementDefinition(nextElement.getClass());
-					List<T> foundValues = getValues(nextChildDef, nextElement, theSubList.subList(1, theSubList.size()), theWantedClass, theCreate, theAddExtension);
+					BaseRuntimeElementCompositeDefinition<?> nextChildDef = thePath.getElementDefinition(myContext, nextElement, theIndex + 1);
+					List<T> foundValues = getValues(nextChildDef, nextElement, thePath, theIndex + 1, theWantedClass, theCreate, theAddExtension);
 					retVal.addAll(foundValues);
 				}
 			}
@@ -463,7 +465,7 @@ public class FhirTerser {
 						.collect(Collectors.toList());
 
 					if (theAddExtension
-						&& (!(theCurrentObj instanceof IBaseExtension) || (extensionDts.isEmpty() && theSubList.size() == 1))) {
+						&& (!(theCurrentObj instanceof IBaseExtension) || (extensionDts.isEmpty() && lastPart))) {
 						extensionDts.add(createEmptyModifierExtensionDt((ISupportsUndeclaredExtensions) theCurrentObj, extensionUrl));
 					}
 
@@ -475,7 +477,7 @@ public class FhirTerser {
 					extensionDts = ((IBaseExtension) theCurrentObj).getExtension();
 
 					if (theAddExtension
-						&& (extensionDts.isEmpty() && theSubList.size() == 1)) {
+						&& (extensionDts.isEmpty() && lastPart)) {
 						extensionDts.add(createEmptyExtensionDt((IBaseExtension) theCurrentObj, extensionUrl));
 					}
 
@@ -501,7 +503,7 @@ public class FhirTerser {
 						.collect(Collectors.toList());
 
 					if (theAddExtension
-						&& (!(theCurrentObj instanceof IBaseExtension) || (extensions.isEmpty() && theSubList.size() == 1))) {
+						&& (!(theCurrentObj instanceof IBaseExtension) || (extensions.isEmpty() && lastPart))) {
 						extensions.add(createEmptyModifierExtension((IBaseHasModifierExtensions) theCurrentObj, extensionUrl));
 					}
 
@@ -517,12 +519,12 @@ public class FhirTerser {
 				}
 			}
 
-			if (theSubList.size() > 1) {
+			if (!lastPart) {
 				List<T> values = retVal;
 				retVal = new ArrayList<>();
 				for (T nextElement : values) {
-					BaseRuntimeElementCompositeDefinition<?> nextChildDef = (BaseRuntimeElementCompositeDefinition<?>) myContext.getElementDefinition(nextElement.getClass());
-					List<T> foundValues = getValues(nextChildDef, nextElement, theSubList.subList(1, theSubList.size()), theWantedClass, theCreate, theAddExtension);
+					BaseRuntimeElementCompositeDefinition<?> nextChildDef = thePath.getElementDefinition(myContext, nextElement, theIndex + 1);
+					List<T> foundValues = getValues(nextChildDef, nextElement, thePath, theIndex + 1, theWantedClass, theCreate, theAddExtension);
 					retVal.addAll(foundValues);
 				}
 			}
@@ -530,7 +532,7 @@ public class FhirTerser {
 			return retVal;
 		}
 
-		BaseRuntimeChildDefinition nextDef = theCurrentDef.getChildByNameOrThrowDataFormatException(name);
+		BaseRuntimeChildDefinition nextDef = thePath.getChild(theCurrentDef, theIndex);
 		List<? extends IBase> values = nextDef.getAccessor().getValues(theCurrentObj);
 
 		if (values.isEmpty() && theCreate) {
@@ -548,7 +550,7 @@ public class FhirTerser {
 			values = list;
 		}
 
-		if (theSubList.size() == 1) {
+		if (lastPart) {
 			if (nextDef instanceof RuntimeChildChoiceDefinition) {
 				for (IBase next : values) {
 					if (next != null) {
@@ -558,7 +560,7 @@ public class FhirTerser {
 							}
 						} else {
 							String childName = nextDef.getChildNameByDatatype(next.getClass());
-							if (theSubList.get(0).equals(childName)) {
+							if (name.equals(childName)) {
 								if (theWantedClass == null || theWantedClass.isAssignableFrom(next.getClass())) {
 									retVal.add((T) next);
 								}
@@ -577,8 +579,8 @@ public class FhirTerser {
 			}
 		} else {
 			for (IBase nextElement : values) {
-				BaseRuntimeElementCompositeDefinition<?> nextChildDef = (BaseRuntimeElementCompositeDefinition<?>) myContext.getElementDefinition(nextElement.getClass());
-				List<T> foundValues = getValues(nextChildDef, nextElement, theSubList.subList(1, theSubList.size()), theWantedClass, theCreate, theAddExtension);
+				BaseRuntimeElementCompositeDefinition<?> nextChildDef = thePath.getElementDefinition(myContext, nextElement, theIndex + 1);
+				List<T> foundValues = getValues(nextChildDef, nextElement, thePath, theIndex + 1, theWantedClass, theCreate, theAddExtension);
 				retVal.addAll(foundValues);
 			}
 		}
@@ -642,8 +644,8 @@ public class FhirTerser {
 	 */
 	public <T extends IBase> List<T> getValues(IBase theElement, String thePath, Class<T> theWantedClass) {
 		BaseRuntimeElementCompositeDefinition<?> def = (BaseRuntimeElementCompositeDefinition<?>) myContext.getElementDefinition(theElement.getClass());
-		List<String> parts = parsePath(def, thePath);
-		return getValues(def, theElement, parts, theWantedClass);
+		TerserPath path = parsePath(def, thePath);
+		return getValues(def, theElement, path, theWantedClass);
 	}
 
 	/**
@@ -659,8 +661,8 @@ public class FhirTerser {
 	 */
 	public <T extends IBase> List<T> getValues(IBase theElement, String thePath, Class<T> theWantedClass, boolean theCreate) {
 		BaseRuntimeElementCompositeDefinition<?> def = (BaseRuntimeElementCompositeDefinition<?>) myContext.getElementDefinition(theElement.getClass());
-		List<String> parts = parsePath(def, thePath);
-		return getValues(def, theElement, parts, theWantedClass, theCreate, false);
+		TerserPath path = parsePath(def, thePath);
+		return getValues(def, theElement, path, 0, theWantedClass, theCreate, false);
 	}
 
 	/**
@@ -677,11 +679,104 @@ public class FhirTerser {
 	 */
 	public <T extends IBase> List<T> getValues(IBase theElement, String thePath, Class<T> theWantedClass, boolean theCreate, boolean theAddExtension) {
 		BaseRuntimeElementCompositeDefinition<?> def = (BaseRuntimeElementCompositeDefinition<?>) myContext.getElementDefinition(theElement.getClass());
-		List<String> parts = parsePath(def, thePath);
-		return getValues(def, theElement, parts, theWantedClass, theCreate, theAddExtension);
+		TerserPath path = parsePath(def, thePath);
+		return getValues(def, theElement, path, 0, theWantedClass, theCreate, theAddExtension);
+	}
+
+	/**
+	 * Parses and resolves a path against the given resource type, so that it can be evaluated
+	 * repeatedly using {@link #getValues(IBase, TerserPath, Class)} without parsing the path or
+	 * looking up the child definitions again.
+	 *
+	 * @param theResourceType The resource type, e.g. <code>"Patient"</code>
+	 * @param thePath         The path, e.g. <code>"Patient.name.family"</code> or <code>"name.family"</code>
+	 * @return The compiled path. This object is immutable and thread safe.
+	 * @since 6.6.0
+	 */
+	public TerserPath compile(String theResourceType, String thePath) {
+		Validate.notBlank(theResourceType, "theResourceType must not be null or blank");
+		Validate.notBlank(thePath, "thePath must not be null or blank");
+		return parsePath(myContext.getResourceDefinition(theResourceType), thePath);
+	}
+
+	/**
+	 * Parses and resolves a path against the given resource or composite datatype, so that it can
+	 * be evaluated repeatedly using {@link #getValues(IBase, TerserPath, Class)} without parsing the
+	 * path or looking up the child definitions again.
+	 *
+	 * @param theType The resource or composite datatype class
+	 * @param thePath The path, e.g. <code>"Patient.name.family"</code> or <code>"name.family"</code>
+	 * @return The compiled path. This object is immutable and thread safe.
+	 * @since 6.6.0
+	 */
+	public TerserPath compile(Class<? extends IBase> theType, String thePath) {
+		Validate.notNull(theType, "theType must not be null");
+		Validate.notBlank(thePath, "thePath must not be null or blank");
+		BaseRuntimeElementDefinition<?> def = myContext.getElementDefinition(theType);
+		if (!(def instanceof BaseRuntimeElementCompositeDefinition)) {
+			throw new IllegalArgumentException(Msg.code(2298) + "Type is not a composite type: " + theType.getName());
+		}
+		return parsePath((BaseRuntimeElementCompositeDefinition<?>) def, thePath);
+	}
+
+	/**
+	 * Returns values stored in an element identified by a compiled path. The list of values is of
+	 * type {@link Object}.
+	 *
+	 * @param theElement The element to be accessed. Must not be null. If it is not of the type the path was compiled against, the path is parsed again for its actual type.
+	 * @param thePath    The compiled path, as returned by {@link #compile(String, String)}
+	 * @return A list of values of type {@link Object}.
+	 * @since 6.6.0
+	 */
+	public List<IBase> getValues(IBase theElement, TerserPath thePath) {
+		return getValues(theElement, thePath, IBase.class);
+	}
+
+	/**
+	 * Returns values stored in an element identified by a compiled path. The list of values is of
+	 * type <code>theWantedClass</code>.
+	 *
+	 * @param theElement     The element to be accessed. Must not be null. If it is not of the type the path was compiled against, the path is parsed again for its actual type.
+	 * @param thePath        The compiled path, as returned by {@link #compile(String, String)}
+	 * @param theWantedClass The desired class to be returned in a list.
+	 * @param <T>            Type declared by <code>theWantedClass</code>
+	 * @return A list of values of type <code>theWantedClass</code>.
+	 * @since 6.6.0
+	 */
+	public <T extends IBase> List<T> getValues(IBase theElement, TerserPath thePath, Class<T> theWantedClass) {
+		return getValues(theElement, thePath, theWantedClass, false, false);
 	}
 
-	private List<String> parsePath(BaseRuntimeElementCompositeDefinition<?> theElementDef, String thePath) {
+	/**
+	 * Returns values stored in an element identified by a compiled path. The list of values is of
+	 * type <code>theWantedClass</code>.
+	 *
+	 * @param theElement      The element to be accessed. Must not be null. If it is not of the type the path was compiled against, the path is parsed again for its actual type.
+	 * @param thePath         The compiled path, as returned by {@link #compile(String, String)}
+	 * @param theWantedClass  The desired class to be returned in a list.
+	 * @param theCreate       When set to <code>true</code>, the terser will create a null-valued element where none exists.
+	 * @param theAddExtension When set to <code>true</code>, the terser will add a null-valued extension where one or more such extensions already exist.
+	 * @param <T>             Type declared by <code>theWantedClass</code>
+	 * @return A list of values of type <code>theWantedClass</code>.
+	 * @since 6.6.0
+	 */
+	public <T extends IBase> List<T> getValues(IBase theElement, TerserPath thePath, Class<T> theWantedClass, boolean theCreate, boolean theAddExtension) {
+		Validate.notNull(theElement, "theElement must not be null");
+		Validate.notNull(thePath, "thePath must not be null");
+		BaseRuntimeElementCompositeDefinition<?> def = (BaseRuntimeElementCompositeDefinition<?>) myContext.getElementDefinition(theElement.getClass());
+		TerserPath path = thePath;
+		if (def != path.getElementDefinition()) {
+			// The path was compiled against another type or context, so resolve it again for this element
+			path = parsePath(def, path.getPath());
+		}
+		return getValues(def, theElement, path, 0, theWantedClass, theCreate, theAddExtension);
+	}
+
+	private TerserPath parsePath(BaseRuntimeElementCompositeDefinition<?> theElementDef, String thePath) {
+		return myContext.getTerserPathCache().getOrCompile(theElementDef, thePath);
+	}
+
+	static List<String> splitPath(BaseRuntimeElementCompositeDefinition<?> theElementDef, String thePath) {
 		List<String> parts = new ArrayList<>();
 
 		int currentStart = 0;
@@ -753,10 +848,43 @@ public class FhirTerser {
 		Validate.notBlank(defaultString(theTarget.getIdPart()), "theTarget must have a populated ID (theTarget.getIdPart() does not return a value)");
 
 		String wantRef = theTarget.toUnqualifiedVersionless().getValue();
+		return visitCompartmentOwners(theCompartmentName, theSource, theAdditionalCompartmentParamNames, wantRef::equals);
+	}
 
+	/**
+	 * Returns the unqualified, versionless IDs (e.g. <code>Patient/123</code>) of every target for which
+	 * {@link #isSourceInCompartmentForTarget(String, IBaseResource, IIdType, Set)} would return <code>true</code>,
+	 * i.e. the ID of <code>theSource</code> itself and the targets of its references which are used by
+	 * the compartment named <code>theCompartmentName</code>. The source resource is only examined once,
+	 * so this is much cheaper than repeatedly calling <code>isSourceInCompartmentForTarget</code> when testing
+	 * membership for many potential targets.
+	 *
+	 * @param theCompartmentName                 The name of the compartment
+	 * @param theSource                          The potential member of the compartment
+	 * @param theAdditionalCompartmentParamNames If provided, search param names provided here will be considered as included in the given compartment
+	 * @return The compartment owner IDs. May be empty, never <code>null</code>.
+	 * @since 6.6.0
+	 */
+	public Set<String> getCompartmentOwnersForResource(String theCompartmentName, IBaseResource theSource, Set<String> theAdditionalCompartmentParamNames) {
+		Validate.notBlank(theCompartmentName, "theCompartmentName must not be null or blank");
+		Validate.notNull(theSource, "theSource must not be null");
+
+		Set<String> retVal = new HashSet<>();
+		visitCompartmentOwners(theCompartmentName, theSource, theAdditionalCompartmentParamNames, t -> {
+			retVal.add(t);
+			return false;
+		});
+		return retVal;
+	}
+
+	/**
+	 * Passes the ID of each compartment owner of the given source resource to the given predicate,
+	 * stopping and returning <code>true</code> as soon as the predicate returns <code>true</code>
+	 */
+	private boolean visitCompartmentOwners(String theCompartmentName, IBaseResource theSource, Set<String> theAdditionalCompartmentParamNames, Predicate<String> theOwnerConsumer) {
 		RuntimeResourceDefinition sourceDef = myContext.getResourceDefinition(theSource);
 		if (theSource.getIdElement().hasIdPart()) {
-			if (wantRef.equals(sourceDef.getName() + '/' + theSource.getIdElement().getIdPart())) {
+			if (theOwnerConsumer.test(sourceDef.getName() + '/' + theSource.getIdElement().getIdPart())) {
 				return true;
 			}
 		}
@@ -825,7 +953,7 @@ public class FhirTerser {
 						}
 					}
 
-					if (wantRef.equals(nextRef)) {
+					if (nextRef != null && theOwnerConsumer.test(nextRef)) {
 						return true;
 					}
 				}
@@ -1280,7 +1408,7 @@ public class FhirTerser {
 
 		IBase target = theTarget;
 		BaseRuntimeElementCompositeDefinition<?> def = (BaseRuntimeElementCompositeDefinition<?>) myContext.getElementDefinition(target.getClass());
-		List<String> parts = parsePath(def, thePath);
+		List<String> parts = parsePath(def, thePath).getParts();
 
 		for (int i = 0, partsSize = parts.size(); ; i++) {
 			String nextPart = parts.get(i);
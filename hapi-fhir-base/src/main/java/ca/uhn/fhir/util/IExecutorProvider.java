@@ -0,0 +1,64 @@
+package ca.uhn.fhir.util;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates the executors used for HAPI FHIR's internal worker pools (e.g. transaction bundle
+ * batch processing, subscription delivery and background validation cache loading), so that
+ * the threading model of all of them can be changed in one place.
+ * <p>
+ * The default provider, {@link PlatformThreadExecutorProvider}, creates conventional thread
+ * pools. On JDK 21+ {@link VirtualThreadExecutorProvider} can be used instead, which runs each
+ * task on its own virtual thread and enforces the pool's concurrency limit with a semaphore.
+ * </p>
+ *
+ * @see ExecutorProviderUtil#setExecutorProvider(IExecutorProvider)
+ * @since 6.6.0
+ */
+public interface IExecutorProvider {
+
+	/**
+	 * Creates a new executor
+	 *
+	 * @param theThreadNamePrefix  The prefix for the names of the threads the executor uses. Must end with a hyphen.
+	 * @param theMaxConcurrency    The maximum number of tasks which will run at the same time
+	 * @param theQueueCapacity     The maximum number of tasks which can wait for a free slot before the executor is full
+	 * @param theFullQueuePolicy   What happens to a task which is submitted while the executor is full
+	 */
+	ExecutorService newExecutor(String theThreadNamePrefix, int theMaxConcurrency, int theQueueCapacity, FullQueuePolicyEnum theFullQueuePolicy);
+
+	enum FullQueuePolicyEnum {
+
+		/**
+		 * The submitting thread blocks until there is space for the task
+		 */
+		BLOCK,
+
+		/**
+		 * The task is silently discarded
+		 */
+		DISCARD
+
+	}
+
+}
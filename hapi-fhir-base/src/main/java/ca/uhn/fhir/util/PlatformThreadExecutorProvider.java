@@ -0,0 +1,83 @@
+package ca.uhn.fhir.util;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor provider which creates conventional thread pools backed by platform threads. Pool
+ * threads are created on demand up to the concurrency limit, and are discarded after being idle
+ * for a minute.
+ *
+ * @since 6.6.0
+ */
+public class PlatformThreadExecutorProvider implements IExecutorProvider {
+
+	@Override
+	public ExecutorService newExecutor(String theThreadNamePrefix, int theMaxConcurrency, int theQueueCapacity, FullQueuePolicyEnum theFullQueuePolicy) {
+		Validate.isTrue(theThreadNamePrefix.endsWith("-"), "Thread pool prefix name must end with a hyphen");
+		Validate.isTrue(theMaxConcurrency > 0, "theMaxConcurrency must be greater than 0");
+
+		BlockingQueue<Runnable> queue = theQueueCapacity > 0 ? new LinkedBlockingQueue<>(theQueueCapacity) : new SynchronousQueue<>();
+		BasicThreadFactory threadFactory = new BasicThreadFactory.Builder()
+			.namingPattern(theThreadNamePrefix + "%d")
+			.daemon(false)
+			.build();
+		RejectedExecutionHandler rejectedExecutionHandler;
+		switch (theFullQueuePolicy) {
+			case DISCARD:
+				rejectedExecutionHandler = new ThreadPoolExecutor.DiscardPolicy();
+				break;
+			case BLOCK:
+			default:
+				rejectedExecutionHandler = PlatformThreadExecutorProvider::blockUntilQueued;
+				break;
+		}
+
+		ThreadPoolExecutor retVal = new ThreadPoolExecutor(theMaxConcurrency, theMaxConcurrency, 60, TimeUnit.SECONDS, queue, threadFactory, rejectedExecutionHandler);
+		retVal.allowCoreThreadTimeOut(true);
+		return retVal;
+	}
+
+	private static void blockUntilQueued(Runnable theTask, ThreadPoolExecutor theExecutor) {
+		if (theExecutor.isShutdown()) {
+			throw new RejectedExecutionException(Msg.code(2303) + "Executor has been shut down");
+		}
+		try {
+			theExecutor.getQueue().put(theTask);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException(Msg.code(2304) + "Interrupted while waiting to submit task", e);
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+package ca.uhn.fhir.util;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.context.BaseRuntimeChildDefinition;
+import ca.uhn.fhir.context.BaseRuntimeElementCompositeDefinition;
+import ca.uhn.fhir.context.BaseRuntimeElementDefinition;
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.context.RuntimeChildChoiceDefinition;
+import org.hl7.fhir.instance.model.api.IBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A path which has been parsed and resolved against the model definitions of a
+ * specific resource or datatype, using {@link FhirTerser#compile(String, String)} or
+ * {@link FhirTerser#compile(Class, String)}. Compiled paths can be passed to
+ * {@link FhirTerser#getValues(IBase, TerserPath, Class)} and related methods in order
+ * to avoid parsing the path and looking up the child definitions each time the path is
+ * evaluated.
+ * <p>
+ * Instances are immutable and thread safe, and may be held and reused for as long as the
+ * {@link FhirContext} they were compiled against.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+public final class TerserPath {
+
+	private final BaseRuntimeElementCompositeDefinition<?> myElementDefinition;
+	private final String myPath;
+	private final String[] myParts;
+	private final List<String> myPartsList;
+	private final BaseRuntimeElementCompositeDefinition<?>[] myOwnerDefinitions;
+	private final BaseRuntimeChildDefinition[] myChildDefinitions;
+
+	TerserPath(BaseRuntimeElementCompositeDefinition<?> theElementDefinition, String thePath, List<String> theParts) {
+		myElementDefinition = theElementDefinition;
+		myPath = thePath;
+		myParts = theParts.toArray(new String[0]);
+		myPartsList = Collections.unmodifiableList(Arrays.asList(myParts));
+		myOwnerDefinitions = new BaseRuntimeElementCompositeDefinition<?>[myParts.length];
+		myChildDefinitions = new BaseRuntimeChildDefinition[myParts.length];
+
+		/*
+		 * Resolve the child definitions for as long as the type of each element along
+		 * the path can be known without looking at an actual instance. Extension parts,
+		 * choice children and unknown names stop the walk, and the remaining parts are
+		 * resolved against the runtime definitions when the path is evaluated.
+		 */
+		BaseRuntimeElementCompositeDefinition<?> current = theElementDefinition;
+		for (int i = 0; i < myParts.length && current != null; i++) {
+			String part = myParts[i];
+			if (part.startsWith("extension('") || part.startsWith("modifierExtension('")) {
+				break;
+			}
+			BaseRuntimeChildDefinition child = current.getChildByName(part);
+			if (child == null) {
+				break;
+			}
+			myOwnerDefinitions[i] = current;
+			myChildDefinitions[i] = child;
+
+			BaseRuntimeElementDefinition<?> next = child.getChildByName(part);
+			if (next instanceof BaseRuntimeElementCompositeDefinition && !(child instanceof RuntimeChildChoiceDefinition)) {
+				current = (BaseRuntimeElementCompositeDefinition<?>) next;
+			} else {
+				current = null;
+			}
+		}
+	}
+
+	/**
+	 * Returns the definition of the resource or datatype this path was compiled against
+	 */
+	public BaseRuntimeElementCompositeDefinition<?> getElementDefinition() {
+		return myElementDefinition;
+	}
+
+	/**
+	 * Returns the path as it was originally supplied
+	 */
+	public String getPath() {
+		return myPath;
+	}
+
+	/**
+	 * Returns the parts of the path which are evaluated against an element, not including
+	 * any leading resource or datatype name. The returned list is unmodifiable, and is empty
+	 * if the path is for a different resource type than the one it was compiled against.
+	 */
+	public List<String> getParts() {
+		return myPartsList;
+	}
+
+	int size() {
+		return myParts.length;
+	}
+
+	String getPart(int theIndex) {
+		return myParts[theIndex];
+	}
+
+	BaseRuntimeChildDefinition getChild(BaseRuntimeElementCompositeDefinition<?> theCurrentDef, int theIndex) {
+		if (myOwnerDefinitions[theIndex] == theCurrentDef) {
+			return myChildDefinitions[theIndex];
+		}
+		return theCurrentDef.getChildByNameOrThrowDataFormatException(myParts[theIndex]);
+	}
+
+	BaseRuntimeElementCompositeDefinition<?> getElementDefinition(FhirContext theContext, IBase theElement, int theIndex) {
+		BaseRuntimeElementCompositeDefinition<?> expected = myOwnerDefinitions[theIndex];
+		if (expected != null && expected.getImplementingClass() == theElement.getClass()) {
+			return expected;
+		}
+		return (BaseRuntimeElementCompositeDefinition<?>) theContext.getElementDefinition(theElement.getClass());
+	}
+
+	@Override
+	public String toString() {
+		return myElementDefinition.getName() + ":" + myPath;
+	}
+}
@@ -0,0 +1,96 @@
+package ca.uhn.fhir.util;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.context.BaseRuntimeElementCompositeDefinition;
+import ca.uhn.fhir.context.FhirContext;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Holds the {@link TerserPath paths} parsed by the {@link FhirTerser tersers} created for a
+ * single {@link FhirContext}, so that a path only needs to be parsed once no matter how many
+ * terser instances evaluate it. Paths are normally drawn from a small fixed set (search parameter
+ * expressions, mapping rules, etc.) but callers may also build paths dynamically, so the cache is
+ * bounded and the least recently used paths are evicted once it is full.
+ * <p>
+ * This class is intended for internal use. Instances are owned by the {@link FhirContext}
+ * and can be obtained using {@link FhirContext#getTerserPathCache()}.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+public final class TerserPathCache {
+
+	/**
+	 * Upper bound on the number of parsed paths held by this cache
+	 */
+	static final int MAX_COMPILED_PATHS = 10000;
+	private final Cache<CompiledPathKey, TerserPath> myCompiledPaths = CacheBuilder
+		.newBuilder()
+		.maximumSize(MAX_COMPILED_PATHS)
+		.build();
+
+	TerserPath getOrCompile(BaseRuntimeElementCompositeDefinition<?> theElementDef, String thePath) {
+		CompiledPathKey key = new CompiledPathKey(theElementDef, thePath);
+		TerserPath retVal = myCompiledPaths.getIfPresent(key);
+		if (retVal == null) {
+			retVal = new TerserPath(theElementDef, thePath, FhirTerser.splitPath(theElementDef, thePath));
+			myCompiledPaths.put(key, retVal);
+		}
+		return retVal;
+	}
+
+	long size() {
+		return myCompiledPaths.size();
+	}
+
+	private static final class CompiledPathKey {
+
+		private final BaseRuntimeElementCompositeDefinition<?> myElementDefinition;
+		private final String myPath;
+		private final int myHashCode;
+
+		private CompiledPathKey(BaseRuntimeElementCompositeDefinition<?> theElementDefinition, String thePath) {
+			myElementDefinition = theElementDefinition;
+			myPath = thePath;
+			myHashCode = 31 * System.identityHashCode(theElementDefinition) + thePath.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object theO) {
+			if (this == theO) {
+				return true;
+			}
+			if (!(theO instanceof CompiledPathKey)) {
+				return false;
+			}
+			CompiledPathKey that = (CompiledPathKey) theO;
+			return myElementDefinition == that.myElementDefinition && myPath.equals(that.myPath);
+		}
+
+		@Override
+		public int hashCode() {
+			return myHashCode;
+		}
+	}
+
+}
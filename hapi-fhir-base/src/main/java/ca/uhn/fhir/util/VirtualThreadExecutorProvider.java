@@ -0,0 +1,100 @@
+package ca.uhn.fhir.util;
+
+/*-
+ * #%L
+ * HAPI FHIR - Core Library
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+import org.apache.commons.lang3.Validate;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor provider which runs every task on its own virtual thread, using a
+ * {@link BoundedThreadPerTaskExecutorService} to enforce each executor's concurrency limit.
+ * Virtual threads require JDK 21 or newer, which can be checked using {@link #isSupported()}.
+ * <p>
+ * HAPI FHIR is compiled for older JDKs, so virtual threads are created reflectively.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+public class VirtualThreadExecutorProvider implements IExecutorProvider {
+
+	private static final Method ourOfVirtualMethod;
+	private static final Method ourBuilderNameMethod;
+	private static final Method ourBuilderFactoryMethod;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method factory = null;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			name = builderClass.getMethod("name", String.class, long.class);
+			factory = builderClass.getMethod("factory");
+			// On JDK 19 and 20 this throws unless preview features are enabled
+			ofVirtual.invoke(null);
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// Virtual threads are not available on this JDK
+			ofVirtual = null;
+		}
+		ourOfVirtualMethod = ofVirtual;
+		ourBuilderNameMethod = name;
+		ourBuilderFactoryMethod = factory;
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @throws IllegalStateException If virtual threads are not supported by the running JDK
+	 */
+	public VirtualThreadExecutorProvider() {
+		if (!isSupported()) {
+			throw new IllegalStateException(Msg.code(2307) + "Virtual threads are not supported by this JVM (Java " + System.getProperty("java.version") + "), JDK 21 or newer is required");
+		}
+	}
+
+	@Override
+	public ExecutorService newExecutor(String theThreadNamePrefix, int theMaxConcurrency, int theQueueCapacity, FullQueuePolicyEnum theFullQueuePolicy) {
+		Validate.isTrue(theThreadNamePrefix.endsWith("-"), "Thread pool prefix name must end with a hyphen");
+		return new BoundedThreadPerTaskExecutorService(newVirtualThreadFactory(theThreadNamePrefix), theMaxConcurrency, theQueueCapacity, theFullQueuePolicy);
+	}
+
+	private static ThreadFactory newVirtualThreadFactory(String theThreadNamePrefix) {
+		try {
+			Object builder = ourOfVirtualMethod.invoke(null);
+			builder = ourBuilderNameMethod.invoke(builder, theThreadNamePrefix, 0L);
+			return (ThreadFactory) ourBuilderFactoryMethod.invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(Msg.code(2308) + "Failed to create virtual thread factory", e);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the running JDK supports virtual threads
+	 */
+	public static boolean isSupported() {
+		return ourOfVirtualMethod != null;
+	}
+
+}
@@ -16,12 +16,21 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -284,6 +293,300 @@ public class InterceptorServiceTest {
 		assertSame("B", interceptor1.myLastString1);
 	}
 
+	@Test
+	public void testCallHooksWhileRegistering() throws Exception {
+		InterceptorService svc = new InterceptorService();
+
+		@Interceptor(order = 100)
+		class FirstInterceptor {
+			private int myCount;
+
+			@Hook(Pointcut.TEST_RB)
+			public void testRb(String theString0, Pointcut thePointcut) {
+				assertEquals(Pointcut.TEST_RB, thePointcut);
+				myCount++;
+			}
+		}
+
+		@Interceptor(order = 200)
+		class SecondInterceptor {
+			@Hook(Pointcut.TEST_RB)
+			public boolean testRb(String theString0) {
+				return false;
+			}
+		}
+
+		FirstInterceptor first = new FirstInterceptor();
+		svc.registerInterceptor(first);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		AtomicBoolean stop = new AtomicBoolean();
+		try {
+			Future<?> registrations = executor.submit(() -> {
+				while (!stop.get()) {
+					SecondInterceptor second = new SecondInterceptor();
+					svc.registerInterceptor(second);
+					svc.unregisterInterceptor(second);
+				}
+			});
+
+			for (int i = 0; i < 10000; i++) {
+				// The first interceptor is always called, whether or not the second one is currently registered
+				svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B"));
+			}
+			stop.set(true);
+			registrations.get(10, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(10000, first.myCount);
+		assertThat(svc.getInterceptorsWithInvokersForPointcut(Pointcut.TEST_RB), contains(first));
+	}
+
+	@Test
+	public void testInstrumentation() {
+		InterceptorService svc = new InterceptorService();
+		MyTestInterceptorOne interceptor0 = new MyTestInterceptorOne();
+		MyTestInterceptorTwo interceptor1 = new MyTestInterceptorTwo();
+		svc.registerInterceptor(interceptor0);
+		svc.registerInterceptor(interceptor1);
+
+		// Nothing is recorded while instrumentation is disabled
+		svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B"));
+		assertTrue(svc.getHookStatistics().isEmpty());
+
+		svc.setInstrumentationEnabled(true);
+		svc.setSlowHookThresholdMillis(0);
+		svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B"));
+		svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B"));
+		interceptor0.myNextReturn = false;
+		svc.callHooks(Pointcut.TEST_RB, new HookParams("A", "B"));
+
+		List<HookStatistics> statistics = svc.getHookStatistics();
+		assertEquals(2, statistics.size());
+		HookStatistics statistics0 = statistics.stream().filter(t -> t.getInterceptorClassName().equals(MyTestInterceptorOne.class.getName())).findFirst().orElseThrow();
+		assertEquals("TEST_RB", statistics0.getPointcutName());
+		assertEquals("testRb", statistics0.getMethodName());
+		assertEquals(3, statistics0.getInvocationCount());
+		assertEquals(0, statistics0.getErrorCount());
+		assertEquals(HookStatistics.LATENCY_BUCKET_UPPER_BOUNDS_MICROS.size() + 1, statistics0.getLatencyHistogram().size());
+		assertEquals(3L, statistics0.getLatencyHistogram().stream().mapToLong(t -> t).sum());
+		HookStatistics statistics1 = statistics.stream().filter(t -> t.getInterceptorClassName().equals(MyTestInterceptorTwo.class.getName())).findFirst().orElseThrow();
+		assertEquals(2, statistics1.getInvocationCount());
+
+		svc.clearHookStatistics();
+		assertTrue(svc.getHookStatistics().isEmpty());
+	}
+
+	@Test
+	public void testInstrumentationRecordsErrors() {
+		class InterceptorThrowingException {
+			@Hook(Pointcut.TEST_RB)
+			public void test(String theValue) {
+				throw new AuthenticationException(theValue);
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		svc.setInstrumentationEnabled(true);
+		svc.registerInterceptor(new InterceptorThrowingException());
+
+		try {
+			svc.callHooks(Pointcut.TEST_RB, new HookParams("A MESSAGE", "B"));
+			fail();
+		} catch (AuthenticationException e) {
+			// good
+		}
+
+		List<HookStatistics> statistics = svc.getHookStatistics();
+		assertEquals(1, statistics.size());
+		assertEquals(1, statistics.get(0).getInvocationCount());
+		assertEquals(1, statistics.get(0).getErrorCount());
+	}
+
+	@Test
+	public void testAsyncHook() {
+		class AsyncInterceptor {
+			private volatile String myValue;
+			private volatile Thread myThread;
+
+			@Hook(value = Pointcut.TEST_RV, async = true)
+			public void hook(String theValue0) {
+				myThread = Thread.currentThread();
+				myValue = theValue0;
+			}
+		}
+
+		class FailingAsyncInterceptor {
+			@Hook(value = Pointcut.TEST_RV, async = true)
+			public void hook(String theValue0) {
+				throw new InternalErrorException("FAILED");
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		AsyncInterceptor interceptor = new AsyncInterceptor();
+		svc.registerInterceptor(interceptor);
+		svc.registerInterceptor(new FailingAsyncInterceptor());
+
+		// Exceptions thrown by asynchronous hooks don't reach the caller
+		svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B"));
+
+		AsyncHookDispatcher dispatcher = svc.getAsyncHookDispatcher();
+		await().until(() -> dispatcher.getCompletedCount() + dispatcher.getFailedCount(), equalTo(2L));
+		assertEquals("A", interceptor.myValue);
+		assertNotEquals(Thread.currentThread(), interceptor.myThread);
+		assertEquals(2, dispatcher.getDispatchedCount());
+		assertEquals(1, dispatcher.getCompletedCount());
+		assertEquals(1, dispatcher.getFailedCount());
+	}
+
+	@Test
+	public void testAsyncHookMustReturnVoid() {
+		class AsyncInterceptor {
+			@Hook(value = Pointcut.TEST_RV, async = true)
+			public boolean hook(String theValue0) {
+				return true;
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		try {
+			svc.registerInterceptor(new AsyncInterceptor());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage(), containsString("Asynchronous hook method does not return void"));
+		}
+	}
+
+	@Test
+	public void testAsyncHookOverflowDiscards() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+
+		class BlockingAsyncInterceptor {
+			@Hook(value = Pointcut.TEST_RV, async = true)
+			public void hook(String theValue0) throws InterruptedException {
+				latch.await();
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		AsyncHookDispatcher dispatcher = new AsyncHookDispatcher("test", 1, 1, AsyncHookDispatcher.OverflowPolicyEnum.DISCARD);
+		svc.setAsyncHookDispatcher(dispatcher);
+		svc.registerInterceptor(new BlockingAsyncInterceptor());
+
+		// The first invocation occupies the thread and the second fills the queue
+		svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B"));
+		await().until(() -> dispatcher.getQueueSize(), equalTo(0));
+		svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B"));
+		svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B"));
+		svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B"));
+		assertEquals(1, dispatcher.getQueueSize());
+		assertEquals(1, dispatcher.getQueueCapacity());
+		assertEquals(2, dispatcher.getOverflowCount());
+
+		latch.countDown();
+		assertTrue(dispatcher.shutdown(10, TimeUnit.SECONDS));
+		assertEquals(4, dispatcher.getDispatchedCount());
+		assertEquals(2, dispatcher.getCompletedCount());
+	}
+
+	@Test
+	public void testAsyncHookNotPermittedForPointcutWhichDoesNotReturnVoid() {
+		class AsyncInterceptor {
+			@Hook(value = Pointcut.TEST_RB, async = true)
+			public void hook(String theValue0) {
+				// nothing
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		try {
+			svc.registerInterceptor(new AsyncInterceptor());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage(), containsString("Hooks for pointcut TEST_RB can not be asynchronous because the pointcut returns boolean"));
+		}
+	}
+
+	@Test
+	public void testAsyncHookNotPermittedForPointcutWhichModifiesParameters() {
+		class AsyncInterceptor {
+			@Hook(value = Pointcut.STORAGE_PRESHOW_RESOURCES, async = true)
+			public void hook() {
+				// nothing
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		try {
+			svc.registerInterceptor(new AsyncInterceptor());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage(), containsString("Hooks for pointcut STORAGE_PRESHOW_RESOURCES can not be asynchronous because they are expected to modify their parameters"));
+		}
+	}
+
+	@Test
+	public void testShutdownStopsDefaultAsyncHookDispatcher() {
+		class AsyncInterceptor {
+			@Hook(value = Pointcut.TEST_RV, async = true)
+			public void hook(String theValue0) {
+				// nothing
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		svc.registerInterceptor(new AsyncInterceptor());
+		svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B"));
+		AsyncHookDispatcher dispatcher = svc.getAsyncHookDispatcher();
+
+		svc.shutdown();
+		assertTrue(dispatcher.isShutdown());
+		assertEquals(1, dispatcher.getCompletedCount());
+
+		// A dispatcher supplied by the caller is left alone
+		AsyncHookDispatcher suppliedDispatcher = new AsyncHookDispatcher("test");
+		svc.setAsyncHookDispatcher(suppliedDispatcher);
+		svc.shutdown();
+		assertFalse(suppliedDispatcher.isShutdown());
+	}
+
+	@Test
+	public void testAsyncHookOverflowBlocksUntilShutdown() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+
+		class BlockingAsyncInterceptor {
+			@Hook(value = Pointcut.TEST_RV, async = true)
+			public void hook(String theValue0) throws InterruptedException {
+				latch.await();
+			}
+		}
+
+		InterceptorService svc = new InterceptorService();
+		AsyncHookDispatcher dispatcher = new AsyncHookDispatcher("test", 1, 1, AsyncHookDispatcher.OverflowPolicyEnum.BLOCK);
+		svc.setAsyncHookDispatcher(dispatcher);
+		svc.registerInterceptor(new BlockingAsyncInterceptor());
+
+		// The first invocation occupies the thread and the second fills the queue
+		svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B"));
+		await().until(() -> dispatcher.getQueueSize(), equalTo(0));
+		svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B"));
+
+		// The third blocks until the dispatcher is shut down, and is then discarded
+		Thread caller = new Thread(() -> svc.callHooks(Pointcut.TEST_RV, new HookParams("A", "B")));
+		caller.start();
+		await().until(() -> dispatcher.getOverflowCount(), equalTo(1L));
+		assertFalse(dispatcher.shutdown(0, TimeUnit.MILLISECONDS));
+		caller.join(10000);
+		assertFalse(caller.isAlive());
+
+		latch.countDown();
+		assertTrue(dispatcher.shutdown(10, TimeUnit.SECONDS));
+		assertEquals(2, dispatcher.getCompletedCount());
+	}
+
 	@Test
 	public void testInvokeUsingSupplierArg() {
 		InterceptorService svc = new InterceptorService();
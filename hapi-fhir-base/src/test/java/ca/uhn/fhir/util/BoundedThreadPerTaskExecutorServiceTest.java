@@ -0,0 +1,95 @@
+package ca.uhn.fhir.util;
+
+import ca.uhn.fhir.util.IExecutorProvider.FullQueuePolicyEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedThreadPerTaskExecutorServiceTest {
+
+	private BoundedThreadPerTaskExecutorService mySvc;
+
+	@AfterEach
+	public void after() throws InterruptedException {
+		if (mySvc != null) {
+			mySvc.shutdownNow();
+			mySvc.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void testConcurrencyIsLimited() throws InterruptedException {
+		mySvc = new BoundedThreadPerTaskExecutorService(Executors.defaultThreadFactory(), 2, 10, FullQueuePolicyEnum.BLOCK);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger completed = new AtomicInteger();
+
+		for (int i = 0; i < 5; i++) {
+			mySvc.execute(() -> {
+				awaitQuietly(release);
+				completed.incrementAndGet();
+			});
+		}
+
+		await().until(() -> mySvc.getActiveCount() == 2 && mySvc.getQueueSize() == 3);
+
+		release.countDown();
+		await().until(() -> completed.get() == 5);
+		assertEquals(0, mySvc.getActiveCount());
+		assertEquals(0, mySvc.getQueueSize());
+	}
+
+	@Test
+	public void testDiscardWhenFull() {
+		mySvc = new BoundedThreadPerTaskExecutorService(Executors.defaultThreadFactory(), 1, 1, FullQueuePolicyEnum.DISCARD);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger completed = new AtomicInteger();
+
+		for (int i = 0; i < 5; i++) {
+			mySvc.execute(() -> {
+				awaitQuietly(release);
+				completed.incrementAndGet();
+			});
+		}
+
+		release.countDown();
+		await().until(() -> mySvc.getActiveCount() == 0 && mySvc.getQueueSize() == 0);
+		assertEquals(2, completed.get());
+	}
+
+	@Test
+	public void testShutdown() throws InterruptedException {
+		mySvc = new BoundedThreadPerTaskExecutorService(Executors.defaultThreadFactory(), 1, 0, FullQueuePolicyEnum.BLOCK);
+		CountDownLatch release = new CountDownLatch(1);
+		mySvc.execute(() -> awaitQuietly(release));
+
+		mySvc.shutdown();
+		assertTrue(mySvc.isShutdown());
+		assertThrows(RejectedExecutionException.class, () -> mySvc.execute(() -> {
+		}));
+		assertFalse(mySvc.awaitTermination(100, TimeUnit.MILLISECONDS));
+
+		release.countDown();
+		assertTrue(mySvc.awaitTermination(10, TimeUnit.SECONDS));
+		assertTrue(mySvc.isTerminated());
+	}
+
+	private static void awaitQuietly(CountDownLatch theLatch) {
+		try {
+			theLatch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -25,6 +25,7 @@ import ca.uhn.fhir.batch2.jobs.imprt.BulkImportFileServlet;
 import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.i18n.Msg;
 import ca.uhn.fhir.jpa.model.util.JpaConstants;
+import ca.uhn.fhir.parser.NDJsonResourceReader;
 import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.client.api.IGenericClient;
@@ -36,7 +37,6 @@ import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.io.IOCase;
-import org.apache.commons.io.LineIterator;
 import org.apache.commons.io.file.PathUtils;
 import org.apache.commons.io.filefilter.FileFileFilter;
 import org.apache.commons.io.filefilter.IOFileFilter;
@@ -58,9 +58,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -273,10 +270,9 @@ public class BulkImportCommand extends BaseCommand {
 					} else {
 						is = nextIs;
 					}
-					Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
-					LineIterator lineIterator = new LineIterator(reader);
-					String firstLine = lineIterator.next();
-					IBaseResource resource = ctx.newJsonParser().parseResource(firstLine);
+					// Only the first resource is needed to determine the type of the file
+					NDJsonResourceReader reader = new NDJsonResourceReader(ctx.newJsonParser(), is);
+					IBaseResource resource = reader.next();
 					types.add(myFhirCtx.getResourceType(resource));
 				}
 			}
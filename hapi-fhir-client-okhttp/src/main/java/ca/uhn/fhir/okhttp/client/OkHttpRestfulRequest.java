@@ -7,13 +7,16 @@ import ca.uhn.fhir.rest.client.api.IHttpResponse;
 import ca.uhn.fhir.util.StopWatch;
 import okhttp3.Call;
 import okhttp3.Call.Factory;
+import okhttp3.Callback;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.Response;
 
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /*
  * #%L
@@ -74,6 +77,41 @@ public class OkHttpRestfulRequest extends BaseHttpRequest implements IHttpReques
 		 return new OkHttpRestfulResponse(call.execute(), responseStopWatch);
     }
 
+	/**
+	 * Enqueues the call on the OkHttp dispatcher. The returned future is completed
+	 * on an OkHttp dispatcher thread.
+	 */
+	@Override
+	public CompletableFuture<IHttpResponse> executeAsync() {
+		StopWatch responseStopWatch = new StopWatch();
+		myRequestBuilder.method(getHttpVerbName(), myRequestBody);
+		Call call = myClient.newCall(myRequestBuilder.build());
+
+		CompletableFuture<IHttpResponse> retVal = new CompletableFuture<>();
+		call.enqueue(new Callback() {
+			@Override
+			public void onFailure(Call theCall, IOException theException) {
+				retVal.completeExceptionally(theException);
+			}
+
+			@Override
+			public void onResponse(Call theCall, Response theResponse) {
+				if (!retVal.complete(new OkHttpRestfulResponse(theResponse, responseStopWatch))) {
+					// The future was cancelled while the call was in flight
+					theResponse.close();
+				}
+			}
+		});
+
+		// Cancelling the future abandons the HTTP call too
+		retVal.whenComplete((response, error) -> {
+			if (retVal.isCancelled()) {
+				call.cancel();
+			}
+		});
+		return retVal;
+	}
+
     @Override
     public Map<String, List<String>> getAllHeaders() {
         return Collections.unmodifiableMap(myRequestBuilder.build().headers().toMultimap());
@@ -0,0 +1,169 @@
+package ca.uhn.fhir.okhttp;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.IAnonymousInterceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.okhttp.client.OkHttpRestfulClientFactory;
+import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.client.api.IGenericClient;
+import ca.uhn.fhir.rest.client.api.IHttpRequest;
+import ca.uhn.fhir.rest.client.api.IHttpResponse;
+import ca.uhn.fhir.rest.client.api.ServerValidationModeEnum;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import ca.uhn.fhir.rest.server.provider.HashMapResourceProvider;
+import ca.uhn.fhir.test.utilities.server.RestfulServerExtension;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GenericOkHttpClientAsyncR4Test {
+
+	private static final FhirContext ourCtx = FhirContext.forR4();
+	private static final HashMapResourceProvider<Patient> ourPatientProvider = new HashMapResourceProvider<>(ourCtx, Patient.class);
+	@RegisterExtension
+	private static final RestfulServerExtension ourServer = new RestfulServerExtension(ourCtx)
+		.registerProvider(ourPatientProvider);
+	private IGenericClient myClient;
+
+	@BeforeEach
+	public void before() {
+		ourPatientProvider.clear();
+
+		OkHttpRestfulClientFactory clientFactory = new OkHttpRestfulClientFactory(ourCtx);
+		clientFactory.setServerValidationMode(ServerValidationModeEnum.NEVER);
+		ourCtx.setRestfulClientFactory(clientFactory);
+		myClient = ourCtx.newRestfulGenericClient(ourServer.getBaseUrl());
+	}
+
+	@Test
+	public void testReadAsync() throws Exception {
+		IdType id = createPatient("Simpson");
+
+		// Hold the response on the server until the client has returned a future
+		CountDownLatch latch = new CountDownLatch(1);
+		IAnonymousInterceptor interceptor = (thePointcut, theArgs) -> {
+			try {
+				latch.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		ourServer.registerAnonymousInterceptor(Pointcut.SERVER_INCOMING_REQUEST_PRE_HANDLED, interceptor);
+		try {
+			CompletableFuture<Patient> future = myClient
+				.read()
+				.resource(Patient.class)
+				.withId(id.getIdPart())
+				.executeAsync();
+			assertFalse(future.isDone());
+
+			latch.countDown();
+			Patient patient = future.get(10, TimeUnit.SECONDS);
+			assertEquals("Simpson", patient.getNameFirstRep().getFamily());
+		} finally {
+			latch.countDown();
+			ourServer.unregisterInterceptor(interceptor);
+		}
+	}
+
+	@Test
+	public void testReadAsyncFanOut() throws Exception {
+		List<IdType> ids = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			ids.add(createPatient("Family" + i));
+		}
+
+		List<CompletableFuture<Patient>> futures = new ArrayList<>();
+		for (IdType next : ids) {
+			futures.add(myClient.read().resource(Patient.class).withId(next).executeAsync());
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+		for (int i = 0; i < 20; i++) {
+			assertEquals("Family" + i, futures.get(i).get().getNameFirstRep().getFamily());
+		}
+	}
+
+	@Test
+	public void testReadAsyncNotFound() {
+		CompletableFuture<Patient> future = myClient
+			.read()
+			.resource(Patient.class)
+			.withId("FOO")
+			.executeAsync();
+
+		ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+		assertThat(e.getCause(), instanceOf(ResourceNotFoundException.class));
+	}
+
+	@Test
+	public void testCreateAndSearchAsync() throws Exception {
+		Patient patient = new Patient();
+		patient.addName().setFamily("Simpson");
+		MethodOutcome outcome = myClient.create().resource(patient).executeAsync().get(10, TimeUnit.SECONDS);
+		assertEquals("Patient", outcome.getId().getResourceType());
+
+		Bundle bundle = myClient
+			.search()
+			.forResource(Patient.class)
+			.returnBundle(Bundle.class)
+			.executeAsync()
+			.get(10, TimeUnit.SECONDS);
+		assertEquals(1, bundle.getEntry().size());
+	}
+
+	@Test
+	public void testClientInterceptorsAreInvoked() throws Exception {
+		IdType id = createPatient("Simpson");
+
+		MyCountingInterceptor interceptor = new MyCountingInterceptor();
+		myClient.registerInterceptor(interceptor);
+
+		myClient.read().resource(Patient.class).withId(id).executeAsync().get(10, TimeUnit.SECONDS);
+
+		assertEquals(1, interceptor.myRequestCount.get());
+		assertEquals(1, interceptor.myResponseCount.get());
+	}
+
+	private IdType createPatient(String theFamily) {
+		Patient patient = new Patient();
+		patient.addName().setFamily(theFamily);
+		return (IdType) ourServer.getFhirClient().create().resource(patient).execute().getId().toUnqualifiedVersionless();
+	}
+
+	public static class MyCountingInterceptor {
+
+		private final AtomicInteger myRequestCount = new AtomicInteger();
+		private final AtomicInteger myResponseCount = new AtomicInteger();
+
+		@Hook(Pointcut.CLIENT_REQUEST)
+		public void request(IHttpRequest theRequest) {
+			myRequestCount.incrementAndGet();
+		}
+
+		@Hook(Pointcut.CLIENT_RESPONSE)
+		public void response(IHttpResponse theResponse) {
+			myResponseCount.incrementAndGet();
+		}
+
+	}
+
+}
@@ -80,6 +80,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -251,181 +253,249 @@ public abstract class BaseClient implements IRestfulClient {
 		IHttpRequest httpRequest = null;
 		IHttpResponse response = null;
 		try {
-			Map<String, List<String>> params = createExtraParams(theCustomAcceptHeader);
-
-			if (clientInvocation instanceof HttpGetClientInvocation) {
-				if (myRequestFormatParamStyle == RequestFormatParamStyleEnum.SHORT && isBlank(theCustomAcceptHeader)) {
-					if (theEncoding == EncodingEnum.XML) {
-						params.put(Constants.PARAM_FORMAT, Collections.singletonList("xml"));
-					} else if (theEncoding == EncodingEnum.JSON) {
-						params.put(Constants.PARAM_FORMAT, Collections.singletonList("json"));
-					}
-				}
-			}
+			httpRequest = createHttpRequest(clientInvocation, theEncoding, thePrettyPrint, theLogRequestAndResponse, theSummaryMode, theSubsetElements, theCacheControlDirective, theCustomAcceptHeader, theCustomHeaders);
 
-			if (theSummaryMode != null) {
-				params.put(Constants.PARAM_SUMMARY, Collections.singletonList(theSummaryMode.getCode()));
-			} else if (mySummary != null) {
-				params.put(Constants.PARAM_SUMMARY, Collections.singletonList(mySummary.getCode()));
-			}
-
-			if (thePrettyPrint == Boolean.TRUE) {
-				params.put(Constants.PARAM_PRETTY, Collections.singletonList(Constants.PARAM_PRETTY_VALUE_TRUE));
-			}
+			response = httpRequest.execute();
 
-			if (theSubsetElements != null && theSubsetElements.isEmpty() == false) {
-				params.put(Constants.PARAM_ELEMENTS, Collections.singletonList(StringUtils.join(theSubsetElements, ',')));
-			}
+			return handleResponse(theContext, binding, httpRequest, response, theLogRequestAndResponse);
 
-			EncodingEnum encoding = getEncoding();
-			if (theEncoding != null) {
-				encoding = theEncoding;
+		} catch (Exception e) {
+			throw toClientException(httpRequest, e);
+		} finally {
+			if (response != null) {
+				response.close();
 			}
+		}
+	}
 
-			httpRequest = clientInvocation.asHttpRequest(myUrlBase, params, encoding, thePrettyPrint);
+	/**
+	 * Non-blocking equivalent of {@link #invokeClient(FhirContext, IClientResponseHandler, BaseHttpClientInvocation, EncodingEnum, Boolean, boolean, SummaryEnum, Set, CacheControlDirective, String, Map)}.
+	 * <p>
+	 * The request is built and the {@link Pointcut#CLIENT_REQUEST} hooks are invoked on the calling
+	 * thread. The request is then sent using {@link IHttpRequest#executeAsync()}, and the
+	 * {@link Pointcut#CLIENT_RESPONSE} hooks and response parsing happen on whichever thread
+	 * completes the HTTP request. Any failure (including failures building the request) is reported
+	 * by completing the returned future exceptionally.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	protected <T> CompletableFuture<T> invokeClientAsync(FhirContext theContext, IClientResponseHandler<T> binding, BaseHttpClientInvocation clientInvocation, EncodingEnum theEncoding, Boolean thePrettyPrint,
+							 boolean theLogRequestAndResponse, SummaryEnum theSummaryMode, Set<String> theSubsetElements, CacheControlDirective theCacheControlDirective, String theCustomAcceptHeader,
+							 Map<String, List<String>> theCustomHeaders) {
 
-			if (isNotBlank(theCustomAcceptHeader)) {
-				httpRequest.removeHeaders(Constants.HEADER_ACCEPT);
-				httpRequest.addHeader(Constants.HEADER_ACCEPT, theCustomAcceptHeader);
+		IHttpRequest httpRequest;
+		try {
+			if (!myDontValidateConformance) {
+				myFactory.validateServerBaseIfConfiguredToDoSo(myUrlBase, myClient, this);
 			}
 
-			if (theCacheControlDirective != null) {
-				StringBuilder b = new StringBuilder();
-				addToCacheControlHeader(b, Constants.CACHE_CONTROL_NO_CACHE, theCacheControlDirective.isNoCache());
-				addToCacheControlHeader(b, Constants.CACHE_CONTROL_NO_STORE, theCacheControlDirective.isNoStore());
-				if (theCacheControlDirective.getMaxResults() != null) {
-					addToCacheControlHeader(b, Constants.CACHE_CONTROL_MAX_RESULTS + "=" + theCacheControlDirective.getMaxResults().intValue(), true);
-				}
-				if (b.length() > 0) {
-					httpRequest.addHeader(Constants.HEADER_CACHE_CONTROL, b.toString());
+			httpRequest = createHttpRequest(clientInvocation, theEncoding, thePrettyPrint, theLogRequestAndResponse, theSummaryMode, theSubsetElements, theCacheControlDirective, theCustomAcceptHeader, theCustomHeaders);
+		} catch (Exception e) {
+			return CompletableFuture.failedFuture(toClientException(null, e));
+		}
+
+		return httpRequest
+			.executeAsync()
+			.handle((response, error) -> {
+				try {
+					if (error != null) {
+						Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+						if (cause instanceof Error) {
+							throw (Error) cause;
+						}
+						throw toClientException(httpRequest, (Exception) cause);
+					}
+					return handleResponse(theContext, binding, httpRequest, response, theLogRequestAndResponse);
+				} catch (Exception e) {
+					throw new CompletionException(toClientException(httpRequest, e));
+				} finally {
+					if (response != null) {
+						response.close();
+					}
 				}
-			}
+			});
+	}
 
-			if (theLogRequestAndResponse) {
-				ourLog.info("Client invoking: {}", httpRequest);
-				String body = httpRequest.getRequestBodyFromStream();
-				if (body != null) {
-					ourLog.info("Client request body: {}", body);
+	private IHttpRequest createHttpRequest(BaseHttpClientInvocation clientInvocation, EncodingEnum theEncoding, Boolean thePrettyPrint, boolean theLogRequestAndResponse, SummaryEnum theSummaryMode,
+													  Set<String> theSubsetElements, CacheControlDirective theCacheControlDirective, String theCustomAcceptHeader, Map<String, List<String>> theCustomHeaders) throws IOException {
+		Map<String, List<String>> params = createExtraParams(theCustomAcceptHeader);
+
+		if (clientInvocation instanceof HttpGetClientInvocation) {
+			if (myRequestFormatParamStyle == RequestFormatParamStyleEnum.SHORT && isBlank(theCustomAcceptHeader)) {
+				if (theEncoding == EncodingEnum.XML) {
+					params.put(Constants.PARAM_FORMAT, Collections.singletonList("xml"));
+				} else if (theEncoding == EncodingEnum.JSON) {
+					params.put(Constants.PARAM_FORMAT, Collections.singletonList("json"));
 				}
 			}
+		}
 
-			if (theCustomHeaders != null) {
-				AdditionalRequestHeadersInterceptor interceptor = new AdditionalRequestHeadersInterceptor(theCustomHeaders);
-				interceptor.interceptRequest(httpRequest);
-			}
+		if (theSummaryMode != null) {
+			params.put(Constants.PARAM_SUMMARY, Collections.singletonList(theSummaryMode.getCode()));
+		} else if (mySummary != null) {
+			params.put(Constants.PARAM_SUMMARY, Collections.singletonList(mySummary.getCode()));
+		}
 
-			HookParams requestParams = new HookParams();
-			requestParams.add(IHttpRequest.class, httpRequest);
-			requestParams.add(IRestfulClient.class, this);
-			getInterceptorService().callHooks(Pointcut.CLIENT_REQUEST, requestParams);
+		if (thePrettyPrint == Boolean.TRUE) {
+			params.put(Constants.PARAM_PRETTY, Collections.singletonList(Constants.PARAM_PRETTY_VALUE_TRUE));
+		}
 
-			response = httpRequest.execute();
+		if (theSubsetElements != null && theSubsetElements.isEmpty() == false) {
+			params.put(Constants.PARAM_ELEMENTS, Collections.singletonList(StringUtils.join(theSubsetElements, ',')));
+		}
 
-			HookParams responseParams = new HookParams();
-			responseParams.add(IHttpRequest.class, httpRequest);
-			responseParams.add(IHttpResponse.class, response);
-			responseParams.add(IRestfulClient.class, this);
-			getInterceptorService().callHooks(Pointcut.CLIENT_RESPONSE, responseParams);
+		EncodingEnum encoding = getEncoding();
+		if (theEncoding != null) {
+			encoding = theEncoding;
+		}
 
-			String mimeType;
-			if (Constants.STATUS_HTTP_204_NO_CONTENT == response.getStatus()) {
-				mimeType = null;
-			} else {
-				mimeType = response.getMimeType();
+		IHttpRequest httpRequest = clientInvocation.asHttpRequest(myUrlBase, params, encoding, thePrettyPrint);
+
+		if (isNotBlank(theCustomAcceptHeader)) {
+			httpRequest.removeHeaders(Constants.HEADER_ACCEPT);
+			httpRequest.addHeader(Constants.HEADER_ACCEPT, theCustomAcceptHeader);
+		}
+
+		if (theCacheControlDirective != null) {
+			StringBuilder b = new StringBuilder();
+			addToCacheControlHeader(b, Constants.CACHE_CONTROL_NO_CACHE, theCacheControlDirective.isNoCache());
+			addToCacheControlHeader(b, Constants.CACHE_CONTROL_NO_STORE, theCacheControlDirective.isNoStore());
+			if (theCacheControlDirective.getMaxResults() != null) {
+				addToCacheControlHeader(b, Constants.CACHE_CONTROL_MAX_RESULTS + "=" + theCacheControlDirective.getMaxResults().intValue(), true);
 			}
+			if (b.length() > 0) {
+				httpRequest.addHeader(Constants.HEADER_CACHE_CONTROL, b.toString());
+			}
+		}
 
-			Map<String, List<String>> headers = response.getAllHeaders();
+		if (theLogRequestAndResponse) {
+			ourLog.info("Client invoking: {}", httpRequest);
+			String body = httpRequest.getRequestBodyFromStream();
+			if (body != null) {
+				ourLog.info("Client request body: {}", body);
+			}
+		}
 
-			if (response.getStatus() < 200 || response.getStatus() > 299) {
-				String body = null;
-				try (Reader reader = response.createReader()) {
-					body = IOUtils.toString(reader);
-				} catch (Exception e) {
-					ourLog.debug("Failed to read input stream", e);
-				}
+		if (theCustomHeaders != null) {
+			AdditionalRequestHeadersInterceptor interceptor = new AdditionalRequestHeadersInterceptor(theCustomHeaders);
+			interceptor.interceptRequest(httpRequest);
+		}
 
-				String message = "HTTP " + response.getStatus() + " " + response.getStatusInfo();
-				IBaseOperationOutcome oo = null;
-				if (Constants.CT_TEXT.equals(mimeType)) {
-					message = message + ": " + body;
-				} else {
-					EncodingEnum enc = EncodingEnum.forContentType(mimeType);
-					if (enc != null) {
-						IParser p = enc.newParser(theContext);
-						try {
-							// TODO: handle if something other than OO comes back
-							oo = (IBaseOperationOutcome) p.parseResource(body);
-							String details = OperationOutcomeUtil.getFirstIssueDetails(getFhirContext(), oo);
-							if (isNotBlank(details)) {
-								message = message + ": " + details;
-							}
-						} catch (Exception e) {
-							ourLog.debug("Failed to process OperationOutcome response");
-						}
-					}
-				}
+		HookParams requestParams = new HookParams();
+		requestParams.add(IHttpRequest.class, httpRequest);
+		requestParams.add(IRestfulClient.class, this);
+		getInterceptorService().callHooks(Pointcut.CLIENT_REQUEST, requestParams);
 
-				keepResponseAndLogIt(theLogRequestAndResponse, response, body);
+		return httpRequest;
+	}
 
-				BaseServerResponseException exception = BaseServerResponseException.newInstance(response.getStatus(), message);
-				exception.setOperationOutcome(oo);
+	private <T> T handleResponse(FhirContext theContext, IClientResponseHandler<T> binding, IHttpRequest httpRequest, IHttpResponse response, boolean theLogRequestAndResponse) throws IOException {
+		HookParams responseParams = new HookParams();
+		responseParams.add(IHttpRequest.class, httpRequest);
+		responseParams.add(IHttpResponse.class, response);
+		responseParams.add(IRestfulClient.class, this);
+		getInterceptorService().callHooks(Pointcut.CLIENT_RESPONSE, responseParams);
 
-				if (body != null) {
-					exception.setResponseBody(body);
-				}
+		String mimeType;
+		if (Constants.STATUS_HTTP_204_NO_CONTENT == response.getStatus()) {
+			mimeType = null;
+		} else {
+			mimeType = response.getMimeType();
+		}
 
-				throw exception;
+		Map<String, List<String>> headers = response.getAllHeaders();
+
+		if (response.getStatus() < 200 || response.getStatus() > 299) {
+			String body = null;
+			try (Reader reader = response.createReader()) {
+				body = IOUtils.toString(reader);
+			} catch (Exception e) {
+				ourLog.debug("Failed to read input stream", e);
 			}
-			if (binding instanceof IClientResponseHandlerHandlesBinary) {
-				IClientResponseHandlerHandlesBinary<T> handlesBinary = (IClientResponseHandlerHandlesBinary<T>) binding;
-				if (handlesBinary.isBinary()) {
-					try (InputStream reader = response.readEntity()) {
-						return handlesBinary.invokeClientForBinary(mimeType, reader, response.getStatus(), headers);
+
+			String message = "HTTP " + response.getStatus() + " " + response.getStatusInfo();
+			IBaseOperationOutcome oo = null;
+			if (Constants.CT_TEXT.equals(mimeType)) {
+				message = message + ": " + body;
+			} else {
+				EncodingEnum enc = EncodingEnum.forContentType(mimeType);
+				if (enc != null) {
+					IParser p = enc.newParser(theContext);
+					try {
+						// TODO: handle if something other than OO comes back
+						oo = (IBaseOperationOutcome) p.parseResource(body);
+						String details = OperationOutcomeUtil.getFirstIssueDetails(getFhirContext(), oo);
+						if (isNotBlank(details)) {
+							message = message + ": " + details;
+						}
+					} catch (Exception e) {
+						ourLog.debug("Failed to process OperationOutcome response");
 					}
 				}
 			}
 
-			try (InputStream inputStream = response.readEntity()) {
-				InputStream inputStreamToReturn = inputStream;
+			keepResponseAndLogIt(theLogRequestAndResponse, response, body);
 
-				if (ourLog.isTraceEnabled() || myKeepResponses || theLogRequestAndResponse) {
-					if (inputStream != null) {
-						String responseString = IOUtils.toString(inputStream, Charsets.UTF_8);
-						keepResponseAndLogIt(theLogRequestAndResponse, response, responseString);
-						inputStreamToReturn = new ByteArrayInputStream(responseString.getBytes(Charsets.UTF_8));
-					}
+			BaseServerResponseException exception = BaseServerResponseException.newInstance(response.getStatus(), message);
+			exception.setOperationOutcome(oo);
+
+			if (body != null) {
+				exception.setResponseBody(body);
+			}
+
+			throw exception;
+		}
+		if (binding instanceof IClientResponseHandlerHandlesBinary) {
+			IClientResponseHandlerHandlesBinary<T> handlesBinary = (IClientResponseHandlerHandlesBinary<T>) binding;
+			if (handlesBinary.isBinary()) {
+				try (InputStream reader = response.readEntity()) {
+					return handlesBinary.invokeClientForBinary(mimeType, reader, response.getStatus(), headers);
 				}
+			}
+		}
 
-				if (inputStreamToReturn == null) {
-					inputStreamToReturn = new ByteArrayInputStream(new byte[]{});
+		try (InputStream inputStream = response.readEntity()) {
+			InputStream inputStreamToReturn = inputStream;
+
+			if (ourLog.isTraceEnabled() || myKeepResponses || theLogRequestAndResponse) {
+				if (inputStream != null) {
+					String responseString = IOUtils.toString(inputStream, Charsets.UTF_8);
+					keepResponseAndLogIt(theLogRequestAndResponse, response, responseString);
+					inputStreamToReturn = new ByteArrayInputStream(responseString.getBytes(Charsets.UTF_8));
 				}
+			}
 
-				return binding.invokeClient(mimeType, inputStreamToReturn, response.getStatus(), headers);
+			if (inputStreamToReturn == null) {
+				inputStreamToReturn = new ByteArrayInputStream(new byte[]{});
 			}
 
-		} catch (DataFormatException e) {
+			return binding.invokeClient(mimeType, inputStreamToReturn, response.getStatus(), headers);
+		}
+	}
+
+	/**
+	 * Converts a failure while invoking the client into the exception that is thrown to the caller
+	 */
+	private RuntimeException toClientException(IHttpRequest httpRequest, Exception theException) {
+		if (theException instanceof DataFormatException) {
 			String msg;
 			if (httpRequest != null) {
-				msg = getFhirContext().getLocalizer().getMessage(BaseClient.class, "failedToParseResponse", httpRequest.getHttpVerbName(), httpRequest.getUri(), e.toString());
+				msg = getFhirContext().getLocalizer().getMessage(BaseClient.class, "failedToParseResponse", httpRequest.getHttpVerbName(), httpRequest.getUri(), theException.toString());
 			} else {
-				msg = getFhirContext().getLocalizer().getMessage(BaseClient.class, "failedToParseResponse", "UNKNOWN", "UNKNOWN", e.toString());
+				msg = getFhirContext().getLocalizer().getMessage(BaseClient.class, "failedToParseResponse", "UNKNOWN", "UNKNOWN", theException.toString());
 			}
-			throw new FhirClientConnectionException(Msg.code(1359) + msg, e);
-		} catch (IllegalStateException e) {
-			throw new FhirClientConnectionException(Msg.code(1360) + e);
-		} catch (IOException e) {
+			return new FhirClientConnectionException(Msg.code(1359) + msg, theException);
+		} else if (theException instanceof IllegalStateException) {
+			return new FhirClientConnectionException(Msg.code(1360) + theException);
+		} else if (theException instanceof IOException) {
 			String msg;
-			msg = getFhirContext().getLocalizer().getMessage(BaseClient.class, "failedToParseResponse", httpRequest.getHttpVerbName(), httpRequest.getUri(), e.toString());
-			throw new FhirClientConnectionException(Msg.code(1361) + msg, e);
-		} catch (RuntimeException e) {
-			throw e;
-		} catch (Exception e) {
-			throw new FhirClientConnectionException(Msg.code(1362) + e);
-		} finally {
-			if (response != null) {
-				response.close();
-			}
+			msg = getFhirContext().getLocalizer().getMessage(BaseClient.class, "failedToParseResponse", httpRequest.getHttpVerbName(), httpRequest.getUri(), theException.toString());
+			return new FhirClientConnectionException(Msg.code(1361) + msg, theException);
+		} else if (theException instanceof RuntimeException) {
+			return (RuntimeException) theException;
 		}
+		return new FhirClientConnectionException(Msg.code(1362) + theException);
 	}
 
 	private void addToCacheControlHeader(StringBuilder theBuilder, String theDirective, boolean theActive) {
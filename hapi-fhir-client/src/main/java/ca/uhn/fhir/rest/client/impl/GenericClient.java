@@ -164,6 +164,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.apache.commons.lang3.StringUtils.defaultString;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -209,24 +211,70 @@ public class GenericClient extends BaseClient implements IGenericClient {
 	private <T extends IBaseResource> T doReadOrVRead(final Class<T> theType, IIdType theId, boolean theVRead, ICallable<T> theNotModifiedHandler, String theIfVersionMatches, Boolean thePrettyPrint,
 																	  SummaryEnum theSummary, EncodingEnum theEncoding, Set<String> theSubsetElements, String theCustomAcceptHeaderValue,
 																	  Map<String, List<String>> theCustomHeaders) {
+		IIdType id = toReadId(theType, theId);
+		HttpGetClientInvocation invocation = createReadOrVReadInvocation(id, theVRead, theIfVersionMatches, theCustomAcceptHeaderValue);
+
+		boolean allowHtmlResponse = SummaryEnum.TEXT.equals(theSummary);
+		ResourceResponseHandler<T> binding = new ResourceResponseHandler<>(theType, (Class<? extends IBaseResource>) null, id, allowHtmlResponse);
+
+		if (theNotModifiedHandler == null) {
+			return invokeClient(myContext, binding, invocation, theEncoding, thePrettyPrint, myLogRequestAndResponse, theSummary, theSubsetElements, null, theCustomAcceptHeaderValue, theCustomHeaders);
+		}
+		try {
+			return invokeClient(myContext, binding, invocation, theEncoding, thePrettyPrint, myLogRequestAndResponse, theSummary, theSubsetElements, null, theCustomAcceptHeaderValue, theCustomHeaders);
+		} catch (NotModifiedException e) {
+			return theNotModifiedHandler.call();
+		}
+
+	}
+
+	private <T extends IBaseResource> CompletableFuture<T> doReadOrVReadAsync(final Class<T> theType, IIdType theId, boolean theVRead, ICallable<T> theNotModifiedHandler, String theIfVersionMatches, Boolean thePrettyPrint,
+																								 SummaryEnum theSummary, EncodingEnum theEncoding, Set<String> theSubsetElements, String theCustomAcceptHeaderValue,
+																								 Map<String, List<String>> theCustomHeaders) {
+		IIdType id = toReadId(theType, theId);
+		HttpGetClientInvocation invocation = createReadOrVReadInvocation(id, theVRead, theIfVersionMatches, theCustomAcceptHeaderValue);
+
+		boolean allowHtmlResponse = SummaryEnum.TEXT.equals(theSummary);
+		ResourceResponseHandler<T> binding = new ResourceResponseHandler<>(theType, (Class<? extends IBaseResource>) null, id, allowHtmlResponse);
+
+		CompletableFuture<T> retVal = invokeClientAsync(myContext, binding, invocation, theEncoding, thePrettyPrint, myLogRequestAndResponse, theSummary, theSubsetElements, null, theCustomAcceptHeaderValue, theCustomHeaders);
+		if (theNotModifiedHandler == null) {
+			return retVal;
+		}
+		return retVal.handle((resource, error) -> {
+			if (error == null) {
+				return resource;
+			}
+			Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+			if (cause instanceof NotModifiedException) {
+				return theNotModifiedHandler.call();
+			}
+			throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+		});
+	}
+
+	private IIdType toReadId(Class<? extends IBaseResource> theType, IIdType theId) {
 		String resName = toResourceName(theType);
 		IIdType id = theId;
 		if (!id.hasBaseUrl()) {
 			id = new IdDt(resName, id.getIdPart(), id.getVersionIdPart());
 		}
+		return id;
+	}
 
+	private HttpGetClientInvocation createReadOrVReadInvocation(IIdType theId, boolean theVRead, String theIfVersionMatches, String theCustomAcceptHeaderValue) {
 		HttpGetClientInvocation invocation;
-		if (id.hasBaseUrl()) {
+		if (theId.hasBaseUrl()) {
 			if (theVRead) {
-				invocation = ReadMethodBinding.createAbsoluteVReadInvocation(getFhirContext(), id);
+				invocation = ReadMethodBinding.createAbsoluteVReadInvocation(getFhirContext(), theId);
 			} else {
-				invocation = ReadMethodBinding.createAbsoluteReadInvocation(getFhirContext(), id);
+				invocation = ReadMethodBinding.createAbsoluteReadInvocation(getFhirContext(), theId);
 			}
 		} else {
 			if (theVRead) {
-				invocation = ReadMethodBinding.createVReadInvocation(getFhirContext(), id, resName);
+				invocation = ReadMethodBinding.createVReadInvocation(getFhirContext(), theId, theId.getResourceType());
 			} else {
-				invocation = ReadMethodBinding.createReadInvocation(getFhirContext(), id, resName);
+				invocation = ReadMethodBinding.createReadInvocation(getFhirContext(), theId, theId.getResourceType());
 			}
 		}
 		if (isKeepResponses()) {
@@ -236,19 +284,7 @@ public class GenericClient extends BaseClient implements IGenericClient {
 		if (theIfVersionMatches != null) {
 			invocation.addHeader(Constants.HEADER_IF_NONE_MATCH, '"' + theIfVersionMatches + '"');
 		}
-
-		boolean allowHtmlResponse = SummaryEnum.TEXT.equals(theSummary);
-		ResourceResponseHandler<T> binding = new ResourceResponseHandler<>(theType, (Class<? extends IBaseResource>) null, id, allowHtmlResponse);
-
-		if (theNotModifiedHandler == null) {
-			return invokeClient(myContext, binding, invocation, theEncoding, thePrettyPrint, myLogRequestAndResponse, theSummary, theSubsetElements, null, theCustomAcceptHeaderValue, theCustomHeaders);
-		}
-		try {
-			return invokeClient(myContext, binding, invocation, theEncoding, thePrettyPrint, myLogRequestAndResponse, theSummary, theSubsetElements, null, theCustomAcceptHeaderValue, theCustomHeaders);
-		} catch (NotModifiedException e) {
-			return theNotModifiedHandler.call();
-		}
-
+		return invocation;
 	}
 
 	@Override
@@ -442,6 +478,8 @@ public class GenericClient extends BaseClient implements IGenericClient {
 		private List<Class<? extends IBaseResource>> myPreferResponseTypes;
 		private boolean myQueryLogRequestAndResponse;
 		private Set<String> mySubsetElements;
+		private boolean myExecutingAsync;
+		private CompletableFuture<?> myAsyncResponse;
 
 		public String getCustomAcceptHeaderValue() {
 			return myCustomAcceptHeaderValue;
@@ -533,15 +571,48 @@ public class GenericClient extends BaseClient implements IGenericClient {
 			return mySubsetElements;
 		}
 
+		/**
+		 * Performs the request. Every implementation of {@link #execute()} must return the value
+		 * returned by this method unchanged, and must not call it more than once: when the request
+		 * is being made by {@link #executeAsync()}, this method starts the request without waiting
+		 * for it and returns <code>null</code>, and the caller receives the result through the
+		 * future instead. Any processing of the response therefore belongs in the response handler
+		 * which is passed in, not in {@link #execute()}.
+		 */
 		protected <Z> Z invoke(Map<String, List<String>> theParams, IClientResponseHandler<Z> theHandler, BaseHttpClientInvocation theInvocation) {
 			if (isKeepResponses()) {
 				myLastRequest = theInvocation.asHttpRequest(getServerBase(), theParams, getEncoding(), myPrettyPrint);
 			}
 
+			if (myExecutingAsync) {
+				// The response is picked up by executeAsync()
+				myAsyncResponse = invokeClientAsync(myContext, theHandler, theInvocation, myParamEncoding, myPrettyPrint, myQueryLogRequestAndResponse || myLogRequestAndResponse, mySummaryMode, mySubsetElements, myCacheControlDirective, myCustomAcceptHeaderValue, myCustomHeaderValues);
+				return null;
+			}
+
 			Z resp = invokeClient(myContext, theHandler, theInvocation, myParamEncoding, myPrettyPrint, myQueryLogRequestAndResponse || myLogRequestAndResponse, mySummaryMode, mySubsetElements, myCacheControlDirective, myCustomAcceptHeaderValue, myCustomHeaderValues);
 			return resp;
 		}
 
+		@SuppressWarnings("unchecked")
+		@Override
+		public CompletableFuture<Y> executeAsync() {
+			myExecutingAsync = true;
+			myAsyncResponse = null;
+			Y retVal;
+			try {
+				retVal = execute();
+			} catch (RuntimeException e) {
+				return CompletableFuture.failedFuture(e);
+			} finally {
+				myExecutingAsync = false;
+			}
+			if (myAsyncResponse == null) {
+				return CompletableFuture.completedFuture(retVal);
+			}
+			return (CompletableFuture<Y>) myAsyncResponse;
+		}
+
 		protected IBaseResource parseResourceBody(String theResourceBody) {
 			EncodingEnum encoding = EncodingEnum.detectEncodingNoDefault(theResourceBody);
 			if (encoding == null) {
@@ -1315,29 +1386,11 @@ public class GenericClient extends BaseClient implements IGenericClient {
 
 			if (myReturnMethodOutcome) {
 				handler = new MethodOutcomeResponseHandler(handler);
+			} else {
+				handler = new ParametersWrappingResponseHandler(handler);
 			}
 
-			Object retVal = invoke(null, handler, invocation);
-
-			if (myReturnMethodOutcome) {
-				return retVal;
-			}
-
-			if (myContext.getResourceDefinition((IBaseResource) retVal).getName().equals("Parameters")) {
-				return retVal;
-			}
-			RuntimeResourceDefinition def = myContext.getResourceDefinition("Parameters");
-			IBaseResource parameters = def.newInstance();
-
-			BaseRuntimeChildDefinition paramChild = def.getChildByName("parameter");
-			BaseRuntimeElementCompositeDefinition<?> paramChildElem = (BaseRuntimeElementCompositeDefinition<?>) paramChild.getChildByName("parameter");
-			IBase parameter = paramChildElem.newInstance();
-			paramChild.getMutator().addValue(parameters, parameter);
-
-			BaseRuntimeChildDefinition resourceElem = paramChildElem.getChildByName("resource");
-			resourceElem.getMutator().addValue(parameter, (IBase) retVal);
-
-			return parameters;
+			return invoke(null, handler, invocation);
 		}
 
 		@Override
@@ -1500,6 +1553,38 @@ public class GenericClient extends BaseClient implements IGenericClient {
 	}
 
 
+	/**
+	 * Wraps any resource returned by an operation other than a Parameters resource in a new Parameters resource
+	 */
+	private final class ParametersWrappingResponseHandler implements IClientResponseHandler<IBaseResource> {
+		private final IClientResponseHandler<? extends IBaseResource> myWrap;
+
+		private ParametersWrappingResponseHandler(IClientResponseHandler<? extends IBaseResource> theWrap) {
+			myWrap = theWrap;
+		}
+
+		@Override
+		public IBaseResource invokeClient(String theResponseMimeType, InputStream theResponseInputStream, int theResponseStatusCode, Map<String, List<String>> theHeaders) throws IOException, BaseServerResponseException {
+			IBaseResource retVal = myWrap.invokeClient(theResponseMimeType, theResponseInputStream, theResponseStatusCode, theHeaders);
+
+			if (myContext.getResourceDefinition(retVal).getName().equals("Parameters")) {
+				return retVal;
+			}
+			RuntimeResourceDefinition def = myContext.getResourceDefinition("Parameters");
+			IBaseResource parameters = def.newInstance();
+
+			BaseRuntimeChildDefinition paramChild = def.getChildByName("parameter");
+			BaseRuntimeElementCompositeDefinition<?> paramChildElem = (BaseRuntimeElementCompositeDefinition<?>) paramChild.getChildByName("parameter");
+			IBase parameter = paramChildElem.newInstance();
+			paramChild.getMutator().addValue(parameters, parameter);
+
+			BaseRuntimeChildDefinition resourceElem = paramChildElem.getChildByName("resource");
+			resourceElem.getMutator().addValue(parameter, retVal);
+
+			return parameters;
+		}
+	}
+
 	private final class MethodOutcomeResponseHandler implements IClientResponseHandler<MethodOutcome> {
 		private final IClientResponseHandler<? extends IBaseResource> myWrap;
 
@@ -1686,6 +1771,11 @@ public class GenericClient extends BaseClient implements IGenericClient {
 			return doReadOrVRead(myType.getImplementingClass(), myId, false, myNotModifiedHandler, myIfVersionMatches, myPrettyPrint, mySummaryMode, myParamEncoding, getSubsetElements(), getCustomAcceptHeaderValue(), myCustomHeaderValues);
 		}
 
+		@Override
+		public CompletableFuture executeAsync() {
+			return doReadOrVReadAsync(myType.getImplementingClass(), myId, myId.hasVersionIdPart(), myNotModifiedHandler, myIfVersionMatches, myPrettyPrint, mySummaryMode, myParamEncoding, getSubsetElements(), getCustomAcceptHeaderValue(), myCustomHeaderValues);
+		}
+
 		@Override
 		public IReadIfNoneMatch ifVersionMatches(String theVersion) {
 			myIfVersionMatches = theVersion;
@@ -2350,10 +2440,13 @@ public class GenericClient extends BaseClient implements IGenericClient {
 		public MethodOutcome execute() {
 			BaseHttpClientInvocation invocation = ValidateMethodBindingDstu2Plus.createValidateInvocation(myContext, myResource);
 			ResourceResponseHandler<BaseOperationOutcome> handler = new ResourceResponseHandler<>(null, null);
-			IBaseOperationOutcome outcome = invoke(null, handler, invocation);
-			MethodOutcome retVal = new MethodOutcome();
-			retVal.setOperationOutcome(outcome);
-			return retVal;
+			IClientResponseHandler<MethodOutcome> outcomeHandler = (theResponseMimeType, theResponseInputStream, theResponseStatusCode, theHeaders) -> {
+				IBaseOperationOutcome outcome = handler.invokeClient(theResponseMimeType, theResponseInputStream, theResponseStatusCode, theHeaders);
+				MethodOutcome retVal = new MethodOutcome();
+				retVal.setOperationOutcome(outcome);
+				return retVal;
+			};
+			return invoke(null, outcomeHandler, invocation);
 		}
 
 		@Override
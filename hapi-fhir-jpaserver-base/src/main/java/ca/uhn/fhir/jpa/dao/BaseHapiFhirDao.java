@@ -18,6 +18,7 @@ import ca.uhn.fhir.jpa.api.dao.IDao;
 import ca.uhn.fhir.jpa.api.dao.IJpaDao;
 import ca.uhn.fhir.jpa.api.model.DaoMethodOutcome;
 import ca.uhn.fhir.jpa.api.svc.IIdHelperService;
+import ca.uhn.fhir.jpa.api.svc.IResourceEncodingDictionarySvc;
 import ca.uhn.fhir.jpa.api.svc.ISearchCoordinatorSvc;
 import ca.uhn.fhir.jpa.dao.data.IForcedIdDao;
 import ca.uhn.fhir.jpa.dao.data.IResourceHistoryTableDao;
@@ -129,6 +130,9 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 import javax.xml.stream.events.Characters;
 import javax.xml.stream.events.XMLEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -243,6 +247,8 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 	private PlatformTransactionManager myTransactionManager;
 	@Autowired
 	protected IJpaStorageResourceParser myJpaStorageResourceParser;
+	@Autowired
+	private IResourceEncodingDictionarySvc myResourceEncodingDictionarySvc;
 
 	@VisibleForTesting
 	public void setSearchParamPresenceSvc(ISearchParamPresenceSvc theSearchParamPresenceSvc) {
@@ -538,6 +544,8 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 		byte[] resourceBinary;
 		String resourceText;
 		ResourceEncodingEnum encoding;
+		Long encodingDictionaryId = null;
+		byte[] encodedResource = null;
 		boolean changed = false;
 
 		if (theEntity.getDeleted() == null) {
@@ -557,21 +565,33 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 
 				HashFunction sha256 = Hashing.sha256();
 				HashCode hashCode;
-				String encodedResource = encodeResource(theResource, encoding, excludeElements, myContext);
-				if (getStorageSettings().getInlineResourceTextBelowSize() > 0 && encodedResource.length() < getStorageSettings().getInlineResourceTextBelowSize()) {
-					resourceText = encodedResource;
+				encodedResource = encodeResourceToUtf8Bytes(theResource, encoding, excludeElements, myContext);
+				String inlineResourceText = getInlineResourceText(encodedResource);
+				if (inlineResourceText != null) {
+					resourceText = inlineResourceText;
 					resourceBinary = null;
 					encoding = ResourceEncodingEnum.JSON;
-					hashCode = sha256.hashUnencodedChars(encodedResource);
+					hashCode = sha256.hashUnencodedChars(inlineResourceText);
 				} else {
 					resourceText = null;
-					resourceBinary = getResourceBinary(encoding, encodedResource);
-					hashCode = sha256.hashBytes(resourceBinary);
+					if (encoding == ResourceEncodingEnum.JSOND) {
+						encodingDictionaryId = myResourceEncodingDictionarySvc.getCurrentDictionaryId(resourceType);
+						if (encodingDictionaryId == null) {
+							// No dictionary has been trained for this resource type yet
+							encoding = ResourceEncodingEnum.JSONC;
+						}
+					}
+					resourceBinary = getResourceBinary(encoding, encodedResource, encodingDictionaryId);
+					// Hash the uncompressed JSON so that the hash doesn't depend on the compression or dictionary used
+					hashCode = sha256.hashBytes(encodedResource);
 				}
 
 				String hashSha256 = hashCode.toString();
 				if (hashSha256.equals(theEntity.getHashSha256()) == false) {
-					changed = true;
+					// Versions stored before 6.6.0 hashed the compressed bytes instead
+					if (resourceBinary == null || !sha256.hashBytes(resourceBinary).toString().equals(theEntity.getHashSha256())) {
+						changed = true;
+					}
 				}
 				theEntity.setHashSha256(hashSha256);
 
@@ -630,12 +650,18 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 					changed = true;
 				} else {
 					changed = !Arrays.equals(currentHistoryVersion.getResource(), resourceBinary);
+					if (changed && currentHistoryVersion.getEncoding() == ResourceEncodingEnum.JSOND && encodedResource != null) {
+						// The current version may have been compressed using an older dictionary, so compare the uncompressed JSON
+						String currentText = myResourceEncodingDictionarySvc.decodeResource(currentHistoryVersion.getResource(), null, currentHistoryVersion.getEncoding(), currentHistoryVersion.getEncodingDictionaryId());
+						changed = currentText == null || !Arrays.equals(currentText.getBytes(StandardCharsets.UTF_8), encodedResource);
+					}
 				}
 			}
 		}
 
 		EncodedResource retVal = new EncodedResource();
 		retVal.setEncoding(encoding);
+		retVal.setEncodingDictionaryId(encodingDictionaryId);
 		retVal.setResourceBinary(resourceBinary);
 		retVal.setResourceText(resourceText);
 		retVal.setChanged(changed);
@@ -643,23 +669,56 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 		return retVal;
 	}
 
+	/**
+	 * Returns the resource text if it should be stored inline (i.e. it is shorter than
+	 * {@link JpaStorageSettings#getInlineResourceTextBelowSize()} characters), or <code>null</code>
+	 * if it should be stored as a binary.
+	 *
+	 * @param theEncodedResource the UTF-8 encoded resource
+	 */
+	@Nullable
+	private String getInlineResourceText(byte[] theEncodedResource) {
+		int inlineBelowSize = getStorageSettings().getInlineResourceTextBelowSize();
+		if (inlineBelowSize <= 0) {
+			return null;
+		}
+		// A UTF-8 encoded character takes up no more than 3 bytes per UTF-16 char, so only
+		// decode the text if it could possibly be short enough
+		if (theEncodedResource.length >= (long) inlineBelowSize * 3) {
+			return null;
+		}
+		String resourceText = new String(theEncodedResource, Charsets.UTF_8);
+		if (resourceText.length() < inlineBelowSize) {
+			return resourceText;
+		}
+		return null;
+	}
+
 	/**
 	 * helper for returning the encoded byte array of the input resource string based on the encoding.
 	 *
-	 * @param encoding        the encoding to used
-	 * @param encodedResource the resource to encode
+	 * @param encoding             the encoding to used
+	 * @param encodedResource      the UTF-8 encoded resource
+	 * @param encodingDictionaryId the dictionary to compress with, only used by {@link ResourceEncodingEnum#JSOND}
 	 * @return byte array of the resource
 	 */
 	@Nonnull
-	private byte[] getResourceBinary(ResourceEncodingEnum encoding, String encodedResource) {
+	private byte[] getResourceBinary(ResourceEncodingEnum encoding, byte[] encodedResource, @Nullable Long encodingDictionaryId) {
 		byte[] resourceBinary;
 		switch (encoding) {
 			case JSON:
-				resourceBinary = encodedResource.getBytes(Charsets.UTF_8);
+				resourceBinary = encodedResource;
 				break;
 			case JSONC:
 				resourceBinary = GZipUtil.compress(encodedResource);
 				break;
+			case SMILE:
+				resourceBinary = SmileUtil.compress(encodedResource);
+				break;
+			case JSOND:
+				Validate.notNull(encodingDictionaryId, "No encoding dictionary supplied");
+				resourceBinary = myResourceEncodingDictionarySvc.compress(encodingDictionaryId, encodedResource);
+				break;
 			default:
 			case DEL:
 				resourceBinary = new byte[0];
@@ -1190,10 +1249,18 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 
 			// Check if resource is the same
 			ResourceEncodingEnum encoding = myStorageSettings.getResourceEncoding();
+			Long encodingDictionaryId = null;
+			if (encoding == ResourceEncodingEnum.JSOND) {
+				encodingDictionaryId = myResourceEncodingDictionarySvc.getCurrentDictionaryId(historyEntity.getResourceType());
+				if (encodingDictionaryId == null) {
+					// No dictionary has been trained for this resource type yet
+					encoding = ResourceEncodingEnum.JSONC;
+				}
+			}
 			List<String> excludeElements = new ArrayList<>(8);
 			getExcludedElements(historyEntity.getResourceType(), excludeElements, theResource.getMeta());
-			String encodedResourceString = encodeResource(theResource, encoding, excludeElements, myContext);
-			byte[] resourceBinary = getResourceBinary(encoding, encodedResourceString);
+			byte[] encodedResourceBytes = encodeResourceToUtf8Bytes(theResource, encoding, excludeElements, myContext);
+			byte[] resourceBinary = getResourceBinary(encoding, encodedResourceBytes, encodingDictionaryId);
 			boolean changed = !Arrays.equals(historyEntity.getResource(), resourceBinary);
 
 			historyEntity.setUpdated(theTransactionDetails.getTransactionDate());
@@ -1204,10 +1271,11 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 				return historyEntity;
 			}
 
-			if (getStorageSettings().getInlineResourceTextBelowSize() > 0 && encodedResourceString.length() < getStorageSettings().getInlineResourceTextBelowSize()) {
-				populateEncodedResource(encodedResource, encodedResourceString, null, ResourceEncodingEnum.JSON);
+			String inlineResourceText = getInlineResourceText(encodedResourceBytes);
+			if (inlineResourceText != null) {
+				populateEncodedResource(encodedResource, inlineResourceText, null, ResourceEncodingEnum.JSON, null);
 			} else {
-				populateEncodedResource(encodedResource, null, resourceBinary, encoding);
+				populateEncodedResource(encodedResource, null, resourceBinary, encoding, encodingDictionaryId);
 			}
 		}
 		/*
@@ -1215,6 +1283,7 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 		 */
 		historyEntity = myEntityManager.merge(historyEntity);
 		historyEntity.setEncoding(encodedResource.getEncoding());
+		historyEntity.setEncodingDictionaryId(encodedResource.getEncodingDictionaryId());
 		historyEntity.setResource(encodedResource.getResourceBinary());
 		historyEntity.setResourceTextVc(encodedResource.getResourceText());
 		myResourceHistoryTableDao.save(historyEntity);
@@ -1224,10 +1293,11 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 		return historyEntity;
 	}
 
-	private void populateEncodedResource(EncodedResource encodedResource, String encodedResourceString, byte[] theResourceBinary, ResourceEncodingEnum theEncoding) {
+	private void populateEncodedResource(EncodedResource encodedResource, String encodedResourceString, byte[] theResourceBinary, ResourceEncodingEnum theEncoding, Long theEncodingDictionaryId) {
 		encodedResource.setResourceText(encodedResourceString);
 		encodedResource.setResourceBinary(theResourceBinary);
 		encodedResource.setEncoding(theEncoding);
+		encodedResource.setEncodingDictionaryId(theEncodingDictionaryId);
 	}
 
 	@Nonnull
@@ -1269,6 +1339,7 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 		boolean versionedTags = getStorageSettings().getTagStorageMode() == JpaStorageSettings.TagStorageModeEnum.VERSIONED;
 		final ResourceHistoryTable historyEntry = theEntity.toHistory(versionedTags);
 		historyEntry.setEncoding(theChanged.getEncoding());
+		historyEntry.setEncodingDictionaryId(theChanged.getEncodingDictionaryId());
 		historyEntry.setResource(theChanged.getResourceBinary());
 		historyEntry.setResourceTextVc(theChanged.getResourceText());
 
@@ -1628,6 +1699,11 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 			case JSONC:
 				resourceText = GZipUtil.decompress(theResourceBytes);
 				break;
+			case SMILE:
+				resourceText = SmileUtil.decompress(theResourceBytes);
+				break;
+			case JSOND:
+				throw new InternalErrorException(Msg.code(2300) + "Resources encoded as " + theResourceEncoding + " must be decoded using " + IResourceEncodingDictionarySvc.class.getSimpleName());
 			case DEL:
 				break;
 		}
@@ -1640,6 +1716,21 @@ public abstract class BaseHapiFhirDao<T extends IBaseResource> extends BaseStora
 		return parser.encodeResourceToString(theResource);
 	}
 
+	/**
+	 * Encodes the resource directly to UTF-8 bytes, without building an intermediate String
+	 */
+	public static byte[] encodeResourceToUtf8Bytes(IBaseResource theResource, ResourceEncodingEnum theEncoding, List<String> theExcludeElements, FhirContext theContext) {
+		IParser parser = theEncoding.newParser(theContext);
+		parser.setDontEncodeElements(theExcludeElements);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			parser.encodeResourceToOutputStream(theResource, outputStream);
+		} catch (IOException e) {
+			throw new InternalErrorException(Msg.code(2289) + "Failed to encode resource: " + e.getMessage(), e);
+		}
+		return outputStream.toByteArray();
+	}
+
 	private static String parseNarrativeTextIntoWords(IBaseResource theResource) {
 
 		StringBuilder b = new StringBuilder();
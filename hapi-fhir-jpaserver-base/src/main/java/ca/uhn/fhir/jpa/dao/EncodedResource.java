@@ -27,6 +27,7 @@ class EncodedResource {
 	private boolean myChanged;
 	private byte[] myResource;
 	private ResourceEncodingEnum myEncoding;
+	private Long myEncodingDictionaryId;
 	private String myResourceText;
 
 	public ResourceEncodingEnum getEncoding() {
@@ -37,6 +38,14 @@ class EncodedResource {
 		myEncoding = theEncoding;
 	}
 
+	public Long getEncodingDictionaryId() {
+		return myEncodingDictionaryId;
+	}
+
+	public void setEncodingDictionaryId(Long theEncodingDictionaryId) {
+		myEncodingDictionaryId = theEncodingDictionaryId;
+	}
+
 	public byte[] getResourceBinary() {
 		return myResource;
 	}
@@ -26,6 +26,7 @@ import ca.uhn.fhir.context.RuntimeResourceDefinition;
 import ca.uhn.fhir.i18n.Msg;
 import ca.uhn.fhir.jpa.api.config.JpaStorageSettings;
 import ca.uhn.fhir.jpa.api.dao.IDao;
+import ca.uhn.fhir.jpa.api.svc.IResourceEncodingDictionarySvc;
 import ca.uhn.fhir.jpa.dao.data.IResourceHistoryTableDao;
 import ca.uhn.fhir.jpa.entity.PartitionEntity;
 import ca.uhn.fhir.jpa.entity.ResourceSearchView;
@@ -49,8 +50,8 @@ import ca.uhn.fhir.model.primitive.IdDt;
 import ca.uhn.fhir.model.primitive.InstantDt;
 import ca.uhn.fhir.model.valueset.BundleEntryTransactionMethodEnum;
 import ca.uhn.fhir.parser.DataFormatException;
-import ca.uhn.fhir.parser.IParser;
 import ca.uhn.fhir.parser.LenientErrorHandler;
+import ca.uhn.fhir.parser.json.JsonLikeStructure;
 import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.util.MetaUtil;
 import org.apache.commons.lang3.Validate;
@@ -87,6 +88,8 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 	private PartitionSettings myPartitionSettings;
 	@Autowired
 	private IPartitionLookupSvc myPartitionLookupSvc;
+	@Autowired
+	private IResourceEncodingDictionarySvc myResourceEncodingDictionarySvc;
 
 	@Override
 	public IBaseResource toResource(IBasePersistedResource theEntity, boolean theForHistoryOperation) {
@@ -102,6 +105,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 		byte[] resourceBytes;
 		String resourceText;
 		ResourceEncodingEnum resourceEncoding;
+		Long encodingDictionaryId;
 		@Nullable
 		Collection<? extends BaseTag> tagList = Collections.emptyList();
 		long version;
@@ -113,6 +117,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 			resourceBytes = history.getResource();
 			resourceText = history.getResourceTextVc();
 			resourceEncoding = history.getEncoding();
+			encodingDictionaryId = history.getEncodingDictionaryId();
 			switch (myStorageSettings.getTagStorageMode()) {
 				case VERSIONED:
 				default:
@@ -155,6 +160,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 
 			resourceBytes = history.getResource();
 			resourceEncoding = history.getEncoding();
+			encodingDictionaryId = history.getEncodingDictionaryId();
 			resourceText = history.getResourceTextVc();
 			switch (myStorageSettings.getTagStorageMode()) {
 				case VERSIONED:
@@ -178,6 +184,7 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 			resourceBytes = view.getResource();
 			resourceText = view.getResourceTextVc();
 			resourceEncoding = view.getEncoding();
+			encodingDictionaryId = view.getEncodingDictionaryId();
 			version = view.getVersion();
 			provenanceRequestId = view.getProvenanceRequestId();
 			provenanceSourceUri = view.getProvenanceSourceUri();
@@ -197,14 +204,20 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 			return null;
 		}
 
-		// 2. get The text
-		String decodedResourceText = decodedResourceText(resourceBytes, resourceText, resourceEncoding);
+		// 2. get The text (Smile is read directly by the parser instead)
+		JsonLikeStructure decodedResourceStructure = null;
+		String decodedResourceText = null;
+		if (resourceText == null && resourceEncoding == ResourceEncodingEnum.SMILE) {
+			decodedResourceStructure = SmileUtil.toJsonLikeStructure(resourceBytes);
+		} else {
+			decodedResourceText = decodedResourceText(resourceBytes, resourceText, resourceEncoding, encodingDictionaryId);
+		}
 
 		// 3. Use the appropriate custom type if one is specified in the context
 		Class<R> resourceType = determineTypeToParse(theResourceType, tagList);
 
 		// 4. parse the text to FHIR
-		R retVal = parseResource(theEntity, resourceEncoding, decodedResourceText, resourceType);
+		R retVal = parseResource(theEntity, resourceEncoding, decodedResourceText, decodedResourceStructure, resourceType);
 
 		// 5. fill MetaData
 		retVal = populateResourceMetadata(theEntity, theForHistoryOperation, tagList, version, retVal);
@@ -231,14 +244,18 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 	}
 
 	@SuppressWarnings("unchecked")
-	private <R extends IBaseResource> R parseResource(IBaseResourceEntity theEntity, ResourceEncodingEnum resourceEncoding, String decodedResourceText, Class<R> resourceType) {
+	private <R extends IBaseResource> R parseResource(IBaseResourceEntity theEntity, ResourceEncodingEnum resourceEncoding, String decodedResourceText, @Nullable JsonLikeStructure theDecodedResourceStructure, Class<R> resourceType) {
 		R retVal;
 		if (resourceEncoding != ResourceEncodingEnum.DEL) {
 
-			IParser parser = new TolerantJsonParser(getContext(theEntity.getFhirVersion()), LENIENT_ERROR_HANDLER, theEntity.getId());
+			TolerantJsonParser parser = new TolerantJsonParser(getContext(theEntity.getFhirVersion()), LENIENT_ERROR_HANDLER, theEntity.getId());
 
 			try {
-				retVal = parser.parseResource(resourceType, decodedResourceText);
+				if (theDecodedResourceStructure != null) {
+					retVal = parser.parseResource(resourceType, theDecodedResourceStructure);
+				} else {
+					retVal = parser.parseResource(resourceType, decodedResourceText);
+				}
 			} catch (Exception e) {
 				StringBuilder b = new StringBuilder();
 				b.append("Failed to parse database resource[");
@@ -457,10 +474,12 @@ public class JpaStorageResourceParser implements IJpaStorageResourceParser {
 		return FhirContext.forCached(theVersion);
 	}
 
-	private static String decodedResourceText(byte[] resourceBytes, String resourceText, ResourceEncodingEnum resourceEncoding) {
+	private String decodedResourceText(byte[] resourceBytes, String resourceText, ResourceEncodingEnum resourceEncoding, Long encodingDictionaryId) {
 		String decodedResourceText;
 		if (resourceText != null) {
 			decodedResourceText = resourceText;
+		} else if (resourceEncoding == ResourceEncodingEnum.JSOND) {
+			decodedResourceText = myResourceEncodingDictionarySvc.decodeResource(resourceBytes, null, resourceEncoding, encodingDictionaryId);
 		} else {
 			decodedResourceText = decodeResource(resourceBytes, resourceEncoding);
 		}
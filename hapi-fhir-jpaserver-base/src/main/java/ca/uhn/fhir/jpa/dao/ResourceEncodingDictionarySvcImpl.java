@@ -0,0 +1,176 @@
+package ca.uhn.fhir.jpa.dao;
+
+/*
+ * #%L
+ * HAPI FHIR JPA Server
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.jpa.api.config.JpaStorageSettings;
+import ca.uhn.fhir.jpa.api.svc.IResourceEncodingDictionarySvc;
+import ca.uhn.fhir.jpa.dao.data.IResourceEncodingDictionaryDao;
+import ca.uhn.fhir.jpa.dao.data.IResourceHistoryTableDao;
+import ca.uhn.fhir.jpa.entity.ResourceEncodingDictionaryEntity;
+import ca.uhn.fhir.jpa.model.entity.ResourceEncodingEnum;
+import ca.uhn.fhir.jpa.model.entity.ResourceHistoryTable;
+import ca.uhn.fhir.jpa.util.MemoryCacheService;
+import ca.uhn.fhir.rest.server.exceptions.InternalErrorException;
+import ca.uhn.fhir.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Transactional
+public class ResourceEncodingDictionarySvcImpl implements IResourceEncodingDictionarySvc {
+
+	/**
+	 * The number of recently stored versions used to train a dictionary
+	 */
+	public static final int TRAINING_SAMPLE_COUNT = 500;
+	/**
+	 * Training a dictionary from fewer versions than this is unlikely to produce anything useful
+	 */
+	public static final int MIN_TRAINING_SAMPLE_COUNT = 10;
+	private static final Logger ourLog = LoggerFactory.getLogger(ResourceEncodingDictionarySvcImpl.class);
+	private static final Set<ResourceEncodingEnum> ourStoredEncodings = EnumSet.complementOf(EnumSet.of(ResourceEncodingEnum.DEL));
+
+	@Autowired
+	private JpaStorageSettings myStorageSettings;
+	@Autowired
+	private MemoryCacheService myMemoryCacheService;
+	@Autowired
+	private IResourceEncodingDictionaryDao myResourceEncodingDictionaryDao;
+	@Autowired
+	private IResourceHistoryTableDao myResourceHistoryTableDao;
+
+	@Nullable
+	@Override
+	public Long getCurrentDictionaryId(String theResourceType) {
+		Optional<Long> retVal = myMemoryCacheService.get(MemoryCacheService.CacheEnum.RESOURCE_ENCODING_DICTIONARY_CURRENT, theResourceType, t -> {
+			List<Long> ids = myResourceEncodingDictionaryDao.findIdsForResourceTypeNewestFirst(PageRequest.of(0, 1), t);
+			return ids.stream().findFirst();
+		});
+		return retVal.orElse(null);
+	}
+
+	@Override
+	public byte[] compress(long theDictionaryId, byte[] theEncodedResource) {
+		return DictionaryCompressionUtil.compress(getDictionary(theDictionaryId), theEncodedResource);
+	}
+
+	@Nullable
+	@Override
+	public String decodeResource(@Nullable byte[] theResourceBytes, @Nullable String theResourceText, ResourceEncodingEnum theEncoding, @Nullable Long theDictionaryId) {
+		if (theResourceText != null) {
+			return theResourceText;
+		}
+		if (theEncoding == ResourceEncodingEnum.JSOND) {
+			if (theDictionaryId == null) {
+				throw new InternalErrorException(Msg.code(2295) + "Resource is encoded as " + theEncoding + " but does not reference a dictionary");
+			}
+			return DictionaryCompressionUtil.decompress(getDictionary(theDictionaryId), theResourceBytes);
+		}
+		return BaseHapiFhirDao.decodeResource(theResourceBytes, theEncoding);
+	}
+
+	@Nonnull
+	private DictionaryCompressionUtil.CompressionDictionary getDictionary(long theDictionaryId) {
+		return myMemoryCacheService.get(MemoryCacheService.CacheEnum.RESOURCE_ENCODING_DICTIONARY, theDictionaryId, id -> new DictionaryCompressionUtil.CompressionDictionary(myResourceEncodingDictionaryDao
+			.findById(id)
+			.orElseThrow(() -> new InternalErrorException(Msg.code(2296) + "Unknown resource encoding dictionary: " + id))
+			.getDictionary()));
+	}
+
+	@Nullable
+	@Override
+	public Long trainDictionary(String theResourceType) {
+		StopWatch sw = new StopWatch();
+
+		List<byte[]> samples = new ArrayList<>(TRAINING_SAMPLE_COUNT);
+		for (ResourceHistoryTable next : myResourceHistoryTableDao.findMostRecentForResourceType(PageRequest.of(0, TRAINING_SAMPLE_COUNT), theResourceType, ourStoredEncodings)) {
+			String text = decodeResource(next.getResource(), next.getResourceTextVc(), next.getEncoding(), next.getEncodingDictionaryId());
+			if (text != null) {
+				samples.add(text.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		if (samples.size() < MIN_TRAINING_SAMPLE_COUNT) {
+			ourLog.info("Not training an encoding dictionary for {} as only {} stored versions were found", theResourceType, samples.size());
+			return null;
+		}
+
+		ResourceEncodingDictionaryEntity entity = new ResourceEncodingDictionaryEntity();
+		entity.setResourceType(theResourceType);
+		entity.setDictionary(DictionaryCompressionUtil.trainDictionary(samples, DictionaryCompressionUtil.MAX_DICTIONARY_SIZE));
+		entity.setSampleCount(samples.size());
+		entity.setCreated(new Date());
+		entity = myResourceEncodingDictionaryDao.save(entity);
+
+		myMemoryCacheService.putAfterCommit(MemoryCacheService.CacheEnum.RESOURCE_ENCODING_DICTIONARY_CURRENT, theResourceType, Optional.of(entity.getId()));
+
+		ourLog.info("Trained encoding dictionary {} for {} from {} stored versions in {}", entity.getId(), theResourceType, samples.size(), sw);
+		return entity.getId();
+	}
+
+	@Override
+	public List<Long> fetchHistoryIdsToReencode(String theResourceType, long theDictionaryId, @Nullable Long theAfterId, int theCount) {
+		long afterId = theAfterId != null ? theAfterId : -1L;
+		return myResourceHistoryTableDao
+			.findIdsNotUsingEncodingDictionary(PageRequest.of(0, theCount), theResourceType, afterId, ourStoredEncodings, theDictionaryId)
+			.getContent();
+	}
+
+	@Override
+	public int reencodeHistory(List<Long> theHistoryIds, long theDictionaryId) {
+		if (myStorageSettings.getResourceEncoding() != ResourceEncodingEnum.JSOND) {
+			ourLog.warn("Not re-encoding {} resource versions as the configured resource encoding is {}", theHistoryIds.size(), myStorageSettings.getResourceEncoding());
+			return 0;
+		}
+
+		int retVal = 0;
+		for (ResourceHistoryTable next : myResourceHistoryTableDao.findAllById(theHistoryIds)) {
+			if (next.getResource() == null || next.getEncoding() == ResourceEncodingEnum.DEL) {
+				continue;
+			}
+			if (next.getEncoding() == ResourceEncodingEnum.JSOND && Long.valueOf(theDictionaryId).equals(next.getEncodingDictionaryId())) {
+				continue;
+			}
+
+			// The resource hash is calculated over the uncompressed JSON, so it does not change here
+			String text = decodeResource(next.getResource(), null, next.getEncoding(), next.getEncodingDictionaryId());
+			next.setEncoding(ResourceEncodingEnum.JSOND);
+			next.setEncodingDictionaryId(theDictionaryId);
+			next.setResource(compress(theDictionaryId, text.getBytes(StandardCharsets.UTF_8)));
+			myResourceHistoryTableDao.save(next);
+			retVal++;
+		}
+		return retVal;
+	}
+
+}
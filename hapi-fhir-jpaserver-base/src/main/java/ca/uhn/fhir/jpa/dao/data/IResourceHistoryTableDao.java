@@ -1,5 +1,6 @@
 package ca.uhn.fhir.jpa.dao.data;
 
+import ca.uhn.fhir.jpa.model.entity.ResourceEncodingEnum;
 import ca.uhn.fhir.jpa.model.entity.ResourceHistoryTable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /*
@@ -66,6 +68,16 @@ public interface IResourceHistoryTableDao extends JpaRepository<ResourceHistoryT
 		"WHERE v.myResourceVersion != t.myVersion")
 	Slice<Long> findIdsOfPreviousVersionsOfResources(Pageable thePage);
 
+	@Query("SELECT t FROM ResourceHistoryTable t WHERE t.myResourceType = :restype AND t.myEncoding IN (:encodings) ORDER BY t.myId DESC")
+	Slice<ResourceHistoryTable> findMostRecentForResourceType(Pageable thePage, @Param("restype") String theResourceType, @Param("encodings") Collection<ResourceEncodingEnum> theEncodings);
+
+	@Query("" +
+		"SELECT t.myId FROM ResourceHistoryTable t " +
+		"WHERE t.myResourceType = :restype AND t.myId > :afterId AND t.myResource IS NOT NULL AND t.myEncoding IN (:encodings) " +
+		"AND (t.myEncodingDictionaryId IS NULL OR t.myEncodingDictionaryId <> :dictId) " +
+		"ORDER BY t.myId ASC")
+	Slice<Long> findIdsNotUsingEncodingDictionary(Pageable thePage, @Param("restype") String theResourceType, @Param("afterId") long theAfterId, @Param("encodings") Collection<ResourceEncodingEnum> theEncodings, @Param("dictId") long theDictionaryId);
+
 	@Modifying
 	@Query("UPDATE ResourceHistoryTable r SET r.myResourceVersion = :newVersion WHERE r.myResourceId = :id AND r.myResourceVersion = :oldVersion")
 	void updateVersion(@Param("id") long theId, @Param("oldVersion") long theOldVersion, @Param("newVersion") long theNewVersion);
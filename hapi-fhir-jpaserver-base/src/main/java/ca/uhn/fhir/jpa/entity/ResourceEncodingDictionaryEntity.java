@@ -0,0 +1,120 @@
+package ca.uhn.fhir.jpa.entity;
+
+/*
+ * #%L
+ * HAPI FHIR JPA Server
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.rest.api.Constants;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * A compression dictionary for a single resource type, used by the
+ * {@link ca.uhn.fhir.jpa.model.entity.ResourceEncodingEnum#JSOND} encoding.
+ * Dictionaries are never modified once they have been created, since stored
+ * resource versions refer to them. The dictionary with the highest ID for a
+ * given resource type is the one used for newly stored resources.
+ */
+@Entity
+@Table(name = "HFJ_RES_ENC_DICT", indexes = {
+	@Index(name = "IDX_RESENCDICT_RESTYPE", columnList = "RES_TYPE")
+})
+public class ResourceEncodingDictionaryEntity implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@SequenceGenerator(name = "SEQ_RES_ENC_DICT", sequenceName = "SEQ_RES_ENC_DICT")
+	@GeneratedValue(strategy = GenerationType.AUTO, generator = "SEQ_RES_ENC_DICT")
+	@Column(name = "PID")
+	private Long myId;
+	@Column(name = "RES_TYPE", nullable = false, length = Constants.MAX_RESOURCE_NAME_LENGTH)
+	private String myResourceType;
+	@Lob
+	@Column(name = "DICT_CONTENTS", nullable = false)
+	private byte[] myDictionary;
+	@Column(name = "SAMPLE_COUNT", nullable = false)
+	private int mySampleCount;
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name = "CREATED_TIME", nullable = false)
+	private Date myCreated;
+
+	public Long getId() {
+		return myId;
+	}
+
+	public String getResourceType() {
+		return myResourceType;
+	}
+
+	public void setResourceType(String theResourceType) {
+		myResourceType = theResourceType;
+	}
+
+	public byte[] getDictionary() {
+		return myDictionary;
+	}
+
+	public void setDictionary(byte[] theDictionary) {
+		myDictionary = theDictionary;
+	}
+
+	/**
+	 * The number of stored resources which were used to train this dictionary
+	 */
+	public int getSampleCount() {
+		return mySampleCount;
+	}
+
+	public void setSampleCount(int theSampleCount) {
+		mySampleCount = theSampleCount;
+	}
+
+	public Date getCreated() {
+		return myCreated;
+	}
+
+	public void setCreated(Date theCreated) {
+		myCreated = theCreated;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+			.append("id", myId)
+			.append("resourceType", myResourceType)
+			.append("size", myDictionary != null ? myDictionary.length : null)
+			.append("sampleCount", mySampleCount)
+			.toString();
+	}
+}
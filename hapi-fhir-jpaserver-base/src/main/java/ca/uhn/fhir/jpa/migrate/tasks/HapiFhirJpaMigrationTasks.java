@@ -105,6 +105,21 @@ public class HapiFhirJpaMigrationTasks extends BaseMigrationTasks<VersionEnum> {
 		// BT2_WORK_CHUNK.CHUNK_DATA
 		version.onTable("BT2_WORK_CHUNK")
 			.migratePostgresTextClobToBinaryClob("20230208.3", "CHUNK_DATA");
+
+		// Dictionaries for the JSOND resource encoding
+		Builder.BuilderAddTableByColumns resEncDict = version.addTableByColumns("20230301.1", "HFJ_RES_ENC_DICT", "PID");
+		resEncDict.addColumn("PID").nonNullable().type(ColumnTypeEnum.LONG);
+		resEncDict.addColumn("RES_TYPE").nonNullable().type(ColumnTypeEnum.STRING, 100);
+		resEncDict.addColumn("DICT_CONTENTS").nonNullable().type(ColumnTypeEnum.BLOB);
+		resEncDict.addColumn("SAMPLE_COUNT").nonNullable().type(ColumnTypeEnum.INT);
+		resEncDict.addColumn("CREATED_TIME").nonNullable().type(ColumnTypeEnum.DATE_TIMESTAMP);
+		resEncDict.addIndex("20230301.2", "IDX_RESENCDICT_RESTYPE").unique(false).withColumns("RES_TYPE");
+		version.addIdGenerator("20230301.3", "SEQ_RES_ENC_DICT");
+		version
+			.onTable("HFJ_RES_VER")
+			.addColumn("20230301.4", "RES_ENC_DICT_ID")
+			.nullable()
+			.type(ColumnTypeEnum.LONG);
 	}
 	protected void init640() {
 
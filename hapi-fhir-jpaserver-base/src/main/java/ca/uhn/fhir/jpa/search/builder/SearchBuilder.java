@@ -394,11 +394,15 @@ public class SearchBuilder implements ISearchBuilder<JpaPid> {
 				}
 				queries.add(fulltextExecutor);
 			} else {
-				ourLog.trace("Query needs db after HSearch.  Chunking.");
+				ourLog.trace("Query needs db after HSearch.");
 				// Finish the query in the database for the rest of the search parameters, sorting, partitioning, etc.
-				// We break the pids into chunks that fit in the 1k limit for jdbc bind params.
+				// Where the database allows it this is done in a single query (as opposed to one query per chunk
+				// of pids) so that sorting applies across all of the results. SearchQueryBuilder takes care of
+				// binding large pid lists in a way that the database can handle.
+				List<Long> fulltextPids = Streams.stream(fulltextExecutor).collect(Collectors.toList());
+				int chunkSize = SearchQueryBuilder.getMaximumResourceIdsPerQuery(myDialectProvider.getDialect());
 				new QueryChunker<Long>()
-					.chunk(Streams.stream(fulltextExecutor).collect(Collectors.toList()), t -> doCreateChunkedQueries(theParams, t, theOffset, sort, theCountOnlyFlag, theRequest, queries));
+					.chunk(fulltextPids, chunkSize, t -> doCreateChunkedQueries(theParams, t, theOffset, sort, theCountOnlyFlag, theRequest, queries));
 			}
 		} else {
 			// do everything in the database.
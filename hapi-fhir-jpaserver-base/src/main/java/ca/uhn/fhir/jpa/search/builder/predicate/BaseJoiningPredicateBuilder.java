@@ -101,7 +101,7 @@ public abstract class BaseJoiningPredicateBuilder extends BasePredicateBuilder {
 		Validate.notNull(theResourceIds, "theResourceIds must not be null");
 
 		// Handle the _id parameter by adding it to the tail
-		Condition inResourceIds = QueryParameterUtils.toEqualToOrInPredicate(getResourceIdColumn(), generatePlaceholders(theResourceIds));
+		Condition inResourceIds = createResourceIdsPredicate(getResourceIdColumn(), theResourceIds, false);
 		if (theInverse) {
 			inResourceIds = new NotCondition(inResourceIds);
 		}
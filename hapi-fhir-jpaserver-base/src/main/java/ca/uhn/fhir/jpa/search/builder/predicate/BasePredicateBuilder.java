@@ -27,6 +27,7 @@ import ca.uhn.fhir.jpa.model.entity.StorageSettings;
 import ca.uhn.fhir.jpa.search.builder.sql.SearchQueryBuilder;
 import ca.uhn.fhir.rest.param.ParamPrefixEnum;
 import com.healthmarketscience.sqlbuilder.BinaryCondition;
+import com.healthmarketscience.sqlbuilder.Condition;
 import com.healthmarketscience.sqlbuilder.dbspec.basic.DbColumn;
 import com.healthmarketscience.sqlbuilder.dbspec.basic.DbTable;
 
@@ -69,6 +70,14 @@ public abstract class BasePredicateBuilder {
 		return mySearchSqlBuilder.generatePlaceholders(theValues);
 	}
 
+	/**
+	 * @see SearchQueryBuilder#createResourceIdsPredicate(DbColumn, Collection, boolean)
+	 */
+	@Nonnull
+	Condition createResourceIdsPredicate(DbColumn theColumn, Collection<Long> theResourceIds, boolean theInverse) {
+		return mySearchSqlBuilder.createResourceIdsPredicate(theColumn, theResourceIds, theInverse);
+	}
+
 	protected FhirContext getFhirContext() {
 		return mySearchSqlBuilder.getFhirContext();
 	}
@@ -252,8 +252,7 @@ public class ResourceLinkPredicateBuilder
 
 		Condition targetPidCondition = null;
 		if (!theTargetPidList.isEmpty()) {
-			List<String> placeholders = generatePlaceholders(theTargetPidList);
-			targetPidCondition = QueryParameterUtils.toEqualToOrInPredicate(myColumnTargetResourceId, placeholders, theInverse);
+			targetPidCondition = createResourceIdsPredicate(myColumnTargetResourceId, theTargetPidList, theInverse);
 		}
 
 		Condition targetUrlsCondition = null;
@@ -707,7 +706,7 @@ public class ResourceLinkPredicateBuilder
 		if (theTargetPids != null && theTargetPids.length >= 1) {
 			// if resource ids are provided, we'll create the predicate
 			// with ids in or equal to this value
-			condition = QueryParameterUtils.toEqualToOrInPredicate(myColumnTargetResourceId, generatePlaceholders(Arrays.asList(theTargetPids)));
+			condition = createResourceIdsPredicate(myColumnTargetResourceId, Arrays.asList(theTargetPids), false);
 		} else {
 			// ... otherwise we look for resource types
 			condition = BinaryCondition.equalTo(myColumnTargetResourceType, generatePlaceholder(theResourceName));
@@ -28,6 +28,7 @@ import ca.uhn.fhir.jpa.model.config.PartitionSettings;
 import ca.uhn.fhir.jpa.model.dao.JpaPid;
 import ca.uhn.fhir.jpa.model.entity.StorageSettings;
 import ca.uhn.fhir.jpa.search.builder.QueryStack;
+import ca.uhn.fhir.jpa.search.builder.SearchBuilder;
 import ca.uhn.fhir.jpa.search.builder.predicate.BaseJoiningPredicateBuilder;
 import ca.uhn.fhir.jpa.search.builder.predicate.ComboNonUniqueSearchParameterPredicateBuilder;
 import ca.uhn.fhir.jpa.search.builder.predicate.ComboUniqueSearchParameterPredicateBuilder;
@@ -52,8 +53,10 @@ import ca.uhn.fhir.rest.param.ParamPrefixEnum;
 import com.healthmarketscience.sqlbuilder.BinaryCondition;
 import com.healthmarketscience.sqlbuilder.ComboCondition;
 import com.healthmarketscience.sqlbuilder.Condition;
+import com.healthmarketscience.sqlbuilder.CustomSql;
 import com.healthmarketscience.sqlbuilder.FunctionCall;
 import com.healthmarketscience.sqlbuilder.InCondition;
+import com.healthmarketscience.sqlbuilder.NotCondition;
 import com.healthmarketscience.sqlbuilder.OrderObject;
 import com.healthmarketscience.sqlbuilder.SelectQuery;
 import com.healthmarketscience.sqlbuilder.dbspec.Join;
@@ -64,6 +67,8 @@ import com.healthmarketscience.sqlbuilder.dbspec.basic.DbSpec;
 import com.healthmarketscience.sqlbuilder.dbspec.basic.DbTable;
 import org.apache.commons.lang3.Validate;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.dialect.SQLServer2016Dialect;
 import org.hibernate.dialect.SQLServerDialect;
 import org.hibernate.dialect.pagination.AbstractLimitHandler;
 import org.hibernate.engine.spi.RowSelection;
@@ -79,6 +84,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static ca.uhn.fhir.jpa.util.QueryParameterUtils.toEqualToOrInPredicate;
 import static ca.uhn.fhir.rest.param.ParamPrefixEnum.GREATERTHAN;
 import static ca.uhn.fhir.rest.param.ParamPrefixEnum.GREATERTHAN_OR_EQUALS;
 import static ca.uhn.fhir.rest.param.ParamPrefixEnum.LESSTHAN;
@@ -88,6 +94,15 @@ import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 
 public class SearchQueryBuilder {
 
+	/**
+	 * Oracle doesn't allow more than 1000 entries in a single <code>IN (...)</code> list
+	 */
+	public static final int MAXIMUM_IN_LIST_SIZE = 1000;
+	/**
+	 * MS SQL Server doesn't allow more than 2100 bind variables in a single statement, so
+	 * we leave some room for the other parameters in the query
+	 */
+	private static final int MAXIMUM_MSSQL_RESOURCE_IDS_PER_QUERY = 2000;
 	private static final Logger ourLog = LoggerFactory.getLogger(SearchQueryBuilder.class);
 	private final String myBindVariableSubstitutionBase;
 	private final ArrayList<Object> myBindVariableValues;
@@ -108,6 +123,8 @@ public class SearchQueryBuilder {
 	private BaseJoiningPredicateBuilder myFirstPredicateBuilder;
 	private boolean dialectIsMsSql;
 	private boolean dialectIsMySql;
+	private boolean dialectIsPostgres;
+	private boolean dialectSupportsStringSplit;
 	private boolean myNeedResourceTableRoot;
 
 	/**
@@ -135,6 +152,12 @@ public class SearchQueryBuilder {
 		if (myDialect instanceof org.hibernate.dialect.SQLServerDialect) {
 			dialectIsMsSql = true;
 		}
+		if (myDialect instanceof SQLServer2016Dialect) {
+			dialectSupportsStringSplit = true;
+		}
+		if (myDialect instanceof PostgreSQL81Dialect) {
+			dialectIsPostgres = true;
+		}
 
 
 		mySpec = new DbSpec();
@@ -670,10 +693,79 @@ public class SearchQueryBuilder {
 
 	public void addResourceIdsPredicate(List<Long> thePidList) {
 		DbColumn resourceIdColumn = getOrCreateFirstPredicateBuilder().getResourceIdColumn();
-		InCondition predicate = new InCondition(resourceIdColumn, generatePlaceholders(thePidList));
+		Condition predicate;
+		if (thePidList.size() <= SearchBuilder.getMaximumPageSize()) {
+			predicate = new InCondition(resourceIdColumn, generatePlaceholders(thePidList));
+		} else {
+			predicate = createResourceIdsPredicate(resourceIdColumn, thePidList, false);
+		}
 		addPredicate(predicate);
 	}
 
+	/**
+	 * Creates a predicate requiring the given column to contain (or if <code>theInverse</code> is
+	 * <code>true</code>, not contain) one of the given resource PIDs.
+	 * <p>
+	 * Short lists are rendered as a normal <code>=</code> or <code>IN</code> predicate. Lists which are
+	 * larger than {@link SearchBuilder#getMaximumPageSize()} are bound in a dialect specific way so that
+	 * they can be handled in a single query without exceeding database limits on the number of bind
+	 * variables or <code>IN</code> list entries:
+	 * </p>
+	 * <ul>
+	 *    <li>PostgreSQL: A single array bound as <code>= ANY(CAST(? AS bigint[]))</code></li>
+	 *    <li>MS SQL Server 2016+: A single comma separated list joined using <code>STRING_SPLIT(?, ',')</code></li>
+	 *    <li>Other databases: Several <code>IN</code> lists of at most {@link #MAXIMUM_IN_LIST_SIZE} entries, combined using <code>OR</code></li>
+	 * </ul>
+	 */
+	@Nonnull
+	public Condition createResourceIdsPredicate(DbColumn theColumn, Collection<Long> theResourceIds, boolean theInverse) {
+		Validate.notEmpty(theResourceIds, "theResourceIds must not be empty");
+
+		if (theResourceIds.size() <= SearchBuilder.getMaximumPageSize()) {
+			return toEqualToOrInPredicate(theColumn, generatePlaceholders(theResourceIds), theInverse);
+		}
+
+		Condition retVal;
+		if (dialectIsPostgres) {
+			String array = theResourceIds
+				.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(",", "{", "}"));
+			retVal = BinaryCondition.equalTo(theColumn, new CustomSql("ANY(CAST('" + generatePlaceholder(array) + "' AS bigint[]))"));
+		} else if (dialectSupportsStringSplit) {
+			String list = theResourceIds
+				.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+			retVal = new InCondition(theColumn, new CustomSql("SELECT CAST(value AS bigint) FROM STRING_SPLIT('" + generatePlaceholder(list) + "', ',')"));
+		} else {
+			List<Long> resourceIds = new ArrayList<>(theResourceIds);
+			List<Condition> inConditions = new ArrayList<>();
+			for (int i = 0; i < resourceIds.size(); i += MAXIMUM_IN_LIST_SIZE) {
+				List<Long> nextList = resourceIds.subList(i, Math.min(i + MAXIMUM_IN_LIST_SIZE, resourceIds.size()));
+				inConditions.add(new InCondition(theColumn, generatePlaceholders(nextList)));
+			}
+			retVal = ComboCondition.or(inConditions.toArray(new Object[0]));
+		}
+
+		if (theInverse) {
+			retVal = new NotCondition(retVal);
+		}
+		return retVal;
+	}
+
+	/**
+	 * Returns the largest number of resource PIDs that {@link #createResourceIdsPredicate(DbColumn, Collection, boolean)}
+	 * can place in a single query for the given dialect. Callers with more PIDs than this must split them
+	 * across several queries.
+	 */
+	public static int getMaximumResourceIdsPerQuery(Dialect theDialect) {
+		if (theDialect instanceof SQLServerDialect && !(theDialect instanceof SQLServer2016Dialect)) {
+			return MAXIMUM_MSSQL_RESOURCE_IDS_PER_QUERY;
+		}
+		return Integer.MAX_VALUE;
+	}
+
 	public void excludeResourceIdsPredicate(Set<JpaPid> theExistingPidSetToExclude) {
 
 		// Do  nothing if it's empty
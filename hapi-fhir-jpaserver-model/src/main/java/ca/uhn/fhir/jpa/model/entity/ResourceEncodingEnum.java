@@ -44,6 +44,24 @@ public enum ResourceEncodingEnum {
 	 */
 	JSONC,
 
+	/**
+	 * Json encoded using the Smile binary format. Smaller than plain Json
+	 * and cheaper to decode than Json Compressed.
+	 *
+	 * @since 6.6.0
+	 */
+	SMILE,
+
+	/**
+	 * Json compressed with Zstandard using a dictionary trained for the specific resource type.
+	 * The dictionary is referenced from the row by its ID. If no dictionary has
+	 * been trained yet for a resource type, resources of that type are stored
+	 * as {@link #JSONC} instead.
+	 *
+	 * @since 6.6.0
+	 */
+	JSOND,
+
 	/**
 	 * Resource was deleted - No contents expected
 	 */
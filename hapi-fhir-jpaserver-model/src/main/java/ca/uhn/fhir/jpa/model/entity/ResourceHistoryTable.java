@@ -96,6 +96,13 @@ public class ResourceHistoryTable extends BaseHasResource implements Serializabl
 	@Enumerated(EnumType.STRING)
 	@OptimisticLock(excluded = true)
 	private ResourceEncodingEnum myEncoding;
+	/**
+	 * The dictionary used to compress {@link #myResource}, only populated
+	 * if the encoding is {@link ResourceEncodingEnum#JSOND}
+	 */
+	@Column(name = "RES_ENC_DICT_ID", nullable = true)
+	@OptimisticLock(excluded = true)
+	private Long myEncodingDictionaryId;
 	@OneToOne(mappedBy = "myResourceHistoryTable", cascade = {CascadeType.REMOVE})
 	private ResourceHistoryProvenanceEntity myProvenance;
 
@@ -154,6 +161,14 @@ public class ResourceHistoryTable extends BaseHasResource implements Serializabl
 		myEncoding = theEncoding;
 	}
 
+	public Long getEncodingDictionaryId() {
+		return myEncodingDictionaryId;
+	}
+
+	public void setEncodingDictionaryId(Long theEncodingDictionaryId) {
+		myEncodingDictionaryId = theEncodingDictionaryId;
+	}
+
 	@Override
 	public Long getId() {
 		return myId;
@@ -0,0 +1,367 @@
+package ca.uhn.fhir.jpa.searchparam.provider;
+
+/*-
+ * #%L
+ * HAPI FHIR Search Parameters
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.context.RuntimeResourceDefinition;
+import ca.uhn.fhir.context.RuntimeSearchParam;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamDate;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamString;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamToken;
+import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
+import ca.uhn.fhir.jpa.searchparam.extractor.ResourceIndexedSearchParams;
+import ca.uhn.fhir.model.api.IQueryParameterType;
+import ca.uhn.fhir.rest.param.DateParam;
+import ca.uhn.fhir.rest.param.DateRangeParam;
+import ca.uhn.fhir.rest.param.ParamPrefixEnum;
+import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.util.StringUtil;
+import org.apache.commons.lang3.time.DateUtils;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * In-memory index of the token, string and date search parameter values of a set of resources,
+ * used by {@link SearchableHashMapResourceProvider} to narrow down the resources which need to be
+ * tested against a search. The index only ever narrows the candidates: every candidate must still
+ * be checked by the in-memory matcher, and searches which can't be answered from the index
+ * (other parameter types, modifiers, unsupported prefixes) fall back to testing every resource.
+ * <p>
+ * Updates must be serialized by the caller. Lookups may run concurrently with updates.
+ * </p>
+ */
+class InMemorySearchParamIndex {
+
+	/**
+	 * Date values are compared with the precision of the search parameter, and day precision
+	 * comparisons are made using local dates, so date lookups are widened by this much on
+	 * each side to make sure that no potential match is missed
+	 */
+	private static final long DATE_LOOKUP_MARGIN_MILLIS = 2 * DateUtils.MILLIS_PER_DAY;
+
+	private final RuntimeResourceDefinition myResourceDefinition;
+	private final Map<IndexKey, Set<String>> myTokenIndex = new ConcurrentHashMap<>();
+	private final Map<String, NavigableMap<String, Set<String>>> myStringIndex = new ConcurrentHashMap<>();
+	private final Map<String, NavigableMap<Long, Set<String>>> myDateIndex = new ConcurrentHashMap<>();
+	private final Map<String, Set<IndexKey>> myIdToKeys = new ConcurrentHashMap<>();
+
+	InMemorySearchParamIndex(RuntimeResourceDefinition theResourceDefinition) {
+		myResourceDefinition = theResourceDefinition;
+	}
+
+	/**
+	 * Replaces the indexed values for the given resource
+	 *
+	 * @param theIndexedSearchParams The extracted search parameter values, or <code>null</code> if the resource has been deleted
+	 */
+	void update(String theIdPart, @Nullable ResourceIndexedSearchParams theIndexedSearchParams) {
+		Set<IndexKey> newKeys = new HashSet<>();
+		if (theIndexedSearchParams != null) {
+			for (ResourceIndexedSearchParamToken next : theIndexedSearchParams.myTokenParams) {
+				String value = foldCase(defaultString(next.getValue()));
+				newKeys.add(new IndexKey(IndexTypeEnum.TOKEN_VALUE, next.getParamName(), value));
+				if (next.getSystem() != null) {
+					String system = foldCase(next.getSystem());
+					newKeys.add(new IndexKey(IndexTypeEnum.TOKEN_SYSTEM, next.getParamName(), system));
+					newKeys.add(new IndexKey(IndexTypeEnum.TOKEN_SYSTEM_AND_VALUE, next.getParamName(), system + '\u0000' + value));
+				}
+			}
+			for (ResourceIndexedSearchParamString next : theIndexedSearchParams.myStringParams) {
+				newKeys.add(new IndexKey(IndexTypeEnum.STRING, next.getParamName(), defaultString(next.getValueNormalized())));
+			}
+			for (ResourceIndexedSearchParamDate next : theIndexedSearchParams.myDateParams) {
+				if (next.getValueLow() != null) {
+					newKeys.add(new IndexKey(IndexTypeEnum.DATE, next.getParamName(), next.getValueLow().getTime()));
+				}
+			}
+		}
+
+		// Add the new entries before removing the old ones, so that a concurrent lookup
+		// sees a superset of the values rather than missing the resource
+		for (IndexKey next : newKeys) {
+			getIdSet(next, true).add(theIdPart);
+		}
+		Set<IndexKey> oldKeys = newKeys.isEmpty() ? myIdToKeys.remove(theIdPart) : myIdToKeys.put(theIdPart, newKeys);
+		if (oldKeys != null) {
+			for (IndexKey next : oldKeys) {
+				if (!newKeys.contains(next)) {
+					Set<String> ids = getIdSet(next, false);
+					if (ids != null) {
+						ids.remove(theIdPart);
+					}
+				}
+			}
+		}
+	}
+
+	void clear() {
+		myTokenIndex.clear();
+		myStringIndex.clear();
+		myDateIndex.clear();
+		myIdToKeys.clear();
+	}
+
+	/**
+	 * Returns the IDs of the resources which might match the given search, or <code>null</code> if
+	 * the index can't narrow down the search and every resource needs to be tested
+	 */
+	@Nullable
+	Set<String> findCandidates(SearchParameterMap theSearchParameterMap) {
+		Set<String> retVal = null;
+		for (Map.Entry<String, List<List<IQueryParameterType>>> nextEntry : theSearchParameterMap.entrySet()) {
+			String paramName = nextEntry.getKey();
+			if (paramName.startsWith("_")) {
+				continue;
+			}
+			RuntimeSearchParam paramDef = myResourceDefinition.getSearchParam(paramName);
+			if (paramDef == null) {
+				continue;
+			}
+
+			for (List<IQueryParameterType> nextAnd : nextEntry.getValue()) {
+				Set<String> orIds = findCandidates(paramName, paramDef, nextAnd);
+				if (orIds == null) {
+					continue;
+				}
+				if (retVal == null) {
+					retVal = orIds;
+				} else {
+					retVal.retainAll(orIds);
+				}
+				if (retVal.isEmpty()) {
+					return retVal;
+				}
+			}
+		}
+		return retVal;
+	}
+
+	@Nullable
+	private Set<String> findCandidates(String theParamName, RuntimeSearchParam theParamDef, List<IQueryParameterType> theOrList) {
+		Set<String> retVal = new LinkedHashSet<>();
+		for (IQueryParameterType next : theOrList) {
+			if (next.getMissing() != null) {
+				return null;
+			}
+			Collection<String> ids;
+			switch (theParamDef.getParamType()) {
+				case TOKEN:
+					ids = findTokenCandidates(theParamName, next);
+					break;
+				case STRING:
+					ids = findStringCandidates(theParamName, next);
+					break;
+				case DATE:
+					ids = findDateCandidates(theParamName, next);
+					break;
+				default:
+					ids = null;
+			}
+			if (ids == null) {
+				return null;
+			}
+			retVal.addAll(ids);
+		}
+		return retVal;
+	}
+
+	@Nullable
+	private Collection<String> findTokenCandidates(String theParamName, IQueryParameterType theParam) {
+		if (!(theParam instanceof TokenParam)) {
+			return null;
+		}
+		TokenParam token = (TokenParam) theParam;
+		if (token.getModifier() != null || token.isMdmExpand()) {
+			return null;
+		}
+
+		IndexKey key;
+		if (isBlank(token.getSystem())) {
+			if (isBlank(token.getValue())) {
+				return null;
+			}
+			key = new IndexKey(IndexTypeEnum.TOKEN_VALUE, theParamName, foldCase(token.getValue()));
+		} else if (isBlank(token.getValue())) {
+			key = new IndexKey(IndexTypeEnum.TOKEN_SYSTEM, theParamName, foldCase(token.getSystem()));
+		} else {
+			key = new IndexKey(IndexTypeEnum.TOKEN_SYSTEM_AND_VALUE, theParamName, foldCase(token.getSystem()) + '\u0000' + foldCase(token.getValue()));
+		}
+		return snapshot(myTokenIndex.get(key));
+	}
+
+	@Nullable
+	private Collection<String> findStringCandidates(String theParamName, IQueryParameterType theParam) {
+		if (!(theParam instanceof StringParam)) {
+			return null;
+		}
+		StringParam string = (StringParam) theParam;
+		if (string.isExact() || string.isContains() || string.isText()) {
+			return null;
+		}
+		String prefix = StringUtil.normalizeStringForSearchIndexing(defaultString(string.getValue()));
+		if (prefix.isEmpty()) {
+			return null;
+		}
+
+		Set<String> retVal = new HashSet<>();
+		NavigableMap<String, Set<String>> index = myStringIndex.get(theParamName);
+		if (index != null) {
+			for (Set<String> next : index.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+				retVal.addAll(next);
+			}
+		}
+		return retVal;
+	}
+
+	@Nullable
+	private Collection<String> findDateCandidates(String theParamName, IQueryParameterType theParam) {
+		if (!(theParam instanceof DateParam)) {
+			return null;
+		}
+		DateParam date = (DateParam) theParam;
+		if (date.getValue() == null) {
+			return null;
+		}
+		ParamPrefixEnum prefix = date.getPrefix();
+		if (prefix != null) {
+			switch (prefix) {
+				case EQUAL:
+				case GREATERTHAN:
+				case GREATERTHAN_OR_EQUALS:
+				case LESSTHAN:
+				case LESSTHAN_OR_EQUALS:
+					break;
+				default:
+					return null;
+			}
+		}
+
+		DateRangeParam range = new DateRangeParam(date);
+		Date lowerBound = range.getLowerBoundAsInstant();
+		Date upperBound = range.getUpperBoundAsInstant();
+		long from = lowerBound != null ? lowerBound.getTime() - DATE_LOOKUP_MARGIN_MILLIS : Long.MIN_VALUE;
+		long to = upperBound != null ? upperBound.getTime() + DATE_LOOKUP_MARGIN_MILLIS : Long.MAX_VALUE;
+
+		Set<String> retVal = new HashSet<>();
+		NavigableMap<Long, Set<String>> index = myDateIndex.get(theParamName);
+		if (index != null) {
+			for (Set<String> next : index.subMap(from, true, to, true).values()) {
+				retVal.addAll(next);
+			}
+		}
+		return retVal;
+	}
+
+	private Set<String> getIdSet(IndexKey theKey, boolean theCreate) {
+		switch (theKey.myType) {
+			case STRING: {
+				NavigableMap<String, Set<String>> index = theCreate ? myStringIndex.computeIfAbsent(theKey.myParamName, t -> new ConcurrentSkipListMap<>()) : myStringIndex.get(theKey.myParamName);
+				return getIdSet(index, (String) theKey.myValue, theCreate);
+			}
+			case DATE: {
+				NavigableMap<Long, Set<String>> index = theCreate ? myDateIndex.computeIfAbsent(theKey.myParamName, t -> new ConcurrentSkipListMap<>()) : myDateIndex.get(theKey.myParamName);
+				return getIdSet(index, (Long) theKey.myValue, theCreate);
+			}
+			default:
+				return getIdSet(myTokenIndex, theKey, theCreate);
+		}
+	}
+
+	private static <K> Set<String> getIdSet(Map<K, Set<String>> theIndex, K theKey, boolean theCreate) {
+		if (theIndex == null) {
+			return null;
+		}
+		if (theCreate) {
+			return theIndex.computeIfAbsent(theKey, t -> ConcurrentHashMap.newKeySet());
+		}
+		return theIndex.get(theKey);
+	}
+
+	private static Collection<String> snapshot(Set<String> theIds) {
+		return theIds != null ? new HashSet<>(theIds) : new HashSet<>();
+	}
+
+	/**
+	 * Folds the case of a string the same way as {@link String#equalsIgnoreCase(String)}, which
+	 * is how token values are compared by the in-memory matcher
+	 */
+	private static String foldCase(String theInput) {
+		StringBuilder b = new StringBuilder(theInput.length());
+		for (int i = 0; i < theInput.length(); i++) {
+			b.append(Character.toLowerCase(Character.toUpperCase(theInput.charAt(i))));
+		}
+		return b.toString();
+	}
+
+	private enum IndexTypeEnum {
+		TOKEN_VALUE,
+		TOKEN_SYSTEM,
+		TOKEN_SYSTEM_AND_VALUE,
+		STRING,
+		DATE
+	}
+
+	private static class IndexKey {
+
+		private final IndexTypeEnum myType;
+		private final String myParamName;
+		private final Object myValue;
+
+		private IndexKey(IndexTypeEnum theType, String theParamName, Object theValue) {
+			myType = theType;
+			myParamName = theParamName;
+			myValue = theValue;
+		}
+
+		@Override
+		public boolean equals(Object theO) {
+			if (this == theO) {
+				return true;
+			}
+			if (!(theO instanceof IndexKey)) {
+				return false;
+			}
+			IndexKey that = (IndexKey) theO;
+			return myType == that.myType && myParamName.equals(that.myParamName) && myValue.equals(that.myValue);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(myType, myParamName, myValue);
+		}
+	}
+
+}
@@ -24,7 +24,9 @@ import ca.uhn.fhir.i18n.Msg;
 import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
 import ca.uhn.fhir.jpa.searchparam.matcher.InMemoryMatchResult;
+import ca.uhn.fhir.jpa.searchparam.matcher.IndexedSearchParamExtractor;
 import ca.uhn.fhir.jpa.searchparam.matcher.SearchParamMatcher;
+import ca.uhn.fhir.model.api.ResourceMetadataKeyEnum;
 import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.provider.HashMapResourceProvider;
@@ -32,10 +34,13 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 public class SearchableHashMapResourceProvider<T extends IBaseResource> extends HashMapResourceProvider<T> {
 	private final SearchParamMatcher mySearchParamMatcher;
+	private final IndexedSearchParamExtractor myIndexedSearchParamExtractor;
+	private final InMemorySearchParamIndex mySearchParamIndex;
 
 	/**
 	 * Constructor
@@ -44,8 +49,50 @@ public class SearchableHashMapResourceProvider<T extends IBaseResource> extends
 	 * @param theResourceType The resource type to support
 	 */
 	public SearchableHashMapResourceProvider(FhirContext theFhirContext, Class<T> theResourceType, SearchParamMatcher theSearchParamMatcher) {
+		this(theFhirContext, theResourceType, theSearchParamMatcher, null);
+	}
+
+	/**
+	 * Constructor which also maintains an in-memory index of the token, string and date search parameter
+	 * values of the stored resources. {@link #searchByParams(SearchParameterMap, RequestDetails)} uses this
+	 * index to avoid testing every stored resource against the search, at the cost of extracting the search
+	 * parameter values of each resource as it is stored.
+	 *
+	 * @param theFhirContext                The FHIR context
+	 * @param theResourceType               The resource type to support
+	 * @param theSearchParamMatcher         The matcher used to test resources against a search
+	 * @param theIndexedSearchParamExtractor The extractor used to index stored resources, or <code>null</code> to disable indexing
+	 * @since 6.6.0
+	 */
+	public SearchableHashMapResourceProvider(FhirContext theFhirContext, Class<T> theResourceType, SearchParamMatcher theSearchParamMatcher, IndexedSearchParamExtractor theIndexedSearchParamExtractor) {
 		super(theFhirContext, theResourceType);
 		mySearchParamMatcher = theSearchParamMatcher;
+		myIndexedSearchParamExtractor = theIndexedSearchParamExtractor;
+		if (theIndexedSearchParamExtractor != null) {
+			mySearchParamIndex = new InMemorySearchParamIndex(theFhirContext.getResourceDefinition(theResourceType));
+		} else {
+			mySearchParamIndex = null;
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		super.clear();
+		// This is called by the superclass constructor, before the index exists
+		if (mySearchParamIndex != null) {
+			mySearchParamIndex.clear();
+		}
+	}
+
+	@Override
+	protected void onResourceStored(String theIdPart, T theCurrentVersion) {
+		if (mySearchParamIndex != null) {
+			if (ResourceMetadataKeyEnum.DELETED_AT.get(theCurrentVersion) != null) {
+				mySearchParamIndex.update(theIdPart, null);
+			} else {
+				mySearchParamIndex.update(theIdPart, myIndexedSearchParamExtractor.extractIndexedSearchParams(theCurrentVersion, null));
+			}
+		}
 	}
 
 	public List<IBaseResource> searchByCriteria(String theCriteria, RequestDetails theRequest) {
@@ -54,12 +101,21 @@ public class SearchableHashMapResourceProvider<T extends IBaseResource> extends
 	}
 
 	public List<IBaseResource> searchByParams(SearchParameterMap theSearchParams, RequestDetails theRequest) {
-		return searchBy(resource -> mySearchParamMatcher.match(theSearchParams.toNormalizedQueryString(getFhirContext()), resource, theRequest), theRequest);
+		Set<String> candidateIds = null;
+		if (mySearchParamIndex != null) {
+			candidateIds = mySearchParamIndex.findCandidates(theSearchParams);
+		}
+		String criteria = theSearchParams.toNormalizedQueryString(getFhirContext());
+		return searchBy(resource -> mySearchParamMatcher.match(criteria, resource, theRequest), candidateIds, theRequest);
 	}
 
 	private List<IBaseResource> searchBy(Function<IBaseResource, InMemoryMatchResult> theMatcher, RequestDetails theRequest) {
+		return searchBy(theMatcher, null, theRequest);
+	}
+
+	private List<IBaseResource> searchBy(Function<IBaseResource, InMemoryMatchResult> theMatcher, Set<String> theCandidateIds, RequestDetails theRequest) {
 		mySearchCount.incrementAndGet();
-		List<T> allEResources = getAllResources();
+		List<T> allEResources = theCandidateIds != null ? getCurrentResources(theCandidateIds) : getAllResources();
 
 		List<T> matches = new ArrayList<>();
 		for (T resource : allEResources) {
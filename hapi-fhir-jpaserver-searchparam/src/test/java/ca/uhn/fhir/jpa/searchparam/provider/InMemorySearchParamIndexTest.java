@@ -0,0 +1,131 @@
+package ca.uhn.fhir.jpa.searchparam.provider;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.jpa.model.config.PartitionSettings;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamDate;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamString;
+import ca.uhn.fhir.jpa.model.entity.ResourceIndexedSearchParamToken;
+import ca.uhn.fhir.jpa.model.entity.StorageSettings;
+import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
+import ca.uhn.fhir.jpa.searchparam.extractor.ResourceIndexedSearchParams;
+import ca.uhn.fhir.model.api.IQueryParameterType;
+import ca.uhn.fhir.rest.param.DateParam;
+import ca.uhn.fhir.rest.param.ParamPrefixEnum;
+import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.param.TokenParamModifier;
+import ca.uhn.fhir.util.StringUtil;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class InMemorySearchParamIndexTest {
+
+	private static final FhirContext ourCtx = FhirContext.forR4Cached();
+	private final PartitionSettings myPartitionSettings = new PartitionSettings();
+	private final StorageSettings myStorageSettings = new StorageSettings();
+	private final InMemorySearchParamIndex myIndex = new InMemorySearchParamIndex(ourCtx.getResourceDefinition(Patient.class));
+
+	@Test
+	public void testTokenLookup() {
+		myIndex.update("1", params(token("identifier", "http://foo", "ABC")));
+		myIndex.update("2", params(token("identifier", "http://bar", "abc")));
+		myIndex.update("3", params(token("identifier", "http://foo", "DEF")));
+
+		assertThat(myIndex.findCandidates(map("identifier", new TokenParam(null, "abc"))), containsInAnyOrder("1", "2"));
+		assertThat(myIndex.findCandidates(map("identifier", new TokenParam("http://FOO", "abc"))), contains("1"));
+		assertThat(myIndex.findCandidates(map("identifier", new TokenParam("http://foo", null))), containsInAnyOrder("1", "3"));
+		assertThat(myIndex.findCandidates(map("identifier", new TokenParam(null, "XYZ"))), empty());
+
+		// Modifiers can't be answered from the index
+		assertNull(myIndex.findCandidates(map("identifier", new TokenParam(null, "abc").setModifier(TokenParamModifier.NOT))));
+	}
+
+	@Test
+	public void testStringPrefixLookup() {
+		myIndex.update("1", params(string("family", "Simpson")));
+		myIndex.update("2", params(string("family", "Simmons")));
+		myIndex.update("3", params(string("family", "Flanders")));
+
+		assertThat(myIndex.findCandidates(map("family", new StringParam("sim"))), containsInAnyOrder("1", "2"));
+		assertThat(myIndex.findCandidates(map("family", new StringParam("SIMPS"))), contains("1"));
+		assertNull(myIndex.findCandidates(map("family", new StringParam("son").setContains(true))));
+	}
+
+	@Test
+	public void testDateLookup() {
+		myIndex.update("1", params(date("birthdate", new Date(1_000_000_000_000L))));
+		myIndex.update("2", params(date("birthdate", new Date(1_600_000_000_000L))));
+
+		assertThat(myIndex.findCandidates(map("birthdate", new DateParam(ParamPrefixEnum.GREATERTHAN, new Date(1_500_000_000_000L)))), contains("2"));
+		assertThat(myIndex.findCandidates(map("birthdate", new DateParam(ParamPrefixEnum.LESSTHAN, new Date(1_500_000_000_000L)))), contains("1"));
+		assertNull(myIndex.findCandidates(map("birthdate", new DateParam(ParamPrefixEnum.NOT_EQUAL, new Date(1_500_000_000_000L)))));
+	}
+
+	@Test
+	public void testAndOfOrs() {
+		myIndex.update("1", params(token("gender", null, "male"), string("family", "Simpson")));
+		myIndex.update("2", params(token("gender", null, "female"), string("family", "Simpson")));
+		myIndex.update("3", params(token("gender", null, "female"), string("family", "Flanders")));
+
+		SearchParameterMap map = new SearchParameterMap();
+		map.add("gender", new TokenParam(null, "male"));
+		map.add("family", new StringParam("simpson"));
+		assertThat(myIndex.findCandidates(map), contains("1"));
+
+		// Parameters which aren't indexed don't narrow the candidates
+		map = new SearchParameterMap();
+		map.add("_id", new TokenParam("1"));
+		assertNull(myIndex.findCandidates(map));
+	}
+
+	@Test
+	public void testUpdateReplacesValues() {
+		myIndex.update("1", params(string("family", "Simpson")));
+		myIndex.update("1", params(string("family", "Flanders")));
+
+		assertThat(myIndex.findCandidates(map("family", new StringParam("simpson"))), empty());
+		assertThat(myIndex.findCandidates(map("family", new StringParam("flanders"))), contains("1"));
+
+		myIndex.update("1", null);
+		assertThat(myIndex.findCandidates(map("family", new StringParam("flanders"))), empty());
+	}
+
+	private SearchParameterMap map(String theParamName, IQueryParameterType theParam) {
+		return new SearchParameterMap().add(theParamName, theParam);
+	}
+
+	private ResourceIndexedSearchParams params(Object... theParams) {
+		ResourceIndexedSearchParams retVal = new ResourceIndexedSearchParams();
+		for (Object next : theParams) {
+			if (next instanceof ResourceIndexedSearchParamToken) {
+				retVal.myTokenParams.add((ResourceIndexedSearchParamToken) next);
+			} else if (next instanceof ResourceIndexedSearchParamString) {
+				retVal.myStringParams.add((ResourceIndexedSearchParamString) next);
+			} else {
+				retVal.myDateParams.add((ResourceIndexedSearchParamDate) next);
+			}
+		}
+		return retVal;
+	}
+
+	private ResourceIndexedSearchParamToken token(String theParamName, String theSystem, String theValue) {
+		return new ResourceIndexedSearchParamToken(myPartitionSettings, "Patient", theParamName, theSystem, theValue);
+	}
+
+	private ResourceIndexedSearchParamString string(String theParamName, String theValue) {
+		return new ResourceIndexedSearchParamString(myPartitionSettings, myStorageSettings, "Patient", theParamName, StringUtil.normalizeStringForSearchIndexing(theValue), theValue);
+	}
+
+	private ResourceIndexedSearchParamDate date(String theParamName, Date theValue) {
+		return new ResourceIndexedSearchParamDate(myPartitionSettings, "Patient", theParamName, theValue, null, theValue, null, null);
+	}
+
+}
@@ -0,0 +1,73 @@
+package ca.uhn.fhir.jpa.dao.r4;
+
+import ca.uhn.fhir.jpa.api.config.JpaStorageSettings;
+import ca.uhn.fhir.jpa.model.entity.ResourceEncodingEnum;
+import ca.uhn.fhir.jpa.model.entity.ResourceHistoryTable;
+import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
+import ca.uhn.fhir.jpa.test.BaseJpaR4Test;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.DecimalType;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Quantity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class FhirResourceDaoR4SmileEncodingTest extends BaseJpaR4Test {
+
+	@AfterEach
+	public void afterResetDao() {
+		myStorageSettings.setResourceEncoding(new JpaStorageSettings().getResourceEncoding());
+	}
+
+	@Test
+	public void testMixedEncodingsInHistory() {
+		myStorageSettings.setResourceEncoding(ResourceEncodingEnum.JSONC);
+		Long resourceId = myObservationDao.create(newObservation("1.50")).getId().getIdPartAsLong();
+
+		myStorageSettings.setResourceEncoding(ResourceEncodingEnum.SMILE);
+		Observation observation = newObservation("2.500");
+		observation.setId("Observation/" + resourceId);
+		myObservationDao.update(observation);
+
+		runInTransaction(() -> {
+			ResourceHistoryTable entity = myResourceHistoryTableDao.findForIdAndVersionAndFetchProvenance(resourceId, 1);
+			assertEquals(ResourceEncodingEnum.JSONC, entity.getEncoding());
+			entity = myResourceHistoryTableDao.findForIdAndVersionAndFetchProvenance(resourceId, 2);
+			assertEquals(ResourceEncodingEnum.SMILE, entity.getEncoding());
+			assertNotNull(entity.getResource());
+			assertNull(entity.getResourceTextVc());
+		});
+
+		// Decimal precision must survive the round trip through the binary format
+		observation = myObservationDao.read(new IdType("Observation/" + resourceId + "/_history/2"));
+		assertEquals("2.500", observation.getValueQuantity().getValueElement().getValueAsString());
+		assertEquals("kg", observation.getValueQuantity().getUnit());
+
+		observation = myObservationDao.read(new IdType("Observation/" + resourceId + "/_history/1"));
+		assertEquals("1.50", observation.getValueQuantity().getValueElement().getValueAsString());
+
+		List<IBaseResource> history = myObservationDao.history(new IdType("Observation/" + resourceId), null, null, null, mySrd).getAllResources();
+		assertEquals(2, history.size());
+
+		List<IBaseResource> found = myObservationDao.search(SearchParameterMap.newSynchronous()).getAllResources();
+		assertEquals(1, found.size());
+		assertEquals(new BigDecimal("2.500"), ((Observation) found.get(0)).getValueQuantity().getValue());
+	}
+
+	private static Observation newObservation(String theValue) {
+		Observation observation = new Observation();
+		observation.setStatus(Observation.ObservationStatus.FINAL);
+		observation.getCode().addCoding().setSystem("http://loinc.org").setCode("29463-7");
+		observation.setValue(new Quantity().setValueElement(new DecimalType(theValue)).setUnit("kg").setSystem("http://unitsofmeasure.org").setCode("kg"));
+		return observation;
+	}
+
+}
@@ -0,0 +1,144 @@
+package ca.uhn.fhir.jpa.delete.job;
+
+import ca.uhn.fhir.batch2.api.IJobCoordinator;
+import ca.uhn.fhir.batch2.jobs.reencode.ReencodeResourcesAppCtx;
+import ca.uhn.fhir.batch2.jobs.reencode.ReencodeResourcesJobParameters;
+import ca.uhn.fhir.batch2.model.JobInstanceStartRequest;
+import ca.uhn.fhir.jpa.api.config.JpaStorageSettings;
+import ca.uhn.fhir.jpa.api.svc.IResourceEncodingDictionarySvc;
+import ca.uhn.fhir.jpa.batch.models.Batch2JobStartResponse;
+import ca.uhn.fhir.jpa.model.entity.ResourceEncodingEnum;
+import ca.uhn.fhir.jpa.model.entity.ResourceHistoryTable;
+import ca.uhn.fhir.jpa.searchparam.SearchParameterMap;
+import ca.uhn.fhir.jpa.test.BaseJpaR4Test;
+import ca.uhn.fhir.jpa.test.Batch2JobHelper;
+import org.hl7.fhir.instance.model.api.IIdType;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Quantity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ReencodeResourcesJobTest extends BaseJpaR4Test {
+	@Autowired
+	private IJobCoordinator myJobCoordinator;
+	@Autowired
+	private Batch2JobHelper myBatch2JobHelper;
+	@Autowired
+	private IResourceEncodingDictionarySvc myResourceEncodingDictionarySvc;
+
+	@AfterEach
+	public void after() {
+		myStorageSettings.setResourceEncoding(new JpaStorageSettings().getResourceEncoding());
+	}
+
+	@Test
+	public void testReencodeWithTrainedDictionary() {
+		myStorageSettings.setResourceEncoding(ResourceEncodingEnum.JSONC);
+		List<IIdType> ids = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			ids.add(myObservationDao.create(newObservation(i)).getId().toUnqualifiedVersionless());
+		}
+
+		// No dictionary has been trained yet, so this falls back to JSONC
+		myStorageSettings.setResourceEncoding(ResourceEncodingEnum.JSOND);
+		ids.add(myObservationDao.create(newObservation(30)).getId().toUnqualifiedVersionless());
+		long sizeBefore = runInTransaction(() -> {
+			List<ResourceHistoryTable> history = myResourceHistoryTableDao.findAll();
+			history.forEach(t -> assertEquals(ResourceEncodingEnum.JSONC, t.getEncoding()));
+			return history.stream().mapToLong(t -> t.getResource().length).sum();
+		});
+
+		Batch2JobStartResponse startResponse = startReencodeJob();
+		myBatch2JobHelper.awaitJobCompletion(startResponse);
+
+		long sizeAfter = runInTransaction(() -> {
+			List<ResourceHistoryTable> history = myResourceHistoryTableDao.findAll();
+			assertEquals(31, history.size());
+			history.forEach(t -> {
+				assertEquals(ResourceEncodingEnum.JSOND, t.getEncoding());
+				assertNotNull(t.getEncodingDictionaryId());
+			});
+			return history.stream().mapToLong(t -> t.getResource().length).sum();
+		});
+		assertThat(sizeAfter, lessThan(sizeBefore));
+
+		// Newly stored resources use the dictionary straight away
+		IIdType newId = myObservationDao.create(newObservation(31)).getId().toUnqualifiedVersionless();
+		runInTransaction(() -> {
+			ResourceHistoryTable history = myResourceHistoryTableDao.findForIdAndVersionAndFetchProvenance(newId.getIdPartAsLong(), 1);
+			assertEquals(ResourceEncodingEnum.JSOND, history.getEncoding());
+			assertNotNull(history.getEncodingDictionaryId());
+			assertNull(history.getResourceTextVc());
+		});
+
+		// Read and search
+		Observation observation = myObservationDao.read(ids.get(5), mySrd);
+		assertEquals("5.50", observation.getValueQuantity().getValueElement().getValueAsString());
+		assertEquals("OBS5", observation.getIdentifierFirstRep().getValue());
+		List<Observation> found = toList(myObservationDao.search(SearchParameterMap.newSynchronous()));
+		assertEquals(32, found.size());
+
+		// An update without changes doesn't create a new version
+		observation = newObservation(5);
+		observation.setId(ids.get(5));
+		assertEquals("1", myObservationDao.update(observation, mySrd).getId().getVersionIdPart());
+
+		// Nor does it once the dictionary has been retrained
+		assertNotNull(myResourceEncodingDictionarySvc.trainDictionary("Observation"));
+		observation = newObservation(6);
+		observation.setId(ids.get(6));
+		assertEquals("1", myObservationDao.update(observation, mySrd).getId().getVersionIdPart());
+	}
+
+	@Test
+	public void testReencodeWhenEncodingIsNotJsond() {
+		myStorageSettings.setResourceEncoding(ResourceEncodingEnum.JSONC);
+		for (int i = 0; i < 30; i++) {
+			myObservationDao.create(newObservation(i));
+		}
+
+		Batch2JobStartResponse startResponse = startReencodeJob();
+		myBatch2JobHelper.awaitJobCompletion(startResponse);
+
+		runInTransaction(() -> {
+			List<ResourceHistoryTable> history = myResourceHistoryTableDao.findAll();
+			assertEquals(30, history.size());
+			history.forEach(t -> {
+				assertEquals(ResourceEncodingEnum.JSONC, t.getEncoding());
+				assertNull(t.getEncodingDictionaryId());
+			});
+		});
+	}
+
+	private Batch2JobStartResponse startReencodeJob() {
+		ReencodeResourcesJobParameters jobParameters = new ReencodeResourcesJobParameters();
+		jobParameters.addResourceType("Observation");
+		jobParameters.setBatchSize(10);
+		JobInstanceStartRequest startRequest = new JobInstanceStartRequest();
+		startRequest.setJobDefinitionId(ReencodeResourcesAppCtx.JOB_REENCODE_RESOURCES);
+		startRequest.setParameters(jobParameters);
+		return myJobCoordinator.startInstance(startRequest);
+	}
+
+	private static Observation newObservation(int theIndex) {
+		Observation observation = new Observation();
+		observation.setStatus(Observation.ObservationStatus.FINAL);
+		observation.getCategoryFirstRep().addCoding().setSystem("http://terminology.hl7.org/CodeSystem/observation-category").setCode("vital-signs").setDisplay("Vital Signs");
+		observation.getCode().addCoding().setSystem("http://loinc.org").setCode("29463-7").setDisplay("Body weight");
+		observation.addIdentifier().setSystem("http://example.com/observation").setValue("OBS" + theIndex);
+		observation.setValue(new Quantity().setValue(new BigDecimal(theIndex + ".50")).setUnit("kg").setSystem("http://unitsofmeasure.org").setCode("kg"));
+		return observation;
+	}
+
+}
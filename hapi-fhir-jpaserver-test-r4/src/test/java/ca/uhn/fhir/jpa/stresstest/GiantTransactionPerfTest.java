@@ -28,6 +28,7 @@ import ca.uhn.fhir.jpa.dao.r4.TransactionProcessorVersionAdapterR4;
 import ca.uhn.fhir.jpa.dao.tx.HapiTransactionService;
 import ca.uhn.fhir.jpa.model.config.PartitionSettings;
 import ca.uhn.fhir.jpa.model.entity.PartitionablePartitionId;
+import ca.uhn.fhir.jpa.model.entity.ResourceEncodingEnum;
 import ca.uhn.fhir.jpa.model.entity.ResourceHistoryTable;
 import ca.uhn.fhir.jpa.model.entity.ResourceTable;
 import ca.uhn.fhir.jpa.model.sched.ISchedulerService;
@@ -94,6 +95,7 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.metamodel.Metamodel;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -374,6 +376,16 @@ public class GiantTransactionPerfTest {
 			throw new UnsupportedOperationException();
 		}
 
+		@Override
+		public Slice<ResourceHistoryTable> findMostRecentForResourceType(Pageable thePage, String theResourceType, Collection<ResourceEncodingEnum> theEncodings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Slice<Long> findIdsNotUsingEncodingDictionary(Pageable thePage, String theResourceType, long theAfterId, Collection<ResourceEncodingEnum> theEncodings, long theDictionaryId) {
+			throw new UnsupportedOperationException();
+		}
+
 		@Override
 		public void updateVersion(long theId, long theOldVersion, long theNewVersion) {
 			throw new UnsupportedOperationException();
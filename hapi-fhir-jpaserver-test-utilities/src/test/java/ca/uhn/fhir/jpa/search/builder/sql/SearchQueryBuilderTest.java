@@ -7,6 +7,7 @@ import ca.uhn.fhir.jpa.model.config.PartitionSettings;
 import ca.uhn.fhir.jpa.model.entity.StorageSettings;
 import ca.uhn.fhir.jpa.search.builder.predicate.ResourceTablePredicateBuilder;
 import com.google.common.collect.Lists;
+import org.apache.commons.lang3.StringUtils;
 import org.hibernate.dialect.DerbyTenSevenDialect;
 import org.hibernate.dialect.MariaDB103Dialect;
 import org.hibernate.dialect.MySQL8Dialect;
@@ -14,6 +15,7 @@ import org.hibernate.dialect.Oracle12cDialect;
 import org.hibernate.dialect.PostgreSQL95Dialect;
 import org.hibernate.dialect.SQLServer2005Dialect;
 import org.hibernate.dialect.SQLServer2012Dialect;
+import org.hibernate.dialect.SQLServer2016Dialect;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,10 +26,14 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @ExtendWith(SpringExtension.class)
@@ -436,6 +442,60 @@ public class SearchQueryBuilderTest {
 
 	}
 	
+	@Test
+	public void testLargeResourceIdListPostgres() {
+		HibernatePropertiesProvider dialectProvider = new HibernatePropertiesProvider();
+		dialectProvider.setDialectForUnitTest(new PostgreSQL95Dialect());
+		SearchQueryBuilder builder = new SearchQueryBuilder(myFhirContext, myStorageSettings, myPartitionSettings, myRequestPartitionId, "Patient", mySqlBuilderFactory, dialectProvider, false);
+		builder.addResourceIdsPredicate(createPidList(2500));
+
+		GeneratedSql generated = builder.generate(null, null);
+		assertEquals("SELECT t0.RES_ID FROM HFJ_RESOURCE t0 WHERE (((t0.RES_TYPE = ?) AND (t0.RES_DELETED_AT IS NULL)) AND (t0.RES_ID = ANY(CAST(? AS bigint[]))))", generated.getSql());
+		assertEquals(2, generated.getBindVariables().size());
+		assertThat((String) generated.getBindVariables().get(1), startsWith("{0,1,2,"));
+		assertThat((String) generated.getBindVariables().get(1), endsWith(",2498,2499}"));
+		assertEquals(Integer.MAX_VALUE, SearchQueryBuilder.getMaximumResourceIdsPerQuery(new PostgreSQL95Dialect()));
+	}
+
+	@Test
+	public void testLargeResourceIdListSqlServer2016() {
+		HibernatePropertiesProvider dialectProvider = new HibernatePropertiesProvider();
+		dialectProvider.setDialectForUnitTest(new SQLServer2016Dialect());
+		SearchQueryBuilder builder = new SearchQueryBuilder(myFhirContext, myStorageSettings, myPartitionSettings, myRequestPartitionId, "Patient", mySqlBuilderFactory, dialectProvider, false);
+		builder.addResourceIdsPredicate(createPidList(2500));
+
+		GeneratedSql generated = builder.generate(null, null);
+		assertEquals("SELECT t0.RES_ID FROM HFJ_RESOURCE t0 WHERE (((t0.RES_TYPE = ?) AND (t0.RES_DELETED_AT IS NULL)) AND (t0.RES_ID IN (SELECT CAST(value AS bigint) FROM STRING_SPLIT(?, ',')) ))", generated.getSql());
+		assertEquals(2, generated.getBindVariables().size());
+		assertThat((String) generated.getBindVariables().get(1), startsWith("0,1,2,"));
+		assertEquals(Integer.MAX_VALUE, SearchQueryBuilder.getMaximumResourceIdsPerQuery(new SQLServer2016Dialect()));
+		assertEquals(2000, SearchQueryBuilder.getMaximumResourceIdsPerQuery(new SQLServer2012Dialect()));
+	}
+
+	@Test
+	public void testLargeResourceIdListOracle() {
+		HibernatePropertiesProvider dialectProvider = new HibernatePropertiesProvider();
+		dialectProvider.setDialectForUnitTest(new Oracle12cDialect());
+		SearchQueryBuilder builder = new SearchQueryBuilder(myFhirContext, myStorageSettings, myPartitionSettings, myRequestPartitionId, "Patient", mySqlBuilderFactory, dialectProvider, false);
+		builder.addResourceIdsPredicate(createPidList(2500));
+
+		GeneratedSql generated = builder.generate(null, null);
+		assertEquals(3, StringUtils.countMatches(generated.getSql(), " IN ("));
+		assertEquals(2, StringUtils.countMatches(generated.getSql(), " OR "));
+		assertEquals(2501, StringUtils.countMatches(generated.getSql(), "?"));
+		assertEquals(2501, generated.getBindVariables().size());
+		assertEquals(2499L, generated.getBindVariables().get(2500));
+		assertEquals(Integer.MAX_VALUE, SearchQueryBuilder.getMaximumResourceIdsPerQuery(new Oracle12cDialect()));
+	}
+
+	private static List<Long> createPidList(int theCount) {
+		List<Long> retVal = new ArrayList<>();
+		for (long i = 0; i < theCount; i++) {
+			retVal.add(i);
+		}
+		return retVal;
+	}
+
 	@Configuration
 	public static class MyConfig {
 
@@ -82,6 +82,26 @@ public interface IRestfulResponse {
 	@Nonnull
 	OutputStream getResponseOutputStream(int theStatusCode, String theContentType, @Nullable Integer theContentLength) throws IOException;
 
+	/**
+	 * Initiate a new textual response which the caller will write as already encoded bytes in
+	 * the given charset, instead of through a {@link Writer}. This allows encoders which are
+	 * able to produce bytes directly to skip the character encoding layer. The OutputStream
+	 * returned by this method must be finalized by calling {@link #commitResponse(Closeable)} later.
+	 *
+	 * @param theStatusCode  The HTTP status code.
+	 * @param theContentType The HTTP response content type.
+	 * @param theCharset     The HTTP response charset. The caller must write bytes in this charset.
+	 * @param theRespondGzip Should the response be GZip encoded?
+	 * @return Returns an {@link OutputStream} that can accept the response body, or {@literal null} if
+	 * this response type does not support writing text as bytes, in which case
+	 * {@link #getResponseWriter(int, String, String, boolean)} should be used instead.
+	 * @since 6.6.0
+	 */
+	@Nullable
+	default OutputStream getResponseTextOutputStream(int theStatusCode, String theContentType, String theCharset, boolean theRespondGzip) throws IOException {
+		return null;
+	}
+
 	/**
 	 * Finalizes the response streaming using the writer that was returned by calling either
 	 * {@link #getResponseWriter(int, String, String, boolean)} or
@@ -36,4 +36,15 @@ public interface IRestfulServer<T extends RequestDetails> extends IRestfulServer
 	default boolean canStoreSearchResults() {
 		return getPagingProvider() != null && getPagingProvider().canStoreSearchResults();
 	}
+
+	/**
+	 * Returns the number of resources to load from an {@link IBundleProvider} at a time when
+	 * encoding a search response lazily, or <code>0</code> (the default) if search responses
+	 * should be fully assembled before being encoded.
+	 *
+	 * @since 6.6.0
+	 */
+	default int getLazyBundleEncodingBatchSize() {
+		return 0;
+	}
 }
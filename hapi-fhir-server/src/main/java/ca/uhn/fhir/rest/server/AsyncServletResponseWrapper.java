@@ -0,0 +1,314 @@
+package ca.uhn.fhir.rest.server;
+
+/*
+ * #%L
+ * HAPI FHIR - Server Framework
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Wraps the response of a request which is being processed asynchronously. Once {@link #detach()}
+ * has been called (because the container timed the request out or reported an error), nothing more
+ * is passed through to the container's response: writes fail with an {@link IOException}, and status
+ * and header changes are ignored. This stops the thread which is still processing the request from
+ * writing to a response which the container may already have completed and recycled.
+ * <p>
+ * Every call which changes the wrapped response holds a lock, and {@link #detach()} takes the same
+ * lock, so once it returns no such call is in progress. A write which is blocked on a slow client
+ * therefore delays the detach until it completes.
+ * </p>
+ */
+class AsyncServletResponseWrapper extends HttpServletResponseWrapper {
+
+	private final Object myLock = new Object();
+	private boolean myDetached;
+	private ServletOutputStream myOutputStream;
+	private PrintWriter myWriter;
+
+	AsyncServletResponseWrapper(HttpServletResponse theResponse) {
+		super(theResponse);
+	}
+
+	/**
+	 * Stops anything further from being passed through to the wrapped response, waiting for any
+	 * call which is currently doing so to finish
+	 */
+	void detach() {
+		synchronized (myLock) {
+			myDetached = true;
+		}
+	}
+
+	private void checkAttached() throws IOException {
+		if (myDetached) {
+			throw new IOException(Msg.code(2313) + "The response for this request is no longer available, it has already been completed");
+		}
+	}
+
+	private void ifAttached(Runnable theAction) {
+		synchronized (myLock) {
+			if (!myDetached) {
+				theAction.run();
+			}
+		}
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		synchronized (myLock) {
+			checkAttached();
+			if (myOutputStream == null) {
+				myOutputStream = new GuardedOutputStream(super.getOutputStream());
+			}
+			return myOutputStream;
+		}
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		synchronized (myLock) {
+			checkAttached();
+			if (myWriter == null) {
+				myWriter = new PrintWriter(new GuardedWriter(super.getWriter()));
+			}
+			return myWriter;
+		}
+	}
+
+	@Override
+	public void sendError(int theStatusCode, String theMessage) throws IOException {
+		synchronized (myLock) {
+			checkAttached();
+			super.sendError(theStatusCode, theMessage);
+		}
+	}
+
+	@Override
+	public void sendError(int theStatusCode) throws IOException {
+		synchronized (myLock) {
+			checkAttached();
+			super.sendError(theStatusCode);
+		}
+	}
+
+	@Override
+	public void sendRedirect(String theLocation) throws IOException {
+		synchronized (myLock) {
+			checkAttached();
+			super.sendRedirect(theLocation);
+		}
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		synchronized (myLock) {
+			checkAttached();
+			super.flushBuffer();
+		}
+	}
+
+	@Override
+	public void setStatus(int theStatusCode) {
+		ifAttached(() -> super.setStatus(theStatusCode));
+	}
+
+	@SuppressWarnings("deprecation")
+	@Override
+	public void setStatus(int theStatusCode, String theMessage) {
+		ifAttached(() -> super.setStatus(theStatusCode, theMessage));
+	}
+
+	@Override
+	public void addCookie(Cookie theCookie) {
+		ifAttached(() -> super.addCookie(theCookie));
+	}
+
+	@Override
+	public void setHeader(String theName, String theValue) {
+		ifAttached(() -> super.setHeader(theName, theValue));
+	}
+
+	@Override
+	public void addHeader(String theName, String theValue) {
+		ifAttached(() -> super.addHeader(theName, theValue));
+	}
+
+	@Override
+	public void setDateHeader(String theName, long theDate) {
+		ifAttached(() -> super.setDateHeader(theName, theDate));
+	}
+
+	@Override
+	public void addDateHeader(String theName, long theDate) {
+		ifAttached(() -> super.addDateHeader(theName, theDate));
+	}
+
+	@Override
+	public void setIntHeader(String theName, int theValue) {
+		ifAttached(() -> super.setIntHeader(theName, theValue));
+	}
+
+	@Override
+	public void addIntHeader(String theName, int theValue) {
+		ifAttached(() -> super.addIntHeader(theName, theValue));
+	}
+
+	@Override
+	public void setCharacterEncoding(String theCharset) {
+		ifAttached(() -> super.setCharacterEncoding(theCharset));
+	}
+
+	@Override
+	public void setContentLength(int theLength) {
+		ifAttached(() -> super.setContentLength(theLength));
+	}
+
+	@Override
+	public void setContentLengthLong(long theLength) {
+		ifAttached(() -> super.setContentLengthLong(theLength));
+	}
+
+	@Override
+	public void setContentType(String theType) {
+		ifAttached(() -> super.setContentType(theType));
+	}
+
+	@Override
+	public void setBufferSize(int theSize) {
+		ifAttached(() -> super.setBufferSize(theSize));
+	}
+
+	@Override
+	public void setLocale(Locale theLocale) {
+		ifAttached(() -> super.setLocale(theLocale));
+	}
+
+	@Override
+	public void reset() {
+		ifAttached(super::reset);
+	}
+
+	@Override
+	public void resetBuffer() {
+		ifAttached(super::resetBuffer);
+	}
+
+	private class GuardedOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream myWrap;
+
+		GuardedOutputStream(ServletOutputStream theWrap) {
+			myWrap = theWrap;
+		}
+
+		@Override
+		public boolean isReady() {
+			return myWrap.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener theWriteListener) {
+			myWrap.setWriteListener(theWriteListener);
+		}
+
+		@Override
+		public void write(int theByte) throws IOException {
+			synchronized (myLock) {
+				checkAttached();
+				myWrap.write(theByte);
+			}
+		}
+
+		@Override
+		public void write(byte[] theBytes, int theOffset, int theLength) throws IOException {
+			synchronized (myLock) {
+				checkAttached();
+				myWrap.write(theBytes, theOffset, theLength);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			synchronized (myLock) {
+				checkAttached();
+				myWrap.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			synchronized (myLock) {
+				checkAttached();
+				myWrap.close();
+			}
+		}
+	}
+
+	private class GuardedWriter extends Writer {
+
+		private final Writer myWrap;
+
+		GuardedWriter(Writer theWrap) {
+			myWrap = theWrap;
+		}
+
+		@Override
+		public void write(char[] theChars, int theOffset, int theLength) throws IOException {
+			synchronized (myLock) {
+				checkAttached();
+				myWrap.write(theChars, theOffset, theLength);
+			}
+		}
+
+		@Override
+		public void write(String theString, int theOffset, int theLength) throws IOException {
+			synchronized (myLock) {
+				checkAttached();
+				myWrap.write(theString, theOffset, theLength);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			synchronized (myLock) {
+				checkAttached();
+				myWrap.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			synchronized (myLock) {
+				checkAttached();
+				myWrap.close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,260 @@
+package ca.uhn.fhir.rest.server;
+
+/*
+ * #%L
+ * HAPI FHIR - Server Framework
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.time.DateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory paging provider which can be used safely by servers with heavy paging traffic.
+ * <p>
+ * Unlike {@link FifoMemoryPagingProvider}, lookups and stores don't contend on a single lock, and the
+ * number of stored result lists is limited by their total <b>weight</b> rather than by their count. By
+ * default the weight of a result list is the number of resources it contains (see
+ * {@link #setWeigher(ToLongFunction)}), so a few very large result lists can't exhaust the heap. When the
+ * maximum weight is exceeded, the oldest result lists are evicted first. Result lists also expire once
+ * they are older than the {@link #setTimeToLiveMillis(long) time to live}.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+public class ConcurrentMemoryPagingProvider extends BasePagingProvider {
+
+	/**
+	 * Default value for {@link #setTimeToLiveMillis(long)}: one hour
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE_MILLIS = DateUtils.MILLIS_PER_HOUR;
+	private static final Logger ourLog = LoggerFactory.getLogger(ConcurrentMemoryPagingProvider.class);
+
+	private final Map<String, Entry> myEntries = new ConcurrentHashMap<>();
+	private final Queue<Entry> myInsertionOrder = new ConcurrentLinkedQueue<>();
+	private final AtomicLong myTotalWeight = new AtomicLong();
+	private final LongAdder myHitCount = new LongAdder();
+	private final LongAdder myMissCount = new LongAdder();
+	private final LongAdder myEvictionCount = new LongAdder();
+	private final LongAdder myExpiryCount = new LongAdder();
+	private final long myMaximumWeight;
+	private volatile long myTimeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+	private volatile ToLongFunction<IBundleProvider> myWeigher = ConcurrentMemoryPagingProvider::defaultWeight;
+	private volatile LongSupplier myClock = System::currentTimeMillis;
+
+	/**
+	 * Constructor
+	 *
+	 * @param theMaximumWeight The maximum total weight of the stored result lists. With the default
+	 *                         weigher this is the total number of resources held.
+	 */
+	public ConcurrentMemoryPagingProvider(long theMaximumWeight) {
+		Validate.isTrue(theMaximumWeight > 0, "theMaximumWeight must be greater than 0");
+		myMaximumWeight = theMaximumWeight;
+	}
+
+	@Override
+	public IBundleProvider retrieveResultList(RequestDetails theRequest, String theId) {
+		Entry entry = myEntries.get(theId);
+		if (entry == null) {
+			myMissCount.increment();
+			return null;
+		}
+		if (isExpired(entry, myClock.getAsLong())) {
+			if (remove(entry)) {
+				myExpiryCount.increment();
+			}
+			myMissCount.increment();
+			return null;
+		}
+		myHitCount.increment();
+		return entry.myBundleProvider;
+	}
+
+	/**
+	 * Stores a result list and returns an ID with which that list can be returned, or returns
+	 * <code>null</code> if the list is heavier than the {@link #getMaximumWeight() maximum weight}
+	 * and so can not be retained. In that case only the first page is returned to the client,
+	 * without links to further pages.
+	 */
+	@Override
+	public String storeResultList(RequestDetails theRequestDetails, IBundleProvider theList) {
+		long now = myClock.getAsLong();
+		long weight = Math.max(1, myWeigher.applyAsLong(theList));
+
+		if (weight > myMaximumWeight) {
+			ourLog.warn("Result list with weight {} exceeds the maximum weight of {} and will not be retained for paging", weight, myMaximumWeight);
+			return null;
+		}
+
+		String key = UUID.randomUUID().toString();
+
+		Entry entry = new Entry(key, theList, weight, now);
+		myEntries.put(key, entry);
+		myInsertionOrder.add(entry);
+		myTotalWeight.addAndGet(weight);
+
+		evict(now);
+		return key;
+	}
+
+	/**
+	 * Removes expired entries from the front of the insertion queue, and then the oldest entries until
+	 * the total weight is within the maximum
+	 */
+	private void evict(long theNow) {
+		Entry next;
+		while ((next = myInsertionOrder.peek()) != null && (isExpired(next, theNow) || !myEntries.containsKey(next.myKey))) {
+			if (myInsertionOrder.remove(next) && remove(next)) {
+				myExpiryCount.increment();
+			}
+		}
+		while (myTotalWeight.get() > myMaximumWeight && (next = myInsertionOrder.poll()) != null) {
+			if (remove(next)) {
+				myEvictionCount.increment();
+			}
+		}
+	}
+
+	private boolean remove(Entry theEntry) {
+		if (myEntries.remove(theEntry.myKey, theEntry)) {
+			myTotalWeight.addAndGet(-theEntry.myWeight);
+			return true;
+		}
+		return false;
+	}
+
+	private boolean isExpired(Entry theEntry, long theNow) {
+		return myTimeToLiveMillis > 0 && theNow - theEntry.myStoredTime >= myTimeToLiveMillis;
+	}
+
+	/**
+	 * Returns the time in milliseconds after which a stored result list expires
+	 */
+	public long getTimeToLiveMillis() {
+		return myTimeToLiveMillis;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which a stored result list expires, or <code>0</code>
+	 * for result lists to be kept until they are evicted. Defaults to {@link #DEFAULT_TIME_TO_LIVE_MILLIS}.
+	 */
+	public ConcurrentMemoryPagingProvider setTimeToLiveMillis(long theTimeToLiveMillis) {
+		Validate.isTrue(theTimeToLiveMillis >= 0, "theTimeToLiveMillis must not be negative");
+		myTimeToLiveMillis = theTimeToLiveMillis;
+		return this;
+	}
+
+	/**
+	 * Sets the function used to calculate the weight of a result list, which should be roughly
+	 * proportional to the memory it retains. The default uses the number of resources in the
+	 * result list, or <code>1</code> if this isn't known.
+	 */
+	public ConcurrentMemoryPagingProvider setWeigher(ToLongFunction<IBundleProvider> theWeigher) {
+		Validate.notNull(theWeigher, "theWeigher must not be null");
+		myWeigher = theWeigher;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum total weight of the stored result lists
+	 */
+	public long getMaximumWeight() {
+		return myMaximumWeight;
+	}
+
+	/**
+	 * Returns the total weight of the result lists currently stored
+	 */
+	public long getTotalWeight() {
+		return myTotalWeight.get();
+	}
+
+	/**
+	 * Returns the number of result lists currently stored
+	 */
+	public int getEntryCount() {
+		return myEntries.size();
+	}
+
+	/**
+	 * Returns the number of lookups which found a result list
+	 */
+	public long getHitCount() {
+		return myHitCount.sum();
+	}
+
+	/**
+	 * Returns the number of lookups which did not find a result list, including ones which had expired
+	 */
+	public long getMissCount() {
+		return myMissCount.sum();
+	}
+
+	/**
+	 * Returns the number of result lists which were removed to stay within the maximum weight
+	 */
+	public long getEvictionCount() {
+		return myEvictionCount.sum();
+	}
+
+	/**
+	 * Returns the number of result lists which were removed because they had expired
+	 */
+	public long getExpiryCount() {
+		return myExpiryCount.sum();
+	}
+
+	void setClockForUnitTest(LongSupplier theClock) {
+		myClock = theClock;
+	}
+
+	private static long defaultWeight(IBundleProvider theBundleProvider) {
+		Integer size = theBundleProvider.size();
+		return size != null ? size : 1;
+	}
+
+	private static class Entry {
+
+		private final String myKey;
+		private final IBundleProvider myBundleProvider;
+		private final long myWeight;
+		private final long myStoredTime;
+
+		Entry(String theKey, IBundleProvider theBundleProvider, long theWeight, long theStoredTime) {
+			myKey = theKey;
+			myBundleProvider = theBundleProvider;
+			myWeight = theWeight;
+			myStoredTime = theStoredTime;
+		}
+	}
+
+}
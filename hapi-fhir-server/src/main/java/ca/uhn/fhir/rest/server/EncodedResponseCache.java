@@ -0,0 +1,507 @@
+package ca.uhn.fhir.rest.server;
+
+/*
+ * #%L
+ * HAPI FHIR - Server Framework
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.IInterceptorBroadcaster;
+import ca.uhn.fhir.interceptor.api.Interceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.EncodingEnum;
+import ca.uhn.fhir.rest.api.RequestTypeEnum;
+import ca.uhn.fhir.rest.api.SummaryEnum;
+import ca.uhn.fhir.rest.api.server.IRestfulResponse;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.server.RestfulServerUtils.ResponseEncoding;
+import ca.uhn.fhir.rest.server.method.ElementsParameter;
+import org.apache.commons.lang3.Validate;
+import org.hl7.fhir.instance.model.api.IBaseBinary;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IIdType;
+import org.hl7.fhir.instance.model.api.IPrimitiveType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Opt-in cache of already-encoded read/vread responses. When a cache is set on the server using
+ * {@link RestfulServer#setEncodedResponseCache(EncodedResponseCache)}, the encoded bytes of a successful
+ * read are kept, keyed by the resource ID, the requested version, the response encoding and content type,
+ * <code>_summary</code>, <code>_elements</code>, pretty printing and the server base. Later reads for the same
+ * key are answered straight from the cache, without invoking the resource provider or re-encoding the resource.
+ * <code>If-None-Match</code> is honoured for cached responses.
+ * <p>
+ * The cached bytes are captured after the {@link Pointcut#SERVER_OUTGOING_RESPONSE} hooks have run, so they
+ * reflect any changes made by authorization and consent interceptors. A cache hit skips the provider, the
+ * storage layer and those hooks, so a response can only be reused by requests which those interceptors
+ * would treat the same way. This is controlled by the {@link #setPartitionFunction(Function) partition function},
+ * which returns the part of the cache a request may use (e.g. the user or role), or <code>null</code> if the
+ * request must not use the cache at all. The default partition function puts all requests in a single partition,
+ * but only if no interceptors are registered which can hide or change resources being read. In other words, with
+ * authorization or consent interceptors registered, nothing is cached unless a partition function is supplied.
+ * {@link Pointcut#SERVER_INCOMING_REQUEST_PRE_HANDLED} hooks are still called for cache hits.
+ * </p>
+ * <p>
+ * Entries for a resource are invalidated when the resource is created, updated, deleted or expunged through the
+ * storage pointcuts, which requires this object to be registered with the interceptor service used by the storage
+ * layer (this is done automatically for the server's own interceptor service). For servers which don't fire
+ * the storage pointcuts, {@link #invalidate(IIdType)} can be called directly, and the
+ * {@link #setTimeToLiveMillis(long) time to live} bounds how stale a cached response can be.
+ * </p>
+ * <p>
+ * The storage pointcuts are called before the change is committed, so a read which misses the cache at the same
+ * time can still load the previous version and try to store it after the invalidation. To prevent this, the cache
+ * remembers the version each invalidation made current, and refuses to store an older version of that resource
+ * (or a response whose version isn't known). The most recent invalidations are remembered, up to the maximum number
+ * of entries.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+@Interceptor
+public class EncodedResponseCache {
+
+	/**
+	 * Default value for {@link #setTimeToLiveMillis(long)}: one minute
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+	private static final Pointcut[] RESOURCE_ALTERING_POINTCUTS = {
+		Pointcut.STORAGE_PREACCESS_RESOURCES,
+		Pointcut.STORAGE_PRESHOW_RESOURCES,
+		Pointcut.SERVER_OUTGOING_RESPONSE
+	};
+
+	/**
+	 * Entries in insertion order so the oldest can be evicted in constant time. Guarded by synchronizing on the map.
+	 */
+	private final LinkedHashMap<String, CachedResponse> myEntries = new LinkedHashMap<>();
+	private final Map<String, Set<String>> myResourceIdToKeys = new ConcurrentHashMap<>();
+	/**
+	 * The lowest version which may be stored for each recently invalidated resource, in the order the resources
+	 * were invalidated. Guarded by synchronizing on {@link #myEntries}.
+	 */
+	private final LinkedHashMap<String, Long> myResourceIdToMinimumVersion = new LinkedHashMap<>();
+	private final LongAdder myHitCount = new LongAdder();
+	private final LongAdder myMissCount = new LongAdder();
+	private final LongAdder myInvalidationCount = new LongAdder();
+	private final int myMaximumEntries;
+	private volatile long myTimeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+	private Function<RequestDetails, String> myPartitionFunction = EncodedResponseCache::defaultPartition;
+
+	/**
+	 * Constructor
+	 *
+	 * @param theMaximumEntries The maximum number of encoded responses to keep
+	 */
+	public EncodedResponseCache(int theMaximumEntries) {
+		Validate.isTrue(theMaximumEntries > 0, "theMaximumEntries must be greater than 0");
+		myMaximumEntries = theMaximumEntries;
+	}
+
+	/**
+	 * Sets the function which determines the cache partition for a request. Requests in the same partition
+	 * share cached responses, so every request in a partition must be authorized to see the same resources,
+	 * and must have any consent or masking rules applied in the same way. The function may return
+	 * <code>null</code> to stop a request from using the cache.
+	 */
+	public EncodedResponseCache setPartitionFunction(Function<RequestDetails, String> thePartitionFunction) {
+		Validate.notNull(thePartitionFunction, "thePartitionFunction must not be null");
+		myPartitionFunction = thePartitionFunction;
+		return this;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which a cached response expires, or <code>0</code> for responses to be
+	 * kept until they are invalidated or evicted. Defaults to {@link #DEFAULT_TIME_TO_LIVE_MILLIS}.
+	 */
+	public EncodedResponseCache setTimeToLiveMillis(long theTimeToLiveMillis) {
+		Validate.isTrue(theTimeToLiveMillis >= 0, "theTimeToLiveMillis must not be negative");
+		myTimeToLiveMillis = theTimeToLiveMillis;
+		return this;
+	}
+
+	public long getTimeToLiveMillis() {
+		return myTimeToLiveMillis;
+	}
+
+	public long getHitCount() {
+		return myHitCount.sum();
+	}
+
+	public long getMissCount() {
+		return myMissCount.sum();
+	}
+
+	/**
+	 * Returns the number of cached responses removed because their resource was modified
+	 */
+	public long getInvalidationCount() {
+		return myInvalidationCount.sum();
+	}
+
+	public int getEntryCount() {
+		synchronized (myEntries) {
+			return myEntries.size();
+		}
+	}
+
+	/**
+	 * Returns the cache key for a read request, or <code>null</code> if the request can't use the cache
+	 */
+	@Nullable
+	public String createKey(IRestfulServerDefaults theServer, RequestDetails theRequest) {
+		if (theRequest.getId() == null || !theRequest.getId().hasIdPart() || theRequest.getRequestType() != RequestTypeEnum.GET) {
+			return null;
+		}
+		if (isNotBlank(theRequest.getHeader(Constants.HEADER_IF_MODIFIED_SINCE))) {
+			return null;
+		}
+		if (hasWriterCreatedHooks(theServer)) {
+			return null;
+		}
+		Set<SummaryEnum> summaryMode = RestfulServerUtils.determineSummaryMode(theRequest);
+		if (summaryMode.size() == 1 && summaryMode.contains(SummaryEnum.TEXT)) {
+			return null;
+		}
+		String partition = myPartitionFunction.apply(theRequest);
+		if (partition == null) {
+			return null;
+		}
+
+		ResponseEncoding responseEncoding = RestfulServerUtils.determineResponseEncodingNoDefault(theRequest, theServer.getDefaultResponseEncoding());
+		EncodingEnum encoding = responseEncoding != null ? responseEncoding.getEncoding() : theServer.getDefaultResponseEncoding();
+		String contentType = responseEncoding != null ? responseEncoding.getResourceContentType() : null;
+		Set<String> elements = ElementsParameter.getElementsValueOrNull(theRequest, false);
+		Set<String> elementsExclude = ElementsParameter.getElementsValueOrNull(theRequest, true);
+
+		StringBuilder b = new StringBuilder();
+		b.append(partition).append('\u0000');
+		b.append(toResourceIdKey(theRequest.getResourceName(), theRequest.getId())).append('\u0000');
+		b.append(theRequest.getId().getVersionIdPart()).append('\u0000');
+		b.append(encoding).append('\u0000');
+		b.append(contentType).append('\u0000');
+		b.append(new TreeSet<>(summaryMode)).append('\u0000');
+		b.append(elements != null ? new TreeSet<>(elements) : null).append('\u0000');
+		b.append(elementsExclude != null ? new TreeSet<>(elementsExclude) : null).append('\u0000');
+		b.append(RestfulServerUtils.prettyPrintResponse(theServer, theRequest)).append('\u0000');
+		b.append(theRequest.getFhirServerBase());
+		return b.toString();
+	}
+
+	/**
+	 * Returns the cached response for the given key, or <code>null</code>
+	 */
+	@Nullable
+	public CachedResponse get(String theKey) {
+		CachedResponse retVal;
+		synchronized (myEntries) {
+			retVal = myEntries.get(theKey);
+			if (retVal != null && isExpired(retVal)) {
+				remove(retVal);
+				retVal = null;
+			}
+		}
+		if (retVal == null) {
+			myMissCount.increment();
+		} else {
+			myHitCount.increment();
+		}
+		return retVal;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given resource, about to be returned for the request, can be cached
+	 */
+	public boolean isCacheable(IBaseResource theResource) {
+		return theResource != null && !(theResource instanceof IBaseBinary);
+	}
+
+	/**
+	 * Encodes the resource the way {@link RestfulServerUtils#streamResponseAsResource} would and stores the result
+	 */
+	public CachedResponse encodeAndStore(IRestfulServerDefaults theServer, RequestDetails theRequest, String theKey, IBaseResource theResource) {
+		IParser parser = RestfulServerUtils.getNewParser(theServer.getFhirContext(), theResource.getStructureFhirVersionEnum(), theRequest);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			parser.encodeResourceToOutputStream(theResource, bytes);
+		} catch (IOException e) {
+			// Can't happen with a ByteArrayOutputStream
+			throw new IllegalStateException(e);
+		}
+
+		ResponseEncoding responseEncoding = RestfulServerUtils.determineResponseEncodingNoDefault(theRequest, theServer.getDefaultResponseEncoding());
+		if (responseEncoding == null) {
+			responseEncoding = new ResponseEncoding(theServer.getFhirContext(), theServer.getDefaultResponseEncoding(), null);
+		}
+
+		IIdType fullId = null;
+		if (theResource.getIdElement() != null) {
+			fullId = RestfulServerUtils.fullyQualifyResourceIdOrReturnNull(theServer, theResource, theRequest.getFhirServerBase(), theResource.getIdElement());
+		}
+		String versionId = RestfulServerUtils.determineETagVersionId(fullId, theResource);
+		Date lastModified = null;
+		IPrimitiveType<Date> lastUpdated = RestfulServerUtils.extractLastUpdatedFromResource(theResource);
+		if (lastUpdated != null && !lastUpdated.isEmpty()) {
+			lastModified = new Date(lastUpdated.getValue().getTime());
+		}
+
+		String resourceIdKey = toResourceIdKey(theRequest.getResourceName(), theRequest.getId());
+		CachedResponse retVal = new CachedResponse(theKey, resourceIdKey, bytes.toByteArray(), responseEncoding.getResourceContentType(), fullId != null ? fullId.getValue() : null, versionId, lastModified, System.currentTimeMillis());
+		store(retVal, toVersionOrNull(theResource.getIdElement()));
+		return retVal;
+	}
+
+	private void store(CachedResponse theResponse, @Nullable Long theVersion) {
+		synchronized (myEntries) {
+			Long minimumVersion = myResourceIdToMinimumVersion.get(theResponse.myResourceIdKey);
+			if (minimumVersion != null && (theVersion == null || theVersion < minimumVersion)) {
+				// This was loaded before a change which has since invalidated the resource
+				return;
+			}
+
+			myResourceIdToKeys.computeIfAbsent(theResponse.myResourceIdKey, t -> ConcurrentHashMap.newKeySet()).add(theResponse.myKey);
+			// Remove any previous entry first so that the new one moves to the end of the insertion order
+			myEntries.remove(theResponse.myKey);
+			myEntries.put(theResponse.myKey, theResponse);
+
+			Iterator<CachedResponse> iterator = myEntries.values().iterator();
+			while (myEntries.size() > myMaximumEntries) {
+				CachedResponse eldest = iterator.next();
+				iterator.remove();
+				removeResourceIdKey(eldest);
+			}
+		}
+	}
+
+	/**
+	 * Writes a cached response to the client
+	 */
+	public Object writeResponse(IRestfulServerDefaults theServer, RequestDetails theRequest, CachedResponse theResponse) throws IOException {
+		IRestfulResponse response = theRequest.getResponse();
+		if (theResponse.myContentLocation != null) {
+			response.addHeader(Constants.HEADER_CONTENT_LOCATION, theResponse.myContentLocation);
+		}
+		RestfulServerUtils.addETagHeader(theServer, theRequest, theResponse.myVersionId);
+		if (theResponse.myLastModified != null) {
+			RestfulServerUtils.addLastModifiedHeader(response, theResponse.myLastModified);
+		}
+
+		OutputStream outputStream = response.getResponseTextOutputStream(Constants.STATUS_HTTP_200_OK, theResponse.myContentType, Constants.CHARSET_NAME_UTF8, theRequest.isRespondGzip());
+		if (outputStream != null) {
+			outputStream.write(theResponse.myBody);
+			return response.commitResponse(outputStream);
+		}
+		Writer writer = response.getResponseWriter(Constants.STATUS_HTTP_200_OK, theResponse.myContentType, Constants.CHARSET_NAME_UTF8, theRequest.isRespondGzip());
+		writer.write(new String(theResponse.myBody, StandardCharsets.UTF_8));
+		return response.commitResponse(writer);
+	}
+
+	/**
+	 * Removes all cached responses for the given resource
+	 */
+	public void invalidate(IIdType theResourceId) {
+		invalidate(theResourceId, null);
+	}
+
+	/**
+	 * @param theMinimumVersion If not <code>null</code>, responses for versions of the resource older than this
+	 *                          are no longer stored
+	 */
+	private void invalidate(IIdType theResourceId, @Nullable Long theMinimumVersion) {
+		if (theResourceId == null || !theResourceId.hasIdPart()) {
+			return;
+		}
+		String resourceIdKey = toResourceIdKey(theResourceId.getResourceType(), theResourceId);
+		synchronized (myEntries) {
+			if (theMinimumVersion != null) {
+				Long previous = myResourceIdToMinimumVersion.remove(resourceIdKey);
+				myResourceIdToMinimumVersion.put(resourceIdKey, previous != null ? Math.max(previous, theMinimumVersion) : theMinimumVersion);
+				Iterator<Long> iterator = myResourceIdToMinimumVersion.values().iterator();
+				while (myResourceIdToMinimumVersion.size() > myMaximumEntries) {
+					iterator.next();
+					iterator.remove();
+				}
+			}
+
+			Set<String> keys = myResourceIdToKeys.remove(resourceIdKey);
+			if (keys != null) {
+				for (String next : keys) {
+					if (myEntries.remove(next) != null) {
+						myInvalidationCount.increment();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached responses
+	 */
+	public void invalidateAll() {
+		synchronized (myEntries) {
+			myEntries.clear();
+			myResourceIdToKeys.clear();
+			myResourceIdToMinimumVersion.clear();
+		}
+	}
+
+	@Hook(Pointcut.STORAGE_PRECOMMIT_RESOURCE_CREATED)
+	public void resourceCreated(IBaseResource theResource) {
+		invalidate(theResource, 0);
+	}
+
+	@Hook(Pointcut.STORAGE_PRECOMMIT_RESOURCE_UPDATED)
+	public void resourceUpdated(IBaseResource theOldResource, IBaseResource theNewResource) {
+		invalidate(theNewResource, 0);
+	}
+
+	@Hook(Pointcut.STORAGE_PRECOMMIT_RESOURCE_DELETED)
+	public void resourceDeleted(IBaseResource theResource) {
+		// The resource is the last version before the deletion, which must not be stored again
+		invalidate(theResource, 1);
+	}
+
+	@Hook(Pointcut.STORAGE_PRESTORAGE_EXPUNGE_RESOURCE)
+	public void resourceExpunged(IIdType theResourceId) {
+		invalidate(theResourceId, Long.MAX_VALUE);
+	}
+
+	@Hook(Pointcut.STORAGE_PRESTORAGE_EXPUNGE_EVERYTHING)
+	public void everythingExpunged() {
+		invalidateAll();
+	}
+
+	/**
+	 * @param theVersionIncrement Added to the version of the given resource to determine the lowest version which
+	 *                            may be stored afterwards
+	 */
+	private void invalidate(IBaseResource theResource, int theVersionIncrement) {
+		if (theResource != null) {
+			IIdType id = theResource.getIdElement();
+			if (id != null && id.hasIdPart()) {
+				Long version = toVersionOrNull(id);
+				Long minimumVersion = version != null ? version + theVersionIncrement : Long.MAX_VALUE;
+				invalidate(id.hasResourceType() ? id : id.withResourceType(theResource.fhirType()), minimumVersion);
+			}
+		}
+	}
+
+	@Nullable
+	private static Long toVersionOrNull(@Nullable IIdType theId) {
+		if (theId != null && theId.hasVersionIdPart() && theId.isVersionIdPartValidLong()) {
+			return theId.getVersionIdPartAsLong();
+		}
+		return null;
+	}
+
+	private void remove(CachedResponse theResponse) {
+		if (myEntries.remove(theResponse.myKey, theResponse)) {
+			removeResourceIdKey(theResponse);
+		}
+	}
+
+	private void removeResourceIdKey(CachedResponse theResponse) {
+		Set<String> keys = myResourceIdToKeys.get(theResponse.myResourceIdKey);
+		if (keys != null) {
+			keys.remove(theResponse.myKey);
+		}
+	}
+
+	private boolean isExpired(CachedResponse theResponse) {
+		return myTimeToLiveMillis > 0 && System.currentTimeMillis() - theResponse.myStoredTime >= myTimeToLiveMillis;
+	}
+
+	private static boolean hasWriterCreatedHooks(IRestfulServerDefaults theServer) {
+		IInterceptorBroadcaster interceptorService = theServer.getInterceptorService();
+		return interceptorService != null && interceptorService.hasHooks(Pointcut.SERVER_OUTGOING_WRITER_CREATED);
+	}
+
+	@Nonnull
+	private static String toResourceIdKey(String theResourceType, IIdType theId) {
+		return theResourceType + "/" + theId.getIdPart();
+	}
+
+	private static String defaultPartition(RequestDetails theRequest) {
+		IInterceptorBroadcaster broadcaster = theRequest.getInterceptorBroadcaster();
+		if (broadcaster != null) {
+			for (Pointcut next : RESOURCE_ALTERING_POINTCUTS) {
+				if (broadcaster.hasHooks(next)) {
+					return null;
+				}
+			}
+		}
+		return "";
+	}
+
+	/**
+	 * An encoded response held by the cache
+	 */
+	public static class CachedResponse {
+
+		private final String myKey;
+		private final String myResourceIdKey;
+		private final byte[] myBody;
+		private final String myContentType;
+		private final String myContentLocation;
+		private final String myVersionId;
+		private final Date myLastModified;
+		private final long myStoredTime;
+
+		CachedResponse(String theKey, String theResourceIdKey, byte[] theBody, String theContentType, String theContentLocation, String theVersionId, Date theLastModified, long theStoredTime) {
+			myKey = theKey;
+			myResourceIdKey = theResourceIdKey;
+			myBody = theBody;
+			myContentType = theContentType;
+			myContentLocation = theContentLocation;
+			myVersionId = theVersionId;
+			myLastModified = theLastModified;
+			myStoredTime = theStoredTime;
+		}
+
+		/**
+		 * Returns the version ID of the cached resource, or <code>null</code> if it is not known
+		 */
+		@Nullable
+		public String getVersionId() {
+			return myVersionId;
+		}
+
+	}
+
+}
@@ -20,13 +20,22 @@ package ca.uhn.fhir.rest.server;
  * #L%
  */
 
+import ca.uhn.fhir.rest.api.RequestTypeEnum;
 import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.server.method.BaseMethodBinding;
-import ca.uhn.fhir.rest.server.method.BaseMethodBinding;
+import ca.uhn.fhir.rest.server.method.MethodDispatchFilter;
 import ca.uhn.fhir.rest.server.method.MethodMatchEnum;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Holds all method bindings for an individual resource type
@@ -36,7 +45,8 @@ public class ResourceBinding {
 	private static final org.slf4j.Logger ourLog = org.slf4j.LoggerFactory.getLogger(ResourceBinding.class);
 
 	private String resourceName;
-	private LinkedList<BaseMethodBinding> myMethodBindings = new LinkedList<>();
+	private ModCountingLinkedList<BaseMethodBinding> myMethodBindings = new ModCountingLinkedList<>();
+	private volatile DispatchIndex myDispatchIndex;
 
 	/**
 	 * Constructor
@@ -54,13 +64,15 @@ public class ResourceBinding {
 		ourLog.debug("Looking for a handler for {}", theRequest);
 
 		/*
-		 * Look for the method with the highest match strength
+		 * Look for the method with the highest match strength. Only the bindings
+		 * which the dispatch index says might match need to be checked, since
+		 * the others would all return NONE.
 		 */
 
 		BaseMethodBinding matchedMethod = null;
 		MethodMatchEnum matchedMethodStrength = null;
 
-		for (BaseMethodBinding rm : myMethodBindings) {
+		for (BaseMethodBinding rm : getCandidateMethods(theRequest)) {
 			MethodMatchEnum nextMethodMatch = rm.incomingServerRequestMatchesMethod(theRequest);
 			if (nextMethodMatch != MethodMatchEnum.NONE) {
 				if (matchedMethodStrength == null || matchedMethodStrength.ordinal() < nextMethodMatch.ordinal()) {
@@ -76,6 +88,28 @@ public class ResourceBinding {
 		return matchedMethod;
 	}
 
+	/**
+	 * Returns the bindings which might match the given request, in the same order
+	 * as they appear in {@link #getMethodBindings()}
+	 */
+	List<BaseMethodBinding> getCandidateMethods(RequestDetails theRequest) {
+		RequestTypeEnum requestType = theRequest.getRequestType();
+		if (requestType == null) {
+			return myMethodBindings;
+		}
+
+		DispatchIndex index = myDispatchIndex;
+		int modCount = myMethodBindings.getModCount();
+		if (index == null || index.myModCount != modCount) {
+			index = new DispatchIndex(myMethodBindings, modCount);
+			myDispatchIndex = index;
+		}
+
+		String operation = MethodDispatchFilter.getOperationKey(theRequest);
+		boolean hasId = theRequest.getId() != null;
+		return index.getCandidates(requestType, operation, hasId);
+	}
+
 	public String getResourceName() {
 		return resourceName;
 	}
@@ -84,6 +118,10 @@ public class ResourceBinding {
 		this.resourceName = resourceName;
 	}
 
+	/**
+	 * Returns the method bindings. The returned list may be modified, and the
+	 * dispatch index is rebuilt the next time it is used after any change.
+	 */
 	public List<BaseMethodBinding> getMethodBindings() {
 		return myMethodBindings;
 	}
@@ -104,4 +142,113 @@ public class ResourceBinding {
 		return 0;
 	}
 
+	/**
+	 * An immutable index of the bindings which might match requests with a given
+	 * request type, operation name and ID presence
+	 */
+	private static class DispatchIndex {
+
+		private final int myModCount;
+		private final Map<RequestTypeEnum, Map<String, List<BaseMethodBinding>[]>> myRequestTypeToOperationToCandidates = new EnumMap<>(RequestTypeEnum.class);
+		private final Map<RequestTypeEnum, List<BaseMethodBinding>[]> myRequestTypeToOtherOperationCandidates = new EnumMap<>(RequestTypeEnum.class);
+
+		DispatchIndex(List<BaseMethodBinding> theBindings, int theModCount) {
+			myModCount = theModCount;
+
+			List<BaseMethodBinding> bindings = new ArrayList<>(theBindings);
+			List<MethodDispatchFilter> filters = new ArrayList<>(bindings.size());
+			Set<String> operations = new HashSet<>();
+			operations.add("");
+			for (BaseMethodBinding next : bindings) {
+				MethodDispatchFilter filter = getDispatchFilter(next);
+				filters.add(filter);
+				if (filter != null && filter.getOperation() != null) {
+					operations.add(filter.getOperation());
+				}
+			}
+
+			for (RequestTypeEnum nextRequestType : RequestTypeEnum.values()) {
+				Map<String, List<BaseMethodBinding>[]> operationToCandidates = new HashMap<>();
+				for (String nextOperation : operations) {
+					operationToCandidates.put(nextOperation, buildCandidates(bindings, filters, nextRequestType, nextOperation));
+				}
+				myRequestTypeToOperationToCandidates.put(nextRequestType, operationToCandidates);
+				myRequestTypeToOtherOperationCandidates.put(nextRequestType, buildCandidates(bindings, filters, nextRequestType, null));
+			}
+		}
+
+		/**
+		 * Returns the binding's dispatch filter, unless the binding's class overrides
+		 * {@link BaseMethodBinding#incomingServerRequestMatchesMethod(RequestDetails)} below the class
+		 * which supplied the filter. In that case the filter was written for different matching logic,
+		 * which may match less broadly, so the binding is offered every request instead.
+		 */
+		@Nullable
+		static MethodDispatchFilter getDispatchFilter(BaseMethodBinding theBinding) {
+			MethodDispatchFilter retVal = theBinding.getDispatchFilter();
+			if (retVal != null) {
+				try {
+					Class<?> filterClass = theBinding.getClass().getMethod("getDispatchFilter").getDeclaringClass();
+					Class<?> matchClass = theBinding.getClass().getMethod("incomingServerRequestMatchesMethod", RequestDetails.class).getDeclaringClass();
+					if (!matchClass.isAssignableFrom(filterClass)) {
+						return null;
+					}
+				} catch (NoSuchMethodException e) {
+					return null;
+				}
+			}
+			return retVal;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static List<BaseMethodBinding>[] buildCandidates(List<BaseMethodBinding> theBindings, List<MethodDispatchFilter> theFilters, RequestTypeEnum theRequestType, String theOperation) {
+			List<BaseMethodBinding>[] retVal = new List[2];
+			for (int hasId = 0; hasId < 2; hasId++) {
+				List<BaseMethodBinding> candidates = new ArrayList<>();
+				for (int i = 0; i < theBindings.size(); i++) {
+					MethodDispatchFilter filter = theFilters.get(i);
+					if (filter != null) {
+						if (theOperation == null) {
+							// An operation name which no filter mentions can only match a filter accepting any operation
+							if (filter.getOperation() != null || !filter.mightMatch(theRequestType, null, hasId == 1)) {
+								continue;
+							}
+						} else if (!filter.mightMatch(theRequestType, theOperation, hasId == 1)) {
+							continue;
+						}
+					}
+					candidates.add(theBindings.get(i));
+				}
+				retVal[hasId] = Collections.unmodifiableList(candidates);
+			}
+			return retVal;
+		}
+
+		List<BaseMethodBinding> getCandidates(RequestTypeEnum theRequestType, String theOperation, boolean theHasId) {
+			List<BaseMethodBinding>[] candidates = myRequestTypeToOperationToCandidates.get(theRequestType).get(theOperation);
+			if (candidates == null) {
+				candidates = myRequestTypeToOtherOperationCandidates.get(theRequestType);
+			}
+			return candidates[theHasId ? 1 : 0];
+		}
+
+	}
+
+	/**
+	 * A linked list which exposes its structural modification count, so that the dispatch
+	 * index can tell when the bindings have been changed through {@link #getMethodBindings()}
+	 */
+	private static class ModCountingLinkedList<T> extends LinkedList<T> {
+
+		int getModCount() {
+			return modCount;
+		}
+
+		@Override
+		public T set(int theIndex, T theElement) {
+			modCount++;
+			return super.set(theIndex, theElement);
+		}
+	}
+
 }
@@ -52,6 +52,7 @@ import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
 import ca.uhn.fhir.rest.server.exceptions.ResourceGoneException;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import ca.uhn.fhir.rest.server.exceptions.UnclassifiedServerFailureException;
 import ca.uhn.fhir.rest.server.interceptor.ExceptionHandlingInterceptor;
 import ca.uhn.fhir.rest.server.interceptor.IServerInterceptor;
 import ca.uhn.fhir.rest.server.method.BaseMethodBinding;
@@ -79,6 +80,9 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.UnavailableException;
 import javax.servlet.http.HttpServlet;
@@ -97,6 +101,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -105,6 +110,9 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.jar.Manifest;
@@ -141,6 +149,30 @@ public class RestfulServer extends HttpServlet implements IRestfulServer<Servlet
 	 * Default value for {@link #setDefaultPreferReturn(PreferReturnEnum)}
 	 */
 	public static final PreferReturnEnum DEFAULT_PREFER_RETURN = PreferReturnEnum.REPRESENTATION;
+	/**
+	 * Default value for {@link #setAsyncOperationTypes(Collection)}: searches, paging, history,
+	 * extended operations and transactions/batches
+	 *
+	 * @since 6.6.0
+	 */
+	public static final Set<RestOperationTypeEnum> DEFAULT_ASYNC_OPERATION_TYPES = Collections.unmodifiableSet(EnumSet.of(
+		RestOperationTypeEnum.SEARCH_TYPE,
+		RestOperationTypeEnum.SEARCH_SYSTEM,
+		RestOperationTypeEnum.GET_PAGE,
+		RestOperationTypeEnum.HISTORY_INSTANCE,
+		RestOperationTypeEnum.HISTORY_TYPE,
+		RestOperationTypeEnum.HISTORY_SYSTEM,
+		RestOperationTypeEnum.EXTENDED_OPERATION_SERVER,
+		RestOperationTypeEnum.EXTENDED_OPERATION_TYPE,
+		RestOperationTypeEnum.EXTENDED_OPERATION_INSTANCE,
+		RestOperationTypeEnum.TRANSACTION,
+		RestOperationTypeEnum.BATCH));
+	/**
+	 * Default value for {@link #setAsyncTimeoutMillis(long)}: <code>0</code> (no timeout)
+	 *
+	 * @since 6.6.0
+	 */
+	public static final long DEFAULT_ASYNC_TIMEOUT_MILLIS = 0;
 	private static final ExceptionHandlingInterceptor DEFAULT_EXCEPTION_HANDLER = new ExceptionHandlingInterceptor();
 	private static final Logger ourLog = LoggerFactory.getLogger(RestfulServer.class);
 	private static final long serialVersionUID = 1L;
@@ -158,6 +190,7 @@ public class RestfulServer extends HttpServlet implements IRestfulServer<Servlet
 	private IPagingProvider myPagingProvider;
 	private Integer myDefaultPageSize;
 	private Integer myMaximumPageSize;
+	private int myLazyBundleEncodingBatchSize;
 	private boolean myStatelessPagingDefault = false;
 	private Lock myProviderRegistrationMutex = new ReentrantLock();
 	private Map<String, ResourceBinding> myResourceNameToBinding = new HashMap<>();
@@ -176,6 +209,10 @@ public class RestfulServer extends HttpServlet implements IRestfulServer<Servlet
 	private ITenantIdentificationStrategy myTenantIdentificationStrategy;
 	private PreferReturnEnum myDefaultPreferReturn = DEFAULT_PREFER_RETURN;
 	private ElementsSupportEnum myElementsSupport = ElementsSupportEnum.EXTENDED;
+	private Executor myAsyncExecutor;
+	private Set<RestOperationTypeEnum> myAsyncOperationTypes = DEFAULT_ASYNC_OPERATION_TYPES;
+	private long myAsyncTimeoutMillis = DEFAULT_ASYNC_TIMEOUT_MILLIS;
+	private EncodedResponseCache myEncodedResponseCache;
 
 	/**
 	 * Constructor. Note that if no {@link FhirContext} is passed in to the server (either through the constructor, or
@@ -786,6 +823,34 @@ public class RestfulServer extends HttpServlet implements IRestfulServer<Servlet
 		myMaximumPageSize = theMaximumPageSize;
 	}
 
+	@Override
+	public int getLazyBundleEncodingBatchSize() {
+		return myLazyBundleEncodingBatchSize;
+	}
+
+	/**
+	 * If set to a value greater than zero (default is <code>0</code>), search and paging responses
+	 * built from an {@link ca.uhn.fhir.rest.api.server.IBundleProvider} are written directly to the
+	 * response as the resources are loaded, instead of first being assembled into a complete Bundle.
+	 * Resources are fetched from the provider in batches of this size, so only one batch needs to be
+	 * held in memory at a time.
+	 * <p>
+	 * Lazy encoding is not used if any interceptor is registered for
+	 * {@link Pointcut#SERVER_OUTGOING_RESPONSE}, since these interceptors expect to see (and may modify)
+	 * the complete response Bundle.
+	 * </p>
+	 * <p>
+	 * Note that because the response has already been started when later batches are loaded, a failure
+	 * while loading them can not be reported to the client as an OperationOutcome.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	public void setLazyBundleEncodingBatchSize(int theLazyBundleEncodingBatchSize) {
+		Validate.isTrue(theLazyBundleEncodingBatchSize >= 0, "theLazyBundleEncodingBatchSize must not be negative");
+		myLazyBundleEncodingBatchSize = theLazyBundleEncodingBatchSize;
+	}
+
 	/**
 	 * Provides the non-resource specific providers which implement method calls on this server
 	 *
@@ -1009,6 +1074,7 @@ public class RestfulServer extends HttpServlet implements IRestfulServer<Servlet
 	protected void handleRequest(RequestTypeEnum theRequestType, HttpServletRequest theRequest, HttpServletResponse theResponse) throws ServletException, IOException {
 		String fhirServerBase;
 		ServletRequestDetails requestDetails = newRequestDetails(theRequestType, theRequest, theResponse);
+		boolean dispatchedAsync = false;
 
 		String requestId = getOrCreateRequestId(theRequest);
 		requestDetails.setRequestId(requestId);
@@ -1161,108 +1227,233 @@ public class RestfulServer extends HttpServlet implements IRestfulServer<Servlet
 			}
 
 			/*
-			 * Actually invoke the server method. This call is to a HAPI method binding, which
-			 * is an object that wraps a specific implementing (user-supplied) method, but
-			 * handles its input and provides its output back to the client.
-			 *
-			 * This is basically the end of processing for a successful request, since the
-			 * method binding replies to the client and closes the response.
+			 * If asynchronous processing is enabled for this type of operation, the method is
+			 * invoked on the async executor and the container thread is released right away
 			 */
-			resourceMethod.invokeServer(this, requestDetails);
+			if (isAsyncDispatchApplicable(theRequest, operation)) {
+				dispatchAsync(resourceMethod, requestDetails, theRequest, theResponse);
+				dispatchedAsync = true;
+				return;
+			}
+
+			invokeServerMethod(resourceMethod, requestDetails);
+
+		} catch (Throwable e) {
+
+			handleRequestException(requestDetails, theRequest, theResponse, e);
+
+		} finally {
+
+			if (!dispatchedAsync) {
+				callProcessingCompletedHooks(requestDetails);
+			}
+
+		}
+	}
 
-			// Invoke interceptors
-			HookParams hookParams = new HookParams();
-			hookParams.add(RequestDetails.class, requestDetails);
-			hookParams.add(ServletRequestDetails.class, requestDetails);
-			myInterceptorService.callHooks(Pointcut.SERVER_PROCESSING_COMPLETED_NORMALLY, hookParams);
+	private void invokeServerMethod(BaseMethodBinding theResourceMethod, ServletRequestDetails theRequestDetails) throws Exception {
+		/*
+		 * Actually invoke the server method. This call is to a HAPI method binding, which
+		 * is an object that wraps a specific implementing (user-supplied) method, but
+		 * handles its input and provides its output back to the client.
+		 *
+		 * This is basically the end of processing for a successful request, since the
+		 * method binding replies to the client and closes the response.
+		 */
+		theResourceMethod.invokeServer(this, theRequestDetails);
 
-		} catch (NotModifiedException | AuthenticationException e) {
+		// Invoke interceptors
+		HookParams hookParams = new HookParams();
+		hookParams.add(RequestDetails.class, theRequestDetails);
+		hookParams.add(ServletRequestDetails.class, theRequestDetails);
+		myInterceptorService.callHooks(Pointcut.SERVER_PROCESSING_COMPLETED_NORMALLY, hookParams);
+	}
 
+	private void handleRequestException(ServletRequestDetails theRequestDetails, HttpServletRequest theRequest, HttpServletResponse theResponse, Throwable theException) throws ServletException, IOException {
+		if (theException instanceof NotModifiedException || theException instanceof AuthenticationException) {
 			HookParams handleExceptionParams = new HookParams();
-			handleExceptionParams.add(RequestDetails.class, requestDetails);
-			handleExceptionParams.add(ServletRequestDetails.class, requestDetails);
+			handleExceptionParams.add(RequestDetails.class, theRequestDetails);
+			handleExceptionParams.add(ServletRequestDetails.class, theRequestDetails);
 			handleExceptionParams.add(HttpServletRequest.class, theRequest);
 			handleExceptionParams.add(HttpServletResponse.class, theResponse);
-			handleExceptionParams.add(BaseServerResponseException.class, e);
+			handleExceptionParams.add(BaseServerResponseException.class, (BaseServerResponseException) theException);
 			if (!myInterceptorService.callHooks(Pointcut.SERVER_HANDLE_EXCEPTION, handleExceptionParams)) {
 				return;
 			}
 
-			writeExceptionToResponse(theResponse, e);
+			writeExceptionToResponse(theResponse, (BaseServerResponseException) theException);
+			return;
+		}
 
-		} catch (Throwable e) {
+		/*
+		 * We have caught an exception during request processing. This might be because a handling method threw
+		 * something they wanted to throw (e.g. UnprocessableEntityException because the request
+		 * had business requirement problems) or it could be due to bugs (e.g. NullPointerException).
+		 *
+		 * First we let the interceptors have a crack at converting the exception into something HAPI can use
+		 * (BaseServerResponseException)
+		 */
+		HookParams preProcessParams = new HookParams();
+		preProcessParams.add(RequestDetails.class, theRequestDetails);
+		preProcessParams.add(ServletRequestDetails.class, theRequestDetails);
+		preProcessParams.add(HttpServletRequest.class, theRequest);
+		preProcessParams.add(HttpServletResponse.class, theResponse);
+		preProcessParams.add(Throwable.class, theException);
+		BaseServerResponseException exception = (BaseServerResponseException) myInterceptorService.callHooksAndReturnObject(Pointcut.SERVER_PRE_PROCESS_OUTGOING_EXCEPTION, preProcessParams);
+
+		/*
+		 * If none of the interceptors converted the exception, default behaviour is to keep the exception as-is if it
+		 * extends BaseServerResponseException, otherwise wrap it in an
+		 * InternalErrorException.
+		 */
+		if (exception == null) {
+			exception = DEFAULT_EXCEPTION_HANDLER.preProcessOutgoingException(theRequestDetails, theException, theRequest);
+		}
 
-			/*
-			 * We have caught an exception during request processing. This might be because a handling method threw
-			 * something they wanted to throw (e.g. UnprocessableEntityException because the request
-			 * had business requirement problems) or it could be due to bugs (e.g. NullPointerException).
-			 *
-			 * First we let the interceptors have a crack at converting the exception into something HAPI can use
-			 * (BaseServerResponseException)
-			 */
-			HookParams preProcessParams = new HookParams();
-			preProcessParams.add(RequestDetails.class, requestDetails);
-			preProcessParams.add(ServletRequestDetails.class, requestDetails);
-			preProcessParams.add(HttpServletRequest.class, theRequest);
-			preProcessParams.add(HttpServletResponse.class, theResponse);
-			preProcessParams.add(Throwable.class, e);
-			BaseServerResponseException exception = (BaseServerResponseException) myInterceptorService.callHooksAndReturnObject(Pointcut.SERVER_PRE_PROCESS_OUTGOING_EXCEPTION, preProcessParams);
+		/*
+		 * If it's a 410 Gone, we want to include a location header in the response
+		 * if we can, since that can include the resource version which is nice
+		 * for the user.
+		 */
+		if (exception instanceof ResourceGoneException) {
+			IIdType resourceId = ((ResourceGoneException) exception).getResourceId();
+			if (resourceId != null && resourceId.hasResourceType() && resourceId.hasIdPart()) {
+				String baseUrl = myServerAddressStrategy.determineServerBase(theRequest.getServletContext(), theRequest);
+				resourceId = resourceId.withServerBase(baseUrl, resourceId.getResourceType());
+				theRequestDetails.getResponse().addHeader(Constants.HEADER_LOCATION, resourceId.getValue());
+			}
+		}
 
-			/*
-			 * If none of the interceptors converted the exception, default behaviour is to keep the exception as-is if it
-			 * extends BaseServerResponseException, otherwise wrap it in an
-			 * InternalErrorException.
-			 */
-			if (exception == null) {
-				exception = DEFAULT_EXCEPTION_HANDLER.preProcessOutgoingException(requestDetails, e, theRequest);
+		/*
+		 * Next, interceptors get a shot at handling the exception
+		 */
+		HookParams handleExceptionParams = new HookParams();
+		handleExceptionParams.add(RequestDetails.class, theRequestDetails);
+		handleExceptionParams.add(ServletRequestDetails.class, theRequestDetails);
+		handleExceptionParams.add(HttpServletRequest.class, theRequest);
+		handleExceptionParams.add(HttpServletResponse.class, theResponse);
+		handleExceptionParams.add(BaseServerResponseException.class, exception);
+		if (!myInterceptorService.callHooks(Pointcut.SERVER_HANDLE_EXCEPTION, handleExceptionParams)) {
+			return;
+		}
+
+		/*
+		 * If we're handling an exception, no summary mode should be applied
+		 */
+		theRequestDetails.removeParameter(Constants.PARAM_SUMMARY);
+		theRequestDetails.removeParameter(Constants.PARAM_ELEMENTS);
+		theRequestDetails.removeParameter(Constants.PARAM_ELEMENTS + Constants.PARAM_ELEMENTS_EXCLUDE_MODIFIER);
+
+		/*
+		 * If nobody handles it, default behaviour is to stream back the OperationOutcome to the client.
+		 */
+		DEFAULT_EXCEPTION_HANDLER.handleException(theRequestDetails, exception, theRequest, theResponse);
+	}
+
+	private void callProcessingCompletedHooks(ServletRequestDetails theRequestDetails) {
+		HookParams params = new HookParams();
+		params.add(RequestDetails.class, theRequestDetails);
+		params.addIfMatchesType(ServletRequestDetails.class, theRequestDetails);
+		myInterceptorService.callHooks(Pointcut.SERVER_PROCESSING_COMPLETED, params);
+	}
+
+	private boolean isAsyncDispatchApplicable(HttpServletRequest theRequest, RestOperationTypeEnum theOperation) {
+		return myAsyncExecutor != null
+			&& myAsyncOperationTypes.contains(theOperation)
+			&& theRequest.isAsyncSupported()
+			&& !theRequest.isAsyncStarted();
+	}
+
+	/**
+	 * Puts the request into asynchronous mode and invokes the method on the async executor. The
+	 * executor thread writes the response, fires the completion pointcuts and then completes
+	 * the {@link AsyncContext}. If the executor rejects the task it is run on the calling thread.
+	 * <p>
+	 * If the container reports a timeout or an error first, the listener registered here finishes
+	 * the request instead (writing an error response for a timeout if nothing has been sent yet).
+	 * The executor thread only ever sees the response through an {@link AsyncServletResponseWrapper},
+	 * which the listener detaches first, so nothing the executor thread does afterwards reaches the
+	 * container's response.
+	 * </p>
+	 */
+	private void dispatchAsync(BaseMethodBinding theResourceMethod, ServletRequestDetails theRequestDetails, HttpServletRequest theRequest, HttpServletResponse theResponse) {
+		AsyncContext asyncContext = theRequest.startAsync(theRequest, theResponse);
+		asyncContext.setTimeout(myAsyncTimeoutMillis);
+
+		AsyncServletResponseWrapper response = new AsyncServletResponseWrapper(theResponse);
+		theRequestDetails.setServletResponse(response);
+
+		// Set by whichever of the executor thread and the listener finishes the request first
+		AtomicBoolean finished = new AtomicBoolean(false);
+		asyncContext.addListener(new AsyncListener() {
+			@Override
+			public void onComplete(AsyncEvent theEvent) {
+				// nothing
 			}
 
-			/*
-			 * If it's a 410 Gone, we want to include a location header in the response
-			 * if we can, since that can include the resource version which is nice
-			 * for the user.
-			 */
-			if (exception instanceof ResourceGoneException) {
-				IIdType resourceId = ((ResourceGoneException) exception).getResourceId();
-				if (resourceId != null && resourceId.hasResourceType() && resourceId.hasIdPart()) {
-					String baseUrl = myServerAddressStrategy.determineServerBase(theRequest.getServletContext(), theRequest);
-					resourceId = resourceId.withServerBase(baseUrl, resourceId.getResourceType());
-					requestDetails.getResponse().addHeader(Constants.HEADER_LOCATION, resourceId.getValue());
+			@Override
+			public void onTimeout(AsyncEvent theEvent) throws IOException {
+				if (finished.compareAndSet(false, true)) {
+					ourLog.warn("Asynchronous request {} timed out after {}ms", theRequestDetails.getRequestId(), asyncContext.getTimeout());
+					response.detach();
+					try {
+						if (!theResponse.isCommitted()) {
+							// Discard anything the method has buffered but not yet sent
+							theResponse.reset();
+							writeExceptionToResponse(theResponse, new UnclassifiedServerFailureException(HttpServletResponse.SC_SERVICE_UNAVAILABLE, Msg.code(2312) + "Request processing timed out after " + asyncContext.getTimeout() + "ms"));
+						}
+					} finally {
+						asyncContext.complete();
+					}
 				}
 			}
 
-			/*
-			 * Next, interceptors get a shot at handling the exception
-			 */
-			HookParams handleExceptionParams = new HookParams();
-			handleExceptionParams.add(RequestDetails.class, requestDetails);
-			handleExceptionParams.add(ServletRequestDetails.class, requestDetails);
-			handleExceptionParams.add(HttpServletRequest.class, theRequest);
-			handleExceptionParams.add(HttpServletResponse.class, theResponse);
-			handleExceptionParams.add(BaseServerResponseException.class, exception);
-			if (!myInterceptorService.callHooks(Pointcut.SERVER_HANDLE_EXCEPTION, handleExceptionParams)) {
-				return;
+			@Override
+			public void onError(AsyncEvent theEvent) {
+				if (finished.compareAndSet(false, true)) {
+					ourLog.warn("Asynchronous request {} failed: {}", theRequestDetails.getRequestId(), String.valueOf(theEvent.getThrowable()));
+					response.detach();
+					asyncContext.complete();
+				}
 			}
 
-			/*
-			 * If we're handling an exception, no summary mode should be applied
-			 */
-			requestDetails.removeParameter(Constants.PARAM_SUMMARY);
-			requestDetails.removeParameter(Constants.PARAM_ELEMENTS);
-			requestDetails.removeParameter(Constants.PARAM_ELEMENTS + Constants.PARAM_ELEMENTS_EXCLUDE_MODIFIER);
-
-			/*
-			 * If nobody handles it, default behaviour is to stream back the OperationOutcome to the client.
-			 */
-			DEFAULT_EXCEPTION_HANDLER.handleException(requestDetails, exception, theRequest, theResponse);
-
-		} finally {
+			@Override
+			public void onStartAsync(AsyncEvent theEvent) {
+				// nothing
+			}
+		});
 
-			HookParams params = new HookParams();
-			params.add(RequestDetails.class, requestDetails);
-			params.addIfMatchesType(ServletRequestDetails.class, requestDetails);
-			myInterceptorService.callHooks(Pointcut.SERVER_PROCESSING_COMPLETED, params);
+		Runnable task = () -> {
+			try {
+				if (!finished.get()) {
+					invokeServerMethod(theResourceMethod, theRequestDetails);
+				}
+			} catch (Throwable e) {
+				if (finished.get()) {
+					ourLog.debug("Failure in asynchronous request {} after it had already finished", theRequestDetails.getRequestId(), e);
+				} else {
+					try {
+						handleRequestException(theRequestDetails, theRequest, response, e);
+					} catch (Exception e2) {
+						ourLog.error("Failure while handling exception for asynchronous request " + theRequestDetails.getRequestId(), e2);
+					}
+				}
+			} finally {
+				try {
+					callProcessingCompletedHooks(theRequestDetails);
+				} finally {
+					if (finished.compareAndSet(false, true)) {
+						asyncContext.complete();
+					}
+				}
+			}
+		};
 
+		try {
+			myAsyncExecutor.execute(task);
+		} catch (RejectedExecutionException e) {
+			ourLog.warn("Async executor rejected request {}, processing it on the container thread", theRequestDetails.getRequestId());
+			task.run();
 		}
 	}
 
@@ -2032,6 +2223,119 @@ public class RestfulServer extends HttpServlet implements IRestfulServer<Servlet
 		myDefaultPreferReturn = theDefaultPreferReturn;
 	}
 
+	/**
+	 * Returns the executor used to process requests asynchronously, or <code>null</code> if
+	 * asynchronous processing is disabled (which is the default)
+	 *
+	 * @see #setAsyncExecutor(Executor)
+	 * @since 6.6.0
+	 */
+	@Nullable
+	public Executor getAsyncExecutor() {
+		return myAsyncExecutor;
+	}
+
+	/**
+	 * If set to a non-null value (default is <code>null</code>), requests for the operation types
+	 * returned by {@link #getAsyncOperationTypes()} are processed using Servlet asynchronous processing.
+	 * Once the method has been selected, the request is put into asynchronous mode, the method is
+	 * invoked and its response written on a thread supplied by this executor, and the container
+	 * thread is returned to the container right away. This means that slow searches and operations
+	 * no longer tie up container threads. On JDK 21+ a virtual thread executor
+	 * (<code>Executors.newVirtualThreadPerTaskExecutor()</code>) is a good fit.
+	 * <p>
+	 * The servlet must be registered as supporting asynchronous processing (e.g.
+	 * <code>&lt;async-supported&gt;true&lt;/async-supported&gt;</code> in <code>web.xml</code>),
+	 * otherwise requests are processed on the container thread as usual. Interceptors and providers
+	 * which rely on thread-local state set up by servlet filters will not see that state when invoked
+	 * on the executor thread. If the executor rejects a request, it is processed on the container thread.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	public void setAsyncExecutor(@Nullable Executor theAsyncExecutor) {
+		myAsyncExecutor = theAsyncExecutor;
+	}
+
+	/**
+	 * Returns the operation types which are processed asynchronously when an
+	 * {@link #setAsyncExecutor(Executor) async executor} is set
+	 *
+	 * @since 6.6.0
+	 */
+	public Set<RestOperationTypeEnum> getAsyncOperationTypes() {
+		return myAsyncOperationTypes;
+	}
+
+	/**
+	 * Sets the operation types which are processed asynchronously when an
+	 * {@link #setAsyncExecutor(Executor) async executor} is set. Defaults to
+	 * {@link #DEFAULT_ASYNC_OPERATION_TYPES}.
+	 *
+	 * @since 6.6.0
+	 */
+	public void setAsyncOperationTypes(Collection<RestOperationTypeEnum> theAsyncOperationTypes) {
+		Validate.notNull(theAsyncOperationTypes, "theAsyncOperationTypes must not be null");
+		Set<RestOperationTypeEnum> asyncOperationTypes = EnumSet.noneOf(RestOperationTypeEnum.class);
+		asyncOperationTypes.addAll(theAsyncOperationTypes);
+		myAsyncOperationTypes = Collections.unmodifiableSet(asyncOperationTypes);
+	}
+
+	/**
+	 * Returns the timeout applied to requests which are processed asynchronously
+	 *
+	 * @see #setAsyncTimeoutMillis(long)
+	 * @since 6.6.0
+	 */
+	public long getAsyncTimeoutMillis() {
+		return myAsyncTimeoutMillis;
+	}
+
+	/**
+	 * Sets the timeout in milliseconds applied to requests which are processed asynchronously. A
+	 * value of <code>0</code> or less means no timeout, which is the default, since otherwise the
+	 * container's default async timeout (often 30 seconds) would cut off long-running searches.
+	 * <p>
+	 * When a request times out, an HTTP 503 response is returned to the client if no part of the
+	 * response has been sent yet. The method handling the request is not interrupted, but from then
+	 * on it can no longer reach the client's response: header changes are ignored and attempts to
+	 * write the response body fail with an {@link IOException}.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	public void setAsyncTimeoutMillis(long theAsyncTimeoutMillis) {
+		myAsyncTimeoutMillis = theAsyncTimeoutMillis;
+	}
+
+	/**
+	 * Returns the cache of encoded read responses, or <code>null</code> if none is configured (which is the default)
+	 *
+	 * @see #setEncodedResponseCache(EncodedResponseCache)
+	 * @since 6.6.0
+	 */
+	public EncodedResponseCache getEncodedResponseCache() {
+		return myEncodedResponseCache;
+	}
+
+	/**
+	 * Sets a cache of encoded read responses, or <code>null</code> (which is the default) to disable caching. The
+	 * cache is registered with the {@link #getInterceptorService() interceptor service} so that cached responses are
+	 * invalidated when a resource is modified. See {@link EncodedResponseCache} for details on which requests
+	 * can use the cache.
+	 *
+	 * @since 6.6.0
+	 */
+	public void setEncodedResponseCache(EncodedResponseCache theEncodedResponseCache) {
+		if (myEncodedResponseCache != null) {
+			myInterceptorService.unregisterInterceptor(myEncodedResponseCache);
+		}
+		myEncodedResponseCache = theEncodedResponseCache;
+		if (theEncodedResponseCache != null) {
+			myInterceptorService.registerInterceptor(theEncodedResponseCache);
+		}
+	}
+
 	/**
 	 * Create a CapabilityStatement based on the given request
 	 */
@@ -55,7 +55,9 @@ import ca.uhn.fhir.util.UrlUtil;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.hl7.fhir.instance.model.api.IAnyResource;
+import org.hl7.fhir.instance.model.api.IBase;
 import org.hl7.fhir.instance.model.api.IBaseBinary;
+import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseReference;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IDomainResource;
@@ -896,6 +898,18 @@ public class RestfulServerUtils {
 	public static Object streamResponseAsResource(IRestfulServerDefaults theServer, IBaseResource theResource, Set<SummaryEnum> theSummaryMode, int theStatusCode,
 																 boolean theAddContentLocationHeader, boolean respondGzip, RequestDetails theRequestDetails, IIdType theOperationResourceId, IPrimitiveType<Date> theOperationResourceLastUpdated)
 		throws IOException {
+		return streamResponseAsResource(theServer, theResource, theSummaryMode, theStatusCode, theAddContentLocationHeader, respondGzip, theRequestDetails, theOperationResourceId, theOperationResourceLastUpdated, null);
+	}
+
+	/**
+	 * @param theBundleEntries If not <code>null</code>, <code>theResource</code> must be a Bundle and these entries
+	 *                         are encoded as its <code>Bundle.entry</code> values as they are returned by the iterator
+	 * @since 6.6.0
+	 */
+	public static Object streamResponseAsResource(IRestfulServerDefaults theServer, IBaseResource theResource, Set<SummaryEnum> theSummaryMode, int theStatusCode,
+																 boolean theAddContentLocationHeader, boolean respondGzip, RequestDetails theRequestDetails, IIdType theOperationResourceId, IPrimitiveType<Date> theOperationResourceLastUpdated,
+																 @Nullable Iterator<? extends IBase> theBundleEntries)
+		throws IOException {
 		IRestfulResponse response = theRequestDetails.getResponse();
 
 		// Determine response encoding
@@ -919,23 +933,7 @@ public class RestfulServerUtils {
 			response.addHeader(Constants.HEADER_CONTENT_LOCATION, fullId.getValue());
 		}
 
-		if (theServer.getETagSupport() == ETagSupportEnum.ENABLED) {
-			if (theRequestDetails.getRestOperationType() != null) {
-				switch (theRequestDetails.getRestOperationType()) {
-					case CREATE:
-					case UPDATE:
-					case READ:
-					case VREAD:
-						if (fullId != null && fullId.hasVersionIdPart()) {
-							String versionIdPart = fullId.getVersionIdPart();
-							response.addHeader(Constants.HEADER_ETAG, createEtag(versionIdPart));
-						} else if (theResource != null && theResource.getMeta() != null && isNotBlank(theResource.getMeta().getVersionId())) {
-							String versionId = theResource.getMeta().getVersionId();
-							response.addHeader(Constants.HEADER_ETAG, createEtag(versionId));
-						}
-				}
-			}
-		}
+		addETagHeader(theServer, theRequestDetails, determineETagVersionId(fullId, theResource));
 
 		// Binary handling
 		String contentType;
@@ -1000,7 +998,7 @@ public class RestfulServerUtils {
 			lastUpdated = extractLastUpdatedFromResource(theResource);
 		}
 		if (lastUpdated != null && lastUpdated.isEmpty() == false) {
-			response.addHeader(Constants.HEADER_LAST_MODIFIED, DateUtils.formatDate(lastUpdated.getValue()));
+			addLastModifiedHeader(response, lastUpdated.getValue());
 		}
 
 		/*
@@ -1016,10 +1014,20 @@ public class RestfulServerUtils {
 		}
 		String charset = Constants.CHARSET_NAME_UTF8;
 
+		if (theResource != null && !encodingDomainResourceAsText && theBundleEntries == null && !hasWriterCreatedHooks(theServer)) {
+			// Encode straight to UTF-8 bytes if the response supports it
+			OutputStream outputStream = response.getResponseTextOutputStream(theStatusCode, contentType, charset, respondGzip);
+			if (outputStream != null) {
+				IParser parser = getNewParser(theServer.getFhirContext(), theResource.getStructureFhirVersionEnum(), theRequestDetails);
+				parser.encodeResourceToOutputStream(theResource, outputStream);
+				return response.commitResponse(outputStream);
+			}
+		}
+
 		Writer writer = response.getResponseWriter(theStatusCode, contentType, charset, respondGzip);
 
 		// Interceptor call: SERVER_OUTGOING_WRITER_CREATED
-		if (theServer.getInterceptorService() != null && theServer.getInterceptorService().hasHooks(Pointcut.SERVER_OUTGOING_WRITER_CREATED)) {
+		if (hasWriterCreatedHooks(theServer)) {
 			HookParams params = new HookParams()
 				.add(Writer.class, writer)
 				.add(RequestDetails.class, theRequestDetails)
@@ -1045,12 +1053,65 @@ public class RestfulServerUtils {
 		} else {
 			FhirVersionEnum forVersion = theResource.getStructureFhirVersionEnum();
 			IParser parser = getNewParser(theServer.getFhirContext(), forVersion, theRequestDetails);
-			parser.encodeResourceToWriter(theResource, writer);
+			if (theBundleEntries != null) {
+				parser.encodeBundleToWriter((IBaseBundle) theResource, theBundleEntries, writer);
+			} else {
+				parser.encodeResourceToWriter(theResource, writer);
+			}
 		}
 
 		return response.commitResponse(writer);
 	}
 
+	/**
+	 * Returns the version ID to use in the ETag header for the given resource, preferring the version of
+	 * its fully qualified ID over the one in its metadata, or <code>null</code> if neither is known
+	 *
+	 * @since 6.6.0
+	 */
+	@Nullable
+	public static String determineETagVersionId(@Nullable IIdType theFullId, @Nullable IBaseResource theResource) {
+		if (theFullId != null && theFullId.hasVersionIdPart()) {
+			return theFullId.getVersionIdPart();
+		} else if (theResource != null && theResource.getMeta() != null && isNotBlank(theResource.getMeta().getVersionId())) {
+			return theResource.getMeta().getVersionId();
+		}
+		return null;
+	}
+
+	/**
+	 * Adds an ETag header for the given version ID if ETags are enabled and the request
+	 * is a create, update, read or vread
+	 *
+	 * @since 6.6.0
+	 */
+	public static void addETagHeader(IRestfulServerDefaults theServer, RequestDetails theRequestDetails, @Nullable String theVersionId) {
+		if (theServer.getETagSupport() == ETagSupportEnum.ENABLED && theVersionId != null) {
+			if (theRequestDetails.getRestOperationType() != null) {
+				switch (theRequestDetails.getRestOperationType()) {
+					case CREATE:
+					case UPDATE:
+					case READ:
+					case VREAD:
+						theRequestDetails.getResponse().addHeader(Constants.HEADER_ETAG, createEtag(theVersionId));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds a Last-Modified header for the given date
+	 *
+	 * @since 6.6.0
+	 */
+	public static void addLastModifiedHeader(IRestfulResponse theResponse, Date theLastModified) {
+		theResponse.addHeader(Constants.HEADER_LAST_MODIFIED, DateUtils.formatDate(theLastModified));
+	}
+
+	private static boolean hasWriterCreatedHooks(IRestfulServerDefaults theServer) {
+		return theServer.getInterceptorService() != null && theServer.getInterceptorService().hasHooks(Pointcut.SERVER_OUTGOING_WRITER_CREATED);
+	}
+
 	private static String getBinaryContentTypeOrDefault(IBaseBinary theBinary) {
 		String contentType;
 		if (isNotBlank(theBinary.getContentType())) {
@@ -129,24 +129,39 @@ public class AuthorizationInterceptor implements IRuleApplier {
 	@Override
 	public Verdict applyRulesAndReturnDecision(RestOperationTypeEnum theOperation, RequestDetails theRequestDetails, IBaseResource theInputResource, IIdType theInputResourceId,
 															 IBaseResource theOutputResource, Pointcut thePointcut) {
-		@SuppressWarnings("unchecked")
-		List<IAuthRule> rules = (List<IAuthRule>) theRequestDetails.getUserData().get(myRequestRuleListKey);
-		if (rules == null) {
-			rules = buildRuleList(theRequestDetails);
-			theRequestDetails.getUserData().put(myRequestRuleListKey, rules);
+		CompiledAuthRuleList compiledRules = (CompiledAuthRuleList) theRequestDetails.getUserData().get(myRequestRuleListKey);
+		if (compiledRules == null) {
+			compiledRules = buildCompiledRuleList(theRequestDetails);
+			theRequestDetails.getUserData().put(myRequestRuleListKey, compiledRules);
 		}
+
+		String outputResourceType = null;
+		if (theOutputResource != null) {
+			FhirContext fhirContext = theRequestDetails.getFhirContext();
+			outputResourceType = fhirContext != null ? fhirContext.getResourceType(theOutputResource) : null;
+		}
+		List<IAuthRule> rules = outputResourceType != null || theOutputResource == null ? compiledRules.getCandidateRules(theOperation, outputResourceType) : compiledRules.getRules();
+
 		Set<AuthorizationFlagsEnum> flags = getFlags();
 		ourLog.trace("Applying {} rules to render an auth decision for operation {}, theInputResource type={}, theOutputResource type={} ", rules.size(), theOperation,
 			((theInputResource != null) && (theInputResource.getIdElement() != null)) ? theInputResource.getIdElement().getResourceType() : "",
 			((theOutputResource != null) && (theOutputResource.getIdElement() != null)) ? theOutputResource.getIdElement().getResourceType() : "");
 
+		// Compartment owners of the input/output resources are shared across all rules for this decision
+		boolean activatedCompartmentOwnerCache = CompartmentOwnerCache.activate(theRequestDetails);
 		Verdict verdict = null;
-		for (IAuthRule nextRule : rules) {
-			ourLog.trace("Rule being applied - {}", nextRule);
-			verdict = nextRule.applyRule(theOperation, theRequestDetails, theInputResource, theInputResourceId, theOutputResource, this, flags, thePointcut);
-			if (verdict != null) {
-				ourLog.trace("Rule {} returned decision {}", nextRule, verdict.getDecision());
-				break;
+		try {
+			for (IAuthRule nextRule : rules) {
+				ourLog.trace("Rule being applied - {}", nextRule);
+				verdict = nextRule.applyRule(theOperation, theRequestDetails, theInputResource, theInputResourceId, theOutputResource, this, flags, thePointcut);
+				if (verdict != null) {
+					ourLog.trace("Rule {} returned decision {}", nextRule, verdict.getDecision());
+					break;
+				}
+			}
+		} finally {
+			if (activatedCompartmentOwnerCache) {
+				CompartmentOwnerCache.deactivate(theRequestDetails);
 			}
 		}
 
@@ -209,6 +224,25 @@ public class AuthorizationInterceptor implements IRuleApplier {
 		return new ArrayList<>();
 	}
 
+	/**
+	 * Supplies the compiled form of the rules to be applied to this individual request. This
+	 * method is called at most once per request.
+	 * <p>
+	 * The default implementation compiles the rules returned by {@link #buildRuleList(RequestDetails)}.
+	 * Compiling is cheap, but the resulting {@link CompiledAuthRuleList} also memoizes which rules can
+	 * apply to each operation and resource type, so subclasses serving users with large rule lists
+	 * may wish to override this method in order to cache the compiled form per user or per session.
+	 * Any such cache must be invalidated if the user's rules change.
+	 * </p>
+	 *
+	 * @param theRequestDetails The individual request currently being applied
+	 * @since 6.6.0
+	 */
+	@Nonnull
+	public CompiledAuthRuleList buildCompiledRuleList(RequestDetails theRequestDetails) {
+		return new CompiledAuthRuleList(buildRuleList(theRequestDetails));
+	}
+
 	private OperationExamineDirection determineOperationDirection(RestOperationTypeEnum theOperation) {
 
 		switch (theOperation) {
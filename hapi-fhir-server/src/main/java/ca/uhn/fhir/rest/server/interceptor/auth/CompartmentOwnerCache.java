@@ -0,0 +1,90 @@
+package ca.uhn.fhir.rest.server.interceptor.auth;
+
+/*
+ * #%L
+ * HAPI FHIR - Server Framework
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Holds the compartment owners of each resource examined during a single authorization
+ * decision, so that rules sharing a compartment don't each scan the resource's references.
+ * <p>
+ * Entries are keyed on resource identity and are only retained for the duration of one
+ * call to {@link AuthorizationInterceptor#applyRulesAndReturnDecision},
+ * since resources may legitimately be modified between two decisions (e.g. by a storage interceptor).
+ * </p>
+ */
+class CompartmentOwnerCache {
+
+	private static final String REQUEST_ATTRIBUTE_KEY = CompartmentOwnerCache.class.getName();
+	private final Map<IBaseResource, Map<String, Set<String>>> myResourceToCompartmentOwners = new IdentityHashMap<>();
+
+	/**
+	 * Returns the compartment owners of the given resource, computing them using the given supplier
+	 * if they have not already been computed for this resource, compartment and set of additional
+	 * search parameter names
+	 */
+	Set<String> getCompartmentOwners(IBaseResource theResource, String theCompartmentName, Set<String> theAdditionalSearchParamNames, Supplier<Set<String>> theSupplier) {
+		String key = theCompartmentName;
+		if (theAdditionalSearchParamNames != null && !theAdditionalSearchParamNames.isEmpty()) {
+			key = key + "|" + String.join(",", new TreeSet<>(theAdditionalSearchParamNames));
+		}
+
+		Map<String, Set<String>> compartmentNameToOwners = myResourceToCompartmentOwners.computeIfAbsent(theResource, t -> new HashMap<>());
+		Set<String> retVal = compartmentNameToOwners.get(key);
+		if (retVal == null) {
+			retVal = theSupplier.get();
+			compartmentNameToOwners.put(key, retVal);
+		}
+		return retVal;
+	}
+
+	/**
+	 * Returns the cache that is active for the given request, or <code>null</code> if none
+	 */
+	static CompartmentOwnerCache get(RequestDetails theRequestDetails) {
+		if (theRequestDetails == null) {
+			return null;
+		}
+		return (CompartmentOwnerCache) theRequestDetails.getUserData().get(REQUEST_ATTRIBUTE_KEY);
+	}
+
+	/**
+	 * Activates a cache for the given request if one is not already active.
+	 *
+	 * @return Returns <code>true</code> if a new cache was activated, in which case the caller is responsible for calling {@link #deactivate(RequestDetails)}
+	 */
+	static boolean activate(RequestDetails theRequestDetails) {
+		return theRequestDetails.getUserData().putIfAbsent(REQUEST_ATTRIBUTE_KEY, new CompartmentOwnerCache()) == null;
+	}
+
+	static void deactivate(RequestDetails theRequestDetails) {
+		theRequestDetails.getUserData().remove(REQUEST_ATTRIBUTE_KEY);
+	}
+
+}
@@ -0,0 +1,107 @@
+package ca.uhn.fhir.rest.server.interceptor.auth;
+
+/*
+ * #%L
+ * HAPI FHIR - Server Framework
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import org.apache.commons.lang3.Validate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A list of {@link IAuthRule rules} which has been prepared for efficient evaluation
+ * by {@link AuthorizationInterceptor}.
+ * <p>
+ * For each combination of operation and output resource type, this class lazily computes
+ * the subset of rules which could possibly return a verdict, preserving the original order
+ * of the rules (so the first applicable rule still wins). A rule is only skipped when it is
+ * certain to not apply, and rule implementations other than the ones created by
+ * {@link RuleBuilder} are always evaluated.
+ * </p>
+ * <p>
+ * Instances are immutable and thread safe, so a compiled rule list can be cached and
+ * reused across requests (e.g. per user or per session) by overriding
+ * {@link AuthorizationInterceptor#buildCompiledRuleList(ca.uhn.fhir.rest.api.server.RequestDetails)}.
+ * The rules themselves must not be modified once they have been compiled.
+ * </p>
+ *
+ * @since 6.6.0
+ */
+public class CompiledAuthRuleList {
+
+	private final List<IAuthRule> myRules;
+	private final Map<String, List<IAuthRule>> myOperationAndResourceTypeToRules = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param theRules The rules, in the order they should be applied (must not be null)
+	 */
+	public CompiledAuthRuleList(@Nonnull List<IAuthRule> theRules) {
+		Validate.notNull(theRules, "theRules must not be null");
+		myRules = Collections.unmodifiableList(new ArrayList<>(theRules));
+	}
+
+	/**
+	 * Returns all rules, in the order they should be applied
+	 */
+	@Nonnull
+	public List<IAuthRule> getRules() {
+		return myRules;
+	}
+
+	/**
+	 * Returns the rules which could possibly return a verdict for the given operation and
+	 * output resource type, in the order they should be applied.
+	 *
+	 * @param theOperation          The operation being authorized, or <code>null</code> if unknown (in which case all rules are returned)
+	 * @param theOutputResourceType The resource type of the resource being returned to the client, or <code>null</code> if there is no output resource
+	 */
+	@Nonnull
+	public List<IAuthRule> getCandidateRules(@Nullable RestOperationTypeEnum theOperation, @Nullable String theOutputResourceType) {
+		if (theOperation == null) {
+			return myRules;
+		}
+
+		String key = theOutputResourceType != null ? theOperation.name() + "/" + theOutputResourceType : theOperation.name();
+		return myOperationAndResourceTypeToRules.computeIfAbsent(key, t -> compile(theOperation, theOutputResourceType));
+	}
+
+	private List<IAuthRule> compile(RestOperationTypeEnum theOperation, String theOutputResourceType) {
+		List<IAuthRule> retVal = new ArrayList<>(myRules.size());
+		for (IAuthRule next : myRules) {
+			if (next instanceof RuleImplOp && !((RuleImplOp) next).mightApply(theOperation, theOutputResourceType)) {
+				continue;
+			}
+			retVal.add(next);
+		}
+		if (retVal.size() == myRules.size()) {
+			return myRules;
+		}
+		return Collections.unmodifiableList(retVal);
+	}
+
+}
@@ -94,6 +94,67 @@ class RuleImplOp extends BaseRule /* implements IAuthRule */ {
 		myAppliesToInstances = theAppliesToInstances;
 	}
 
+	/**
+	 * Returns <code>false</code> only if {@link #applyRule(RestOperationTypeEnum, RequestDetails, IBaseResource, IIdType, IBaseResource, IRuleApplier, Set, Pointcut) applyRule}
+	 * is certain to return <code>null</code> for the given operation and output resource type, regardless
+	 * of any other details of the request. This is used by {@link CompiledAuthRuleList} to skip rules
+	 * which can not apply, so it must never return <code>false</code> for a rule which could return a verdict.
+	 *
+	 * @param theOperation          The operation being authorized
+	 * @param theOutputResourceType The resource type of the output resource, or <code>null</code> if there is no output resource
+	 */
+	boolean mightApply(RestOperationTypeEnum theOperation, @Nullable String theOutputResourceType) {
+		if (myOp == null) {
+			return true;
+		}
+
+		switch (myOp) {
+			case READ:
+				if (theOutputResourceType != null) {
+					return myAppliesTo != AppliesTypeEnum.TYPES || myClassifierType != ClassifierTypeEnum.ANY_ID || myAppliesToTypes == null || myAppliesToTypes.contains(theOutputResourceType);
+				}
+				switch (theOperation) {
+					case READ:
+					case VREAD:
+					case SEARCH_SYSTEM:
+					case HISTORY_SYSTEM:
+					case SEARCH_TYPE:
+					case HISTORY_TYPE:
+					case HISTORY_INSTANCE:
+					case GET_PAGE:
+						return true;
+					default:
+						return false;
+				}
+			case WRITE:
+				switch (theOperation) {
+					case CREATE:
+					case UPDATE:
+					case ADD_TAGS:
+					case DELETE_TAGS:
+					case META_ADD:
+					case META_DELETE:
+					case PATCH:
+						return true;
+					default:
+						return false;
+				}
+			case CREATE:
+				return theOperation == RestOperationTypeEnum.CREATE;
+			case DELETE:
+				return theOperation == RestOperationTypeEnum.DELETE;
+			case GRAPHQL:
+				return theOperation == RestOperationTypeEnum.GRAPHQL_REQUEST;
+			case METADATA:
+				return theOperation == RestOperationTypeEnum.METADATA;
+			case TRANSACTION:
+				return theOperation == RestOperationTypeEnum.TRANSACTION;
+			case ALL:
+			default:
+				return true;
+		}
+	}
+
 	@Override
 	public Verdict applyRule(RestOperationTypeEnum theOperation, RequestDetails theRequestDetails, IBaseResource theInputResource, IIdType theInputResourceId, IBaseResource theOutputResource,
 									 IRuleApplier theRuleApplier, Set<AuthorizationFlagsEnum> theFlags, Pointcut thePointcut) {
@@ -343,9 +404,25 @@ class RuleImplOp extends BaseRule /* implements IAuthRule */ {
 		}
 	}
 
+	/**
+	 * Returns the IDs of every compartment owner (for the compartment this rule applies to) of the given
+	 * resource. Where possible, the result is shared with any other rules evaluated against the same
+	 * resource during the same authorization decision, so that the resource is only scanned once.
+	 */
+	private Set<String> getCompartmentOwnersForResource(RequestDetails theRequestDetails, FhirContext theCtx, IBaseResource theResource) {
+		Set<String> additionalSearchParamNames = myAdditionalCompartmentSearchParamMap != null ? myAdditionalCompartmentSearchParamMap.getSearchParamNamesForResourceType(theCtx.getResourceType(theResource)) : null;
+		FhirTerser terser = theCtx.newTerser();
+
+		CompartmentOwnerCache cache = CompartmentOwnerCache.get(theRequestDetails);
+		if (cache == null) {
+			return terser.getCompartmentOwnersForResource(myClassifierCompartmentName, theResource, additionalSearchParamNames);
+		}
+		return cache.getCompartmentOwners(theResource, myClassifierCompartmentName, additionalSearchParamNames,
+			() -> terser.getCompartmentOwnersForResource(myClassifierCompartmentName, theResource, additionalSearchParamNames));
+	}
+
 	@Nullable
 	private Verdict applyRuleToCompartment(RestOperationTypeEnum theOperation, RequestDetails theRequestDetails, IBaseResource theInputResource, IIdType theInputResourceId, IBaseResource theOutputResource, Set<AuthorizationFlagsEnum> theFlags, FhirContext ctx, RuleTarget target, IRuleApplier theRuleApplier) {
-		FhirTerser t = ctx.newTerser();
 		boolean foundMatch = false;
 
 		if (target.resourceIds != null && target.resourceIds.size() > 0) {
@@ -357,14 +434,13 @@ class RuleImplOp extends BaseRule /* implements IAuthRule */ {
 			}
 		}
 
+		Set<String> resourceCompartmentOwners = null;
 		for (IIdType next : myClassifierCompartmentOwners) {
 			if (target.resource != null) {
-
-				Set<String> additionalSearchParamNames = null;
-				if (myAdditionalCompartmentSearchParamMap != null) {
-					additionalSearchParamNames = myAdditionalCompartmentSearchParamMap.getSearchParamNamesForResourceType(ctx.getResourceType(target.resource));
+				if (resourceCompartmentOwners == null) {
+					resourceCompartmentOwners = getCompartmentOwnersForResource(theRequestDetails, ctx, target.resource);
 				}
-				if (t.isSourceInCompartmentForTarget(myClassifierCompartmentName, target.resource, next, additionalSearchParamNames)) {
+				if (resourceCompartmentOwners.contains(next.toUnqualifiedVersionless().getValue())) {
 					foundMatch = true;
 					break;
 				}
@@ -222,37 +222,51 @@ public class ConsentInterceptor {
 		}
 
 		IdentityHashMap<IBaseResource, Boolean> authorizedResources = getAuthorizedResourcesMap(theRequestDetails);
+
+		// Each consent service is called once with all of the resources which have not
+		// already been authorized or rejected by a previous service
+		List<Integer> undecidedIndexes = new ArrayList<>(thePreResourceAccessDetails.size());
+		List<IBaseResource> undecidedResources = new ArrayList<>(thePreResourceAccessDetails.size());
 		for (int resourceIdx = 0; resourceIdx < thePreResourceAccessDetails.size(); resourceIdx++) {
-			IBaseResource nextResource = thePreResourceAccessDetails.getResource(resourceIdx);
-			for (int consentSvcIdx = 0; consentSvcIdx < myConsentService.size(); consentSvcIdx++) {
-				IConsentService nextService = myConsentService.get(consentSvcIdx);
+			undecidedIndexes.add(resourceIdx);
+			undecidedResources.add(thePreResourceAccessDetails.getResource(resourceIdx));
+		}
 
-				if (!processConsentSvcs[consentSvcIdx]) {
-					continue;
-				}
+		for (int consentSvcIdx = 0; consentSvcIdx < myConsentService.size() && !undecidedResources.isEmpty(); consentSvcIdx++) {
+			IConsentService nextService = myConsentService.get(consentSvcIdx);
+
+			if (!processConsentSvcs[consentSvcIdx]) {
+				continue;
+			}
+
+			List<ConsentOutcome> outcomes = nextService.canSeeResources(theRequestDetails, Collections.unmodifiableList(undecidedResources), myContextConsentServices);
+			Validate.notNull(outcomes, "Consent service returned null outcomes");
+			Validate.isTrue(outcomes.size() == undecidedResources.size(), "Consent service returned %d outcomes for %d resources", outcomes.size(), undecidedResources.size());
 
-				ConsentOutcome outcome = nextService.canSeeResource(theRequestDetails, nextResource, myContextConsentServices);
+			List<Integer> stillUndecidedIndexes = new ArrayList<>(undecidedIndexes.size());
+			List<IBaseResource> stillUndecidedResources = new ArrayList<>(undecidedResources.size());
+			for (int i = 0; i < outcomes.size(); i++) {
+				ConsentOutcome outcome = outcomes.get(i);
 				Validate.notNull(outcome, "Consent service returned null outcome");
 				Validate.isTrue(outcome.getResource() == null, "Consent service returned a resource in its outcome. This is not permitted in canSeeResource(..)");
 
-				boolean skipSubsequentServices = false;
+				IBaseResource nextResource = undecidedResources.get(i);
 				switch (outcome.getStatus()) {
 					case PROCEED:
+						stillUndecidedIndexes.add(undecidedIndexes.get(i));
+						stillUndecidedResources.add(nextResource);
 						break;
 					case AUTHORIZED:
 						authorizedResources.put(nextResource, Boolean.TRUE);
-						skipSubsequentServices = true;
 						break;
 					case REJECT:
-						thePreResourceAccessDetails.setDontReturnResourceAtIndex(resourceIdx);
-						skipSubsequentServices = true;
+						thePreResourceAccessDetails.setDontReturnResourceAtIndex(undecidedIndexes.get(i));
 						break;
 				}
-
-				if (skipSubsequentServices) {
-					break;
-				}
 			}
+
+			undecidedIndexes = stillUndecidedIndexes;
+			undecidedResources = stillUndecidedResources;
 		}
 	}
 
@@ -24,6 +24,9 @@ import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This interface is intended to be implemented as the user-defined contract for
  * the {@link ConsentInterceptor}.
@@ -113,7 +116,9 @@ public interface IConsentService {
 	 * <b>Performance note:</b> Note that this method should be efficient, since it will be called once
 	 * for every resource potentially returned (e.g. by searches). If this method
 	 * takes a significant amount of time to execute, performance on the server
-	 * will suffer.
+	 * will suffer. Services which perform lookups for each resource should consider
+	 * overriding {@link #canSeeResources(RequestDetails, List, IConsentContextServices)}
+	 * in order to process a batch of resources at once.
 	 * </p>
 	 *
 	 *
@@ -135,6 +140,43 @@ public interface IConsentService {
 		return ConsentOutcome.PROCEED;
 	}
 
+	/**
+	 * This method is called with a batch of resources that a user may potentially see, such as
+	 * a page of search results. It must make the same decisions as
+	 * {@link #canSeeResource(RequestDetails, IBaseResource, IConsentContextServices)} would make for
+	 * each individual resource, and the same restrictions apply to the returned outcomes.
+	 * <p>
+	 * The default implementation simply calls {@link #canSeeResource(RequestDetails, IBaseResource, IConsentContextServices)}
+	 * for each resource. Services which need to look up policy data in order to make a decision
+	 * should override this method in order to fetch the data for all of the resources at once (e.g. in a
+	 * single database query). Implementations may also evaluate the individual resources in parallel
+	 * on their own bounded executor, but note that {@link RequestDetails} is not thread safe and
+	 * should only be accessed from the calling thread.
+	 * </p>
+	 *
+	 * @param theRequestDetails  Contains details about the operation that is
+	 *                           beginning, including details about the request type,
+	 *                           URL, etc. Note that the RequestDetails has a generic
+	 *                           Map (see {@link RequestDetails#getUserData()}) that
+	 *                           can be used to store information and state to be
+	 *                           passed between methods in the consent service.
+	 * @param theResources       The resources that will be exposed. This list must not be modified.
+	 * @param theContextServices An object passed in by the consent framework that
+	 *                           provides utility functions relevant to acting on
+	 *                           consent directives.
+	 * @return A list containing exactly one outcome for each resource in <code>theResources</code>, in the same order.
+	 * See {@link #canSeeResource(RequestDetails, IBaseResource, IConsentContextServices)} for a description of the
+	 * permitted outcomes.
+	 * @since 6.6.0
+	 */
+	default List<ConsentOutcome> canSeeResources(RequestDetails theRequestDetails, List<IBaseResource> theResources, IConsentContextServices theContextServices) {
+		List<ConsentOutcome> retVal = new ArrayList<>(theResources.size());
+		for (IBaseResource next : theResources) {
+			retVal.add(canSeeResource(theRequestDetails, next, theContextServices));
+		}
+		return retVal;
+	}
+
 	/**
 	 * This method is called if a user is about to see a resource, either completely
 	 * or partially. In other words, if the user is going to see any part of this resource
@@ -45,6 +45,7 @@ import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -234,9 +235,59 @@ public abstract class BaseMethodBinding {
 
 	public abstract MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest);
 
+	/**
+	 * Returns a filter describing the requests which this binding can possibly match, or
+	 * <code>null</code> (the default) if the binding must be checked against every request.
+	 * <p>
+	 * Returning a non-null filter is a promise that
+	 * {@link #incomingServerRequestMatchesMethod(RequestDetails)} never matches a request
+	 * which the filter excludes, since such requests are no longer offered to this binding.
+	 * </p>
+	 * <p>
+	 * The filter is ignored if {@link #incomingServerRequestMatchesMethod(RequestDetails)} is
+	 * overridden in a subclass of the class which declares the filter, so a subclass which
+	 * changes the matching logic keeps receiving every request unless it also overrides this
+	 * method to confirm that the filter still describes the requests it can match.
+	 * </p>
+	 *
+	 * @since 6.6.0
+	 */
+	@Nullable
+	public MethodDispatchFilter getDispatchFilter() {
+		return null;
+	}
+
 	public abstract Object invokeServer(IRestfulServer<?> theServer, RequestDetails theRequest) throws BaseServerResponseException, IOException;
 
 	protected final Object invokeServerMethod(RequestDetails theRequest, Object[] theMethodParams) {
+		callPreHandledHooks(theRequest, theMethodParams);
+
+		// Actually invoke the method
+		try {
+			Method method = getMethod();
+			return method.invoke(getProvider(), theMethodParams);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof BaseServerResponseException) {
+				throw (BaseServerResponseException) e.getCause();
+			}
+			if (e.getTargetException() instanceof DataFormatException) {
+				throw (DataFormatException)e.getTargetException();
+			}
+			throw new InternalErrorException(Msg.code(389) + "Failed to call access method: " + e.getCause(), e);
+		} catch (Exception e) {
+			throw new InternalErrorException(Msg.code(390) + "Failed to call access method: " + e.getCause(), e);
+		}
+	}
+
+	/**
+	 * Populates the request details for interceptors and calls the
+	 * {@link Pointcut#SERVER_INCOMING_REQUEST_PRE_HANDLED} hooks. This is called by
+	 * {@link #invokeServerMethod(RequestDetails, Object[])}, and may be called directly
+	 * by bindings which answer a request without invoking the provider method.
+	 *
+	 * @since 6.6.0
+	 */
+	protected void callPreHandledHooks(RequestDetails theRequest, Object[] theMethodParams) {
 		// Handle server action interceptors
 		RestOperationTypeEnum operationType = getRestOperationType(theRequest);
 		if (operationType != null) {
@@ -255,22 +306,6 @@ public abstract class BaseMethodBinding {
 			}
 
 		}
-
-		// Actually invoke the method
-		try {
-			Method method = getMethod();
-			return method.invoke(getProvider(), theMethodParams);
-		} catch (InvocationTargetException e) {
-			if (e.getCause() instanceof BaseServerResponseException) {
-				throw (BaseServerResponseException) e.getCause();
-			}
-			if (e.getTargetException() instanceof DataFormatException) {
-				throw (DataFormatException)e.getTargetException();
-			}
-			throw new InternalErrorException(Msg.code(389) + "Failed to call access method: " + e.getCause(), e);
-		} catch (Exception e) {
-			throw new InternalErrorException(Msg.code(390) + "Failed to call access method: " + e.getCause(), e);
-		}
 	}
 
 	/**
@@ -113,6 +113,17 @@ abstract class BaseOutcomeReturningMethodBinding extends BaseMethodBinding {
 		}
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		String matchingOperation = getMatchingOperation();
+		if (matchingOperation == null) {
+			matchingOperation = "";
+		} else if (matchingOperation.isEmpty()) {
+			matchingOperation = null;
+		}
+		return new MethodDispatchFilter(provideAllowableRequestTypes(), matchingOperation, null);
+	}
+
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
 		Set<RequestTypeEnum> allowableRequestTypes = provideAllowableRequestTypes();
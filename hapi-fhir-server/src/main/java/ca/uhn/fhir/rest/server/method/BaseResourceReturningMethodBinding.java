@@ -5,6 +5,7 @@ import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.context.RuntimeResourceDefinition;
 import ca.uhn.fhir.i18n.Msg;
 import ca.uhn.fhir.interceptor.api.HookParams;
+import ca.uhn.fhir.interceptor.api.IInterceptorBroadcaster;
 import ca.uhn.fhir.interceptor.api.Pointcut;
 import ca.uhn.fhir.model.api.IResource;
 import ca.uhn.fhir.model.api.Include;
@@ -30,6 +31,7 @@ import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import ca.uhn.fhir.rest.server.servlet.ServletRequestDetails;
 import ca.uhn.fhir.util.ReflectionUtil;
 import org.apache.commons.lang3.Validate;
+import org.hl7.fhir.instance.model.api.IBase;
 import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.hl7.fhir.instance.model.api.IBaseOperationOutcome;
 import org.hl7.fhir.instance.model.api.IBaseResource;
@@ -44,6 +46,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -74,6 +77,8 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 public abstract class BaseResourceReturningMethodBinding extends BaseMethodBinding {
 	private static final org.slf4j.Logger ourLog = org.slf4j.LoggerFactory.getLogger(BaseResourceReturningMethodBinding.class);
+	private static final String USER_DATA_LAZY_BUNDLE_ENCODING_BATCH_SIZE = BaseResourceReturningMethodBinding.class.getName() + "_LAZY_BUNDLE_ENCODING_BATCH_SIZE";
+	private static final String USER_DATA_LAZY_BUNDLE_ENTRIES = BaseResourceReturningMethodBinding.class.getName() + "_LAZY_BUNDLE_ENTRIES";
 
 	private MethodReturnTypeEnum myMethodReturnType;
 	private String myResourceName;
@@ -156,6 +161,9 @@ public abstract class BaseResourceReturningMethodBinding extends BaseMethodBindi
 		String searchId = null;
 		List<IBaseResource> resourceList;
 		Integer numTotalResults = theResult.size();
+		Integer lazyBatchSize = (Integer) theRequest.getUserData().get(USER_DATA_LAZY_BUNDLE_ENCODING_BATCH_SIZE);
+		int lazyFirstBatchEnd = -1;
+		int lazyToIndex = -1;
 
 		int pageSize;
 		if (offset != null || !theServer.canStoreSearchResults()) {
@@ -193,7 +201,12 @@ public abstract class BaseResourceReturningMethodBinding extends BaseMethodBindi
 				numToReturn = Math.min(numToReturn, numTotalResults - theOffset);
 			}
 
-			if (numToReturn > 0 || theResult.getCurrentPageId() != null) {
+			if (lazyBatchSize != null && numToReturn > 0 && theResult.getCurrentPageId() == null) {
+				// Only load the first batch now, the rest are loaded as the response is being written
+				lazyToIndex = numToReturn + theOffset;
+				lazyFirstBatchEnd = Math.min(lazyToIndex, theOffset + lazyBatchSize);
+				resourceList = theResult.getResources(theOffset, lazyFirstBatchEnd);
+			} else if (numToReturn > 0 || theResult.getCurrentPageId() != null) {
 				resourceList = theResult.getResources(theOffset, numToReturn + theOffset);
 			} else {
 				resourceList = Collections.emptyList();
@@ -217,32 +230,7 @@ public abstract class BaseResourceReturningMethodBinding extends BaseMethodBindi
 			}
 		}
 
-		/*
-		 * Remove any null entries in the list - This generally shouldn't happen but can if
-		 * data has been manually purged from the JPA database
-		 */
-		boolean hasNull = false;
-		for (IBaseResource next : resourceList) {
-			if (next == null) {
-				hasNull = true;
-				break;
-			}
-		}
-		if (hasNull) {
-			resourceList.removeIf(Objects::isNull);
-		}
-
-		/*
-		 * Make sure all returned resources have an ID (if not, this is a bug
-		 * in the user server code)
-		 */
-		for (IBaseResource next : resourceList) {
-			if (next.getIdElement() == null || next.getIdElement().isEmpty()) {
-				if (!(next instanceof IBaseOperationOutcome)) {
-					throw new InternalErrorException(Msg.code(435) + "Server method returned resource of type[" + next.getClass().getSimpleName() + "] with no ID specified (IResource#setId(IdDt) must be called)");
-				}
-			}
-		}
+		removeNullsAndValidateIds(resourceList);
 
 		BundleLinks links = new BundleLinks(theRequest.getFhirServerBase(), theIncludes, RestfulServerUtils.prettyPrintResponse(theServer, theRequest), theBundleType);
 		links.setSelf(theLinkSelf);
@@ -303,12 +291,46 @@ public abstract class BaseResourceReturningMethodBinding extends BaseMethodBindi
 		}
 
 		bundleFactory.addRootPropertiesToBundle(theResult.getUuid(), links, theResult.size(), theResult.getPublished());
-		bundleFactory.addResourcesToBundle(new ArrayList<>(resourceList), theBundleType, links.serverBase, theServer.getBundleInclusionRule(), theIncludes);
+		if (lazyFirstBatchEnd != -1) {
+			LazyBundleEntryIterator entries = new LazyBundleEntryIterator(theServer.getFhirContext(), theResult, resourceList, lazyFirstBatchEnd, lazyToIndex, lazyBatchSize, theBundleType, links, theServer.getBundleInclusionRule(), theIncludes);
+			theRequest.getUserData().put(USER_DATA_LAZY_BUNDLE_ENTRIES, entries);
+		} else {
+			bundleFactory.addResourcesToBundle(new ArrayList<>(resourceList), theBundleType, links.serverBase, theServer.getBundleInclusionRule(), theIncludes);
+		}
 
 		return bundleFactory.getResourceBundle();
 
 	}
 
+	static void removeNullsAndValidateIds(List<IBaseResource> theResourceList) {
+		/*
+		 * Remove any null entries in the list - This generally shouldn't happen but can if
+		 * data has been manually purged from the JPA database
+		 */
+		boolean hasNull = false;
+		for (IBaseResource next : theResourceList) {
+			if (next == null) {
+				hasNull = true;
+				break;
+			}
+		}
+		if (hasNull) {
+			theResourceList.removeIf(Objects::isNull);
+		}
+
+		/*
+		 * Make sure all returned resources have an ID (if not, this is a bug
+		 * in the user server code)
+		 */
+		for (IBaseResource next : theResourceList) {
+			if (next.getIdElement() == null || next.getIdElement().isEmpty()) {
+				if (!(next instanceof IBaseOperationOutcome)) {
+					throw new InternalErrorException(Msg.code(435) + "Server method returned resource of type[" + next.getClass().getSimpleName() + "] with no ID specified (IResource#setId(IdDt) must be called)");
+				}
+			}
+		}
+	}
+
 	protected boolean isOffsetModeHistory() {
 		return false;
 	}
@@ -426,8 +448,21 @@ public abstract class BaseResourceReturningMethodBinding extends BaseMethodBindi
 	public abstract ReturnTypeEnum getReturnType();
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Object invokeServer(IRestfulServer<?> theServer, RequestDetails theRequest) throws BaseServerResponseException, IOException {
-		IBaseResource response = doInvokeServer(theServer, theRequest);
+		IBaseResource response;
+		Iterator<IBase> lazyBundleEntries = null;
+		if (isLazyBundleEncoding(theServer, theRequest)) {
+			theRequest.getUserData().put(USER_DATA_LAZY_BUNDLE_ENCODING_BATCH_SIZE, theServer.getLazyBundleEncodingBatchSize());
+			try {
+				response = doInvokeServer(theServer, theRequest);
+			} finally {
+				theRequest.getUserData().remove(USER_DATA_LAZY_BUNDLE_ENCODING_BATCH_SIZE);
+				lazyBundleEntries = (Iterator<IBase>) theRequest.getUserData().remove(USER_DATA_LAZY_BUNDLE_ENTRIES);
+			}
+		} else {
+			response = doInvokeServer(theServer, theRequest);
+		}
 		/*
 		 When we write directly to an HttpServletResponse, the invocation returns null. However, we still want to invoke
 		 the SERVER_OUTGOING_RESPONSE pointcut.
@@ -446,8 +481,21 @@ public abstract class BaseResourceReturningMethodBinding extends BaseMethodBindi
 				return null;
 			}
 
-			return RestfulServerUtils.streamResponseAsResource(theServer, responseDetails.getResponseResource(), summaryMode, responseDetails.getResponseCode(), isAddContentLocationHeader(), theRequest.isRespondGzip(), theRequest, null, null);
+			return RestfulServerUtils.streamResponseAsResource(theServer, responseDetails.getResponseResource(), summaryMode, responseDetails.getResponseCode(), isAddContentLocationHeader(), theRequest.isRespondGzip(), theRequest, null, null, lazyBundleEntries);
+		}
+	}
+
+	/**
+	 * Lazy encoding is only used when the response is going straight to the client. Interceptors
+	 * on {@link Pointcut#SERVER_OUTGOING_RESPONSE} expect to be able to see and modify the
+	 * complete response Bundle, so their presence disables it.
+	 */
+	private boolean isLazyBundleEncoding(IRestfulServer<?> theServer, RequestDetails theRequest) {
+		if (theServer.getLazyBundleEncodingBatchSize() <= 0 || getReturnType() != ReturnTypeEnum.BUNDLE) {
+			return false;
 		}
+		IInterceptorBroadcaster interceptorBroadcaster = theRequest.getInterceptorBroadcaster();
+		return interceptorBroadcaster == null || !interceptorBroadcaster.hasHooks(Pointcut.SERVER_OUTGOING_RESPONSE);
 	}
 
 	public abstract Object invokeServer(IRestfulServer<?> theServer, RequestDetails theRequest, Object[] theMethodParams) throws InvalidRequestException, InternalErrorException;
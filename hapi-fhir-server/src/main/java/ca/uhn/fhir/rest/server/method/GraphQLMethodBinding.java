@@ -98,6 +98,11 @@ public class GraphQLMethodBinding extends OperationMethodBinding {
 		return myIdParamIndex != null;
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		return new MethodDispatchFilter(Collections.singleton(myMethodRequestType), Constants.OPERATION_NAME_GRAPHQL, null);
+	}
+
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
 		if (Constants.OPERATION_NAME_GRAPHQL.equals(theRequest.getOperation()) && myMethodRequestType.equals(theRequest.getRequestType())) {
@@ -109,6 +109,11 @@ public class HistoryMethodBinding extends BaseResourceReturningMethodBinding {
 		return true;
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		return new MethodDispatchFilter(null, Constants.PARAM_HISTORY, null);
+	}
+
 	// ObjectUtils.equals is replaced by a JDK7 method..
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
@@ -0,0 +1,171 @@
+package ca.uhn.fhir.rest.server.method;
+
+/*
+ * #%L
+ * HAPI FHIR - Server Framework
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.context.BaseRuntimeChildDefinition;
+import ca.uhn.fhir.context.BaseRuntimeElementCompositeDefinition;
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.context.api.BundleInclusionRule;
+import ca.uhn.fhir.model.api.Include;
+import ca.uhn.fhir.model.valueset.BundleTypeEnum;
+import ca.uhn.fhir.rest.api.BundleLinks;
+import ca.uhn.fhir.rest.api.IVersionSpecificBundleFactory;
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.server.RestfulServerUtils;
+import org.hl7.fhir.instance.model.api.IBase;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IIdType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Produces the <code>Bundle.entry</code> values for a search response by loading resources
+ * from an {@link IBundleProvider} one batch at a time, so that the entries can be encoded
+ * as they are loaded instead of being assembled into a complete Bundle first.
+ * <p>
+ * Each batch is converted into entries using the version specific bundle factory, exactly as
+ * it would be for a fully assembled Bundle. Included resources are therefore placed after the
+ * entries of the batch which referenced them, and a resource which has already been returned
+ * in an earlier batch is not repeated.
+ * </p>
+ */
+class LazyBundleEntryIterator implements Iterator<IBase> {
+
+	private final FhirContext myContext;
+	private final IBundleProvider myBundleProvider;
+	private final int myBatchSize;
+	private final int myToIndex;
+	private final BundleTypeEnum myBundleType;
+	private final BundleLinks myLinks;
+	private final BundleInclusionRule myBundleInclusionRule;
+	private final Set<Include> myIncludes;
+	private final BaseRuntimeChildDefinition myEntryChild;
+	private final BaseRuntimeChildDefinition myEntryResourceChild;
+	private final Set<String> myPreviousBatchResourceIds = new HashSet<>();
+	private final Set<String> myCurrentBatchResourceIds = new HashSet<>();
+	private List<IBaseResource> myPendingBatch;
+	private int myNextIndex;
+	private Iterator<IBase> myCurrentEntries = Collections.emptyIterator();
+	private IBase myNext;
+
+	/**
+	 * Constructor
+	 *
+	 * @param theFirstBatch     The resources which have already been loaded for the first batch
+	 * @param theFirstBatchEnd  The index (exclusive) of the last resource in the first batch
+	 * @param theToIndex        The index (exclusive) of the last resource to return
+	 */
+	LazyBundleEntryIterator(FhirContext theContext, IBundleProvider theBundleProvider, List<IBaseResource> theFirstBatch, int theFirstBatchEnd, int theToIndex, int theBatchSize,
+									BundleTypeEnum theBundleType, BundleLinks theLinks, BundleInclusionRule theBundleInclusionRule, Set<Include> theIncludes) {
+		myContext = theContext;
+		myBundleProvider = theBundleProvider;
+		myPendingBatch = theFirstBatch;
+		myNextIndex = theFirstBatchEnd;
+		myToIndex = theToIndex;
+		myBatchSize = theBatchSize;
+		myBundleType = theBundleType;
+		myLinks = theLinks;
+		myBundleInclusionRule = theBundleInclusionRule;
+		myIncludes = theIncludes;
+
+		myEntryChild = theContext.getResourceDefinition("Bundle").getChildByName("entry");
+		myEntryResourceChild = ((BaseRuntimeElementCompositeDefinition<?>) myEntryChild.getChildByName("entry")).getChildByName("resource");
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (myNext == null) {
+			if (myCurrentEntries.hasNext()) {
+				IBase nextEntry = myCurrentEntries.next();
+				String resourceId = getResourceId(nextEntry);
+				if (resourceId != null) {
+					if (myPreviousBatchResourceIds.contains(resourceId)) {
+						continue;
+					}
+					myCurrentBatchResourceIds.add(resourceId);
+				}
+				myNext = nextEntry;
+			} else if (!loadNextBatch()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public IBase next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		IBase retVal = myNext;
+		myNext = null;
+		return retVal;
+	}
+
+	private boolean loadNextBatch() {
+		List<IBaseResource> batch = myPendingBatch;
+		myPendingBatch = null;
+		if (batch == null) {
+			if (myNextIndex >= myToIndex) {
+				return false;
+			}
+			int fromIndex = myNextIndex;
+			myNextIndex = Math.min(myToIndex, fromIndex + myBatchSize);
+			batch = myBundleProvider.getResources(fromIndex, myNextIndex);
+			RestfulServerUtils.validateResourceListNotNull(batch);
+			BaseResourceReturningMethodBinding.removeNullsAndValidateIds(batch);
+		}
+		if (batch.isEmpty()) {
+			// The provider has no more results
+			myNextIndex = myToIndex;
+			return false;
+		}
+
+		myPreviousBatchResourceIds.addAll(myCurrentBatchResourceIds);
+		myCurrentBatchResourceIds.clear();
+
+		IVersionSpecificBundleFactory bundleFactory = myContext.newBundleFactory();
+		bundleFactory.addRootPropertiesToBundle(null, myLinks, null, null);
+		bundleFactory.addResourcesToBundle(new ArrayList<>(batch), myBundleType, myLinks.serverBase, myBundleInclusionRule, myIncludes);
+		List<IBase> entries = myEntryChild.getAccessor().getValues(bundleFactory.getResourceBundle());
+		myCurrentEntries = entries.iterator();
+		return true;
+	}
+
+	private String getResourceId(IBase theEntry) {
+		IBaseResource resource = (IBaseResource) myEntryResourceChild.getAccessor().getFirstValueOrNull(theEntry).orElse(null);
+		if (resource == null) {
+			return null;
+		}
+		IIdType id = resource.getIdElement();
+		if (id == null || !id.hasIdPart()) {
+			return null;
+		}
+		return myContext.getResourceType(resource) + "/" + id.getIdPart();
+	}
+
+}
@@ -0,0 +1,130 @@
+package ca.uhn.fhir.rest.server.method;
+
+/*
+ * #%L
+ * HAPI FHIR - Server Framework
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.rest.api.RequestTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Describes the requests which a method binding can possibly match, using only properties
+ * of the request which are cheap to determine. The server uses this to build an index of
+ * method bindings so that only a small number of candidate bindings need to be checked
+ * using {@link BaseMethodBinding#incomingServerRequestMatchesMethod(RequestDetails)} for
+ * each request.
+ * <p>
+ * A filter must be conservative: for any request which the filter excludes,
+ * {@link BaseMethodBinding#incomingServerRequestMatchesMethod(RequestDetails)} must return
+ * {@link MethodMatchEnum#NONE} without throwing an exception.
+ * </p>
+ *
+ * @see BaseMethodBinding#getDispatchFilter()
+ * @since 6.6.0
+ */
+public final class MethodDispatchFilter {
+
+	private final Set<RequestTypeEnum> myRequestTypes;
+	private final String myOperation;
+	private final Boolean myHasId;
+
+	/**
+	 * Constructor
+	 *
+	 * @param theRequestTypes The request types which can match, or <code>null</code> for any request type
+	 * @param theOperation    The operation name (e.g. <code>$everything</code> or <code>_history</code>) which the request must have,
+	 *                        an empty string if the request must have no operation name, or <code>null</code> for any operation name
+	 * @param theHasId        <code>true</code> if the request must have an ID, <code>false</code> if it must not, or <code>null</code> for either
+	 */
+	public MethodDispatchFilter(@Nullable Collection<RequestTypeEnum> theRequestTypes, @Nullable String theOperation, @Nullable Boolean theHasId) {
+		myRequestTypes = theRequestTypes != null ? Collections.unmodifiableSet(EnumSet.copyOf(theRequestTypes)) : null;
+		myOperation = theOperation;
+		myHasId = theHasId;
+	}
+
+	/**
+	 * Returns the request types which can match, or <code>null</code> for any request type
+	 */
+	@Nullable
+	public Set<RequestTypeEnum> getRequestTypes() {
+		return myRequestTypes;
+	}
+
+	/**
+	 * Returns the operation name which a request must have, an empty string if the request
+	 * must have no operation name, or <code>null</code> for any operation name
+	 */
+	@Nullable
+	public String getOperation() {
+		return myOperation;
+	}
+
+	/**
+	 * Returns <code>true</code> if the request must have an ID, <code>false</code> if it must
+	 * not, or <code>null</code> for either
+	 */
+	@Nullable
+	public Boolean getHasId() {
+		return myHasId;
+	}
+
+	/**
+	 * Returns <code>true</code> if a request with the given properties could match
+	 *
+	 * @param theRequestType The request type
+	 * @param theOperation   The request operation name, or an empty string if the request has none
+	 * @param theHasId       Does the request have an ID
+	 */
+	public boolean mightMatch(RequestTypeEnum theRequestType, String theOperation, boolean theHasId) {
+		if (myRequestTypes != null && !myRequestTypes.contains(theRequestType)) {
+			return false;
+		}
+		if (myOperation != null && !myOperation.equals(theOperation)) {
+			return false;
+		}
+		return myHasId == null || myHasId == theHasId;
+	}
+
+	/**
+	 * Returns the operation name of the request in the form used by {@link #mightMatch(RequestTypeEnum, String, boolean)}
+	 */
+	public static String getOperationKey(RequestDetails theRequest) {
+		String operation = theRequest.getOperation();
+		return isBlank(operation) ? "" : operation;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+			.append("requestTypes", myRequestTypes)
+			.append("operation", myOperation)
+			.append("hasId", myHasId)
+			.toString();
+	}
+}
@@ -50,6 +50,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -235,6 +236,12 @@ public class OperationMethodBinding extends BaseResourceReturningMethodBinding {
 		return myReturnType;
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		String operation = myName.equals(WILDCARD_NAME) ? null : myName;
+		return new MethodDispatchFilter(Arrays.asList(RequestTypeEnum.GET, RequestTypeEnum.POST, RequestTypeEnum.DELETE), operation, null);
+	}
+
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
 		if (isBlank(theRequest.getOperation())) {
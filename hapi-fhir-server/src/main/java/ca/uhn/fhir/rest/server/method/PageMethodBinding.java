@@ -45,6 +45,7 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -189,6 +190,11 @@ public class PageMethodBinding extends BaseResourceReturningMethodBinding {
 		return RestOperationTypeEnum.GET_PAGE;
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		return new MethodDispatchFilter(Collections.singleton(RequestTypeEnum.GET), null, null);
+	}
+
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
 		String[] pageId = theRequest.getParameters().get(Constants.PARAM_PAGINGACTION);
@@ -80,6 +80,12 @@ public class PatchMethodBinding extends BaseOutcomeReturningMethodBindingWithRes
 		return true;
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		// The matching logic below only narrows the inherited matching, so the inherited filter still applies
+		return super.getDispatchFilter();
+	}
+
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
 		MethodMatchEnum retVal = super.incomingServerRequestMatchesMethod(theRequest);
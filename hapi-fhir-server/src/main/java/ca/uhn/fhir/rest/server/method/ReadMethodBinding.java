@@ -33,11 +33,17 @@ import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.rest.api.RequestTypeEnum;
 import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.SummaryEnum;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.api.server.IRestfulServer;
 import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.api.server.ResponseDetails;
 import ca.uhn.fhir.rest.param.ParameterUtil;
 import ca.uhn.fhir.rest.server.ETagSupportEnum;
+import ca.uhn.fhir.rest.server.EncodedResponseCache;
+import ca.uhn.fhir.rest.server.RestfulServer;
+import ca.uhn.fhir.rest.server.RestfulServerUtils;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
 import ca.uhn.fhir.rest.server.exceptions.InternalErrorException;
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
@@ -48,8 +54,10 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IIdType;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -114,6 +122,11 @@ public class ReadMethodBinding extends BaseResourceReturningMethodBinding {
 		return ReturnTypeEnum.RESOURCE;
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		return new MethodDispatchFilter(Arrays.asList(RequestTypeEnum.GET, RequestTypeEnum.HEAD), null, true);
+	}
+
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
 		if (!theRequest.getResourceName().equals(getResourceName())) {
@@ -152,27 +165,59 @@ public class ReadMethodBinding extends BaseResourceReturningMethodBinding {
 	}
 
 
+	/**
+	 * If an {@link EncodedResponseCache} is configured on the server, the cached response is returned for
+	 * a hit, and the encoded response is added to the cache for a miss
+	 */
 	@Override
-	public IBundleProvider invokeServer(IRestfulServer<?> theServer, RequestDetails theRequest, Object[] theMethodParams) throws InvalidRequestException, InternalErrorException {
-		IIdType requestId = theRequest.getId();
-		FhirContext ctx = theRequest.getServer().getFhirContext();
+	public Object invokeServer(IRestfulServer<?> theServer, RequestDetails theRequest) throws BaseServerResponseException, IOException {
+		EncodedResponseCache cache = null;
+		if (theServer instanceof RestfulServer) {
+			cache = ((RestfulServer) theServer).getEncodedResponseCache();
+		}
+		String key = cache != null ? cache.createKey(theServer, theRequest) : null;
+		if (key == null) {
+			return super.invokeServer(theServer, theRequest);
+		}
 
-		String[] invalidQueryStringParams = new String[]{Constants.PARAM_CONTAINED, Constants.PARAM_COUNT, Constants.PARAM_INCLUDE, Constants.PARAM_REVINCLUDE, Constants.PARAM_SORT, Constants.PARAM_SEARCH_TOTAL_MODE};
-		List<String> invalidQueryStringParamsInRequest = new ArrayList<>();
-		Set<String> queryStringParamsInRequest = theRequest.getParameters().keySet();
+		EncodedResponseCache.CachedResponse cachedResponse = cache.get(key);
+		if (cachedResponse != null) {
+			Object[] params = createMethodParams(theRequest);
+			populateMethodParams(theRequest, params);
+			callPreHandledHooks(theRequest, params);
 
-		for (String queryStringParamName : queryStringParamsInRequest) {
-			String lowercaseQueryStringParamName = queryStringParamName.toLowerCase();
-			if (StringUtils.startsWithAny(lowercaseQueryStringParamName, invalidQueryStringParams)) {
-				invalidQueryStringParamsInRequest.add(queryStringParamName);
+			if (theServer.getETagSupport() == ETagSupportEnum.ENABLED && cachedResponse.getVersionId() != null) {
+				String ifNoneMatch = theRequest.getHeader(Constants.HEADER_IF_NONE_MATCH_LC);
+				if (isNotBlank(ifNoneMatch) && ParameterUtil.parseETagValue(ifNoneMatch).equals(cachedResponse.getVersionId())) {
+					ourLog.debug("Returning HTTP 304 because request specified {}={}", Constants.HEADER_IF_NONE_MATCH, ifNoneMatch);
+					throw new NotModifiedException(Msg.code(2309) + "Not Modified");
+				}
 			}
+
+			return cache.writeResponse(theServer, theRequest, cachedResponse);
 		}
 
-		if (!invalidQueryStringParamsInRequest.isEmpty()) {
-			throw new InvalidRequestException(Msg.code(384) + ctx.getLocalizer().getMessage(ReadMethodBinding.class, "invalidParamsInRequest", invalidQueryStringParamsInRequest));
+		IBaseResource response = doInvokeServer(theServer, theRequest);
+		ResponseDetails responseDetails = new ResponseDetails();
+		responseDetails.setResponseResource(response);
+		responseDetails.setResponseCode(Constants.STATUS_HTTP_200_OK);
+		if (!callOutgoingResponseHook(theRequest, responseDetails) || response == null) {
+			return null;
 		}
 
-		theMethodParams[myIdIndex] = ParameterUtil.convertIdToType(requestId, myIdParameterType);
+		IBaseResource responseResource = responseDetails.getResponseResource();
+		if (responseDetails.getResponseCode() == Constants.STATUS_HTTP_200_OK && cache.isCacheable(responseResource)) {
+			EncodedResponseCache.CachedResponse newResponse = cache.encodeAndStore(theServer, theRequest, key, responseResource);
+			return cache.writeResponse(theServer, theRequest, newResponse);
+		}
+
+		Set<SummaryEnum> summaryMode = RestfulServerUtils.determineSummaryMode(theRequest);
+		return RestfulServerUtils.streamResponseAsResource(theServer, responseResource, summaryMode, responseDetails.getResponseCode(), isAddContentLocationHeader(), theRequest.isRespondGzip(), theRequest, null, null, null);
+	}
+
+	@Override
+	public IBundleProvider invokeServer(IRestfulServer<?> theServer, RequestDetails theRequest, Object[] theMethodParams) throws InvalidRequestException, InternalErrorException {
+		populateMethodParams(theRequest, theMethodParams);
 
 		Object response = invokeServerMethod(theRequest, theMethodParams);
 		IBundleProvider retVal = toResourceList(response);
@@ -224,6 +269,28 @@ public class ReadMethodBinding extends BaseResourceReturningMethodBinding {
 		return retVal;
 	}
 
+	private void populateMethodParams(RequestDetails theRequest, Object[] theMethodParams) {
+		IIdType requestId = theRequest.getId();
+		FhirContext ctx = theRequest.getServer().getFhirContext();
+
+		String[] invalidQueryStringParams = new String[]{Constants.PARAM_CONTAINED, Constants.PARAM_COUNT, Constants.PARAM_INCLUDE, Constants.PARAM_REVINCLUDE, Constants.PARAM_SORT, Constants.PARAM_SEARCH_TOTAL_MODE};
+		List<String> invalidQueryStringParamsInRequest = new ArrayList<>();
+		Set<String> queryStringParamsInRequest = theRequest.getParameters().keySet();
+
+		for (String queryStringParamName : queryStringParamsInRequest) {
+			String lowercaseQueryStringParamName = queryStringParamName.toLowerCase();
+			if (StringUtils.startsWithAny(lowercaseQueryStringParamName, invalidQueryStringParams)) {
+				invalidQueryStringParamsInRequest.add(queryStringParamName);
+			}
+		}
+
+		if (!invalidQueryStringParamsInRequest.isEmpty()) {
+			throw new InvalidRequestException(Msg.code(384) + ctx.getLocalizer().getMessage(ReadMethodBinding.class, "invalidParamsInRequest", invalidQueryStringParamsInRequest));
+		}
+
+		theMethodParams[myIdIndex] = ParameterUtil.convertIdToType(requestId, myIdParameterType);
+	}
+
 	public boolean isVread() {
 		return mySupportsVersion;
 	}
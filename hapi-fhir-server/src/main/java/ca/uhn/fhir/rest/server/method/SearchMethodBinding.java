@@ -43,6 +43,7 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -138,6 +139,12 @@ public class SearchMethodBinding extends BaseResourceReturningMethodBinding {
 		return ReturnTypeEnum.BUNDLE;
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		Boolean hasId = myIdParamIndex == null ? Boolean.FALSE : null;
+		return new MethodDispatchFilter(Arrays.asList(RequestTypeEnum.GET, RequestTypeEnum.POST), null, hasId);
+	}
+
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
 
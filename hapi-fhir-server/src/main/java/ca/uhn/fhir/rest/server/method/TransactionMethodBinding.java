@@ -39,6 +39,7 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -88,6 +89,11 @@ public class TransactionMethodBinding extends BaseResourceReturningMethodBinding
 		return ReturnTypeEnum.BUNDLE;
 	}
 
+	@Override
+	public MethodDispatchFilter getDispatchFilter() {
+		return new MethodDispatchFilter(Collections.singleton(RequestTypeEnum.POST), "", null);
+	}
+
 	@Override
 	public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
 		if (theRequest.getRequestType() != RequestTypeEnum.POST) {
@@ -65,14 +65,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -90,6 +96,14 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
  * <li>Delete</li>
  * <li>Search by resource type with no parameters</li>
  * </ul>
+ * <p>
+ * Reads, searches and history operations don't lock, so they can proceed concurrently
+ * with each other and with writes. Writes are serialized. The version map for each
+ * resource ID (see {@link #myIdToVersionToResourceMap}) and the history list for each
+ * resource ID are never modified once stored; a write replaces them with an updated copy.
+ * Subclasses must follow the same rule. The type history list ({@link #myTypeHistory}) is
+ * modified in place, so it must only be accessed while holding the lock on this provider.
+ * </p>
  *
  * @param <T> The resource type to support
  */
@@ -98,9 +112,10 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	private final Class<T> myResourceType;
 	private final FhirContext myFhirContext;
 	private final String myResourceName;
-	protected Map<String, TreeMap<Long, T>> myIdToVersionToResourceMap = new LinkedHashMap<>();
-	protected Map<String, LinkedList<T>> myIdToHistory = new LinkedHashMap<>();
+	protected Map<String, TreeMap<Long, T>> myIdToVersionToResourceMap = new ConcurrentHashMap<>();
+	protected Map<String, LinkedList<T>> myIdToHistory = new ConcurrentHashMap<>();
 	protected LinkedList<T> myTypeHistory = new LinkedList<>();
+	private final Queue<String> myIdsInInsertionOrder = new ConcurrentLinkedQueue<>();
 	protected AtomicLong mySearchCount = new AtomicLong(0);
 	private long myNextId;
 	private final AtomicLong myDeleteCount = new AtomicLong(0);
@@ -129,12 +144,13 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 		myIdToVersionToResourceMap.clear();
 		myIdToHistory.clear();
 		myTypeHistory.clear();
+		myIdsInInsertionOrder.clear();
 	}
 
 	/**
 	 * Clear the counts used by {@link #getCountRead()} and other count methods
 	 */
-	public synchronized void clearCounts() {
+	public void clearCounts() {
 		myReadCount.set(0L);
 		myUpdateCount.set(0L);
 		myCreateCount.set(0L);
@@ -190,7 +206,7 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	 * This method returns a simple operation count. This is mostly
 	 * useful for testing purposes.
 	 */
-	public synchronized long getCountCreate() {
+	public long getCountCreate() {
 		return myCreateCount.get();
 	}
 
@@ -198,7 +214,7 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	 * This method returns a simple operation count. This is mostly
 	 * useful for testing purposes.
 	 */
-	public synchronized long getCountDelete() {
+	public long getCountDelete() {
 		return myDeleteCount.get();
 	}
 
@@ -206,7 +222,7 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	 * This method returns a simple operation count. This is mostly
 	 * useful for testing purposes.
 	 */
-	public synchronized long getCountRead() {
+	public long getCountRead() {
 		return myReadCount.get();
 	}
 
@@ -214,7 +230,7 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	 * This method returns a simple operation count. This is mostly
 	 * useful for testing purposes.
 	 */
-	public synchronized long getCountSearch() {
+	public long getCountSearch() {
 		return mySearchCount.get();
 	}
 
@@ -222,7 +238,7 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	 * This method returns a simple operation count. This is mostly
 	 * useful for testing purposes.
 	 */
-	public synchronized long getCountUpdate() {
+	public long getCountUpdate() {
 		return myUpdateCount.get();
 	}
 
@@ -232,12 +248,15 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	}
 
 	private TreeMap<Long, T> getVersionToResource(String theIdPart) {
-		myIdToVersionToResourceMap.computeIfAbsent(theIdPart, t -> new TreeMap<>());
-		return myIdToVersionToResourceMap.get(theIdPart);
+		TreeMap<Long, T> retVal = myIdToVersionToResourceMap.get(theIdPart);
+		if (retVal == null) {
+			retVal = new TreeMap<>();
+		}
+		return retVal;
 	}
 
 	@History
-	public synchronized List<IBaseResource> historyInstance(@IdParam IIdType theId, RequestDetails theRequestDetails) {
+	public List<IBaseResource> historyInstance(@IdParam IIdType theId, RequestDetails theRequestDetails) {
 		LinkedList<T> retVal = myIdToHistory.get(theId.getIdPart());
 		if (retVal == null) {
 			throw new ResourceNotFoundException(Msg.code(2248) + theId);
@@ -247,12 +266,12 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	}
 
 	@History
-	public List<T> historyType() {
-		return myTypeHistory;
+	public synchronized List<T> historyType() {
+		return new ArrayList<>(myTypeHistory);
 	}
 
 	@Read(version = true)
-	public synchronized T read(@IdParam IIdType theId, RequestDetails theRequestDetails) {
+	public T read(@IdParam IIdType theId, RequestDetails theRequestDetails) {
 		TreeMap<Long, T> versions = myIdToVersionToResourceMap.get(theId.getIdPart());
 		if (versions == null || versions.isEmpty()) {
 			throw new ResourceNotFoundException(Msg.code(2247) + theId);
@@ -284,18 +303,34 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	}
 
 	@Search
-	public synchronized List<IBaseResource> searchAll(RequestDetails theRequestDetails) {
+	public List<IBaseResource> searchAll(RequestDetails theRequestDetails) {
 		mySearchCount.incrementAndGet();
 		List<T> retVal = getAllResources();
 		return fireInterceptorsAndFilterAsNeeded(retVal, theRequestDetails);
 	}
 
 	@Nonnull
-	protected synchronized List<T> getAllResources() {
+	protected List<T> getAllResources() {
+		return getCurrentResources(null);
+	}
+
+	/**
+	 * Returns clones of the current, non-deleted version of the resources with the given IDs,
+	 * in the order in which the resources were first stored
+	 *
+	 * @param theIdParts The ID parts to return, or <code>null</code> to return all resources
+	 * @since 6.6.0
+	 */
+	@Nonnull
+	protected List<T> getCurrentResources(@Nullable Set<String> theIdParts) {
 		List<T> retVal = new ArrayList<>();
 
-		for (TreeMap<Long, T> next : myIdToVersionToResourceMap.values()) {
-			if (next.isEmpty() == false) {
+		for (String nextIdPart : myIdsInInsertionOrder) {
+			if (theIdParts != null && !theIdParts.contains(nextIdPart)) {
+				continue;
+			}
+			TreeMap<Long, T> next = myIdToVersionToResourceMap.get(nextIdPart);
+			if (next != null && next.isEmpty() == false) {
 				T nextResource = next.lastEntry().getValue();
 				if (nextResource != null) {
 					if (ResourceMetadataKeyEnum.DELETED_AT.get(nextResource) == null) {
@@ -312,35 +347,28 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	}
 
 	@Search
-	public synchronized List<IBaseResource> searchById(
+	public List<IBaseResource> searchById(
 		@RequiredParam(name = "_id") TokenAndListParam theIds, RequestDetails theRequestDetails) {
 
-		List<T> retVal = new ArrayList<>();
-
-		for (TreeMap<Long, T> next : myIdToVersionToResourceMap.values()) {
-			if (next.isEmpty() == false) {
-				T nextResource = next.lastEntry().getValue();
-
-				boolean matches = true;
-				if (theIds != null && theIds.getValuesAsQueryTokens().size() > 0) {
-					for (TokenOrListParam nextIdAnd : theIds.getValuesAsQueryTokens()) {
-						matches = false;
-						for (TokenParam nextOr : nextIdAnd.getValuesAsQueryTokens()) {
-							if (nextOr.getValue().equals(nextResource.getIdElement().getIdPart())) {
-								matches = true;
-							}
-						}
-						if (!matches) {
-							break;
-						}
-					}
+		Collection<String> candidateIds = myIdsInInsertionOrder;
+		if (theIds != null) {
+			for (TokenOrListParam nextIdAnd : theIds.getValuesAsQueryTokens()) {
+				Set<String> orIds = new LinkedHashSet<>();
+				for (TokenParam nextOr : nextIdAnd.getValuesAsQueryTokens()) {
+					orIds.add(nextOr.getValue());
 				}
-
-				if (!matches) {
-					continue;
+				if (candidateIds != myIdsInInsertionOrder) {
+					orIds.retainAll(candidateIds);
 				}
+				candidateIds = orIds;
+			}
+		}
 
-				retVal.add(nextResource);
+		List<T> retVal = new ArrayList<>();
+		for (String nextId : candidateIds) {
+			TreeMap<Long, T> next = myIdToVersionToResourceMap.get(nextId);
+			if (next != null && next.isEmpty() == false) {
+				retVal.add(next.lastEntry().getValue());
 			}
 		}
 
@@ -388,8 +416,11 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 		ourLog.info("Storing resource with ID: {}", id.getValue());
 
 		// Store to ID->version->resource map
-		TreeMap<Long, T> versionToResource = getVersionToResource(theIdPart);
+		TreeMap<Long, T> versionToResource = new TreeMap<>(getVersionToResource(theIdPart));
 		versionToResource.put(theVersionIdPart, theResource);
+		if (myIdToVersionToResourceMap.put(theIdPart, versionToResource) == null) {
+			myIdsInInsertionOrder.add(theIdPart);
+		}
 
 		if (theRequestDetails != null && theRequestDetails.getInterceptorBroadcaster() != null) {
 			IInterceptorBroadcaster interceptorBroadcaster = theRequestDetails.getInterceptorBroadcaster();
@@ -462,13 +493,33 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 		myTypeHistory.addFirst(theResource);
 
 		// Store to ID history map
-		myIdToHistory.computeIfAbsent(theIdPart, t -> new LinkedList<>());
-		myIdToHistory.get(theIdPart).addFirst(theResource);
+		LinkedList<T> history = new LinkedList<>();
+		history.add(theResource);
+		LinkedList<T> previousHistory = myIdToHistory.get(theIdPart);
+		if (previousHistory != null) {
+			history.addAll(previousHistory);
+		}
+		myIdToHistory.put(theIdPart, history);
+
+		onResourceStored(theIdPart, theResource);
 
 		// Return the newly assigned ID including the version ID
 		return id;
 	}
 
+	/**
+	 * Called after a new version of a resource (possibly a deleted version) has been stored. Writes are
+	 * serialized, so implementations do not need to guard against concurrent calls to this method, but
+	 * reads may run at the same time. Subclasses may override this method to maintain additional indexes.
+	 *
+	 * @param theIdPart          The ID of the stored resource
+	 * @param theCurrentVersion  The newly stored version of the resource
+	 * @since 6.6.0
+	 */
+	protected void onResourceStored(String theIdPart, T theCurrentVersion) {
+		// nothing by default
+	}
+
 	/**
 	 * @param theConditional This is provided only so that subclasses can implement if they want
 	 */
@@ -535,10 +586,13 @@ public class HashMapResourceProvider<T extends IBaseResource> implements IResour
 	 *
 	 * @since 4.1.0
 	 */
-	public synchronized List<T> getStoredResources() {
+	public List<T> getStoredResources() {
 		List<T> retVal = new ArrayList<>();
-		for (TreeMap<Long, T> next : myIdToVersionToResourceMap.values()) {
-			retVal.add(next.lastEntry().getValue());
+		for (String nextIdPart : myIdsInInsertionOrder) {
+			TreeMap<Long, T> next = myIdToVersionToResourceMap.get(nextIdPart);
+			if (next != null) {
+				retVal.add(next.lastEntry().getValue());
+			}
 		}
 		return Collections.unmodifiableList(retVal);
 	}
@@ -0,0 +1,88 @@
+package ca.uhn.fhir.rest.server;
+
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ConcurrentMemoryPagingProviderTest {
+
+	private final ConcurrentMemoryPagingProvider mySvc = new ConcurrentMemoryPagingProvider(100);
+
+	@Test
+	public void testStoreAndRetrieve() {
+		IBundleProvider list = new SimpleBundleProvider(10);
+		String id = mySvc.storeResultList(null, list);
+
+		assertSame(list, mySvc.retrieveResultList(null, id));
+		assertNull(mySvc.retrieveResultList(null, "FOO"));
+
+		assertEquals(1, mySvc.getHitCount());
+		assertEquals(1, mySvc.getMissCount());
+		assertEquals(10, mySvc.getTotalWeight());
+	}
+
+	@Test
+	public void testEvictOldestWhenMaximumWeightExceeded() {
+		String id0 = mySvc.storeResultList(null, new SimpleBundleProvider(40));
+		String id1 = mySvc.storeResultList(null, new SimpleBundleProvider(40));
+		String id2 = mySvc.storeResultList(null, new SimpleBundleProvider(40));
+
+		assertNull(mySvc.retrieveResultList(null, id0));
+		assertEquals(40, mySvc.retrieveResultList(null, id1).size());
+		assertEquals(40, mySvc.retrieveResultList(null, id2).size());
+		assertEquals(1, mySvc.getEvictionCount());
+		assertEquals(2, mySvc.getEntryCount());
+		assertEquals(80, mySvc.getTotalWeight());
+	}
+
+	@Test
+	public void testResultListHeavierThanMaximumIsNotRetained() {
+		String id0 = mySvc.storeResultList(null, new SimpleBundleProvider(10));
+		String id1 = mySvc.storeResultList(null, new SimpleBundleProvider(1000));
+
+		assertEquals(10, mySvc.retrieveResultList(null, id0).size());
+		assertNull(id1);
+		assertEquals(0, mySvc.getEvictionCount());
+	}
+
+	@Test
+	public void testExpiry() {
+		AtomicLong now = new AtomicLong(1000);
+		mySvc.setClockForUnitTest(now::get);
+		mySvc.setTimeToLiveMillis(500);
+
+		String id0 = mySvc.storeResultList(null, new SimpleBundleProvider(10));
+		now.addAndGet(300);
+		String id1 = mySvc.storeResultList(null, new SimpleBundleProvider(10));
+		now.addAndGet(300);
+
+		assertNull(mySvc.retrieveResultList(null, id0));
+		assertEquals(10, mySvc.retrieveResultList(null, id1).size());
+		assertEquals(1, mySvc.getExpiryCount());
+		assertEquals(10, mySvc.getTotalWeight());
+
+		// Expired entries are also cleared when storing
+		now.addAndGet(300);
+		mySvc.storeResultList(null, new SimpleBundleProvider(5));
+		assertEquals(2, mySvc.getExpiryCount());
+		assertEquals(1, mySvc.getEntryCount());
+		assertEquals(5, mySvc.getTotalWeight());
+	}
+
+	@Test
+	public void testCustomWeigher() {
+		mySvc.setWeigher(t -> 60);
+
+		String id0 = mySvc.storeResultList(null, new SimpleBundleProvider(1));
+		String id1 = mySvc.storeResultList(null, new SimpleBundleProvider(1));
+
+		assertNull(mySvc.retrieveResultList(null, id0));
+		assertEquals(1, mySvc.retrieveResultList(null, id1).size());
+	}
+
+}
@@ -1,7 +1,12 @@
 package ca.uhn.fhir.rest.server;
 
 import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.RequestTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.api.server.SystemRequestDetails;
 import ca.uhn.fhir.rest.server.method.BaseMethodBinding;
+import ca.uhn.fhir.rest.server.method.MethodMatchEnum;
 import ca.uhn.fhir.rest.server.method.PageMethodBinding;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,9 +15,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
 class ResourceBindingTest {
@@ -38,4 +47,60 @@ class ResourceBindingTest {
 		assertEquals(second, list.get(0));
 		assertEquals(first, list.get(1));
 	}
+
+	@Test
+	public void testDispatchIndexExcludesNonMatchingRequestType() throws NoSuchMethodException {
+		Method method = ResourceBindingTest.class.getMethod("testFILO");
+		BaseMethodBinding binding = new PageMethodBinding(ourFhirContext, method);
+		myResourceBinding.addMethod(binding);
+
+		SystemRequestDetails request = new SystemRequestDetails();
+		request.setParameters(Map.of(Constants.PARAM_PAGINGACTION, new String[]{"abc"}));
+
+		request.setRequestType(RequestTypeEnum.GET);
+		assertEquals(List.of(binding), myResourceBinding.getCandidateMethods(request));
+		assertSame(binding, myResourceBinding.getMethod(request));
+
+		request.setRequestType(RequestTypeEnum.POST);
+		assertTrue(myResourceBinding.getCandidateMethods(request).isEmpty());
+		assertNull(myResourceBinding.getMethod(request));
+	}
+
+	@Test
+	public void testDispatchIndexIgnoresInheritedFilterWhenMatchingOverridden() throws NoSuchMethodException {
+		Method method = ResourceBindingTest.class.getMethod("testFILO");
+		BaseMethodBinding binding = new PageMethodBinding(ourFhirContext, method) {
+			@Override
+			public MethodMatchEnum incomingServerRequestMatchesMethod(RequestDetails theRequest) {
+				return MethodMatchEnum.EXACT;
+			}
+		};
+		myResourceBinding.addMethod(binding);
+
+		SystemRequestDetails request = new SystemRequestDetails();
+		request.setRequestType(RequestTypeEnum.POST);
+		assertEquals(List.of(binding), myResourceBinding.getCandidateMethods(request));
+		assertSame(binding, myResourceBinding.getMethod(request));
+	}
+
+	@Test
+	public void testDispatchIndexRebuiltAfterBindingsModified() throws NoSuchMethodException {
+		Method method = ResourceBindingTest.class.getMethod("testFILO");
+		BaseMethodBinding first = new PageMethodBinding(ourFhirContext, method);
+		BaseMethodBinding second = new PageMethodBinding(ourFhirContext, method);
+		myResourceBinding.addMethod(first);
+
+		SystemRequestDetails request = new SystemRequestDetails();
+		request.setRequestType(RequestTypeEnum.GET);
+		assertEquals(List.of(first), myResourceBinding.getCandidateMethods(request));
+
+		myResourceBinding.addMethod(second);
+		assertEquals(List.of(second, first), myResourceBinding.getCandidateMethods(request));
+
+		myResourceBinding.getMethodBindings().remove(second);
+		assertEquals(List.of(first), myResourceBinding.getCandidateMethods(request));
+
+		myResourceBinding.getMethodBindings().set(0, second);
+		assertEquals(List.of(second), myResourceBinding.getCandidateMethods(request));
+	}
 }
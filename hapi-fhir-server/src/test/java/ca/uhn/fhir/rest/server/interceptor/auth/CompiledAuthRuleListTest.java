@@ -0,0 +1,69 @@
+package ca.uhn.fhir.rest.server.interceptor.auth;
+
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.model.primitive.IdDt;
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IIdType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CompiledAuthRuleListTest {
+
+	@Test
+	public void testCandidateRulesPreserveOrder() {
+		IAuthRule custom = new MyCustomRule();
+		List<IAuthRule> rules = new ArrayList<>();
+		rules.addAll(new RuleBuilder().allow("read patient").read().resourcesOfType("Patient").withAnyId().build());
+		rules.add(custom);
+		rules.addAll(new RuleBuilder().allow("write all").write().allResources().withAnyId().build());
+		rules.addAll(new RuleBuilder().allow("read observation").read().resourcesOfType("Observation").withAnyId().build());
+		rules.addAll(new RuleBuilder().allow("metadata").metadata().build());
+		rules.addAll(new RuleBuilder().allow("read compartment").read().resourcesOfType("Observation").inCompartment("Patient", new IdDt("Patient/123")).build());
+		rules.addAll(new RuleBuilder().denyAll("deny all").build());
+
+		CompiledAuthRuleList compiled = new CompiledAuthRuleList(rules);
+
+		assertThat(names(compiled.getCandidateRules(RestOperationTypeEnum.READ, null)), contains("read patient", "custom", "read observation", "read compartment", "deny all"));
+		assertThat(names(compiled.getCandidateRules(RestOperationTypeEnum.SEARCH_TYPE, "Observation")), contains("custom", "read observation", "read compartment", "deny all"));
+		assertThat(names(compiled.getCandidateRules(RestOperationTypeEnum.SEARCH_TYPE, "Patient")), contains("read patient", "custom", "read compartment", "deny all"));
+		assertThat(names(compiled.getCandidateRules(RestOperationTypeEnum.UPDATE, null)), contains("custom", "write all", "deny all"));
+		assertThat(names(compiled.getCandidateRules(RestOperationTypeEnum.METADATA, null)), contains("custom", "metadata", "deny all"));
+
+		// Unknown operations can't be narrowed
+		assertSame(compiled.getRules(), compiled.getCandidateRules(null, null));
+
+		// Candidates are memoized
+		assertSame(compiled.getCandidateRules(RestOperationTypeEnum.READ, null), compiled.getCandidateRules(RestOperationTypeEnum.READ, null));
+	}
+
+	private static List<String> names(List<IAuthRule> theRules) {
+		List<String> retVal = new ArrayList<>();
+		for (IAuthRule next : theRules) {
+			retVal.add(next.getName());
+		}
+		return retVal;
+	}
+
+	private static class MyCustomRule implements IAuthRule {
+
+		@Override
+		public AuthorizationInterceptor.Verdict applyRule(RestOperationTypeEnum theOperation, RequestDetails theRequestDetails, IBaseResource theInputResource, IIdType theInputResourceId, IBaseResource theOutputResource, IRuleApplier theRuleApplier, Set<AuthorizationFlagsEnum> theFlags, Pointcut thePointcut) {
+			return null;
+		}
+
+		@Override
+		public String getName() {
+			return "custom";
+		}
+	}
+
+}
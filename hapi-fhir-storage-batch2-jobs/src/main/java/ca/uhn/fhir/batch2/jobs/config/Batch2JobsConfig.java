@@ -24,6 +24,7 @@ import ca.uhn.fhir.batch2.jobs.export.BulkExportAppCtx;
 import ca.uhn.fhir.batch2.jobs.expunge.DeleteExpungeAppCtx;
 import ca.uhn.fhir.batch2.jobs.importpull.BulkImportPullConfig;
 import ca.uhn.fhir.batch2.jobs.imprt.BulkImportAppCtx;
+import ca.uhn.fhir.batch2.jobs.reencode.ReencodeResourcesAppCtx;
 import ca.uhn.fhir.batch2.jobs.reindex.ReindexAppCtx;
 import ca.uhn.fhir.batch2.jobs.termcodesystem.TermCodeSystemJobConfig;
 import org.springframework.context.annotation.Configuration;
@@ -39,6 +40,7 @@ import org.springframework.context.annotation.Import;
 	BulkExportAppCtx.class,
 	TermCodeSystemJobConfig.class,
 	BulkImportPullConfig.class,
+	ReencodeResourcesAppCtx.class,
 })
 public class Batch2JobsConfig {
 
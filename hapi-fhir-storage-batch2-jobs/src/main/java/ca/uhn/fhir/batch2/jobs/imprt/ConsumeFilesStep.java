@@ -37,12 +37,12 @@ import ca.uhn.fhir.jpa.dao.tx.HapiTransactionService;
 import ca.uhn.fhir.rest.api.server.SystemRequestDetails;
 import ca.uhn.fhir.parser.DataFormatException;
 import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.parser.NDJsonResourceReader;
 import ca.uhn.fhir.rest.api.server.RequestDetails;
 import ca.uhn.fhir.rest.api.server.storage.IResourcePersistentId;
 import ca.uhn.fhir.rest.api.server.storage.TransactionDetails;
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.exceptions.PreconditionFailedException;
-import org.apache.commons.io.LineIterator;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IIdType;
 import org.slf4j.Logger;
@@ -56,8 +56,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static org.apache.commons.lang3.StringUtils.isNotBlank;
-
 public class ConsumeFilesStep implements ILastJobStepWorker<BulkImportJobParameters, NdJsonFileJson> {
 
 	private static final Logger ourLog = LoggerFactory.getLogger(ConsumeFilesStep.class);
@@ -80,19 +78,16 @@ public class ConsumeFilesStep implements ILastJobStepWorker<BulkImportJobParamet
 		String sourceName = theStepExecutionDetails.getData().getSourceName();
 
 		IParser jsonParser = myCtx.newJsonParser();
-		LineIterator lineIter = new LineIterator(new StringReader(ndjson));
 		List<IBaseResource> resources = new ArrayList<>();
-		while (lineIter.hasNext()) {
-			String next = lineIter.next();
-			if (isNotBlank(next)) {
-				IBaseResource parsed;
-				try {
-					parsed = jsonParser.parseResource(next);
-				} catch (DataFormatException e) {
-					throw new JobExecutionFailedException(Msg.code(2052) + "Failed to parse resource: " + e, e);
-				}
-				resources.add(parsed);
+		NDJsonResourceReader reader = new NDJsonResourceReader(jsonParser, new StringReader(ndjson));
+		while (reader.hasNext()) {
+			IBaseResource parsed;
+			try {
+				parsed = reader.next();
+			} catch (DataFormatException e) {
+				throw new JobExecutionFailedException(Msg.code(2052) + "Failed to parse resource: " + e, e);
 			}
+			resources.add(parsed);
 		}
 
 		ourLog.info("Bulk loading {} resources from source {}", resources.size(), sourceName);
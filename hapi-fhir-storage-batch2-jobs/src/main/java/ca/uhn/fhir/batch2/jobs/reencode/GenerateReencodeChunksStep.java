@@ -0,0 +1,85 @@
+package ca.uhn.fhir.batch2.jobs.reencode;
+
+/*-
+ * #%L
+ * hapi-fhir-storage-batch2-jobs
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.batch2.api.IFirstJobStepWorker;
+import ca.uhn.fhir.batch2.api.IJobDataSink;
+import ca.uhn.fhir.batch2.api.JobExecutionFailedException;
+import ca.uhn.fhir.batch2.api.RunOutcome;
+import ca.uhn.fhir.batch2.api.StepExecutionDetails;
+import ca.uhn.fhir.batch2.api.VoidModel;
+import ca.uhn.fhir.jpa.api.svc.IResourceEncodingDictionarySvc;
+import ca.uhn.fhir.util.Logs;
+import org.slf4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+/**
+ * Trains a new dictionary for each requested resource type, and then splits the
+ * stored versions which are not yet encoded with it into work chunks
+ */
+public class GenerateReencodeChunksStep implements IFirstJobStepWorker<ReencodeResourcesJobParameters, ReencodeChunkJson> {
+	public static final int DEFAULT_BATCH_SIZE = 500;
+	private static final Logger ourLog = Logs.getBatchTroubleshootingLog();
+
+	private final IResourceEncodingDictionarySvc myResourceEncodingDictionarySvc;
+
+	public GenerateReencodeChunksStep(IResourceEncodingDictionarySvc theResourceEncodingDictionarySvc) {
+		myResourceEncodingDictionarySvc = theResourceEncodingDictionarySvc;
+	}
+
+	@Nonnull
+	@Override
+	public RunOutcome run(@Nonnull StepExecutionDetails<ReencodeResourcesJobParameters, VoidModel> theStepExecutionDetails, @Nonnull IJobDataSink<ReencodeChunkJson> theDataSink) throws JobExecutionFailedException {
+		ReencodeResourcesJobParameters params = theStepExecutionDetails.getParameters();
+		int batchSize = defaultIfNull(params.getBatchSize(), DEFAULT_BATCH_SIZE);
+
+		int total = 0;
+		for (String nextResourceType : params.getResourceTypes()) {
+			Long dictionaryId = myResourceEncodingDictionarySvc.trainDictionary(nextResourceType);
+			if (dictionaryId == null) {
+				ourLog.info("No dictionary was trained for {}, stored versions will not be re-encoded", nextResourceType);
+				continue;
+			}
+
+			Long afterId = null;
+			while (true) {
+				List<Long> ids = myResourceEncodingDictionarySvc.fetchHistoryIdsToReencode(nextResourceType, dictionaryId, afterId, batchSize);
+				if (ids.isEmpty()) {
+					break;
+				}
+				ReencodeChunkJson chunk = new ReencodeChunkJson()
+					.setResourceType(nextResourceType)
+					.setDictionaryId(dictionaryId)
+					.setHistoryIds(ids);
+				theDataSink.accept(chunk);
+				total += ids.size();
+				afterId = ids.get(ids.size() - 1);
+			}
+		}
+
+		ourLog.info("Submitted {} stored resource versions for re-encoding", total);
+		return new RunOutcome(total);
+	}
+}
@@ -0,0 +1,69 @@
+package ca.uhn.fhir.batch2.jobs.reencode;
+
+/*-
+ * #%L
+ * hapi-fhir-storage-batch2-jobs
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.model.api.IModelJson;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReencodeChunkJson implements IModelJson {
+
+	@JsonProperty("resourceType")
+	private String myResourceType;
+
+	@JsonProperty("dictionaryId")
+	private long myDictionaryId;
+
+	@JsonProperty("historyIds")
+	private List<Long> myHistoryIds;
+
+	public String getResourceType() {
+		return myResourceType;
+	}
+
+	public ReencodeChunkJson setResourceType(String theResourceType) {
+		myResourceType = theResourceType;
+		return this;
+	}
+
+	public long getDictionaryId() {
+		return myDictionaryId;
+	}
+
+	public ReencodeChunkJson setDictionaryId(long theDictionaryId) {
+		myDictionaryId = theDictionaryId;
+		return this;
+	}
+
+	public List<Long> getHistoryIds() {
+		if (myHistoryIds == null) {
+			myHistoryIds = new ArrayList<>();
+		}
+		return myHistoryIds;
+	}
+
+	public ReencodeChunkJson setHistoryIds(List<Long> theHistoryIds) {
+		myHistoryIds = theHistoryIds;
+		return this;
+	}
+}
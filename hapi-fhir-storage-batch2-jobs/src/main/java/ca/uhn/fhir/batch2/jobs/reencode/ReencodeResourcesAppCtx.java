@@ -0,0 +1,54 @@
+package ca.uhn.fhir.batch2.jobs.reencode;
+
+/*-
+ * #%L
+ * hapi-fhir-storage-batch2-jobs
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.batch2.model.JobDefinition;
+import ca.uhn.fhir.jpa.api.svc.IResourceEncodingDictionarySvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReencodeResourcesAppCtx {
+
+	public static final String JOB_REENCODE_RESOURCES = "REENCODE_RESOURCES";
+
+	@Bean
+	public JobDefinition<ReencodeResourcesJobParameters> reencodeResourcesJobDefinition(IResourceEncodingDictionarySvc theResourceEncodingDictionarySvc) {
+		return JobDefinition
+			.newBuilder()
+			.setJobDefinitionId(JOB_REENCODE_RESOURCES)
+			.setJobDescription("Train resource encoding dictionaries and re-encode stored resources")
+			.setJobDefinitionVersion(1)
+			.setParametersType(ReencodeResourcesJobParameters.class)
+			.gatedExecution()
+			.addFirstStep(
+				"train-and-load-ids",
+				"Train a dictionary and load the IDs of resource versions to re-encode",
+				ReencodeChunkJson.class,
+				new GenerateReencodeChunksStep(theResourceEncodingDictionarySvc))
+			.addLastStep(
+				"reencode",
+				"Re-encode resource versions using the new dictionary",
+				new ReencodeResourcesStep(theResourceEncodingDictionarySvc))
+			.build();
+	}
+
+}
@@ -0,0 +1,76 @@
+package ca.uhn.fhir.batch2.jobs.reencode;
+
+/*-
+ * #%L
+ * hapi-fhir-storage-batch2-jobs
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.model.api.IModelJson;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameters for the job which trains a new compression dictionary for each of
+ * the given resource types, and re-encodes the stored versions of those resource
+ * types using it.
+ */
+public class ReencodeResourcesJobParameters implements IModelJson {
+
+	@JsonProperty(value = "resourceType", required = true)
+	@Size(min = 1, message = "At least one resource type must be provided")
+	@NotNull(message = "At least one resource type must be provided")
+	private List<String> myResourceTypes;
+
+	@JsonProperty(value = "batchSize", required = false)
+	@Min(1)
+	@Max(10000)
+	@Nullable
+	private Integer myBatchSize;
+
+	public List<String> getResourceTypes() {
+		if (myResourceTypes == null) {
+			myResourceTypes = new ArrayList<>();
+		}
+		return myResourceTypes;
+	}
+
+	public ReencodeResourcesJobParameters addResourceType(String theResourceType) {
+		getResourceTypes().add(theResourceType);
+		return this;
+	}
+
+	/**
+	 * The number of resource versions to re-encode in each work chunk
+	 */
+	@Nullable
+	public Integer getBatchSize() {
+		return myBatchSize;
+	}
+
+	public ReencodeResourcesJobParameters setBatchSize(@Nullable Integer theBatchSize) {
+		myBatchSize = theBatchSize;
+		return this;
+	}
+}
@@ -0,0 +1,56 @@
+package ca.uhn.fhir.batch2.jobs.reencode;
+
+/*-
+ * #%L
+ * hapi-fhir-storage-batch2-jobs
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.batch2.api.IJobDataSink;
+import ca.uhn.fhir.batch2.api.IJobStepWorker;
+import ca.uhn.fhir.batch2.api.JobExecutionFailedException;
+import ca.uhn.fhir.batch2.api.RunOutcome;
+import ca.uhn.fhir.batch2.api.StepExecutionDetails;
+import ca.uhn.fhir.batch2.api.VoidModel;
+import ca.uhn.fhir.jpa.api.svc.IResourceEncodingDictionarySvc;
+import ca.uhn.fhir.util.Logs;
+import ca.uhn.fhir.util.StopWatch;
+import org.slf4j.Logger;
+
+import javax.annotation.Nonnull;
+
+public class ReencodeResourcesStep implements IJobStepWorker<ReencodeResourcesJobParameters, ReencodeChunkJson, VoidModel> {
+	private static final Logger ourLog = Logs.getBatchTroubleshootingLog();
+
+	private final IResourceEncodingDictionarySvc myResourceEncodingDictionarySvc;
+
+	public ReencodeResourcesStep(IResourceEncodingDictionarySvc theResourceEncodingDictionarySvc) {
+		myResourceEncodingDictionarySvc = theResourceEncodingDictionarySvc;
+	}
+
+	@Nonnull
+	@Override
+	public RunOutcome run(@Nonnull StepExecutionDetails<ReencodeResourcesJobParameters, ReencodeChunkJson> theStepExecutionDetails, @Nonnull IJobDataSink<VoidModel> theDataSink) throws JobExecutionFailedException {
+		ReencodeChunkJson data = theStepExecutionDetails.getData();
+
+		StopWatch sw = new StopWatch();
+		int count = myResourceEncodingDictionarySvc.reencodeHistory(data.getHistoryIds(), data.getDictionaryId());
+		ourLog.info("Re-encoded {} stored {} versions in {} - Instance[{}] Chunk[{}]", count, data.getResourceType(), sw, theStepExecutionDetails.getInstance().getInstanceId(), theStepExecutionDetails.getChunkId());
+
+		return new RunOutcome(count);
+	}
+}
@@ -0,0 +1,89 @@
+package ca.uhn.fhir.jpa.api.svc;
+
+/*-
+ * #%L
+ * HAPI FHIR Storage api
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.jpa.model.entity.ResourceEncodingEnum;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Manages the per resource type dictionaries used by the
+ * <code>JSOND</code> resource encoding, and re-encodes stored resource
+ * versions so that they use the most recent dictionary.
+ *
+ * @since 6.6.0
+ */
+public interface IResourceEncodingDictionarySvc {
+
+	/**
+	 * Returns the ID of the dictionary which should be used to compress newly stored
+	 * resources of the given type, or <code>null</code> if no dictionary has been
+	 * trained for that type yet
+	 */
+	@Nullable
+	Long getCurrentDictionaryId(String theResourceType);
+
+	/**
+	 * Compresses an encoded resource using the given dictionary
+	 */
+	byte[] compress(long theDictionaryId, byte[] theEncodedResource);
+
+	/**
+	 * Returns the decoded JSON text of a stored resource version, regardless of how it is encoded
+	 */
+	@Nullable
+	String decodeResource(@Nullable byte[] theResourceBytes, @Nullable String theResourceText, ResourceEncodingEnum theEncoding, @Nullable Long theDictionaryId);
+
+	/**
+	 * Trains a new dictionary for the given resource type using a sample of the
+	 * most recently stored versions, and makes it the current dictionary for that
+	 * resource type. Resource versions stored after this point will be compressed
+	 * using the new dictionary.
+	 *
+	 * @param theResourceType The resource type, e.g. <code>Observation</code>
+	 * @return The ID of the new dictionary, or <code>null</code> if there are not enough stored resources to train a useful dictionary
+	 */
+	@Nullable
+	Long trainDictionary(String theResourceType);
+
+	/**
+	 * Returns the IDs of stored resource versions of the given type which are not already
+	 * encoded using the given dictionary, in ascending order.
+	 *
+	 * @param theResourceType The resource type
+	 * @param theDictionaryId The dictionary ID
+	 * @param theAfterId      Only IDs greater than this ID will be returned, or <code>null</code> to start at the beginning
+	 * @param theCount        The maximum number of IDs to return
+	 */
+	List<Long> fetchHistoryIdsToReencode(String theResourceType, long theDictionaryId, @Nullable Long theAfterId, int theCount);
+
+	/**
+	 * Re-encodes the given stored resource versions using the <code>JSOND</code> encoding and the
+	 * given dictionary. Versions which are stored inline or deleted are left alone, and nothing
+	 * is re-encoded unless the configured resource encoding is <code>JSOND</code>. Resource hashes
+	 * are calculated over the uncompressed resource, so they are not affected.
+	 *
+	 * @return The number of versions which were re-encoded
+	 */
+	int reencodeHistory(List<Long> theHistoryIds, long theDictionaryId);
+
+}
@@ -0,0 +1,265 @@
+package ca.uhn.fhir.jpa.dao;
+
+/*
+ * #%L
+ * HAPI FHIR Storage api
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.parser.DataFormatException;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdException;
+import org.apache.commons.lang3.Validate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Compresses individual resource bodies using <a href="https://facebook.github.io/zstd/">Zstandard</a>
+ * with a preset dictionary.
+ * <p>
+ * Small documents compress poorly on their own because the compressor has no history
+ * to refer back to. A dictionary built from typical documents of the same resource type
+ * supplies that history, so the repeated property names, code systems and boilerplate
+ * which make up most of a FHIR resource can be encoded as back-references from the
+ * very first byte. Zstandard also decompresses several times faster than the DEFLATE
+ * used by {@link GZipUtil}, so reading a resource back is cheaper as well.
+ * </p>
+ */
+public class DictionaryCompressionUtil {
+
+	/**
+	 * The maximum dictionary size. Zstandard can use larger dictionaries, but resource
+	 * bodies are usually only a few KB, so a larger dictionary gains very little.
+	 */
+	public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+	/**
+	 * The Zstandard compression level. Higher levels compress slightly better at a much
+	 * higher cost, and decompression speed is the same for every level.
+	 */
+	private static final int COMPRESSION_LEVEL = 3;
+
+	/**
+	 * The length of the byte sequences which are counted when training a dictionary
+	 */
+	private static final int TRAINING_KMER_LENGTH = 8;
+
+	/**
+	 * The number of bits used to index the k-mer frequency table. K-mers are counted in a
+	 * fixed size table of primitive counters rather than a map, so a few distinct k-mers
+	 * may share a counter. This only makes the estimate of their frequency slightly high.
+	 */
+	private static final int TRAINING_TABLE_BITS = 20;
+
+	/**
+	 * The length of the segments which are copied from the samples into the dictionary
+	 */
+	private static final int TRAINING_SEGMENT_LENGTH = 64;
+
+	/**
+	 * Non instantiable
+	 */
+	private DictionaryCompressionUtil() {
+		super();
+	}
+
+	public static byte[] compress(CompressionDictionary theDictionary, byte[] theEncoded) {
+		try {
+			return Zstd.compress(theEncoded, theDictionary.myCompress);
+		} catch (ZstdException e) {
+			throw new DataFormatException(Msg.code(2315) + "Failed to compress contents", e);
+		}
+	}
+
+	public static String decompress(CompressionDictionary theDictionary, byte[] theResource) {
+		long size = Zstd.getFrameContentSize(theResource);
+		if (size < 0 || size > Integer.MAX_VALUE) {
+			throw new DataFormatException(Msg.code(2293) + "Failed to decompress contents: invalid or truncated input");
+		}
+		try {
+			byte[] decompressed = Zstd.decompress(theResource, theDictionary.myDecompress, (int) size);
+			return new String(decompressed, StandardCharsets.UTF_8);
+		} catch (ZstdException e) {
+			throw new DataFormatException(Msg.code(2294) + "Failed to decompress contents", e);
+		}
+	}
+
+	/**
+	 * Builds a dictionary from a collection of sample documents.
+	 * <p>
+	 * The samples are divided into short segments, and segments are greedily chosen according
+	 * to how many of the samples contain the byte sequences they are made of, skipping
+	 * sequences which are already covered by a previously chosen segment. The most useful
+	 * segments are placed at the end of the dictionary, since references to recent data
+	 * are encoded more cheaply. The result is used by Zstandard as a raw content dictionary.
+	 * </p>
+	 *
+	 * @param theSamples The sample documents, typically the UTF-8 encoded JSON of recently stored resources
+	 * @param theMaxSize The maximum size of the dictionary, up to {@link #MAX_DICTIONARY_SIZE}
+	 */
+	public static byte[] trainDictionary(Collection<byte[]> theSamples, int theMaxSize) {
+		Validate.isTrue(theMaxSize > 0 && theMaxSize <= MAX_DICTIONARY_SIZE, "theMaxSize must be between 1 and %d", MAX_DICTIONARY_SIZE);
+
+		// Count the number of samples containing each k-mer
+		KmerCounts frequencies = new KmerCounts();
+		int sampleNumber = 0;
+		for (byte[] next : theSamples) {
+			sampleNumber++;
+			for (int i = 0; i + TRAINING_KMER_LENGTH <= next.length; i++) {
+				frequencies.incrementOncePerSample(toKmer(next, i), sampleNumber);
+			}
+		}
+
+		// Score candidate segments, overlapping by half a segment
+		PriorityQueue<Segment> candidates = new PriorityQueue<>(Comparator.comparingLong((Segment t) -> t.myScore).reversed());
+		for (byte[] next : theSamples) {
+			for (int start = 0; start < next.length; start += TRAINING_SEGMENT_LENGTH / 2) {
+				int end = Math.min(next.length, start + TRAINING_SEGMENT_LENGTH);
+				Segment segment = new Segment(next, start, end);
+				segment.myScore = score(segment, frequencies);
+				if (segment.myScore > 0) {
+					candidates.add(segment);
+				}
+				if (end == next.length) {
+					break;
+				}
+			}
+		}
+
+		// Greedily pick the best segments, rescoring lazily as k-mers get covered
+		List<Segment> chosen = new ArrayList<>();
+		int size = 0;
+		while (!candidates.isEmpty() && size < theMaxSize) {
+			Segment next = candidates.poll();
+			long score = score(next, frequencies);
+			if (score <= 0) {
+				continue;
+			}
+			if (!candidates.isEmpty() && score < candidates.peek().myScore) {
+				next.myScore = score;
+				candidates.add(next);
+				continue;
+			}
+
+			int length = Math.min(next.myEnd - next.myStart, theMaxSize - size);
+			chosen.add(new Segment(next.mySample, next.myStart, next.myStart + length));
+			size += length;
+			for (int i = next.myStart; i + TRAINING_KMER_LENGTH <= next.myEnd; i++) {
+				frequencies.clear(toKmer(next.mySample, i));
+			}
+		}
+
+		Collections.reverse(chosen);
+		ByteArrayOutputStream retVal = new ByteArrayOutputStream(size);
+		for (Segment next : chosen) {
+			retVal.write(next.mySample, next.myStart, next.myEnd - next.myStart);
+		}
+		return retVal.toByteArray();
+	}
+
+	private static long score(Segment theSegment, KmerCounts theFrequencies) {
+		long retVal = 0;
+		for (int i = theSegment.myStart; i + TRAINING_KMER_LENGTH <= theSegment.myEnd; i++) {
+			int frequency = theFrequencies.get(toKmer(theSegment.mySample, i));
+			// A sequence which only appears in a single sample is of no use
+			if (frequency > 1) {
+				retVal += frequency;
+			}
+		}
+		return retVal;
+	}
+
+	private static long toKmer(byte[] theBytes, int theOffset) {
+		long retVal = 0;
+		for (int i = 0; i < TRAINING_KMER_LENGTH; i++) {
+			retVal = (retVal << 8) | (theBytes[theOffset + i] & 0xFF);
+		}
+		return retVal;
+	}
+
+	/**
+	 * Counts the number of samples containing each k-mer, using hashed primitive counters
+	 */
+	private static class KmerCounts {
+
+		private final int[] myCounts = new int[1 << TRAINING_TABLE_BITS];
+		private final int[] myLastSample = new int[1 << TRAINING_TABLE_BITS];
+
+		private static int index(long theKmer) {
+			// Fibonacci hashing spreads the k-mer bits over the table index
+			return (int) ((theKmer * 0x9E3779B97F4A7C15L) >>> (64 - TRAINING_TABLE_BITS));
+		}
+
+		void incrementOncePerSample(long theKmer, int theSampleNumber) {
+			int index = index(theKmer);
+			if (myLastSample[index] != theSampleNumber) {
+				myLastSample[index] = theSampleNumber;
+				myCounts[index]++;
+			}
+		}
+
+		int get(long theKmer) {
+			return myCounts[index(theKmer)];
+		}
+
+		void clear(long theKmer) {
+			myCounts[index(theKmer)] = 0;
+		}
+	}
+
+	/**
+	 * A dictionary which has been prepared for use by the compressor and decompressor. Preparing
+	 * a dictionary is much more expensive than compressing a single resource, so instances
+	 * should be cached and reused.
+	 */
+	public static final class CompressionDictionary {
+
+		private final ZstdDictCompress myCompress;
+		private final ZstdDictDecompress myDecompress;
+
+		public CompressionDictionary(byte[] theDictionary) {
+			Validate.isTrue(theDictionary.length > 0, "theDictionary must not be empty");
+			myCompress = new ZstdDictCompress(theDictionary, COMPRESSION_LEVEL);
+			myDecompress = new ZstdDictDecompress(theDictionary);
+		}
+	}
+
+	private static class Segment {
+
+		private final byte[] mySample;
+		private final int myStart;
+		private final int myEnd;
+		private long myScore;
+
+		private Segment(byte[] theSample, int theStart, int theEnd) {
+			mySample = theSample;
+			myStart = theStart;
+			myEnd = theEnd;
+		}
+	}
+
+}
@@ -56,4 +56,17 @@ public class GZipUtil {
 		}
 	}
 
+	public static byte[] compress(byte[] theEncoded) {
+		try {
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			GZIPOutputStream gos = new GZIPOutputStream(os);
+			gos.write(theEncoded);
+			gos.close();
+			os.close();
+			return os.toByteArray();
+		} catch (IOException e) {
+			throw new DataFormatException(Msg.code(2290) + "Compress contents", e);
+		}
+	}
+
 }
@@ -0,0 +1,122 @@
+package ca.uhn.fhir.jpa.dao;
+
+/*
+ * #%L
+ * HAPI FHIR Storage api
+ * %%
+ * Copyright (C) 2014 - 2023 Smile CDR, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.parser.json.JsonLikeStructure;
+import ca.uhn.fhir.parser.json.jackson.JacksonStructure;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Converts between UTF-8 JSON and the <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>
+ * binary JSON format. Smile stores repeated property names (and short repeated string values, such as
+ * code systems) as back-references, so FHIR resources are noticeably smaller than their plain JSON
+ * form while still being much cheaper to decode than GZip compressed JSON.
+ */
+public class SmileUtil {
+
+	private static final JsonFactory ourJsonFactory = new JsonFactory();
+	private static final SmileFactory ourSmileFactory = SmileFactory
+		.builder()
+		.enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+		.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+		.build();
+
+	/**
+	 * Non instantiable
+	 */
+	private SmileUtil() {
+		super();
+	}
+
+	/**
+	 * Reads a Smile document into a structure which can be passed straight to
+	 * {@link ca.uhn.fhir.parser.JsonParser#parseResource(Class, JsonLikeStructure)}. This is
+	 * much cheaper than {@link #decompress(byte[])}, since the document is only tokenized once
+	 * and no JSON text is created.
+	 */
+	public static JsonLikeStructure toJsonLikeStructure(byte[] theResource) {
+		try (JsonParser parser = ourSmileFactory.createParser(theResource)) {
+			JacksonStructure retVal = new JacksonStructure();
+			retVal.load(parser);
+			return retVal;
+		} catch (IOException e) {
+			throw new DataFormatException(Msg.code(2291) + "Failed to decode Smile contents", e);
+		}
+	}
+
+	/**
+	 * Converts a Smile document back into JSON text. Use {@link #toJsonLikeStructure(byte[])}
+	 * instead when the document is going to be parsed.
+	 */
+	public static String decompress(byte[] theResource) {
+		try (JsonParser parser = ourSmileFactory.createParser(theResource)) {
+			StringWriter writer = new StringWriter(theResource.length * 2);
+			try (JsonGenerator generator = ourJsonFactory.createGenerator(writer)) {
+				copy(parser, generator);
+			}
+			return writer.toString();
+		} catch (IOException e) {
+			throw new DataFormatException(Msg.code(2291) + "Failed to decode Smile contents", e);
+		}
+	}
+
+	/**
+	 * Converts a UTF-8 encoded JSON document into Smile
+	 */
+	public static byte[] compress(byte[] theEncoded) {
+		try (JsonParser parser = ourJsonFactory.createParser(theEncoded)) {
+			ByteArrayOutputStream os = new ByteArrayOutputStream(theEncoded.length);
+			try (JsonGenerator generator = ourSmileFactory.createGenerator(os)) {
+				copy(parser, generator);
+			}
+			return os.toByteArray();
+		} catch (IOException e) {
+			throw new DataFormatException(Msg.code(2292) + "Failed to encode Smile contents", e);
+		}
+	}
+
+	/**
+	 * We don't use {@link JsonGenerator#copyCurrentStructure(JsonParser)} because it writes
+	 * JSON decimals as doubles, which would lose the precision (e.g. trailing zeros) that FHIR
+	 * requires decimals to keep
+	 */
+	private static void copy(JsonParser theParser, JsonGenerator theGenerator) throws IOException {
+		for (JsonToken next = theParser.nextToken(); next != null; next = theParser.nextToken()) {
+			if (next == JsonToken.VALUE_NUMBER_FLOAT) {
+				theGenerator.writeNumber(theParser.getDecimalValue());
+			} else {
+				theGenerator.copyCurrentEvent(theParser);
+			}
+		}
+	}
+
+}
@@ -20,15 +20,19 @@ package ca.uhn.fhir.jpa.dao;
  * #L%
  */
 
-import ca.uhn.fhir.util.ThreadPoolUtil;
+import ca.uhn.fhir.util.ExecutorProviderUtil;
+import ca.uhn.fhir.util.IExecutorProvider.FullQueuePolicyEnum;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 
 /**
- * Basic bean which will create a Task Executor
+ * Basic bean which will create a Task Executor using the
+ * {@link ExecutorProviderUtil#getExecutorProvider() configured executor provider}
  */
 public class ThreadPoolFactory {
 
 	public AsyncTaskExecutor newThreadPool(Integer theBundleBatchPoolSize, Integer theBundleBatchMaxPoolSize, String theThreadPrefix) {
-		return ThreadPoolUtil.newThreadPool(theBundleBatchPoolSize, theBundleBatchMaxPoolSize, theThreadPrefix);
+		// Threads are created on demand up to the max pool size and time out when idle, so the core size doesn't limit anything
+		return new TaskExecutorAdapter(ExecutorProviderUtil.newExecutor(theThreadPrefix, theBundleBatchMaxPoolSize, 0, FullQueuePolicyEnum.BLOCK));
 	}
 }
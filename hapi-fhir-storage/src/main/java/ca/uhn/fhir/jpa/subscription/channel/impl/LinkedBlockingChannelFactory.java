@@ -28,14 +28,15 @@ import ca.uhn.fhir.jpa.subscription.channel.api.IChannelReceiver;
 import ca.uhn.fhir.jpa.subscription.channel.api.IChannelSettings;
 import ca.uhn.fhir.jpa.subscription.channel.subscription.IChannelNamer;
 import ca.uhn.fhir.jpa.subscription.match.registry.SubscriptionConstants;
-import ca.uhn.fhir.util.ThreadPoolUtil;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import ca.uhn.fhir.util.ExecutorProviderUtil;
+import ca.uhn.fhir.util.IExecutorProvider.FullQueuePolicyEnum;
 
 import javax.annotation.Nonnull;
 import javax.annotation.PreDestroy;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 public class LinkedBlockingChannelFactory implements IChannelFactory {
 
@@ -73,9 +74,9 @@ public class LinkedBlockingChannelFactory implements IChannelFactory {
 	@Nonnull
 	private LinkedBlockingChannel buildLinkedBlockingChannel(int theConcurrentConsumers, String theChannelName) {
 		String threadNamePrefix = theChannelName + "-";
-		ThreadPoolTaskExecutor threadPoolExecutor = ThreadPoolUtil.newThreadPool(theConcurrentConsumers, theConcurrentConsumers, threadNamePrefix, SubscriptionConstants.DELIVERY_EXECUTOR_QUEUE_SIZE);
+		ExecutorService executor = ExecutorProviderUtil.newExecutor(threadNamePrefix, theConcurrentConsumers, SubscriptionConstants.DELIVERY_EXECUTOR_QUEUE_SIZE, FullQueuePolicyEnum.BLOCK);
 
-		return new LinkedBlockingChannel(theChannelName, threadPoolExecutor, threadPoolExecutor::getQueueSize);
+		return new LinkedBlockingChannel(theChannelName, executor, () -> ExecutorProviderUtil.getQueueSize(executor));
 	}
 
 
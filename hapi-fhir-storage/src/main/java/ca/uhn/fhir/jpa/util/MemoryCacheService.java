@@ -77,6 +77,8 @@ public class MemoryCacheService {
 				case HISTORY_COUNT:
 				case TAG_DEFINITION:
 				case RESOURCE_CONDITIONAL_CREATE_VERSION:
+				case RESOURCE_ENCODING_DICTIONARY:
+				case RESOURCE_ENCODING_DICTIONARY_CURRENT:
 				default:
 					timeoutSeconds = SECONDS.convert(1, MINUTES);
 					maximumSize = 10000;
@@ -198,7 +200,17 @@ public class MemoryCacheService {
 		MATCH_URL(String.class),
 		CONCEPT_TRANSLATION_REVERSE(TranslationQuery.class),
 		RESOURCE_CONDITIONAL_CREATE_VERSION(Long.class),
-		HISTORY_COUNT(HistoryCountKey.class);
+		HISTORY_COUNT(HistoryCountKey.class),
+		/**
+		 * Key type: {@literal Long}
+		 * Value type: {@literal DictionaryCompressionUtil.CompressionDictionary}
+		 */
+		RESOURCE_ENCODING_DICTIONARY(Long.class),
+		/**
+		 * Key type: {@literal String}
+		 * Value type: {@literal Optional<Long>}
+		 */
+		RESOURCE_ENCODING_DICTIONARY_CURRENT(String.class);
 
 		public Class<?> getKeyType() {
 			return myKeyType;
@@ -0,0 +1,148 @@
+package ca.uhn.fhir.jpa.dao;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.JsonParser;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.Enumerations;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.Quantity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of turning a stored resource body back into a resource for each of the
+ * stored encodings, i.e. decoding the stored bytes and parsing the result. The
+ * <code>smileAsText</code> benchmark converts the Smile document to JSON text before parsing it,
+ * for comparison with reading the Smile document directly. The <code>decode</code> benchmarks
+ * only measure decompressing a single stored Patient back into JSON text, since that is how
+ * rows are stored. The JSOND dictionary is trained from the resources in the Bundle.
+ * <p>
+ * This is not run as part of the build. To run it, build the test classes and then run this class's
+ * main method with the test classpath, e.g.
+ * <code>mvn dependency:build-classpath -Dmdep.outputFile=cp.txt</code> followed by
+ * <code>java -cp target/test-classes:target/classes:$(cat cp.txt) ca.uhn.fhir.jpa.dao.ResourceEncodingBenchmark</code>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+@Fork(2)
+public class ResourceEncodingBenchmark {
+
+	private FhirContext myContext;
+	private byte[] myJson;
+	private byte[] myJsonc;
+	private byte[] mySmile;
+	private byte[] myJsond;
+	private DictionaryCompressionUtil.CompressionDictionary myDictionary;
+	private byte[] myResourceJsonc;
+	private byte[] myResourceJsond;
+
+	@Setup
+	public void setup() {
+		myContext = FhirContext.forR4();
+		Bundle bundle = createBundle();
+		myJson = myContext.newJsonParser().encodeResourceToString(bundle).getBytes(StandardCharsets.UTF_8);
+		myJsonc = GZipUtil.compress(myJson);
+		mySmile = SmileUtil.compress(myJson);
+
+		List<byte[]> samples = new ArrayList<>();
+		for (Bundle.BundleEntryComponent next : bundle.getEntry()) {
+			samples.add(myContext.newJsonParser().encodeResourceToString(next.getResource()).getBytes(StandardCharsets.UTF_8));
+		}
+		myDictionary = new DictionaryCompressionUtil.CompressionDictionary(DictionaryCompressionUtil.trainDictionary(samples, DictionaryCompressionUtil.MAX_DICTIONARY_SIZE));
+		myJsond = DictionaryCompressionUtil.compress(myDictionary, myJson);
+		myResourceJsonc = GZipUtil.compress(samples.get(0));
+		myResourceJsond = DictionaryCompressionUtil.compress(myDictionary, samples.get(0));
+	}
+
+	@Benchmark
+	public String decodeJsonc() {
+		return GZipUtil.decompress(myResourceJsonc);
+	}
+
+	@Benchmark
+	public String decodeJsond() {
+		return DictionaryCompressionUtil.decompress(myDictionary, myResourceJsond);
+	}
+
+	@Benchmark
+	public IBaseResource json() {
+		return newParser().parseResource(Bundle.class, new String(myJson, StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public IBaseResource jsonc() {
+		return newParser().parseResource(Bundle.class, GZipUtil.decompress(myJsonc));
+	}
+
+	@Benchmark
+	public IBaseResource jsond() {
+		return newParser().parseResource(Bundle.class, DictionaryCompressionUtil.decompress(myDictionary, myJsond));
+	}
+
+	@Benchmark
+	public IBaseResource smile() {
+		return newParser().parseResource(Bundle.class, SmileUtil.toJsonLikeStructure(mySmile));
+	}
+
+	@Benchmark
+	public IBaseResource smileAsText() {
+		return newParser().parseResource(Bundle.class, SmileUtil.decompress(mySmile));
+	}
+
+	private JsonParser newParser() {
+		return (JsonParser) myContext.newJsonParser();
+	}
+
+	static Bundle createBundle() {
+		Bundle bundle = new Bundle();
+		bundle.setType(Bundle.BundleType.COLLECTION);
+		for (int i = 0; i < 20; i++) {
+			Patient patient = new Patient();
+			patient.setId("Patient/" + i);
+			patient.addIdentifier().setSystem("http://example.com/mrn").setValue("MRN" + i);
+			patient.addName().setFamily("Family" + i).addGiven("Given" + i).addGiven("Middle");
+			patient.setGender(Enumerations.AdministrativeGender.FEMALE);
+			patient.getBirthDateElement().setValueAsString("1980-01-0" + (i % 9 + 1));
+			patient.addAddress().addLine("123 Main St").setCity("Toronto").setCountry("CA");
+			bundle.addEntry().setFullUrl("http://example.com/fhir/Patient/" + i).setResource(patient);
+
+			Observation obs = new Observation();
+			obs.setId("Observation/" + i);
+			obs.setStatus(Observation.ObservationStatus.FINAL);
+			obs.getCode().addCoding().setSystem("http://loinc.org").setCode("29463-7").setDisplay("Body weight");
+			obs.getSubject().setReference("Patient/" + i);
+			obs.setEffective(new DateTimeType("2023-01-01T12:00:00Z"));
+			obs.setValue(new Quantity().setValue(70.5 + i).setUnit("kg").setSystem("http://unitsofmeasure.org").setCode("kg"));
+			bundle.addEntry().setFullUrl("http://example.com/fhir/Observation/" + i).setResource(obs);
+		}
+		return bundle;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ResourceEncodingBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -7,11 +7,13 @@ import ca.uhn.fhir.model.api.IResource;
 import ca.uhn.fhir.model.api.ResourceMetadataKeyEnum;
 import ca.uhn.fhir.model.api.Tag;
 import ca.uhn.fhir.model.api.TagList;
+import ca.uhn.fhir.model.api.TemporalPrecisionEnum;
 import ca.uhn.fhir.model.base.composite.BaseCodingDt;
 import ca.uhn.fhir.model.dstu2.composite.CodeableConceptDt;
 import ca.uhn.fhir.model.dstu2.composite.CodingDt;
 import ca.uhn.fhir.model.dstu2.composite.HumanNameDt;
 import ca.uhn.fhir.model.dstu2.composite.IdentifierDt;
+import ca.uhn.fhir.model.dstu2.composite.QuantityDt;
 import ca.uhn.fhir.model.dstu2.composite.ResourceReferenceDt;
 import ca.uhn.fhir.model.dstu2.resource.BaseResource;
 import ca.uhn.fhir.model.dstu2.resource.Basic;
@@ -1311,6 +1313,53 @@ public class JsonParserDstu2Test {
 		assertThat(ourCtx.newJsonParser().setOmitResourceId(true).encodeResourceToString(p), not(containsString("123")));
 	}
 
+	@Test
+	public void testParseWithDeferredPrimitiveValueParsing() {
+		FhirContext ctx = FhirContext.forDstu2();
+		ctx.getParserOptions().setDeferPrimitiveValueParsing(true);
+
+		String input = "{\"resourceType\":\"Observation\",\"status\":\"final\",\"effectiveDateTime\":\"2011-02-22T11:22:33.1234+05:00\",\"valueQuantity\":{\"value\":12.50,\"unit\":\"kg\"}}";
+		Observation obs = ctx.newJsonParser().parseResource(Observation.class, input);
+
+		DateTimeDt effective = (DateTimeDt) obs.getEffective();
+		QuantityDt quantity = (QuantityDt) obs.getValue();
+		assertTrue(effective.isParsePending());
+		assertTrue(quantity.getValueElement().isParsePending());
+		assertEquals("2011-02-22T11:22:33.1234+05:00", effective.getValueAsString());
+
+		// Encoding does not need to parse the date or the decimal
+		assertEquals(input, ctx.newJsonParser().encodeResourceToString(obs));
+		assertTrue(effective.isParsePending());
+		assertTrue(quantity.getValueElement().isParsePending());
+
+		assertEquals(TemporalPrecisionEnum.MILLI, effective.getPrecision());
+		assertFalse(effective.isParsePending());
+		assertEquals(Long.valueOf(123400000L), effective.getNanos());
+		assertEquals(new DateTimeDt("2011-02-22T11:22:33.1234+05:00").getValue(), effective.getValue());
+		assertEquals("12.50", quantity.getValueElement().getValue().toPlainString());
+
+		// Invalid values are reported when they are first accessed
+		obs = ctx.newJsonParser().parseResource(Observation.class, "{\"resourceType\":\"Observation\",\"effectiveDateTime\":\"2011-99-22\"}");
+		DateTimeDt invalid = (DateTimeDt) obs.getEffective();
+		assertEquals("2011-99-22", invalid.getValueAsString());
+		try {
+			invalid.getValue();
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage(), containsString("2011-99-22"));
+		}
+
+		// A strict error handler still rejects invalid values while parsing
+		try {
+			ctx.newJsonParser().setParserErrorHandler(new StrictErrorHandler()).parseResource(Observation.class, "{\"resourceType\":\"Observation\",\"effectiveDateTime\":\"2011-99-22\"}");
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage(), containsString("2011-99-22"));
+		}
+		obs = ctx.newJsonParser().setParserErrorHandler(new StrictErrorHandler()).parseResource(Observation.class, input);
+		assertFalse(((DateTimeDt) obs.getEffective()).isParsePending());
+	}
+
 	@Test
 	public void testOverrideResourceIdWithBundleEntryFullUrlDisabled_ConfiguredOnFhirContext() {
 		try {
@@ -1,6 +1,7 @@
 package ca.uhn.fhir.context;
 
 import ca.uhn.fhir.rest.client.MyPatientWithExtensions;
+import ca.uhn.fhir.parser.DataFormatException;
 import ca.uhn.fhir.util.OperationOutcomeUtil;
 import ca.uhn.fhir.util.TestUtil;
 import org.hl7.fhir.dstu3.model.Bundle;
@@ -8,6 +9,7 @@ import org.hl7.fhir.dstu3.model.Coding;
 import org.hl7.fhir.dstu3.model.DateTimeType;
 import org.hl7.fhir.dstu3.model.Enumerations.AdministrativeGender;
 import org.hl7.fhir.dstu3.model.Patient;
+import org.hl7.fhir.dstu3.model.Observation;
 import org.hl7.fhir.dstu3.model.Reference;
 import org.hl7.fhir.dstu3.model.StructureDefinition;
 import org.junit.jupiter.api.AfterAll;
@@ -23,9 +25,13 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class FhirContextDstu3Test {
 	private static final org.slf4j.Logger ourLog = org.slf4j.LoggerFactory.getLogger(FhirContextDstu3Test.class);
@@ -84,6 +90,29 @@ public class FhirContextDstu3Test {
 		assertEquals(StructureDefinition.class, ourCtx.getResourceDefinition("structuredefinition").getImplementingClass());
 	}
 
+	@Test
+	public void testGetResourceDefinitionLoadsResourceTypeOnDemand() {
+		FhirContext ctx = FhirContext.forDstu3();
+
+		RuntimeResourceDefinition def = ctx.getResourceDefinition("Observation");
+		assertEquals(Observation.class, def.getImplementingClass());
+		assertTrue(def.isStandardType());
+
+		def = ctx.getResourceDefinition(FhirVersionEnum.DSTU3, "Observation");
+		assertEquals(Observation.class, def.getImplementingClass());
+
+		def = ctx.getResourceDefinition(MyPatient.class);
+		assertFalse(def.isStandardType());
+		assertEquals(Patient.class, ctx.getResourceDefinition("Patient").getImplementingClass());
+
+		try {
+			ctx.getResourceDefinition("FooResource");
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage(), containsString("Unknown resource name \"FooResource\""));
+		}
+	}
+
 	@Test
 	public void testInitialisationThreadSafety() {
 		final FhirContext ctx = FhirContext.forDstu3();
@@ -1,6 +1,8 @@
 package ca.uhn.fhir.context;
 
 import ca.uhn.fhir.i18n.Msg;
+import org.hl7.fhir.instance.model.api.IPrimitiveType;
+import org.hl7.fhir.r4.model.DateType;
 import org.hl7.fhir.r4.model.Enumerations;
 import org.hl7.fhir.r4.model.Patient;
 import org.junit.jupiter.api.Test;
@@ -57,4 +59,43 @@ public class BaseRuntimeElementDefinitionTest {
 			assertEquals("HAPI-2142: Remove by index can only be called on a list-valued field.  'gender' is a single-valued field.", e.getMessage());
 		}
 	}
+
+	@Test
+	void generatedFieldAccessors() {
+		FhirContext ctx = FhirContext.forR4();
+		ctx.setPerformanceOptions(PerformanceOptionsEnum.GENERATED_FIELD_ACCESSORS);
+
+		Patient patient = new Patient();
+		patient.setId("Patient/123");
+		patient.setGender(Enumerations.AdministrativeGender.MALE);
+		patient.addName().setFamily("A1").addGiven("G1");
+		patient.addName().setFamily("A2");
+		patient.setBirthDateElement(new DateType("2000-01-01"));
+
+		String expected = ourFhirContext.newJsonParser().encodeResourceToString(patient);
+		String encoded = ctx.newJsonParser().encodeResourceToString(patient);
+		assertEquals(expected, encoded);
+
+		Patient parsed = ctx.newJsonParser().parseResource(Patient.class, encoded);
+		assertEquals(expected, ourFhirContext.newJsonParser().encodeResourceToString(parsed));
+
+		RuntimeResourceDefinition def = ctx.getResourceDefinition(parsed);
+		BaseRuntimeChildDefinition nameChild = def.getChildByName("name");
+		assertEquals(2, nameChild.getAccessor().getValues(parsed).size());
+		nameChild.getMutator().remove(parsed, 0);
+		assertEquals("A2", parsed.getNameFirstRep().getFamily());
+		assertEquals("male", def.getChildByName("gender").getAccessor().getFirstValueOrNull(parsed).map(t -> ((IPrimitiveType<?>) t).getValueAsString()).orElse(null));
+		def.getChildByName("gender").getMutator().setValue(parsed, null);
+		assertEquals(0, def.getChildByName("gender").getAccessor().getValues(parsed).size());
+
+		// The accessors were generated rather than falling back to reflection
+		assertEquals(Patient.class.getName() + "$$HapiFieldAccessor$name", nameChild.getAccessor().getClass().getName());
+		assertEquals(Patient.class.getName() + "$$HapiFieldAccessor$gender", def.getChildByName("gender").getAccessor().getClass().getName());
+
+		// A second context shares the generated classes
+		FhirContext ctx2 = FhirContext.forR4();
+		ctx2.setPerformanceOptions(PerformanceOptionsEnum.GENERATED_FIELD_ACCESSORS);
+		assertEquals(expected, ctx2.newJsonParser().encodeResourceToString(patient));
+	}
+
 }
@@ -0,0 +1,139 @@
+package ca.uhn.fhir.context;
+
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.util.FhirTerser;
+import org.hl7.fhir.instance.model.api.IPrimitiveType;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.Enumerations;
+import org.hl7.fhir.r4.model.InstantType;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.Quantity;
+import org.hl7.fhir.r4.model.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflective field access with {@link PerformanceOptionsEnum#GENERATED_FIELD_ACCESSORS}
+ * for parsing, encoding and terser traversal of an R4 Bundle, and for reading every child of
+ * the resources in the Bundle directly through their accessors.
+ * <p>
+ * This is not run as part of the build. To run it, build the test classes and then run this class's
+ * main method with the test classpath, e.g.
+ * <code>mvn dependency:build-classpath -Dmdep.outputFile=cp.txt</code> followed by
+ * <code>java -cp target/test-classes:target/classes:$(cat cp.txt) ca.uhn.fhir.context.FieldAccessorBenchmark</code>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+@Fork(2)
+public class FieldAccessorBenchmark {
+
+	@Param({"REFLECTION", "GENERATED_FIELD_ACCESSORS"})
+	public String myAccessors;
+
+	private IParser myParser;
+	private FhirTerser myTerser;
+	private String myEncoded;
+	private Bundle myBundle;
+	private List<Resource> myResources;
+	private List<List<BaseRuntimeChildDefinition>> myResourceChildren;
+
+	@Setup
+	public void setup() {
+		FhirContext ctx = FhirContext.forR4();
+		if ("GENERATED_FIELD_ACCESSORS".equals(myAccessors)) {
+			ctx.setPerformanceOptions(PerformanceOptionsEnum.GENERATED_FIELD_ACCESSORS);
+		}
+		myParser = ctx.newJsonParser();
+		myTerser = ctx.newTerser();
+		myBundle = createBundle();
+		myEncoded = myParser.encodeResourceToString(myBundle);
+		myResources = new ArrayList<>();
+		myResourceChildren = new ArrayList<>();
+		for (Bundle.BundleEntryComponent next : myBundle.getEntry()) {
+			myResources.add(next.getResource());
+			myResourceChildren.add(ctx.getResourceDefinition(next.getResource()).getChildren());
+		}
+	}
+
+	@Benchmark
+	public int accessors() {
+		int retVal = 0;
+		for (int i = 0; i < myResources.size(); i++) {
+			Resource resource = myResources.get(i);
+			for (BaseRuntimeChildDefinition next : myResourceChildren.get(i)) {
+				retVal += next.getAccessor().getValues(resource).size();
+			}
+		}
+		return retVal;
+	}
+
+	@Benchmark
+	public Bundle parse() {
+		return myParser.parseResource(Bundle.class, myEncoded);
+	}
+
+	@Benchmark
+	public String encode() {
+		return myParser.encodeResourceToString(myBundle);
+	}
+
+	@Benchmark
+	@SuppressWarnings("rawtypes")
+	public List<IPrimitiveType> terser() {
+		return myTerser.getAllPopulatedChildElementsOfType(myBundle, IPrimitiveType.class);
+	}
+
+	static Bundle createBundle() {
+		Bundle bundle = new Bundle();
+		bundle.setType(Bundle.BundleType.SEARCHSET);
+		for (int i = 0; i < 50; i++) {
+			Patient patient = new Patient();
+			patient.setId("Patient/" + i);
+			patient.getMeta().setVersionId("1").setLastUpdatedElement(new InstantType("2023-01-01T12:00:00.000Z"));
+			patient.addIdentifier().setSystem("http://example.com/mrn").setValue("MRN" + i);
+			patient.addName().setFamily("Family" + i).addGiven("Given" + i).addGiven("Middle");
+			patient.setGender(Enumerations.AdministrativeGender.FEMALE);
+			patient.getBirthDateElement().setValueAsString("1980-01-0" + (i % 9 + 1));
+			patient.addAddress().addLine("123 Main St").setCity("Toronto").setCountry("CA");
+			patient.addTelecom().setValue("555-555-" + i);
+			bundle.addEntry().setFullUrl("http://example.com/fhir/Patient/" + i).setResource(patient);
+
+			Observation obs = new Observation();
+			obs.setId("Observation/" + i);
+			obs.setStatus(Observation.ObservationStatus.FINAL);
+			obs.getCode().addCoding().setSystem("http://loinc.org").setCode("29463-7").setDisplay("Body weight");
+			obs.getSubject().setReference("Patient/" + i);
+			obs.setEffective(new DateTimeType("2023-01-01T12:00:00Z"));
+			obs.setValue(new Quantity().setValue(70.5 + i).setUnit("kg").setSystem("http://unitsofmeasure.org").setCode("kg"));
+			bundle.addEntry().setFullUrl("http://example.com/fhir/Observation/" + i).setResource(obs);
+		}
+		return bundle;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(FieldAccessorBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
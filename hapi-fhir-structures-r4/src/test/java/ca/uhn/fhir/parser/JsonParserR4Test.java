@@ -4,6 +4,7 @@ import ca.uhn.fhir.context.ConfigurationException;
 import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.context.PerformanceOptionsEnum;
 import ca.uhn.fhir.i18n.Msg;
+import ca.uhn.fhir.parser.json.BaseJsonLikeValue;
 import ca.uhn.fhir.model.api.annotation.DatatypeDef;
 import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.test.BaseTest;
@@ -21,6 +22,7 @@ import org.hl7.fhir.r4.model.Binary;
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Composition;
 import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.DateType;
 import org.hl7.fhir.r4.model.Device;
 import org.hl7.fhir.r4.model.DocumentReference;
 import org.hl7.fhir.r4.model.Encounter;
@@ -49,11 +51,17 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -71,12 +79,18 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.stringContainsInOrder;
 import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class JsonParserR4Test extends BaseTest {
 	private static final Logger ourLog = LoggerFactory.getLogger(JsonParserR4Test.class);
@@ -98,6 +112,202 @@ public class JsonParserR4Test extends BaseTest {
 	@AfterEach
 	public void afterEach() {
 		ourCtx.getParserOptions().setAutoContainReferenceTargetsWithNoId(true);
+		ourCtx.getParserOptions().setStreamingJsonParsing(false);
+	}
+
+	@Test
+	public void testParseBundleEntries() {
+		Bundle input = new Bundle();
+		input.setType(Bundle.BundleType.SEARCHSET);
+		input.setTotal(100);
+		input.addLink().setRelation("next").setUrl("http://example.com/next");
+		for (int i = 0; i < 100; i++) {
+			Patient patient = new Patient();
+			patient.setId("Patient/" + i);
+			patient.addName().setFamily("FAM" + i);
+			patient.setManagingOrganization(new Reference("Organization/ORG"));
+			input.addEntry().setFullUrl("http://example.com/Patient/" + i).setResource(patient);
+		}
+		input.getSignature().setSigFormat("application/jose");
+		String encoded = ourCtx.newJsonParser().encodeResourceToString(input);
+
+		try (IBundleEntryIterator iterator = ourCtx.newJsonParser().parseBundleEntries(new StringReader(encoded))) {
+			Bundle bundle = (Bundle) iterator.getBundle();
+			assertEquals(Bundle.BundleType.SEARCHSET, bundle.getType());
+			assertEquals(100, bundle.getTotal());
+			assertEquals("http://example.com/next", bundle.getLink("next").getUrl());
+			assertFalse(bundle.hasSignature());
+
+			int count = 0;
+			while (iterator.hasNext()) {
+				Bundle.BundleEntryComponent entry = (Bundle.BundleEntryComponent) iterator.next();
+				Patient patient = (Patient) entry.getResource();
+				assertEquals("http://example.com/Patient/" + count, patient.getId());
+				assertEquals("FAM" + count, patient.getNameFirstRep().getFamily());
+				assertEquals("Organization/ORG", patient.getManagingOrganization().getReference());
+				assertEquals(0, bundle.getEntry().size());
+				count++;
+			}
+			assertEquals(100, count);
+			assertEquals("application/jose", bundle.getSignature().getSigFormat());
+		}
+	}
+
+	@Test
+	public void testParseStreaming_ProducesSameResultAsTreeParse() throws IOException {
+		for (String next : Arrays.asList("/multi-thread-parsing-issue-bundle.json", "/bundle-with-two-patient-resources.json", "/entities-from-cerner.json")) {
+			String input = IOUtils.toString(JsonParserR4Test.class.getResourceAsStream(next), Constants.CHARSET_UTF8);
+
+			IBaseResource treeParsed = ourCtx.newJsonParser().parseResource(input);
+			ourCtx.getParserOptions().setStreamingJsonParsing(true);
+			IBaseResource streamParsed = ourCtx.newJsonParser().parseResource(input);
+			ourCtx.getParserOptions().setStreamingJsonParsing(false);
+
+			assertEquals(ourCtx.newJsonParser().encodeResourceToString(treeParsed), ourCtx.newJsonParser().encodeResourceToString(streamParsed), next);
+		}
+	}
+
+	@Test
+	public void testParseStreaming_ResourceTypeNotFirstAndPrimitiveExtensions() {
+		String input = "{" +
+			"\"resourceType\": \"Bundle\"," +
+			"\"type\": \"collection\"," +
+			"\"entry\": [{" +
+			"  \"fullUrl\": \"http://example.com/Patient/123\"," +
+			"  \"resource\": {" +
+			"    \"_birthDate\": {\"extension\": [{\"url\": \"http://foo\", \"valueString\": \"BAR\"}]}," +
+			"    \"name\": [{\"family\": \"FAM\", \"given\": [\"G1\", \"G2\"], \"_given\": [null, {\"id\": \"g2\"}]}]," +
+			"    \"birthDate\": \"2011-01-02\"," +
+			"    \"_active\": {\"id\": \"a1\"}," +
+			"    \"contained\": [{\"id\": \"org\", \"name\": \"ORG\", \"resourceType\": \"Organization\"}]," +
+			"    \"managingOrganization\": {\"reference\": \"#org\"}," +
+			"    \"resourceType\": \"Patient\"" +
+			"  }" +
+			"}]" +
+			"}";
+
+		ourCtx.getParserOptions().setStreamingJsonParsing(true);
+		Bundle bundle = ourCtx.newJsonParser().parseResource(Bundle.class, input);
+
+		assertEquals(Bundle.BundleType.COLLECTION, bundle.getType());
+		Patient patient = (Patient) bundle.getEntryFirstRep().getResource();
+		assertEquals("Patient/123", patient.getIdElement().toUnqualifiedVersionless().getValue());
+		assertEquals("2011-01-02", patient.getBirthDateElement().getValueAsString());
+		assertEquals("BAR", patient.getBirthDateElement().getExtensionString("http://foo"));
+		assertEquals("FAM", patient.getNameFirstRep().getFamily());
+		assertEquals("G2", patient.getNameFirstRep().getGiven().get(1).getValue());
+		assertEquals("g2", patient.getNameFirstRep().getGiven().get(1).getId());
+		assertEquals("a1", patient.getActiveElement().getId());
+		assertEquals("ORG", ((Organization) patient.getManagingOrganization().getResource()).getName());
+	}
+
+	@Test
+	public void testParseStreaming_ErrorHandlerInvoked() {
+		String input = "{\"resourceType\": \"Patient\", \"name\": {\"family\": \"FAM\"}, \"foo\": {\"bar\": \"baz\"}}";
+
+		IParserErrorHandler errorHandler = mock(IParserErrorHandler.class);
+		ourCtx.getParserOptions().setStreamingJsonParsing(true);
+		Patient patient = ourCtx.newJsonParser().setParserErrorHandler(errorHandler).parseResource(Patient.class, input);
+
+		assertEquals("FAM", patient.getNameFirstRep().getFamily());
+		verify(errorHandler, times(1)).incorrectJsonType(any(), eq("name"), eq(BaseJsonLikeValue.ValueType.ARRAY), any(), eq(BaseJsonLikeValue.ValueType.OBJECT), any());
+		verify(errorHandler, times(1)).unknownElement(any(), eq("foo"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	public void testParseWithParseElements(boolean theStreaming) {
+		Patient input = new Patient();
+		input.setId("Patient/123");
+		input.getMeta().setVersionId("2");
+		input.getText().setDivAsString("<div>A large narrative</div>");
+		input.addExtension("http://foo", new StringType("FOO"));
+		input.addIdentifier().setSystem("http://ids").setValue("ID1");
+		input.addName().setFamily("FAM").addGiven("GIVEN");
+		input.getBirthDateElement().setValueAsString("2011-01-02");
+		input.getBirthDateElement().addExtension("http://bar", new StringType("BAR"));
+		input.getGenderElement().addExtension("http://baz", new StringType("BAZ"));
+		Organization org = new Organization();
+		org.setId("#org");
+		org.setName("ORG");
+		input.getContained().add(org);
+		input.getManagingOrganization().setReference("#org");
+		String encoded = ourCtx.newJsonParser().encodeResourceToString(input);
+
+		ourCtx.getParserOptions().setStreamingJsonParsing(theStreaming);
+		IParser parser = ourCtx.newJsonParser();
+		parser.setParseElements(Sets.newHashSet("Patient.name.family", "Patient.identifier", "meta", "Patient.birthDate"));
+		Patient patient = parser.parseResource(Patient.class, encoded);
+
+		assertEquals("123", patient.getIdElement().getIdPart());
+		assertEquals("2", patient.getMeta().getVersionId());
+		assertEquals("ID1", patient.getIdentifierFirstRep().getValue());
+		assertEquals("FAM", patient.getNameFirstRep().getFamily());
+		assertFalse(patient.getNameFirstRep().hasGiven());
+		assertEquals("2011-01-02", patient.getBirthDateElement().getValueAsString());
+		assertEquals("BAR", patient.getBirthDateElement().getExtensionString("http://bar"));
+		assertFalse(patient.getGenderElement().hasExtension());
+		assertFalse(patient.hasText());
+		assertFalse(patient.hasExtension());
+		assertFalse(patient.hasContained());
+		assertFalse(patient.hasManagingOrganization());
+
+		// Paths for other resource types don't apply
+		Observation obs = new Observation();
+		obs.setStatus(Observation.ObservationStatus.FINAL);
+		obs.setValue(new Quantity().setValue(12));
+		encoded = ourCtx.newJsonParser().encodeResourceToString(obs);
+		parser.setParseElements(Sets.newHashSet("Patient.name"));
+		obs = parser.parseResource(Observation.class, encoded);
+		assertEquals(Observation.ObservationStatus.FINAL, obs.getStatus());
+
+		// Choice elements can be selected without the type suffix
+		parser.setParseElements(Sets.newHashSet("Observation.value"));
+		obs = parser.parseResource(Observation.class, encoded);
+		assertFalse(obs.hasStatus());
+		assertEquals("12", obs.getValueQuantity().getValueElement().getValueAsString());
+	}
+
+	@Test
+	public void testParseWithParseElementsIntoBundleEntries() {
+		Bundle input = createBundleWithPatient();
+		input.setType(Bundle.BundleType.COLLECTION);
+		((Patient) input.getEntryFirstRep().getResource()).setActive(true);
+		String encoded = ourCtx.newJsonParser().encodeResourceToString(input);
+
+		IParser parser = ourCtx.newJsonParser().setParseElements(Sets.newHashSet("Bundle.entry.resource.name"));
+		Bundle bundle = parser.parseResource(Bundle.class, encoded);
+
+		assertFalse(bundle.hasType());
+		Patient patient = (Patient) bundle.getEntryFirstRep().getResource();
+		assertTrue(patient.hasName());
+		assertFalse(patient.hasActive());
+	}
+
+	@Test
+	public void testParseStreaming_InvalidContent() {
+		ourCtx.getParserOptions().setStreamingJsonParsing(true);
+
+		try {
+			ourCtx.newJsonParser().parseResource("{\"resourceType\": \"Patient\", \"active\": true");
+			fail();
+		} catch (DataFormatException e) {
+			assertThat(e.getMessage(), containsString("Failed to parse JSON encoded FHIR content"));
+		}
+
+		try {
+			ourCtx.newJsonParser().parseResource("{\"resourceType\": \"Patient\"} {}");
+			fail();
+		} catch (DataFormatException e) {
+			assertEquals(Msg.code(2274) + "Failed to parse JSON encoded FHIR content: Trailing token (of type START_OBJECT) found after root object", e.getMessage());
+		}
+
+		try {
+			ourCtx.newJsonParser().parseResource("{\"id\": \"123\"}");
+			fail();
+		} catch (DataFormatException e) {
+			assertEquals(Msg.code(1838) + "Invalid JSON content detected, missing required element: 'resourceType'", e.getMessage());
+		}
 	}
 
 	@Test
@@ -392,6 +602,26 @@ public class JsonParserR4Test extends BaseTest {
 		assertEquals("<div xmlns=\"http://www.w3.org/1999/xhtml\">Copy © 1999</div>", p.getText().getDivAsString());
 	}
 
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	public void testEncodeResourceToOutputStream(boolean thePrettyPrint) throws IOException {
+		Patient p = new Patient();
+		p.setId("Patient/123");
+		p.getText().getDiv().setValueAsString("<div>Copy © 1999 \u00e9\u4e2d</div>");
+		p.addName().setFamily("Smith \"Jr\"").addGiven("Zoë");
+		p.setBirthDateElement(new DateType("2000-01-01"));
+		p.getBirthDateElement().addExtension("http://foo", new StringType("bar"));
+		p.addIdentifier().setSystem("http://system").setValue("😀");
+
+		IParser parser = ourCtx.newJsonParser().setPrettyPrint(thePrettyPrint);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		parser.encodeResourceToOutputStream(p, outputStream);
+
+		String expected = parser.encodeResourceToString(p);
+		assertEquals(expected, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+		assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), outputStream.toByteArray());
+	}
+
 	@Test
 	public void testEncodeAndParseBundleWithFullUrlAndResourceIdMismatch() {
 
@@ -1,10 +1,15 @@
 package ca.uhn.fhir.parser;
 
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IBaseBundle;
 import org.junit.jupiter.api.AfterAll;
@@ -16,6 +21,12 @@ import ca.uhn.fhir.util.TestUtil;
 
 import org.hl7.fhir.r4.model.Patient;
 
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
 public class NDJsonParserTest {
 	private static FhirContext ourCtx = FhirContext.forR4();
 	private static final org.slf4j.Logger ourLog = org.slf4j.LoggerFactory.getLogger(NDJsonParserTest.class);
@@ -121,6 +132,48 @@ public class NDJsonParserTest {
 		             ()->{parser.parseResource(Patient.class, myBundleJson);});
 	}
 	
+	@Test
+	public void testResourceWriterAndReader() throws Exception {
+		Patient p1 = new Patient();
+		p1.setId("Patient/P1");
+		p1.addName().setFamily("Family1");
+		Patient p2 = new Patient();
+		p2.setId("Patient/P2");
+		p2.addName().setFamily("Family2");
+
+		StringWriter stringWriter = new StringWriter();
+		try (NDJsonResourceWriter writer = new NDJsonResourceWriter(ourCtx.newJsonParser(), stringWriter)) {
+			writer.write(p1);
+			writer.write(p2);
+			assertEquals(2, writer.getCount());
+		}
+		String ndjson = stringWriter.toString();
+		assertEquals(1, StringUtils.countMatches(ndjson, "\n"));
+		assertFalse(ndjson.endsWith("\n"));
+
+		// Blank lines and surrounding whitespace are ignored
+		ndjson = "\n" + ndjson.replace("\n", "\n  \n ") + "\n\n";
+		List<IBaseResource> resources;
+		try (NDJsonResourceReader reader = new NDJsonResourceReader(ourCtx.newJsonParser(), new StringReader(ndjson))) {
+			resources = reader.stream().collect(Collectors.toList());
+		}
+		assertEquals(2, resources.size());
+		assertTrue(fhirResourcesEqual(p1, resources.get(0)));
+		assertTrue(fhirResourcesEqual(p2, resources.get(1)));
+	}
+
+	@Test
+	public void testResourceReaderInvalidLine() {
+		String ndjson = "{\"resourceType\":\"Patient\"}\n\n{\"resourceType\":\"Patient\",";
+		NDJsonResourceReader reader = new NDJsonResourceReader(ourCtx.newJsonParser(), new StringReader(ndjson));
+		assertNotNull(reader.next());
+		assertTrue(reader.hasNext());
+		DataFormatException e = assertThrows(DataFormatException.class, reader::next);
+		assertThat(e.getMessage(), containsString("Failed to parse NDJSON line 3"));
+		assertFalse(reader.hasNext());
+		assertThrows(NoSuchElementException.class, reader::next);
+	}
+
 	@AfterAll
 	public static void afterClassClearContext() {
 		TestUtil.randomizeLocaleAndTimezone();
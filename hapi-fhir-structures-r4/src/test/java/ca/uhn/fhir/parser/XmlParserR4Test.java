@@ -4,10 +4,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.stringContainsInOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URL;
 
 import org.hl7.fhir.r4.model.Appointment;
@@ -24,11 +26,13 @@ import org.hl7.fhir.r4.model.Organization;
 import org.hl7.fhir.r4.model.Parameters;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Reference;
+import org.hl7.fhir.r4.model.StringType;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Charsets;
+import com.google.common.collect.Sets;
 import com.google.common.io.Resources;
 
 import ca.uhn.fhir.context.FhirContext;
@@ -54,6 +58,44 @@ public class XmlParserR4Test extends BaseTest {
 	/**
 	 * See #3890
 	 */
+	@Test
+	public void testParseBundleEntries() {
+		Bundle input = new Bundle();
+		input.setType(Bundle.BundleType.SEARCHSET);
+		input.setTotal(100);
+		input.addLink().setRelation("next").setUrl("http://example.com/next");
+		for (int i = 0; i < 100; i++) {
+			Patient patient = new Patient();
+			patient.setId("Patient/" + i);
+			patient.addName().setFamily("FAM" + i);
+			patient.setManagingOrganization(new Reference("Organization/ORG"));
+			input.addEntry().setFullUrl("http://example.com/Patient/" + i).setResource(patient);
+		}
+		input.getSignature().setSigFormat("application/jose");
+		String encoded = ourCtx.newXmlParser().encodeResourceToString(input);
+
+		try (IBundleEntryIterator iterator = ourCtx.newXmlParser().parseBundleEntries(new StringReader(encoded))) {
+			Bundle bundle = (Bundle) iterator.getBundle();
+			assertEquals(Bundle.BundleType.SEARCHSET, bundle.getType());
+			assertEquals(100, bundle.getTotal());
+			assertEquals("http://example.com/next", bundle.getLink("next").getUrl());
+			assertFalse(bundle.hasSignature());
+
+			int count = 0;
+			while (iterator.hasNext()) {
+				Bundle.BundleEntryComponent entry = (Bundle.BundleEntryComponent) iterator.next();
+				Patient patient = (Patient) entry.getResource();
+				assertEquals("http://example.com/Patient/" + count, patient.getId());
+				assertEquals("FAM" + count, patient.getNameFirstRep().getFamily());
+				assertEquals("Organization/ORG", patient.getManagingOrganization().getReference());
+				assertEquals(0, bundle.getEntry().size());
+				count++;
+			}
+			assertEquals(100, count);
+			assertEquals("application/jose", bundle.getSignature().getSigFormat());
+		}
+	}
+
 	@Test
 	public void testEncodeExtensionWithReferenceObjectValue() {
 
@@ -259,6 +301,30 @@ public class XmlParserR4Test extends BaseTest {
 		assertEquals(parameters, parameteresAsString);
 	}
 
-
+	@Test
+	public void testParseWithParseElements() {
+		Patient input = new Patient();
+		input.setId("Patient/123");
+		input.getText().setDivAsString("<div>A large <b>narrative</b></div>");
+		input.addExtension("http://foo", new Extension("http://bar", new StringType("BAR")));
+		input.addName().setFamily("FAM").addGiven("GIVEN");
+		input.setActive(true);
+		Organization org = new Organization();
+		org.setId("#org");
+		org.setName("ORG");
+		input.getContained().add(org);
+		String encoded = ourCtx.newXmlParser().encodeResourceToString(input);
+
+		IParser parser = ourCtx.newXmlParser().setParseElements(Sets.newHashSet("Patient.name.given", "Patient.contained"));
+		Patient patient = parser.parseResource(Patient.class, encoded);
+
+		assertEquals("123", patient.getIdElement().getIdPart());
+		assertEquals("GIVEN", patient.getNameFirstRep().getGivenAsSingleString());
+		assertFalse(patient.getNameFirstRep().hasFamily());
+		assertEquals("ORG", ((Organization) patient.getContained().get(0)).getName());
+		assertFalse(patient.hasText());
+		assertFalse(patient.hasExtension());
+		assertFalse(patient.hasActive());
+	}
 
 }
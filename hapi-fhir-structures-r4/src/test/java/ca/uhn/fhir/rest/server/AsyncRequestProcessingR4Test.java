@@ -0,0 +1,237 @@
+package ca.uhn.fhir.rest.server;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Read;
+import ca.uhn.fhir.rest.annotation.RequiredParam;
+import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import ca.uhn.fhir.rest.server.servlet.ServletRequestDetails;
+import ca.uhn.fhir.test.utilities.HttpClientExtension;
+import ca.uhn.fhir.test.utilities.server.RestfulServerExtension;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class AsyncRequestProcessingR4Test {
+
+	private static final FhirContext ourCtx = FhirContext.forR4Cached();
+	private static final String ASYNC_THREAD_NAME_PREFIX = "hapi-fhir-async-test-";
+	private static String ourLastMethodThreadName;
+	private static String ourLastCompletedThreadName;
+	private static CountDownLatch ourSlowSearchLatch;
+	@RegisterExtension
+	private static final RestfulServerExtension ourServer = new RestfulServerExtension(ourCtx)
+		.registerProvider(new MyPatientProvider());
+	@RegisterExtension
+	private final HttpClientExtension myHttpClient = new HttpClientExtension();
+	private ExecutorService myExecutor;
+
+	@BeforeEach
+	public void before() {
+		ourLastMethodThreadName = null;
+		ourLastCompletedThreadName = null;
+		ourSlowSearchLatch = new CountDownLatch(1);
+		myExecutor = Executors.newFixedThreadPool(2, r -> new Thread(r, ASYNC_THREAD_NAME_PREFIX + r.hashCode()));
+		ourServer.getRestfulServer().setAsyncExecutor(myExecutor);
+		ourServer.registerInterceptor(new MyCompletionInterceptor());
+	}
+
+	@AfterEach
+	public void after() throws InterruptedException {
+		ourServer.getRestfulServer().setAsyncExecutor(null);
+		ourServer.getRestfulServer().setAsyncOperationTypes(RestfulServer.DEFAULT_ASYNC_OPERATION_TYPES);
+		ourServer.getRestfulServer().setAsyncTimeoutMillis(RestfulServer.DEFAULT_ASYNC_TIMEOUT_MILLIS);
+		ourSlowSearchLatch.countDown();
+		ourServer.unregisterAllInterceptors();
+		myExecutor.shutdown();
+		myExecutor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testSearchIsProcessedOnAsyncExecutor() throws Exception {
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + "/Patient?name=smith");
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			String responseContent = IOUtils.toString(status.getEntity().getContent(), StandardCharsets.UTF_8);
+			assertEquals(200, status.getStatusLine().getStatusCode());
+			assertThat(responseContent, containsString("\"family\": \"smith\""));
+		}
+
+		assertThat(ourLastMethodThreadName, startsWith(ASYNC_THREAD_NAME_PREFIX));
+		await().until(() -> ourLastCompletedThreadName != null);
+		assertThat(ourLastCompletedThreadName, startsWith(ASYNC_THREAD_NAME_PREFIX));
+	}
+
+	@Test
+	public void testReadIsProcessedOnContainerThread() throws Exception {
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + "/Patient/123");
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			assertEquals(200, status.getStatusLine().getStatusCode());
+		}
+
+		assertThat(ourLastMethodThreadName, not(startsWith(ASYNC_THREAD_NAME_PREFIX)));
+	}
+
+	@Test
+	public void testSearchThrowsExceptionOnAsyncExecutor() throws Exception {
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + "/Patient?name=fail");
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			String responseContent = IOUtils.toString(status.getEntity().getContent(), StandardCharsets.UTF_8);
+			assertEquals(400, status.getStatusLine().getStatusCode());
+			assertThat(responseContent, containsString("Failure requested"));
+		}
+
+		assertThat(ourLastMethodThreadName, startsWith(ASYNC_THREAD_NAME_PREFIX));
+		await().until(() -> ourLastCompletedThreadName != null);
+	}
+
+	@Test
+	public void testSearchTimesOut() throws Exception {
+		ourServer.getRestfulServer().setAsyncTimeoutMillis(500);
+
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + "/Patient?name=slow");
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			String responseContent = IOUtils.toString(status.getEntity().getContent(), StandardCharsets.UTF_8);
+			assertEquals(503, status.getStatusLine().getStatusCode());
+			assertThat(responseContent, containsString("Request processing timed out after 500ms"));
+		}
+
+		// The method finishes afterwards without writing to the response
+		assertNull(ourLastCompletedThreadName);
+		ourSlowSearchLatch.countDown();
+		await().until(() -> ourLastCompletedThreadName != null);
+		assertThat(ourLastCompletedThreadName, startsWith(ASYNC_THREAD_NAME_PREFIX));
+	}
+
+	@Test
+	public void testSearchTimesOutWhileWritingResponse() throws Exception {
+		ourServer.getRestfulServer().setAsyncTimeoutMillis(500);
+		MyBlockingWriterInterceptor interceptor = new MyBlockingWriterInterceptor();
+		ourServer.registerInterceptor(interceptor);
+
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + "/Patient?name=smith");
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			String responseContent = IOUtils.toString(status.getEntity().getContent(), StandardCharsets.UTF_8);
+			assertEquals(503, status.getStatusLine().getStatusCode());
+			assertThat(status.getFirstHeader(Constants.HEADER_CONTENT_TYPE).getValue(), startsWith("text/plain"));
+			assertThat(responseContent, containsString("Request processing timed out after 500ms"));
+			assertThat(responseContent, not(containsString("smith")));
+		}
+
+		// The method's response was started before the timeout, and is cut off once it resumes
+		ourSlowSearchLatch.countDown();
+		await().until(() -> ourLastCompletedThreadName != null);
+		assertThat(ourLastCompletedThreadName, startsWith(ASYNC_THREAD_NAME_PREFIX));
+		assertThat(interceptor.myWriteFailure, instanceOf(IOException.class));
+	}
+
+	@Test
+	public void testOperationTypeNotConfiguredForAsync() throws Exception {
+		ourServer.getRestfulServer().setAsyncOperationTypes(Collections.emptySet());
+
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + "/Patient?name=smith");
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			assertEquals(200, status.getStatusLine().getStatusCode());
+		}
+
+		assertThat(ourLastMethodThreadName, not(startsWith(ASYNC_THREAD_NAME_PREFIX)));
+	}
+
+	public static class MyCompletionInterceptor {
+
+		@Hook(Pointcut.SERVER_PROCESSING_COMPLETED)
+		public void processingCompleted(RequestDetails theRequestDetails) {
+			ourLastCompletedThreadName = Thread.currentThread().getName();
+		}
+
+	}
+
+	/**
+	 * Blocks once the response writer has been created, i.e. after the status and headers have been
+	 * set but before the body is written, and then tries to write to the response
+	 */
+	public static class MyBlockingWriterInterceptor {
+
+		private volatile Throwable myWriteFailure;
+
+		@Hook(Pointcut.SERVER_OUTGOING_WRITER_CREATED)
+		public Writer writerCreated(Writer theWriter, ServletRequestDetails theRequestDetails) throws InterruptedException {
+			ourSlowSearchLatch.await(10, TimeUnit.SECONDS);
+			try {
+				theRequestDetails.getServletResponse().getOutputStream().write(1);
+			} catch (Throwable e) {
+				myWriteFailure = e;
+			}
+			return theWriter;
+		}
+
+	}
+
+	public static class MyPatientProvider implements IResourceProvider {
+
+		@Override
+		public Class<? extends IBaseResource> getResourceType() {
+			return Patient.class;
+		}
+
+		@Read
+		public Patient read(@IdParam IdType theId) {
+			ourLastMethodThreadName = Thread.currentThread().getName();
+			Patient patient = new Patient();
+			patient.setId(theId);
+			return patient;
+		}
+
+		@Search
+		public List<Patient> search(@RequiredParam(name = Patient.SP_NAME) StringParam theName) {
+			ourLastMethodThreadName = Thread.currentThread().getName();
+			if (theName.getValue().equals("fail")) {
+				throw new InvalidRequestException("Failure requested");
+			}
+			if (theName.getValue().equals("slow")) {
+				try {
+					ourSlowSearchLatch.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			Patient patient = new Patient();
+			patient.setId("Patient/1");
+			patient.addName().setFamily(theName.getValue());
+			return Collections.singletonList(patient);
+		}
+
+	}
+
+}
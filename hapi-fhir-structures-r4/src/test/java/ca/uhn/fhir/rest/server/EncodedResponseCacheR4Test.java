@@ -0,0 +1,220 @@
+package ca.uhn.fhir.rest.server;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Read;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.test.utilities.HttpClientExtension;
+import ca.uhn.fhir.test.utilities.server.RestfulServerExtension;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EncodedResponseCacheR4Test {
+
+	private static final FhirContext ourCtx = FhirContext.forR4Cached();
+	private static final AtomicInteger ourReadCount = new AtomicInteger();
+	private static String ourFamilyName;
+	private static String ourVersion;
+	@RegisterExtension
+	private static final RestfulServerExtension ourServer = new RestfulServerExtension(ourCtx)
+		.registerProvider(new MyPatientProvider());
+	@RegisterExtension
+	private final HttpClientExtension myHttpClient = new HttpClientExtension();
+	private EncodedResponseCache myCache;
+
+	@BeforeEach
+	public void before() {
+		ourReadCount.set(0);
+		ourFamilyName = "SIMPSON";
+		ourVersion = "2";
+		myCache = new EncodedResponseCache(100);
+		ourServer.getRestfulServer().setEncodedResponseCache(myCache);
+	}
+
+	@AfterEach
+	public void after() {
+		ourServer.getRestfulServer().setEncodedResponseCache(null);
+		ourServer.unregisterAllInterceptors();
+	}
+
+	@Test
+	public void testReadIsCached() throws IOException {
+		String first = read("/Patient/123");
+		String second = read("/Patient/123");
+
+		assertEquals(first, second);
+		assertThat(second, containsString("SIMPSON"));
+		assertEquals(1, ourReadCount.get());
+		assertEquals(1, myCache.getHitCount());
+		assertEquals(1, myCache.getEntryCount());
+	}
+
+	@Test
+	public void testCachedResponseHeaders() throws IOException {
+		read("/Patient/123");
+
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + "/Patient/123");
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			assertEquals(200, status.getStatusLine().getStatusCode());
+			assertEquals("W/\"2\"", status.getFirstHeader(Constants.HEADER_ETAG).getValue());
+			assertThat(status.getFirstHeader(Constants.HEADER_CONTENT_LOCATION).getValue(), containsString("/Patient/123/_history/2"));
+			assertThat(status.getFirstHeader(Constants.HEADER_CONTENT_TYPE).getValue(), containsString(Constants.CT_FHIR_JSON_NEW));
+		}
+		assertEquals(1, ourReadCount.get());
+	}
+
+	@Test
+	public void testIfNoneMatchOnCachedResponse() throws IOException {
+		read("/Patient/123");
+
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + "/Patient/123");
+		get.addHeader(Constants.HEADER_IF_NONE_MATCH, "W/\"2\"");
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			assertEquals(304, status.getStatusLine().getStatusCode());
+		}
+		assertEquals(1, ourReadCount.get());
+	}
+
+	@Test
+	public void testDifferentRepresentationsAreCachedSeparately() throws IOException {
+		String json = read("/Patient/123");
+		String xml = read("/Patient/123?_format=xml");
+		String summary = read("/Patient/123?_elements=id");
+
+		assertThat(json, containsString("SIMPSON"));
+		assertThat(xml, containsString("<Patient"));
+		assertThat(summary, not(containsString("SIMPSON")));
+		assertEquals(3, ourReadCount.get());
+		assertEquals(3, myCache.getEntryCount());
+	}
+
+	@Test
+	public void testInvalidate() throws IOException {
+		read("/Patient/123");
+		read("/Patient/123?_format=xml");
+		ourFamilyName = "FLANDERS";
+
+		Patient updated = new Patient();
+		updated.setId("Patient/123/_history/3");
+		myCache.resourceUpdated(null, updated);
+		assertEquals(2, myCache.getInvalidationCount());
+
+		assertThat(read("/Patient/123"), containsString("FLANDERS"));
+		assertEquals(3, ourReadCount.get());
+	}
+
+	@Test
+	public void testVersionOlderThanInvalidationIsNotStored() throws IOException {
+		myCache.setTimeToLiveMillis(0);
+
+		// The update is invalidated before it commits, so the provider still returns version 2
+		Patient updated = new Patient();
+		updated.setId("Patient/123/_history/3");
+		myCache.resourceUpdated(null, updated);
+		read("/Patient/123");
+		read("/Patient/123");
+		assertEquals(2, ourReadCount.get());
+		assertEquals(0, myCache.getEntryCount());
+
+		// Once the new version is visible it is cached again
+		ourVersion = "3";
+		ourFamilyName = "FLANDERS";
+		read("/Patient/123");
+		assertThat(read("/Patient/123"), containsString("FLANDERS"));
+		assertEquals(3, ourReadCount.get());
+		assertEquals(1, myCache.getEntryCount());
+
+		// A deleted version is not stored again
+		myCache.resourceDeleted(updated);
+		read("/Patient/123");
+		assertEquals(0, myCache.getEntryCount());
+	}
+
+	@Test
+	public void testNotCachedWhenOutgoingResponseHookRegistered() throws IOException {
+		ourServer.registerInterceptor(new MyOutgoingResponseInterceptor());
+
+		read("/Patient/123");
+		read("/Patient/123");
+
+		assertEquals(2, ourReadCount.get());
+		assertEquals(0, myCache.getEntryCount());
+	}
+
+	@Test
+	public void testCachedByPartitionWhenOutgoingResponseHookRegistered() throws IOException {
+		ourServer.registerInterceptor(new MyOutgoingResponseInterceptor());
+		myCache.setPartitionFunction(t -> t.getHeader("X-User"));
+
+		read("/Patient/123", "alice");
+		read("/Patient/123", "alice");
+		read("/Patient/123", "bob");
+		read("/Patient/123", null);
+
+		assertEquals(3, ourReadCount.get());
+		assertEquals(2, myCache.getEntryCount());
+	}
+
+	private String read(String thePath) throws IOException {
+		return read(thePath, null);
+	}
+
+	private String read(String thePath, String theUser) throws IOException {
+		HttpGet get = new HttpGet(ourServer.getBaseUrl() + thePath);
+		if (theUser != null) {
+			get.addHeader("X-User", theUser);
+		}
+		try (CloseableHttpResponse status = myHttpClient.execute(get)) {
+			assertEquals(200, status.getStatusLine().getStatusCode());
+			return IOUtils.toString(status.getEntity().getContent(), StandardCharsets.UTF_8);
+		}
+	}
+
+	public static class MyOutgoingResponseInterceptor {
+
+		@Hook(Pointcut.SERVER_OUTGOING_RESPONSE)
+		public void outgoingResponse(RequestDetails theRequestDetails) {
+			// nothing
+		}
+
+	}
+
+	public static class MyPatientProvider implements IResourceProvider {
+
+		@Override
+		public Class<? extends IBaseResource> getResourceType() {
+			return Patient.class;
+		}
+
+		@Read
+		public Patient read(@IdParam IdType theId) {
+			ourReadCount.incrementAndGet();
+			Patient patient = new Patient();
+			patient.setId(theId.withVersion(ourVersion));
+			patient.addName().setFamily(ourFamilyName);
+			return patient;
+		}
+
+	}
+
+}
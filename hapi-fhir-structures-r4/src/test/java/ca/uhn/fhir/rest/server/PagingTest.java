@@ -38,7 +38,11 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -177,6 +181,51 @@ public class PagingTest {
 			assertEquals(0, bundle.getEntry().size());
 		}
 	}
+	@Test()
+	public void testLazyBundleEncoding() throws Exception {
+		initBundleProvider(21);
+		ourBundleProvider = spy(ourBundleProvider);
+		myServerExtension.getRestfulServer().registerProvider(new DummyPatientResourceProvider());
+		myServerExtension.getRestfulServer().setPagingProvider(pagingProvider);
+
+		when(pagingProvider.canStoreSearchResults()).thenReturn(true);
+		when(pagingProvider.getDefaultPageSize()).thenReturn(10);
+		when(pagingProvider.getMaximumPageSize()).thenReturn(50);
+		when(pagingProvider.storeResultList(any(RequestDetails.class), any(IBundleProvider.class))).thenReturn("ABCD");
+
+		String base = "http://localhost:" + myServerExtension.getPort();
+		String expected;
+		try (CloseableHttpResponse resp = ourClient.execute(new HttpGet(base + "/Patient?_format=json"))) {
+			expected = IOUtils.toString(resp.getEntity().getContent(), Charsets.UTF_8);
+		}
+
+		myServerExtension.getRestfulServer().setLazyBundleEncodingBatchSize(4);
+		clearInvocations(ourBundleProvider);
+		try (CloseableHttpResponse resp = ourClient.execute(new HttpGet(base + "/Patient?_format=json"))) {
+			assertEquals(200, resp.getStatusLine().getStatusCode());
+			String responseContent = IOUtils.toString(resp.getEntity().getContent(), Charsets.UTF_8);
+			// The Bundle ID is randomly generated for each response
+			String idPattern = "\"id\": \"[a-f0-9-]+\"";
+			assertEquals(expected.replaceFirst(idPattern, ""), responseContent.replaceFirst(idPattern, ""));
+
+			Bundle bundle = ourContext.newJsonParser().parseResource(Bundle.class, responseContent);
+			assertEquals(10, bundle.getEntry().size());
+			assertEquals("Patient/9", bundle.getEntry().get(9).getResource().getIdElement().toUnqualifiedVersionless().getValue());
+			assertNotNull(bundle.getLink(IBaseBundle.LINK_NEXT));
+		}
+		verify(ourBundleProvider).getResources(0, 4);
+		verify(ourBundleProvider).getResources(4, 8);
+		verify(ourBundleProvider).getResources(8, 10);
+		verify(ourBundleProvider, never()).getResources(0, 10);
+
+		try (CloseableHttpResponse resp = ourClient.execute(new HttpGet(base + "/Patient?_format=xml"))) {
+			assertEquals(200, resp.getStatusLine().getStatusCode());
+			String responseContent = IOUtils.toString(resp.getEntity().getContent(), Charsets.UTF_8);
+			Bundle bundle = ourContext.newXmlParser().parseResource(Bundle.class, responseContent);
+			assertEquals(10, bundle.getEntry().size());
+		}
+	}
+
 	private void checkParam(String theUri, String theCheckedParam, String theExpectedValue) {
 		Optional<String> paramValue = URLEncodedUtils.parse(theUri, CHARSET_UTF8).stream()
 			.filter(nameValuePair -> nameValuePair.getName().equals(theCheckedParam))
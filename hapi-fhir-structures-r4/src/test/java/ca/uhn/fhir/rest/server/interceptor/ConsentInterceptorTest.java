@@ -18,6 +18,7 @@ import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
 import ca.uhn.fhir.rest.server.interceptor.consent.ConsentInterceptor;
 import ca.uhn.fhir.rest.server.interceptor.consent.ConsentOperationStatusEnum;
 import ca.uhn.fhir.rest.server.interceptor.consent.ConsentOutcome;
+import ca.uhn.fhir.rest.server.interceptor.consent.IConsentContextServices;
 import ca.uhn.fhir.rest.server.interceptor.consent.IConsentService;
 import ca.uhn.fhir.rest.server.provider.HashMapResourceProvider;
 import ca.uhn.fhir.rest.server.servlet.ServletRequestDetails;
@@ -60,6 +61,7 @@ import java.io.PrintWriter;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -319,6 +321,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(2000).times(1)).startOperation(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(2)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(3)).willSeeResource(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).completeOperationSuccess(any(), any());
 		verify(myConsentSvc, timeout(2000).times(0)).completeOperationFailure(any(), any(), any());
@@ -351,6 +354,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(10000).times(1)).startOperation(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(10000).times(2)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(10000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(10000).times(3)).willSeeResource(any(), any(), any());
 		verify(myConsentSvc, timeout(10000).times(1)).completeOperationSuccess(any(), any());
 		verify(myConsentSvc, timeout(10000).times(0)).completeOperationFailure(any(), any(), any());
@@ -380,6 +384,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(2000).times(1)).startOperation(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(2)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(3)).willSeeResource(any(), any(), any()); // the two patients + the bundle
 		verify(myConsentSvc, timeout(2000).times(1)).completeOperationSuccess(any(), any());
 		verify(myConsentSvc, timeout(2000).times(0)).completeOperationFailure(any(), any(), any());
@@ -420,6 +425,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(1000).times(1)).startOperation(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(1000).times(2)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(1000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(1000).times(3)).willSeeResource(any(), any(), any());
 		verify(myConsentSvc, timeout(1000).times(1)).completeOperationSuccess(any(), any());
 		verify(myConsentSvc, timeout(2000).times(0)).completeOperationFailure(any(), any(), any());
@@ -461,6 +467,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(2000).times(1)).startOperation(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(2)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(4)).willSeeResource(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).completeOperationSuccess(any(), any());
 		verify(myConsentSvc, timeout(2000).times(0)).completeOperationFailure(any(), any(), any());
@@ -499,6 +506,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(2000).times(1)).startOperation(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(2)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(3)).willSeeResource(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).completeOperationSuccess(any(), any());
 		verify(myConsentSvc, timeout(2000).times(0)).completeOperationFailure(any(), any(), any());
@@ -557,6 +565,30 @@ public class ConsentInterceptorTest {
 	}
 
 
+	@Test
+	public void testCanSeeResourcesCalledOncePerPage() {
+		ourServer.unregisterInterceptor(myInterceptor);
+		MyBatchConsentService batchConsentSvc = new MyBatchConsentService();
+		myInterceptor = new ConsentInterceptor(batchConsentSvc);
+		ourServer.registerInterceptor(myInterceptor);
+
+		ourPatientProvider.store((Patient) new Patient().setActive(true).setId("PTA"));
+		ourPatientProvider.store((Patient) new Patient().setActive(false).setId("PTB"));
+		ourPatientProvider.store((Patient) new Patient().setActive(true).setId("PTC"));
+
+		Bundle response = myFhirClient
+			.search()
+			.forResource(Patient.class)
+			.returnBundle(Bundle.class)
+			.execute();
+
+		assertEquals(2, response.getEntry().size());
+		assertEquals("PTA", response.getEntry().get(0).getResource().getIdElement().getIdPart());
+		assertEquals("PTC", response.getEntry().get(1).getResource().getIdElement().getIdPart());
+		assertEquals(1, batchConsentSvc.myBatchCount);
+		assertEquals(3, batchConsentSvc.myResourceCount);
+	}
+
 	@Test
 	public void testTwoServices_FirstRejectsCanSee() {
 		myInterceptor.registerConsentService(myConsentSvc2);
@@ -583,6 +615,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc2, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc2, timeout(2000).times(0)).canSeeResource(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).willSeeResource(any(), any(), any()); // On bundle
 		verify(myConsentSvc2, timeout(2000).times(1)).willSeeResource(any(), any(), any()); // On bundle
@@ -632,6 +665,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc2, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(0)).canSeeResource(any(), any(), any());
 		verify(myConsentSvc2, timeout(2000).times(2)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc2, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(3)).willSeeResource(any(), any(), any());
 		verify(myConsentSvc2, timeout(2000).times(2)).willSeeResource(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).completeOperationSuccess(any(), any());
@@ -667,6 +701,7 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc2, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc2, timeout(2000).times(0)).canSeeResource(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).willSeeResource(any(), any(), any()); // On bundle
 		verify(myConsentSvc2, timeout(2000).times(1)).willSeeResource(any(), any(), any()); // On bundle
@@ -705,7 +740,9 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc2, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc2, timeout(2000).times(1)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc2, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).willSeeResource(any(), any(), any()); // On bundle
 		verify(myConsentSvc2, timeout(2000).times(1)).willSeeResource(any(), any(), any()); // On bundle
 		verify(myConsentSvc, timeout(2000).times(1)).completeOperationSuccess(any(), any());
@@ -748,7 +785,9 @@ public class ConsentInterceptorTest {
 		verify(myConsentSvc, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc2, timeout(2000).times(1)).shouldProcessCanSeeResource(any(), any());
 		verify(myConsentSvc, timeout(2000).times(1)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc2, timeout(2000).times(1)).canSeeResource(any(), any(), any());
+		verify(myConsentSvc2, timeout(2000).times(1)).canSeeResources(any(), any(), any());
 		verify(myConsentSvc, timeout(2000).times(2)).willSeeResource(any(), any(), any()); // On bundle
 		verify(myConsentSvc2, timeout(2000).times(2)).willSeeResource(any(), any(), any()); // On bundle
 		verify(myConsentSvc, timeout(2000).times(1)).completeOperationSuccess(any(), any());
@@ -909,6 +948,27 @@ public class ConsentInterceptorTest {
 
 	}
 
+	private static class MyBatchConsentService implements IConsentService {
+
+		private int myBatchCount;
+		private int myResourceCount;
+
+		@Override
+		public ConsentOutcome canSeeResource(RequestDetails theRequestDetails, IBaseResource theResource, IConsentContextServices theContextServices) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<ConsentOutcome> canSeeResources(RequestDetails theRequestDetails, List<IBaseResource> theResources, IConsentContextServices theContextServices) {
+			myBatchCount++;
+			myResourceCount += theResources.size();
+			return theResources
+				.stream()
+				.map(t -> ((Patient) t).getActive() ? ConsentOutcome.PROCEED : ConsentOutcome.REJECT)
+				.collect(Collectors.toList());
+		}
+	}
+
 	private static class DummySystemProvider{
 
 		@Operation(name = "$meta", idempotent = true, returnParameters = {
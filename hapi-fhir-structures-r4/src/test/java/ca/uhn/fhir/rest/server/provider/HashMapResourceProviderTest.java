@@ -28,7 +28,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -350,6 +356,60 @@ public class HashMapResourceProviderTest {
 		}
 	}
 
+	@Test
+	public void testConcurrentReadsAndWrites() throws Exception {
+		Patient p = new Patient();
+		p.setActive(true);
+		IIdType id = myPatientResourceProvider.store(p).toUnqualifiedVersionless();
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 100; i++) {
+					Patient update = new Patient();
+					update.setId(id);
+					update.setActive(i % 2 == 0);
+					myPatientResourceProvider.store(update);
+				}
+			}));
+			for (int reader = 0; reader < 3; reader++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 200; i++) {
+						Patient read = myPatientResourceProvider.read(id, null);
+						assertEquals(id.getIdPart(), read.getIdElement().getIdPart());
+						assertEquals(1, myPatientResourceProvider.searchAll(null).size());
+						assertFalse(myPatientResourceProvider.historyInstance(id, null).isEmpty());
+					}
+				}));
+			}
+			for (Future<?> next : futures) {
+				next.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals("101", myPatientResourceProvider.read(id, null).getIdElement().getVersionIdPart());
+		assertEquals(101, myPatientResourceProvider.historyInstance(id, null).size());
+		assertEquals(101, myPatientResourceProvider.historyType().size());
+	}
+
+	@Test
+	public void testGetCurrentResourcesKeepsInsertionOrder() {
+		for (String next : List.of("C", "A", "B")) {
+			Patient p = new Patient();
+			p.setId(next);
+			myPatientResourceProvider.store(p);
+		}
+
+		List<String> ids = myPatientResourceProvider.getCurrentResources(new LinkedHashSet<>(List.of("B", "C")))
+			.stream()
+			.map(t -> t.getIdElement().getIdPart())
+			.collect(Collectors.toList());
+		assertThat(ids, contains("C", "B"));
+	}
+
 	@AfterAll
 	public static void afterClassClearContext() throws Exception {
 		TestUtil.randomizeLocaleAndTimezone();
@@ -19,6 +19,7 @@ import org.hl7.fhir.r4.model.DocumentReference;
 import org.hl7.fhir.r4.model.Enumeration;
 import org.hl7.fhir.r4.model.Enumerations;
 import org.hl7.fhir.r4.model.Extension;
+import org.hl7.fhir.r4.model.HumanName;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Identifier;
 import org.hl7.fhir.r4.model.MarkdownType;
@@ -63,6 +64,7 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -577,6 +579,70 @@ public class FhirTerserR4Test {
 		assertEquals("nestedValue", ((StringType) ((Extension) values.get(0)).getValue()).getValueAsString());
 	}
 
+	@Test
+	public void testGetValuesWithCompiledPath() {
+		Observation obs = new Observation();
+		obs.getSubject().setReference("Patient/123");
+		obs.setValue(new Quantity().setValue(12).setUnit("kg"));
+		obs.addExtension()
+			.setUrl("http://acme.org/extension")
+			.setValue(new StringType("value"));
+
+		FhirTerser terser = myCtx.newTerser();
+		TerserPath subjectPath = terser.compile("Observation", "Observation.subject.reference");
+		assertEquals(Lists.newArrayList("subject", "reference"), subjectPath.getParts());
+		assertSame(subjectPath, terser.compile(Observation.class, "Observation.subject.reference"));
+
+		List<StringType> subjects = terser.getValues(obs, subjectPath, StringType.class);
+		assertEquals(1, subjects.size());
+		assertEquals("Patient/123", subjects.get(0).getValue());
+
+		List<IBase> values = terser.getValues(obs, terser.compile("Observation", "valueQuantity.unit"));
+		assertEquals(1, values.size());
+		assertEquals("kg", ((StringType) values.get(0)).getValue());
+
+		values = terser.getValues(obs, terser.compile("Observation", "valueQuantity"));
+		assertEquals(1, values.size());
+		assertTrue(values.get(0) instanceof Quantity);
+		assertEquals(0, terser.getValues(obs, terser.compile("Observation", "valueString")).size());
+
+		values = terser.getValues(obs, terser.compile("Observation", "Observation.extension('http://acme.org/extension').value[x]"));
+		assertEquals(1, values.size());
+		assertEquals("value", ((StringType) values.get(0)).getValue());
+
+		assertEquals(0, terser.getValues(obs, terser.compile("Observation", "Patient.name")).size());
+
+		Observation emptyObs = new Observation();
+		List<Reference> created = terser.getValues(emptyObs, terser.compile("Observation", "subject"), Reference.class, true, false);
+		assertEquals(1, created.size());
+		assertSame(emptyObs.getSubject(), created.get(0));
+
+		// A path compiled for another type is parsed again for the actual type
+		Patient patient = new Patient();
+		patient.getMeta().setVersionId("3");
+		List<IdType> versions = terser.getValues(patient, terser.compile("Observation", "meta.versionId"), IdType.class);
+		assertEquals(1, versions.size());
+		assertEquals("3", versions.get(0).getValue());
+	}
+
+	@Test
+	public void testGetValuesWithCompiledPathOnDatatype() {
+		Patient patient = new Patient();
+		patient.addName().setFamily("Smith").addGiven("John");
+
+		FhirTerser terser = myCtx.newTerser();
+		TerserPath familyPath = terser.compile(HumanName.class, "family");
+		List<StringType> values = terser.getValues(patient.getNameFirstRep(), familyPath, StringType.class);
+		assertEquals(1, values.size());
+		assertEquals("Smith", values.get(0).getValue());
+
+		// The string based methods share the same compiled paths
+		assertEquals("Smith", terser.getSinglePrimitiveValueOrNull(patient, "Patient.name.family"));
+		assertEquals("Smith", terser.getSinglePrimitiveValueOrNull(patient, "Patient.name.family"));
+		assertNotSame(myCtx.newTerser(), terser);
+		assertSame(familyPath, myCtx.newTerser().compile(HumanName.class, "family"));
+	}
+
 	@Test
 	public void testGetEmbeddedResourcesOnBundle() {
 
@@ -1432,6 +1498,32 @@ public class FhirTerserR4Test {
 		assertEquals("cid:device@bundle", elems.get(1).getReferenceElement().getValue());
 	}
 
+	@Test
+	public void testGetCompartmentOwnersForResource() {
+		Observation observation = new Observation();
+		observation.setId("Observation/1");
+		observation.setSubject(new Reference("Patient/123"));
+		observation.addPerformer(new Reference("Patient/456/_history/2"));
+		observation.addPerformer(new Reference("Practitioner/789"));
+		observation.setEncounter(new Reference("Encounter/1"));
+
+		FhirTerser t = myCtx.newTerser();
+
+		Set<String> owners = t.getCompartmentOwnersForResource("Patient", observation, null);
+		assertThat(owners, containsInAnyOrder("Observation/1", "Patient/123", "Patient/456", "Practitioner/789"));
+		for (String next : new String[]{"Patient/123", "Patient/456", "Patient/789", "Practitioner/789"}) {
+			assertEquals(t.isSourceInCompartmentForTarget("Patient", observation, new IdType(next), null), owners.contains(next));
+		}
+
+		owners = t.getCompartmentOwnersForResource("Encounter", observation, null);
+		assertThat(owners, containsInAnyOrder("Observation/1", "Encounter/1"));
+
+		Patient patient = new Patient();
+		patient.setId("Patient/123");
+		owners = t.getCompartmentOwnersForResource("Patient", patient, null);
+		assertThat(owners, containsInAnyOrder("Patient/123"));
+	}
+
 	@Test
 	public void testConcurrentTerserCalls() throws ExecutionException, InterruptedException {
 		ExecutorService executor = Executors.newFixedThreadPool(10);
@@ -167,13 +167,16 @@ public abstract class BaseJettyServerExtension<T extends BaseJettyServerExtensio
 		});
 
 		ServletHolder servletHolder = new ServletHolder(provideServlet());
+		servletHolder.setAsyncSupported(true);
 
 		HandlerList handlerList = new HandlerList();
 
 		ServletContextHandler contextHandler = new ServletContextHandler();
 		contextHandler.setContextPath(myContextPath);
 		contextHandler.addServlet(servletHolder, myServletPath);
-		contextHandler.addFilter(new FilterHolder(requestCapturingFilter()), "/*", EnumSet.allOf(DispatcherType.class));
+		FilterHolder filterHolder = new FilterHolder(requestCapturingFilter());
+		filterHolder.setAsyncSupported(true);
+		contextHandler.addFilter(filterHolder, "/*", EnumSet.allOf(DispatcherType.class));
 		handlerList.addHandler(contextHandler);
 
 		if (myEnableSpringWebsocketSupport != null) {
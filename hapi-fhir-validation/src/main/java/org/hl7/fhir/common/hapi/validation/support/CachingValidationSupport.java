@@ -8,7 +8,8 @@ import ca.uhn.fhir.context.support.ValidationSupportContext;
 import ca.uhn.fhir.context.support.ValueSetExpansionOptions;
 import ca.uhn.fhir.sl.cache.Cache;
 import ca.uhn.fhir.sl.cache.CacheFactory;
-import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import ca.uhn.fhir.util.ExecutorProviderUtil;
+import ca.uhn.fhir.util.IExecutorProvider.FullQueuePolicyEnum;
 import org.apache.commons.lang3.time.DateUtils;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IPrimitiveType;
@@ -22,9 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
@@ -42,7 +41,7 @@ public class CachingValidationSupport extends BaseValidationSupportWrapper imple
 	private final Cache<String, Object> myValidateCodeCache;
 	private final Cache<TranslateCodeRequest, Object> myTranslateCodeCache;
 	private final Cache<String, Object> myLookupCodeCache;
-	private final ThreadPoolExecutor myBackgroundExecutor;
+	private final ExecutorService myBackgroundExecutor;
 	private final Map<Object, Object> myNonExpiringCache;
 	private final Cache<String, Object> myExpandValueSetCache;
 	private final boolean myIsEnabledValidationForCodingsLogicalAnd;
@@ -79,20 +78,7 @@ public class CachingValidationSupport extends BaseValidationSupportWrapper imple
 		myCache = CacheFactory.build(theCacheTimeouts.getMiscMillis(), 5000);
 		myNonExpiringCache = Collections.synchronizedMap(new HashMap<>());
 
-		LinkedBlockingQueue<Runnable> executorQueue = new LinkedBlockingQueue<>(1000);
-		BasicThreadFactory threadFactory = new BasicThreadFactory.Builder()
-			.namingPattern("CachingValidationSupport-%d")
-			.daemon(false)
-			.priority(Thread.NORM_PRIORITY)
-			.build();
-		myBackgroundExecutor = new ThreadPoolExecutor(
-			1,
-			1,
-			0L,
-			TimeUnit.MILLISECONDS,
-			executorQueue,
-			threadFactory,
-			new ThreadPoolExecutor.DiscardPolicy());
+		myBackgroundExecutor = ExecutorProviderUtil.newExecutor("CachingValidationSupport-", 1, 1000, FullQueuePolicyEnum.DISCARD);
 
 		myIsEnabledValidationForCodingsLogicalAnd = theIsEnabledValidationForCodingsLogicalAnd;
 	}